@@ -6,7 +6,11 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import com.blackjack.database.DatabaseManager;
+import com.blackjack.history.DiarioMesa;
+import com.blackjack.services.ClasificacionJugadores;
+import com.blackjack.services.GameService;
 import com.blackjack.utils.Logger;
+import java.nio.file.Path;
 
 /**
  * Clase principal de la aplicación BlackJack
@@ -14,9 +18,12 @@ import com.blackjack.utils.Logger;
  */
 public class App extends Application {
 
+    private static final String DIARIO = "blackjack.bjd";
+
     private static App instance;
     private Stage primaryStage;
     private DatabaseManager databaseManager;
+    private DiarioMesa diario;
 
     @Override
     public void start(Stage primaryStage) {
@@ -27,6 +34,10 @@ public class App extends Application {
             // Inicializar base de datos
             databaseManager = DatabaseManager.getInstance();
             databaseManager.inicializarBaseDatos();
+            // Los días ya cerrados salen de la tabla antes de empezar a jugar
+            databaseManager.archivarHistorial(0);
+            ClasificacionJugadores.getInstance().reconstruir(databaseManager);
+            abrirDiario();
 
             // Cargar vista principal
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MenuPrincipal.fxml"));
@@ -48,6 +59,35 @@ public class App extends Application {
         }
     }
 
+    /**
+     * Registra la sesión en el diario de la mesa, para poder reproducirla
+     * si se reclama un resultado. Sin diario el juego sigue funcionando
+     */
+    private void abrirDiario() {
+        try {
+            GameService gameService = GameService.getInstance();
+            diario = DiarioMesa.abrir(Path.of(DIARIO), gameService);
+            diario.setVolcarPorRonda(true);
+            gameService.suscribir(diario);
+        } catch (Exception e) {
+            Logger.logError("No se pudo abrir el diario de la mesa", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        GameService.getInstance().guardarEstadisticas();
+        if (diario == null) {
+            return;
+        }
+        GameService.getInstance().desuscribir(diario);
+        try {
+            diario.close();
+        } catch (Exception e) {
+            Logger.logError("Error al cerrar el diario de la mesa", e);
+        }
+    }
+
     public static App getInstance() {
         return instance;
     }
@@ -0,0 +1,233 @@
+package com.blackjack.controllers;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import com.blackjack.App;
+import com.blackjack.rules.ReglasCompiladas;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.ClasificacionJugadores;
+import com.blackjack.services.GameService;
+import com.blackjack.utils.Dinero;
+import com.blackjack.utils.Validator;
+import com.blackjack.utils.Logger;
+import java.util.List;
+
+/**
+ * Controlador para el menú principal
+ * Principio ISP: Interfaz segregada para cada vista
+ */
+public class MenuPrincipalController {
+
+    @FXML private Label lblTitulo;
+    @FXML private Button btnJugar;
+    @FXML private Button btnReglas;
+    @FXML private Button btnClasificacion;
+    @FXML private Button btnSalir;
+    @FXML private TextField txtNombre;
+    @FXML private Label lblError;
+
+    private GameService gameService;
+
+    @FXML
+    public void initialize() {
+        gameService = GameService.getInstance();
+        lblError.setVisible(false);
+
+        // Configurar eventos
+        btnJugar.setOnAction(e -> iniciarJuego());
+        btnReglas.setOnAction(e -> mostrarReglas());
+        btnClasificacion.setOnAction(e -> mostrarClasificacion());
+        btnSalir.setOnAction(e -> salir());
+    }
+
+    private void iniciarJuego() {
+        String nombre = txtNombre.getText().trim();
+
+        if (!Validator.esNombreValido(nombre)) {
+            mostrarError("Por favor ingrese un nombre válido (3-20 caracteres)");
+            return;
+        }
+
+        try {
+            gameService.iniciarJugador(nombre);
+
+            // Cambiar a la pantalla del juego
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/PantallaJuego.fxml"));
+            Parent root = loader.load();
+
+            Scene scene = btnJugar.getScene();
+            scene.setRoot(root);
+
+        } catch (Exception e) {
+            Logger.logError("Error al iniciar juego", e);
+            mostrarError("Error al iniciar el juego: " + e.getMessage());
+        }
+    }
+
+    private void mostrarReglas() {
+        try {
+            Stage dialogStage = new Stage();
+            dialogStage.setTitle("Reglas del BlackJack");
+            dialogStage.initModality(Modality.WINDOW_MODAL);
+            dialogStage.initOwner(btnReglas.getScene().getWindow());
+
+            VBox vbox = new VBox(10);
+            vbox.setStyle("-fx-padding: 20;");
+
+            TextArea textArea = new TextArea();
+            textArea.setText(obtenerReglas());
+            textArea.setEditable(false);
+            textArea.setWrapText(true);
+            textArea.setPrefSize(500, 400);
+
+            Button btnCerrar = new Button("Cerrar");
+            btnCerrar.setOnAction(e -> dialogStage.close());
+
+            vbox.getChildren().addAll(textArea, btnCerrar);
+
+            Scene scene = new Scene(vbox);
+            dialogStage.setScene(scene);
+            dialogStage.show();
+
+        } catch (Exception e) {
+            Logger.logError("Error al mostrar reglas", e);
+        }
+    }
+
+    /**
+     * Los diez mejores por saldo y por ganancia neta, leídos de la
+     * clasificación en memoria
+     */
+    private void mostrarClasificacion() {
+        Stage dialogStage = new Stage();
+        dialogStage.setTitle("Clasificación");
+        dialogStage.initModality(Modality.WINDOW_MODAL);
+        dialogStage.initOwner(btnClasificacion.getScene().getWindow());
+
+        ClasificacionJugadores clasificacion = ClasificacionJugadores.getInstance();
+        HBox listas = new HBox(30,
+                listaClasificacion("Por saldo", clasificacion.mejores(ClasificacionJugadores.Criterio.SALDO, 10), false),
+                listaClasificacion("Por ganancia neta", clasificacion.mejores(ClasificacionJugadores.Criterio.NETO, 10), true));
+
+        Button btnCerrar = new Button("Cerrar");
+        btnCerrar.setOnAction(e -> dialogStage.close());
+
+        VBox vbox = new VBox(15, listas,
+                new Label(String.format("%,d jugadores registrados", clasificacion.getJugadores())), btnCerrar);
+        vbox.setStyle("-fx-padding: 20;");
+        dialogStage.setScene(new Scene(vbox));
+        dialogStage.show();
+    }
+
+    private VBox listaClasificacion(String titulo, List<ClasificacionJugadores.Puesto> puestos, boolean conSigno) {
+        VBox lista = new VBox(6, new Label(titulo));
+        lista.setPrefWidth(260);
+        for (ClasificacionJugadores.Puesto puesto : puestos) {
+            lista.getChildren().add(new Label(String.format("%2d. %-20s %s", puesto.posicion(), puesto.nombre(),
+                    conSigno ? Dinero.formatearConSigno(puesto.puntuacion()) : "$" + Dinero.formatear(puesto.puntuacion()))));
+        }
+        return lista;
+    }
+
+    /**
+     * Texto de las reglas de la mesa en la que se va a jugar: límites,
+     * pago del blackjack, mazos y comportamiento del dealer salen de
+     * ReglasMesa, así que el diálogo no se desfasa si cambia la mesa
+     */
+    private String obtenerReglas() {
+        ReglasMesa reglas = gameService.getReglas();
+        ReglasCompiladas compiladas = reglas.compilar();
+        long minima = reglas.getApuestaMinima();
+        String pago = reglas.getPagoBlackjackNumerador() + ":" + reglas.getPagoBlackjackDenominador();
+
+        return "REGLAS DEL BLACKJACK\n\n" +
+                "OBJETIVO:\n" +
+                "Conseguir 21 puntos o acercarse lo más posible sin pasarse.\n\n" +
+
+                "LA MESA:\n" +
+                "• " + (reglas.getNumeroMazos() == 1 ? "1 mazo" : reglas.getNumeroMazos() + " mazos") +
+                (reglas.isBarajadoContinuo() ? ", con máquina barajadora\n" : "\n") +
+                "• Apuesta mínima $" + Dinero.formatear(minima) +
+                ", máxima $" + Dinero.formatear(reglas.getApuestaMaxima()) + "\n" +
+                "• El dealer " + (reglas.isDealerPideSuave17() ? "pide" : "se planta") + " con 17 suave (" +
+                (reglas.isDealerPideSuave17() ? "H17" : "S17") + ")\n" +
+                "• Doblar: " + textoDoblar(reglas) + "\n" +
+                "• " + textoManos(reglas) + "\n\n" +
+
+                "VALOR DE LAS CARTAS:\n" +
+                "• Cartas numéricas (2-10): Su valor nominal\n" +
+                "• J, Q, K: Valen 10 puntos\n" +
+                "• As: Vale 1 u 11 puntos (lo más conveniente)\n\n" +
+
+                "DESARROLLO DEL JUEGO:\n" +
+                "1. Realiza tu apuesta\n" +
+                "2. Recibes 2 cartas iniciales\n" +
+                "3. El dealer recibe 2 cartas (una oculta)\n" +
+                "4. Puedes pedir más cartas o plantarte\n" +
+                "5. El dealer juega después (pide con 16 o menos" +
+                (reglas.isDealerPideSuave17() ? " y con 17 suave)" : ")") + "\n\n" +
+
+                "OPCIONES DE JUEGO:\n" +
+                "• PEDIR: Recibir otra carta\n" +
+                "• PLANTARSE: Mantener tu mano actual\n" +
+                "• DOBLAR: Doblar apuesta y recibir solo una carta más\n" +
+                "• DIVIDIR: Si tienes dos cartas iguales, puedes dividir\n\n" +
+
+                "BLACKJACK:\n" +
+                "Si obtienes 21 con las dos primeras cartas, es BLACKJACK.\n" +
+                "Paga " + pago + ": con $" + Dinero.formatear(minima) + " apostados recibes $" +
+                Dinero.formatear(compiladas.retornoBlackjack(minima)) + " (apuesta incluida)\n\n" +
+
+                "RESULTADOS:\n" +
+                "• Ganas si tu mano es mayor que la del dealer sin pasarte de 21\n" +
+                "• Pierdes si te pasas de 21 o el dealer tiene mejor mano\n" +
+                "• Empatas si ambos tienen el mismo valor\n\n" +
+
+                "¡BUENA SUERTE!";
+    }
+
+    /**
+     * Sin tope de manos (el valor por defecto de ReglasMesa) no se muestra
+     * el número, que es Integer.MAX_VALUE
+     */
+    private static String textoManos(ReglasMesa reglas) {
+        if (reglas.getMaxManos() == 1) {
+            return "1 mano por ronda (no se puede dividir)";
+        }
+        if (reglas.getMaxManos() == Integer.MAX_VALUE) {
+            return "Se puede dividir sin límite de manos por ronda";
+        }
+        return "Hasta " + reglas.getMaxManos() + " manos por ronda";
+    }
+
+    private static String textoDoblar(ReglasMesa reglas) {
+        String totales = reglas.getReglaDoblar() == ReglasMesa.ReglaDoblar.CUALQUIERA
+                ? "con cualquier mano de dos cartas"
+                : "solo con totales " + reglas.getReglaDoblar().getTexto() + " en dos cartas";
+        if (reglas.getMaxManos() == 1) {
+            return totales;
+        }
+        return totales + (reglas.isDoblarTrasDividir() ? ", también tras dividir" : ", no tras dividir");
+    }
+
+    private void mostrarError(String mensaje) {
+        lblError.setText(mensaje);
+        lblError.setVisible(true);
+    }
+
+    /**
+     * Cierra con Platform.exit para que App.stop guarde las estadísticas
+     * pendientes y cierre el diario; System.exit se saltaría ambos
+     */
+    private void salir() {
+        Platform.exit();
+    }
+}
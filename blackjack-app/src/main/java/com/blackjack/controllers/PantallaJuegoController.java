@@ -0,0 +1,795 @@
+package com.blackjack.controllers;
+
+import com.blackjack.App;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import com.blackjack.analysis.MotorSugerencias;
+import com.blackjack.analysis.Sugerencia;
+import com.blackjack.database.DatabaseManager;
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.models.*;
+import com.blackjack.services.ClasificacionJugadores;
+import com.blackjack.services.GameService;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.strategies.Accion;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.exceptions.*;
+import com.blackjack.utils.Dinero;
+import com.blackjack.utils.Logger;
+
+/**
+ * Controlador principal del juego
+ * Gestiona toda la interfaz durante la partida
+ */
+public class PantallaJuegoController {
+
+    @FXML private Label lblNombreJugador;
+    @FXML private Label lblSaldo;
+    @FXML private Label lblApuesta;
+    @FXML private Label lblValorJugador;
+    @FXML private Label lblValorDealer;
+    @FXML private Label lblMensaje;
+    @FXML private Label lblSugerencia;
+
+    @FXML private HBox hboxCartasJugador;
+    @FXML private HBox hboxCartasDealer;
+
+    @FXML private Button btnPedir;
+    @FXML private Button btnPlantarse;
+    @FXML private Button btnDoblar;
+    @FXML private Button btnDividir;
+    @FXML private Button btnNuevaRonda;
+    @FXML private Button btnApostar;
+    @FXML private Button btnVolver;
+    @FXML private Button btnAutojuego;
+    @FXML private Button btnGraficoSaldo;
+    @FXML private Button btnEstadisticas;
+
+    @FXML private ComboBox<String> cmbEstrategia;
+    @FXML private Label lblManosPorSegundo;
+
+    @FXML private TextField txtApuesta;
+    @FXML private VBox vboxApuesta;
+
+    private GameService gameService;
+    private final ObservadorJuego observador = this::alEvento;
+    // Reutilizado por las etiquetas de dinero, que se redibujan en cada evento
+    private final StringBuilder textoDinero = new StringBuilder(32);
+    // Aviso sobre el guardado del saldo pendiente de mostrar con el resultado
+    private String avisoSaldo;
+
+    // Se crea en segundo plano; mientras tanto no se muestran sugerencias
+    private MotorSugerencias motorSugerencias;
+    private int generacionSugerencia;
+
+    // Autojuego: un hilo propio juega las rondas y deja la última foto de la
+    // mesa; el temporizador la dibuja como mucho una vez por pulso
+    private volatile boolean autojugando;
+    private final AtomicReference<Instantanea> instantanea = new AtomicReference<>();
+    private final AtomicLong manosAutojuego = new AtomicLong();
+    private final AnimationTimer temporizador = new AnimationTimer() {
+        @Override
+        public void handle(long ahora) {
+            Instantanea foto = instantanea.getAndSet(null);
+            if (foto != null) {
+                dibujar(foto);
+            }
+            actualizarRitmo(ahora);
+        }
+    };
+    private long inicioRitmo;
+    private long manosRitmo;
+
+    @FXML
+    public void initialize() {
+        gameService = GameService.getInstance();
+        gameService.suscribir(observador);
+
+        configurarEventos();
+        cmbEstrategia.getItems().setAll(RegistroEstrategias.nombres());
+        cmbEstrategia.setValue(cmbEstrategia.getItems().contains("basica") ? "basica" : cmbEstrategia.getItems().get(0));
+        cargarMotorSugerencias();
+        actualizarSaldo(gameService.getJugador().getSaldo());
+        actualizarInterfaz();
+
+        // Mostrar panel de apuesta
+        mostrarPanelApuesta();
+    }
+
+    private void configurarEventos() {
+        btnApostar.setOnAction(e -> realizarApuesta());
+        btnPedir.setOnAction(e -> pedir());
+        btnPlantarse.setOnAction(e -> plantarse());
+        btnDoblar.setOnAction(e -> doblar());
+        btnDividir.setOnAction(e -> dividir());
+        btnNuevaRonda.setOnAction(e -> nuevaRonda());
+        btnVolver.setOnAction(e -> volverAlMenu());
+        btnAutojuego.setOnAction(e -> alternarAutojuego());
+        btnGraficoSaldo.setOnAction(e -> mostrarGraficoSaldo());
+        btnEstadisticas.setOnAction(e -> mostrarEstadisticas());
+    }
+
+    private void cargarMotorSugerencias() {
+        CompletableFuture.supplyAsync(() -> new MotorSugerencias(gameService.getReglas()))
+                .thenAccept(motor -> Platform.runLater(() -> {
+                    motorSugerencias = motor;
+                    actualizarSugerencia();
+                }))
+                .exceptionally(e -> {
+                    Logger.logError("No se pudo preparar el motor de sugerencias", new Exception(e));
+                    return null;
+                });
+    }
+
+    private void realizarApuesta() {
+        try {
+            long apuesta = Dinero.parsear(txtApuesta.getText());
+            gameService.realizarApuesta(apuesta);
+
+            ocultarPanelApuesta();
+            actualizarInterfaz();
+            habilitarBotonesJuego();
+
+            // Verificar blackjack inicial
+            if (gameService.getEstadoActual() == GameService.EstadoJuego.FINALIZADO) {
+                finalizarRonda();
+            }
+
+        } catch (NumberFormatException e) {
+            mostrarMensaje("Por favor ingrese una apuesta válida", true);
+        } catch (SaldoInsuficienteException e) {
+            mostrarMensaje(e.getMessage(), true);
+        } catch (GameException e) {
+            mostrarMensaje(e.getMessage(), true);
+        }
+    }
+
+    private void pedir() {
+        try {
+            gameService.pedir();
+            actualizarInterfaz();
+
+            if (gameService.getEstadoActual() == GameService.EstadoJuego.FINALIZADO ||
+                    gameService.getEstadoActual() == GameService.EstadoJuego.TURNO_DEALER) {
+                finalizarRonda();
+            }
+
+        } catch (GameException e) {
+            mostrarMensaje(e.getMessage(), true);
+        }
+    }
+
+    private void plantarse() {
+        try {
+            gameService.plantarse();
+            actualizarInterfaz();
+
+            if (gameService.getEstadoActual() == GameService.EstadoJuego.TURNO_DEALER) {
+                // Mostrar animación del dealer
+                Platform.runLater(() -> {
+                    actualizarInterfaz();
+                    finalizarRonda();
+                });
+            }
+
+        } catch (GameException e) {
+            mostrarMensaje(e.getMessage(), true);
+        }
+    }
+
+    private void doblar() {
+        try {
+            gameService.doblar();
+            actualizarInterfaz();
+
+            if (gameService.getEstadoActual() == GameService.EstadoJuego.FINALIZADO ||
+                    gameService.getEstadoActual() == GameService.EstadoJuego.TURNO_DEALER) {
+                finalizarRonda();
+            }
+
+        } catch (SaldoInsuficienteException e) {
+            mostrarMensaje(e.getMessage(), true);
+        } catch (GameException e) {
+            mostrarMensaje(e.getMessage(), true);
+        }
+    }
+
+    private void dividir() {
+        try {
+            gameService.dividir();
+            actualizarInterfaz();
+
+        } catch (SaldoInsuficienteException e) {
+            mostrarMensaje(e.getMessage(), true);
+        } catch (GameException e) {
+            mostrarMensaje(e.getMessage(), true);
+        }
+    }
+
+    private void actualizarInterfaz() {
+        Jugador jugador = gameService.getJugador();
+
+        if (jugador != null) {
+            lblNombreJugador.setText(jugador.getNombre());
+
+            // Actualizar cartas y valores
+            actualizarCartasJugador();
+            actualizarCartasDealer();
+
+            // Actualizar botones según el estado
+            actualizarBotones();
+        }
+    }
+
+    /**
+     * Reacciona a los eventos de la mesa; las acciones se ejecutan en el hilo
+     * de JavaFX, así que se puede tocar la interfaz directamente
+     */
+    private void alEvento(EventoJuego evento) {
+        if (evento instanceof EventoJuego.SaldoCambiado cambio) {
+            actualizarSaldo(cambio.nuevo());
+        } else if (evento instanceof EventoJuego.SaldoExterno externo) {
+            actualizarSaldo(externo.nuevo());
+            avisarSaldo("Tu saldo cambió en otra sesión");
+        } else if (evento instanceof EventoJuego.SaldoNoGuardado) {
+            avisarSaldo("No se pudo guardar el saldo; se guardará con la próxima ronda");
+        }
+    }
+
+    /**
+     * Muestra el aviso y lo guarda para añadirlo al resultado de la ronda,
+     * que se muestra después y taparía el mensaje
+     */
+    private void avisarSaldo(String aviso) {
+        avisoSaldo = aviso;
+        mostrarMensaje(aviso, true);
+    }
+
+    private void actualizarSaldo(long saldo) {
+        textoDinero.setLength(0);
+        lblSaldo.setText(Dinero.agregar(textoDinero.append("Saldo: $"), saldo).toString());
+    }
+
+    private void actualizarCartasJugador() {
+        hboxCartasJugador.getChildren().clear();
+
+        Jugador jugador = gameService.getJugador();
+
+        for (int i = 0; i < jugador.getManos().size(); i++) {
+            Mano mano = jugador.getManos().get(i);
+
+            VBox vboxMano = new VBox(5);
+            vboxMano.setAlignment(Pos.CENTER);
+
+            // Indicar mano actual
+            if (i == jugador.getIndiceManoActual()) {
+                vboxMano.setStyle("-fx-border-color: yellow; -fx-border-width: 2;");
+            }
+
+            HBox hboxCartas = new HBox(5);
+
+            for (Carta carta : mano.getCartas()) {
+                Label lblCarta = crearLabelCarta(carta);
+                hboxCartas.getChildren().add(lblCarta);
+            }
+
+            Label lblValor = new Label("Valor: " + mano.calcularValor());
+            lblValor.setTextFill(Color.WHITE);
+
+            if (mano.esBusted()) {
+                lblValor.setText("¡PASADO! (" + mano.calcularValor() + ")");
+                lblValor.setTextFill(Color.RED);
+            } else if (mano.esBlackjack()) {
+                lblValor.setText("¡BLACKJACK!");
+                lblValor.setTextFill(Color.GOLD);
+            }
+
+            vboxMano.getChildren().addAll(hboxCartas, lblValor);
+            hboxCartasJugador.getChildren().add(vboxMano);
+        }
+
+        // Actualizar valor total
+        Mano manoActual = jugador.getManoActual();
+        lblValorJugador.setText("Valor: " + manoActual.calcularValor());
+        textoDinero.setLength(0);
+        lblApuesta.setText(Dinero.agregar(textoDinero.append("Apuesta: $"), manoActual.getApuesta()).toString());
+    }
+
+    private void actualizarCartasDealer() {
+        hboxCartasDealer.getChildren().clear();
+
+        Dealer dealer = gameService.getDealer();
+        Mano manoDealer = dealer.getMano();
+
+        for (Carta carta : manoDealer.getCartas()) {
+            Label lblCarta = crearLabelCarta(carta);
+            hboxCartasDealer.getChildren().add(lblCarta);
+        }
+
+        // Actualizar valor del dealer
+        if (gameService.getEstadoActual() == GameService.EstadoJuego.TURNO_DEALER ||
+                gameService.getEstadoActual() == GameService.EstadoJuego.FINALIZADO) {
+
+            lblValorDealer.setText("Valor: " + manoDealer.calcularValor());
+
+            if (manoDealer.esBusted()) {
+                lblValorDealer.setText("¡PASADO! (" + manoDealer.calcularValor() + ")");
+                lblValorDealer.setTextFill(Color.RED);
+            }
+        } else {
+            // Solo mostrar valor de la carta visible
+            Carta cartaVisible = dealer.getCartaVisible();
+            if (cartaVisible != null) {
+                lblValorDealer.setText("Mostrando: " + cartaVisible.getValor().getValorMinimo());
+            }
+        }
+    }
+
+    private Label crearLabelCarta(Carta carta) {
+        Label label = new Label();
+
+        if (carta.isBocaAbajo()) {
+            label.setText("??");
+            label.setStyle("-fx-background-color: #2C3E50; -fx-text-fill: white; " +
+                    "-fx-padding: 10; -fx-border-color: white; -fx-border-width: 1;");
+        } else {
+            label.setText(carta.getRepresentacion());
+
+            String color = (carta.getPalo() == Carta.Palo.CORAZONES ||
+                    carta.getPalo() == Carta.Palo.DIAMANTES) ? "red" : "black";
+
+            label.setStyle("-fx-background-color: white; -fx-text-fill: " + color + "; " +
+                    "-fx-padding: 10; -fx-border-color: black; -fx-border-width: 1; " +
+                    "-fx-font-size: 20; -fx-font-weight: bold;");
+        }
+
+        label.setMinSize(60, 80);
+        label.setMaxSize(60, 80);
+        label.setAlignment(Pos.CENTER);
+
+        return label;
+    }
+
+    private void actualizarBotones() {
+        GameService.EstadoJuego estado = gameService.getEstadoActual();
+
+        if (estado == GameService.EstadoJuego.JUGANDO) {
+            Mano manoActual = gameService.getJugador().getManoActual();
+
+            btnPedir.setDisable(manoActual.isPlantado());
+            btnPlantarse.setDisable(manoActual.isPlantado());
+            btnDoblar.setDisable(!gameService.puedeDoblar());
+            btnDividir.setDisable(!gameService.puedeDividir());
+            btnNuevaRonda.setDisable(true);
+
+        } else if (estado == GameService.EstadoJuego.FINALIZADO) {
+            deshabilitarBotonesJuego();
+            btnNuevaRonda.setDisable(false);
+
+        } else {
+            deshabilitarBotonesJuego();
+        }
+
+        // El autojuego empieza entre rondas, no con una mano a medias
+        btnAutojuego.setDisable(estado == GameService.EstadoJuego.JUGANDO);
+        actualizarSugerencia();
+    }
+
+    /**
+     * Muestra al instante la sugerencia de la tabla precalculada y pide el
+     * cálculo con la composición real del zapato; si la mano cambia antes de
+     * que termine, el resultado se descarta
+     */
+    private void actualizarSugerencia() {
+        int generacion = ++generacionSugerencia;
+
+        if (motorSugerencias == null || gameService.getEstadoActual() != GameService.EstadoJuego.JUGANDO) {
+            lblSugerencia.setText("");
+            return;
+        }
+
+        Mano mano = gameService.getJugador().getManoActual();
+        Dealer dealer = gameService.getDealer();
+        boolean puedeDoblar = gameService.puedeDoblar();
+        boolean puedeDividir = gameService.puedeDividir();
+
+        mostrarSugerencia(motorSugerencias.sugerir(mano, dealer.getCartaVisible(), puedeDoblar, puedeDividir));
+
+        motorSugerencias.refinar(mano, dealer.getMano(), gameService.getRastreador().leer().cuentas(), puedeDoblar, puedeDividir)
+                .thenAccept(sugerencia -> Platform.runLater(() -> {
+                    if (generacion == generacionSugerencia) {
+                        mostrarSugerencia(sugerencia);
+                    }
+                }));
+    }
+
+    private void mostrarSugerencia(Sugerencia sugerencia) {
+        if (sugerencia == null) {
+            lblSugerencia.setText("");
+            return;
+        }
+
+        StringBuilder texto = new StringBuilder("Sugerencia: ")
+                .append(nombreAccion(sugerencia.mejor()));
+        for (Accion accion : Accion.values()) {
+            if (sugerencia.permitida(accion)) {
+                texto.append(String.format("  %s %+.3f", nombreAccion(accion), sugerencia.ev(accion)));
+            }
+        }
+        if (sugerencia.refinada()) {
+            texto.append("  (según el zapato)");
+        }
+        lblSugerencia.setText(texto.toString());
+    }
+
+    private static String nombreAccion(Accion accion) {
+        switch (accion) {
+            case PEDIR: return "Pedir";
+            case PLANTARSE: return "Plantarse";
+            case DOBLAR: return "Doblar";
+            default: return "Dividir";
+        }
+    }
+
+    private void habilitarBotonesJuego() {
+        btnPedir.setDisable(false);
+        btnPlantarse.setDisable(false);
+        actualizarBotones();
+    }
+
+    private void deshabilitarBotonesJuego() {
+        btnPedir.setDisable(true);
+        btnPlantarse.setDisable(true);
+        btnDoblar.setDisable(true);
+        btnDividir.setDisable(true);
+    }
+
+    private void mostrarPanelApuesta() {
+        vboxApuesta.setVisible(true);
+        deshabilitarBotonesJuego();
+        btnNuevaRonda.setDisable(true);
+
+        txtApuesta.setText("");
+        txtApuesta.requestFocus();
+    }
+
+    private void ocultarPanelApuesta() {
+        vboxApuesta.setVisible(false);
+    }
+
+    private void finalizarRonda() {
+        actualizarInterfaz();
+
+        // Determinar resultado
+        String mensaje = determinarMensajeResultado();
+        if (avisoSaldo != null) {
+            mostrarMensaje(mensaje + "\n" + avisoSaldo, true);
+            avisoSaldo = null;
+        } else {
+            mostrarMensaje(mensaje, false);
+        }
+
+        btnNuevaRonda.setDisable(false);
+    }
+
+    private String determinarMensajeResultado() {
+        return mensajeResultado(gameService);
+    }
+
+    /**
+     * Texto del resultado de la ronda que se muestra al jugador; el
+     * autojuego lo calcula en su hilo con la misma regla
+     */
+    private static String mensajeResultado(GameService mesa) {
+        Jugador jugador = mesa.getJugador();
+        Dealer dealer = mesa.getDealer();
+
+        int valorJugador = jugador.getManoActual().calcularValor();
+        int valorDealer = dealer.getMano().calcularValor();
+
+        if (jugador.getManoActual().esBusted()) {
+            return "¡Te pasaste! Pierdes la ronda.";
+        } else if (dealer.getMano().esBusted()) {
+            return "¡El dealer se pasó! ¡GANASTE!";
+        } else if (jugador.getManoActual().esBlackjack() && !dealer.getMano().esBlackjack()) {
+            return "¡BLACKJACK! ¡Ganaste con pago 3:2!";
+        } else if (valorJugador > valorDealer) {
+            return "¡GANASTE! Tu " + valorJugador + " vence al " + valorDealer + " del dealer";
+        } else if (valorJugador < valorDealer) {
+            return "Perdiste. El " + valorDealer + " del dealer vence a tu " + valorJugador;
+        } else {
+            return "¡EMPATE! Ambos tienen " + valorJugador;
+        }
+    }
+
+    private void nuevaRonda() {
+        gameService.nuevaRonda();
+        lblMensaje.setText("");
+        actualizarInterfaz();
+        mostrarPanelApuesta();
+    }
+
+    private void volverAlMenu() {
+        gameService.desuscribir(observador);
+        gameService.guardarEstadisticas();
+        try {
+            App.getInstance().cambiarEscena("/fxml/MenuPrincipal.fxml");
+        } catch (Exception e) {
+            Logger.logError("Error al volver al menú", e);
+        }
+    }
+
+    private void mostrarGraficoSaldo() {
+        Jugador jugador = gameService.getJugador();
+        if (jugador.getId() == null) {
+            mostrarMensaje("Este jugador no tiene historial guardado", true);
+            return;
+        }
+        VentanaGraficoSaldo.mostrar(btnGraficoSaldo.getScene().getWindow(),
+                "Historial de saldo - " + jugador.getNombre(),
+                DatabaseManager.getInstance().fuenteSaldos(jugador.getId()));
+    }
+
+    /**
+     * Muestra las estadísticas acumuladas del jugador, que la mesa mantiene
+     * al día ronda a ronda sin consultar el historial
+     */
+    private void mostrarEstadisticas() {
+        EstadisticasJugador estadisticas = gameService.getEstadisticas().copiar();
+
+        Stage dialogStage = new Stage();
+        dialogStage.setTitle("Estadísticas - " + gameService.getJugador().getNombre());
+        dialogStage.initModality(Modality.WINDOW_MODAL);
+        dialogStage.initOwner(btnEstadisticas.getScene().getWindow());
+
+        GridPane tabla = new GridPane();
+        tabla.setHgap(20);
+        tabla.setVgap(6);
+        String[][] filas = {
+                {"Manos jugadas", String.format("%,d", estadisticas.getManos())},
+                {"Ganadas", String.format("%,d (%.1f%%)", estadisticas.getGanadas(), estadisticas.getPorcentajeGanadas())},
+                {"Empatadas", String.format("%,d", estadisticas.getEmpatadas())},
+                {"Perdidas", String.format("%,d", estadisticas.getPerdidas())},
+                {"Blackjacks", String.format("%,d", estadisticas.getBlackjacks())},
+                {"Dobladas", String.format("%,d", estadisticas.getDobladas())},
+                {"Divisiones", String.format("%,d", estadisticas.getDivididas())},
+                {"Total apostado", "$" + Dinero.formatear(estadisticas.getTotalApostado())},
+                {"Resultado neto", String.format("%s (%+.2f%%)", Dinero.formatearConSigno(estadisticas.getNeto()),
+                        estadisticas.getRetorno() * 100)},
+                {"Saldo máximo", "$" + Dinero.formatear(estadisticas.getPicoSaldo())},
+                {"Caída máxima", "$" + Dinero.formatear(estadisticas.getMaximaCaida())}
+        };
+        for (int i = 0; i < filas.length; i++) {
+            tabla.addRow(i, new Label(filas[i][0]), new Label(filas[i][1]));
+        }
+        Long jugadorId = gameService.getJugador().getId();
+        if (jugadorId != null) {
+            ClasificacionJugadores clasificacion = ClasificacionJugadores.getInstance();
+            int total = clasificacion.getJugadores();
+            clasificacion.posicion(ClasificacionJugadores.Criterio.SALDO, jugadorId).ifPresent(puesto ->
+                    tabla.addRow(filas.length, new Label("Puesto por saldo"),
+                            new Label(String.format("%,d de %,d", puesto.posicion(), total))));
+            clasificacion.posicion(ClasificacionJugadores.Criterio.NETO, jugadorId).ifPresent(puesto ->
+                    tabla.addRow(filas.length + 1, new Label("Puesto por ganancia"),
+                            new Label(String.format("%,d de %,d", puesto.posicion(), total))));
+        }
+
+        Button btnCerrar = new Button("Cerrar");
+        btnCerrar.setOnAction(e -> dialogStage.close());
+
+        VBox vbox = new VBox(15, tabla, btnCerrar);
+        vbox.setStyle("-fx-padding: 20;");
+        dialogStage.setScene(new Scene(vbox));
+        dialogStage.show();
+    }
+
+    private void alternarAutojuego() {
+        if (autojugando) {
+            // El hilo termina al acabar la ronda en curso y avisa con terminarAutojuego
+            autojugando = false;
+            btnAutojuego.setDisable(true);
+            return;
+        }
+
+        long apuesta;
+        try {
+            apuesta = txtApuesta.getText().isBlank()
+                    ? gameService.getApuestaMinima()
+                    : Dinero.parsear(txtApuesta.getText());
+        } catch (NumberFormatException e) {
+            mostrarMensaje("Por favor ingrese una apuesta válida", true);
+            return;
+        }
+
+        Simulador simulador = new Simulador(gameService,
+                RegistroEstrategias.crear(cmbEstrategia.getValue()), apuesta);
+
+        // Mientras dure solo el hilo de autojuego toca la mesa; el observador
+        // de la pantalla se quita para que no reciba eventos fuera del hilo de JavaFX
+        gameService.desuscribir(observador);
+        autojugando = true;
+        generacionSugerencia++;
+        lblSugerencia.setText("");
+        lblMensaje.setText("");
+        ocultarPanelApuesta();
+        deshabilitarBotonesJuego();
+        btnNuevaRonda.setDisable(true);
+        btnVolver.setDisable(true);
+        btnEstadisticas.setDisable(true);
+        // El gráfico lee la base de datos, que en ese momento usa el hilo de autojuego
+        btnGraficoSaldo.setDisable(true);
+        cmbEstrategia.setDisable(true);
+        btnAutojuego.setText("Detener");
+
+        manosAutojuego.set(0);
+        manosRitmo = 0;
+        inicioRitmo = System.nanoTime();
+
+        Thread hilo = new Thread(() -> autojugar(simulador, apuesta), "autojuego");
+        hilo.setDaemon(true);
+        hilo.start();
+        temporizador.start();
+    }
+
+    /**
+     * Bucle del hilo de autojuego. Solo fotografía la mesa cuando el
+     * temporizador ya recogió la foto anterior, así que entre dos pulsos se
+     * copia una sola ronda aunque se jueguen miles. Las rondas se guardan en
+     * la base de datos por bloques (ver {@link GameService#iniciarRafaga()})
+     */
+    private void autojugar(Simulador simulador, long apuesta) {
+        String error = null;
+        gameService.iniciarRafaga();
+        try {
+            while (autojugando) {
+                if (gameService.getJugador().getSaldo() < apuesta) {
+                    error = "Saldo insuficiente para seguir jugando";
+                    break;
+                }
+                GameService.ResultadoRonda resultado = simulador.jugarRonda();
+                manosAutojuego.incrementAndGet();
+                if (instantanea.get() == null) {
+                    instantanea.set(Instantanea.capturar(gameService, resultado));
+                }
+            }
+        } catch (GameException | RuntimeException e) {
+            Logger.logError("Error en el autojuego", e);
+            error = e.getMessage();
+        } finally {
+            gameService.terminarRafaga();
+        }
+
+        String mensaje = error;
+        Platform.runLater(() -> terminarAutojuego(mensaje));
+    }
+
+    private void terminarAutojuego(String error) {
+        autojugando = false;
+        temporizador.stop();
+        instantanea.set(null);
+        actualizarRitmo(System.nanoTime());
+        gameService.suscribir(observador);
+
+        btnAutojuego.setText("Autojuego");
+        btnAutojuego.setDisable(false);
+        btnVolver.setDisable(false);
+        btnEstadisticas.setDisable(false);
+        btnGraficoSaldo.setDisable(false);
+        cmbEstrategia.setDisable(false);
+
+        actualizarSaldo(gameService.getJugador().getSaldo());
+        actualizarInterfaz();
+        if (error != null) {
+            mostrarMensaje(error, true);
+        }
+        if (gameService.getEstadoActual() == GameService.EstadoJuego.ESPERANDO_APUESTA) {
+            mostrarPanelApuesta();
+        }
+    }
+
+    /**
+     * Manos por segundo desde la última lectura, recalculadas cada medio segundo
+     */
+    private void actualizarRitmo(long ahora) {
+        long transcurrido = ahora - inicioRitmo;
+        if (transcurrido < 500_000_000L) {
+            return;
+        }
+
+        long manos = manosAutojuego.get();
+        lblManosPorSegundo.setText(String.format("%,.0f manos/s  (%,d manos)",
+                (manos - manosRitmo) * 1e9 / transcurrido, manos));
+        inicioRitmo = ahora;
+        manosRitmo = manos;
+    }
+
+    /**
+     * Dibuja una foto del autojuego; no consulta GameService, que en ese
+     * momento pertenece al hilo de autojuego
+     */
+    private void dibujar(Instantanea foto) {
+        hboxCartasJugador.getChildren().clear();
+        for (int i = 0; i < foto.manos().length; i++) {
+            HBox hboxCartas = new HBox(5);
+            for (int ordinal : foto.manos()[i]) {
+                hboxCartas.getChildren().add(crearLabelCarta(Carta.desdeOrdinal(ordinal)));
+            }
+
+            Label lblValor = new Label("Valor: " + foto.valores()[i]);
+            lblValor.setTextFill(foto.valores()[i] > 21 ? Color.RED : Color.WHITE);
+
+            VBox vboxMano = new VBox(5, hboxCartas, lblValor);
+            vboxMano.setAlignment(Pos.CENTER);
+            hboxCartasJugador.getChildren().add(vboxMano);
+        }
+
+        hboxCartasDealer.getChildren().clear();
+        for (int ordinal : foto.dealer()) {
+            hboxCartasDealer.getChildren().add(crearLabelCarta(Carta.desdeOrdinal(ordinal)));
+        }
+
+        lblValorDealer.setText("Valor: " + foto.valorDealer());
+        lblValorJugador.setText("Valor: " + foto.valores()[0]);
+        actualizarSaldo(foto.saldo());
+        textoDinero.setLength(0);
+        lblApuesta.setText(Dinero.agregar(textoDinero.append("Apuesta: $"), foto.apuesta()).toString());
+        mostrarMensaje(foto.mensaje(), foto.resultado() == GameService.ResultadoRonda.PIERDE);
+    }
+
+    /**
+     * Foto inmutable de la mesa al terminar una ronda, tomada en el hilo de
+     * autojuego: las cartas van como ordinales y los valores ya calculados
+     */
+    private record Instantanea(int[][] manos, int[] valores, int[] dealer, int valorDealer,
+                               long saldo, long apuesta, GameService.ResultadoRonda resultado,
+                               String mensaje) {
+
+        static Instantanea capturar(GameService mesa, GameService.ResultadoRonda resultado) {
+            List<Mano> manosJugador = mesa.getJugador().getManos();
+            int[][] manos = new int[manosJugador.size()][];
+            int[] valores = new int[manos.length];
+            long apuesta = 0;
+
+            for (int i = 0; i < manos.length; i++) {
+                Mano mano = manosJugador.get(i);
+                manos[i] = ordinales(mano);
+                valores[i] = mano.calcularValor();
+                apuesta += mano.getApuesta();
+            }
+
+            Mano dealer = mesa.getDealer().getMano();
+            return new Instantanea(manos, valores, ordinales(dealer), dealer.calcularValor(),
+                    mesa.getJugador().getSaldo(), apuesta, resultado, mensajeResultado(mesa));
+        }
+
+        private static int[] ordinales(Mano mano) {
+            int[] ordinales = new int[mano.getCantidadCartas()];
+            for (int i = 0; i < ordinales.length; i++) {
+                ordinales[i] = mano.getCarta(i).getOrdinal();
+            }
+            return ordinales;
+        }
+    }
+
+    private void mostrarMensaje(String mensaje, boolean esError) {
+        lblMensaje.setText(mensaje);
+        lblMensaje.setTextFill(esError ? Color.RED : Color.GREEN);
+    }
+}
@@ -0,0 +1,251 @@
+package com.blackjack.controllers;
+
+import com.blackjack.history.FuenteSaldos;
+import com.blackjack.history.SerieMuestreada;
+import com.blackjack.history.SerieSaldo;
+import com.blackjack.utils.Dinero;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Ventana con el saldo del jugador ronda a ronda. La serie se carga en
+ * segundo plano y cada dibujo pide a {@link SerieSaldo} solo los puntos
+ * que caben en el ancho del lienzo. Con un zoom que necesita leer filas de
+ * la base de datos o del archivo se dibuja antes el resumen en memoria y
+ * las filas se leen en segundo plano, de una lectura en una.
+ *
+ * Rueda del ratón: zoom alrededor del cursor. Arrastrar: desplazar.
+ * Doble clic: volver a la serie completa
+ */
+public class VentanaGraficoSaldo {
+
+    private static final double MARGEN = 40;
+
+    private final Stage stage = new Stage();
+    private final Canvas lienzo = new Canvas();
+    private final Label lblInfo = new Label("Cargando historial...");
+
+    private SerieSaldo serie;
+    private long desde;
+    private long hasta;
+    private double arrastreX;
+
+    // Tramo leído en segundo plano: cada dibujo que lo necesita invalida el
+    // anterior; solo hay una lectura en curso, y al terminar se vuelve a
+    // pedir la del tramo visible si cambió mientras tanto
+    private long generacion;
+    private boolean leyendo;
+
+    private VentanaGraficoSaldo(Window propietario, String titulo) {
+        stage.setTitle(titulo);
+        stage.initOwner(propietario);
+
+        Pane contenedor = new Pane(lienzo);
+        lienzo.widthProperty().bind(contenedor.widthProperty());
+        lienzo.heightProperty().bind(contenedor.heightProperty());
+        lienzo.widthProperty().addListener((obs, anterior, nuevo) -> dibujar());
+        lienzo.heightProperty().addListener((obs, anterior, nuevo) -> dibujar());
+
+        lienzo.setOnScroll(e -> zoom(e.getDeltaY() > 0 ? 0.8 : 1.25, e.getX()));
+        lienzo.setOnMousePressed(e -> arrastreX = e.getX());
+        lienzo.setOnMouseDragged(e -> {
+            desplazar(arrastreX - e.getX());
+            arrastreX = e.getX();
+        });
+        lienzo.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2 && serie != null) {
+                desde = 0;
+                hasta = serie.getPuntos();
+                dibujar();
+            }
+        });
+
+        BorderPane raiz = new BorderPane(contenedor);
+        lblInfo.setStyle("-fx-padding: 6;");
+        raiz.setBottom(lblInfo);
+        stage.setScene(new Scene(raiz, 900, 450));
+    }
+
+    public static void mostrar(Window propietario, String titulo, FuenteSaldos fuente) {
+        VentanaGraficoSaldo ventana = new VentanaGraficoSaldo(propietario, titulo);
+        ventana.stage.show();
+        ventana.cargar(fuente);
+    }
+
+    private void cargar(FuenteSaldos fuente) {
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return SerieSaldo.cargar(fuente);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((cargada, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                Logger.logError("No se pudo cargar el historial de saldo", new Exception(error));
+                lblInfo.setText("No se pudo cargar el historial de saldo");
+                return;
+            }
+            serie = cargada;
+            desde = 0;
+            hasta = cargada.getPuntos();
+            dibujar();
+        }));
+    }
+
+    private void zoom(double factor, double x) {
+        if (serie == null) {
+            return;
+        }
+        long tramo = hasta - desde;
+        double fraccion = Math.min(1, Math.max(0, (x - MARGEN) / Math.max(1, lienzo.getWidth() - 2 * MARGEN)));
+        long centro = desde + (long) (tramo * fraccion);
+        long nuevo = Math.max(2, Math.min(serie.getPuntos(), (long) (tramo * factor)));
+
+        desde = centro - (long) (nuevo * fraccion);
+        hasta = desde + nuevo;
+        ajustarTramo();
+        dibujar();
+    }
+
+    private void desplazar(double pixeles) {
+        if (serie == null) {
+            return;
+        }
+        long tramo = hasta - desde;
+        long rondas = (long) (pixeles * tramo / Math.max(1, lienzo.getWidth() - 2 * MARGEN));
+        desde += rondas;
+        hasta += rondas;
+        ajustarTramo();
+        dibujar();
+    }
+
+    private void ajustarTramo() {
+        long tramo = hasta - desde;
+        if (desde < 0) {
+            desde = 0;
+            hasta = tramo;
+        }
+        if (hasta > serie.getPuntos()) {
+            hasta = serie.getPuntos();
+            desde = Math.max(0, hasta - tramo);
+        }
+    }
+
+    private void dibujar() {
+        double ancho = lienzo.getWidth();
+        double alto = lienzo.getHeight();
+        if (serie == null || ancho <= 2 * MARGEN || alto <= 2 * MARGEN) {
+            pintarFondo();
+            return;
+        }
+        if (serie.getPuntos() == 0) {
+            pintarFondo();
+            lblInfo.setText("Todavía no hay rondas registradas");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        int columnas = (int) (ancho - 2 * MARGEN);
+        generacion++;
+        pintar(serie.muestrearResumen(desde, hasta, columnas), inicio);
+        if (serie.necesitaLectura(desde, hasta, columnas)) {
+            lblInfo.setText(lblInfo.getText() + "  |  leyendo rondas...");
+            leerTramo();
+        }
+    }
+
+    /**
+     * Lee en segundo plano las filas del tramo visible. Si al terminar el
+     * tramo ya cambió, descarta el resultado y dibuja el actual, que pedirá
+     * su propia lectura
+     */
+    private void leerTramo() {
+        if (leyendo) {
+            return;
+        }
+        leyendo = true;
+        long pedida = generacion;
+        long d = desde;
+        long h = hasta;
+        int columnas = (int) (lienzo.getWidth() - 2 * MARGEN);
+        SerieSaldo leida = serie;
+        long inicio = System.nanoTime();
+
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return leida.muestrear(d, h, columnas);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((muestra, error) -> Platform.runLater(() -> {
+            leyendo = false;
+            if (error != null) {
+                Logger.logError("Error al leer el historial de saldo", new Exception(error));
+                lblInfo.setText("Error al leer el historial de saldo");
+                return;
+            }
+            if (pedida != generacion) {
+                dibujar();
+                return;
+            }
+            pintar(muestra, inicio);
+        }));
+    }
+
+    private void pintarFondo() {
+        GraphicsContext g = lienzo.getGraphicsContext2D();
+        g.setFill(Color.web("#0B3D2E"));
+        g.fillRect(0, 0, lienzo.getWidth(), lienzo.getHeight());
+    }
+
+    private void pintar(SerieMuestreada muestra, long inicio) {
+        GraphicsContext g = lienzo.getGraphicsContext2D();
+        double ancho = lienzo.getWidth();
+        double alto = lienzo.getHeight();
+        pintarFondo();
+
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+        for (int i = 0; i < muestra.cantidad(); i++) {
+            minimo = Math.min(minimo, muestra.saldos()[i]);
+            maximo = Math.max(maximo, muestra.saldos()[i]);
+        }
+        double rangoY = Math.max(1, maximo - minimo);
+        double escalaX = (ancho - 2 * MARGEN) / Math.max(1, hasta - desde - 1);
+        double escalaY = (alto - 2 * MARGEN) / rangoY;
+
+        g.setStroke(Color.GOLD);
+        g.setLineWidth(1);
+        g.beginPath();
+        for (int i = 0; i < muestra.cantidad(); i++) {
+            double x = MARGEN + (muestra.posiciones()[i] - desde) * escalaX;
+            double y = alto - MARGEN - (muestra.saldos()[i] - minimo) * escalaY;
+            if (i == 0) {
+                g.moveTo(x, y);
+            } else {
+                g.lineTo(x, y);
+            }
+        }
+        g.stroke();
+
+        g.setFill(Color.WHITE);
+        g.fillText("$" + Dinero.formatear(maximo), 4, MARGEN - 6);
+        g.fillText("$" + Dinero.formatear(minimo), 4, alto - MARGEN + 14);
+
+        lblInfo.setText(String.format("Rondas %,d-%,d de %,d  |  %d puntos dibujados en %.2f ms",
+                desde + 1, hasta, serie.getPuntos(), muestra.cantidad(), (System.nanoTime() - inicio) / 1e6));
+    }
+}
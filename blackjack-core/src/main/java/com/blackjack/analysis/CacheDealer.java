@@ -0,0 +1,192 @@
+package com.blackjack.analysis;
+
+import com.blackjack.rules.ReglasCompiladas;
+import com.blackjack.rules.ReglasMesa;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché compartida de la distribución final del dealer (17..21, pasado),
+ * condicionada a que no tenga blackjack, por carta visible y composición.
+ *
+ * La clave es la firma absoluta de {@link Composicion} (62 bits) con la
+ * regla H17/S17 en el bit 62; la carta visible elige el segmento, y dentro
+ * de cada uno se reparten las claves en varias franjas con su propio candado. Cada franja es un LRU
+ * acotado, así que la memoria total no crece con el número de consultas.
+ * Al crearse se precalculan los zapatos completos de 1 a 8 mazos
+ */
+public class CacheDealer {
+
+    public static final int RESULTADOS = CalculadoraEV.PASADO + 1;
+
+    private static final int FRANJAS = 8;
+    private static final int SEGMENTOS = Composicion.RANGOS * FRANJAS;
+    private static final long BIT_SUAVE17 = 1L << 62;
+    private static final int CAPACIDAD_POR_DEFECTO = 1 << 17;
+    private static final int MAX_MAZOS_PRECALCULO = 8;
+
+    private static CacheDealer instance;
+
+    private final Franja[] segmentos = new Franja[SEGMENTOS];
+    private final ReglasCompiladas s17 = new ReglasMesa.Builder().dealerPideSuave17(false).build().compilar();
+    private final ReglasCompiladas h17 = new ReglasMesa.Builder().dealerPideSuave17(true).build().compilar();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    public CacheDealer(int capacidad) {
+        int porFranja = Math.max(16, capacidad / SEGMENTOS);
+        for (int i = 0; i < SEGMENTOS; i++) {
+            segmentos[i] = new Franja(porFranja);
+        }
+    }
+
+    public static synchronized CacheDealer getInstance() {
+        if (instance == null) {
+            instance = new CacheDealer(CAPACIDAD_POR_DEFECTO);
+            instance.precalcularZapatos();
+        }
+        return instance;
+    }
+
+    /**
+     * Distribuciones de los zapatos completos, que son las consultas más
+     * frecuentes al empezar cada cálculo
+     */
+    public void precalcularZapatos() {
+        for (int mazos = 1; mazos <= MAX_MAZOS_PRECALCULO; mazos++) {
+            Composicion zapato = Composicion.zapato(mazos);
+            for (int carta = 0; carta < Composicion.RANGOS; carta++) {
+                Composicion sinCarta = zapato.copia();
+                sinCarta.quitar(carta);
+                distribucion(sinCarta, carta, false);
+                distribucion(sinCarta, carta, true);
+            }
+        }
+    }
+
+    /**
+     * Distribución final del dealer con la carta visible ya retirada de comp.
+     * El arreglo devuelto es compartido y no debe modificarse
+     */
+    public double[] distribucion(Composicion comp, int cartaVisible, boolean pideSuave17) {
+        long firma = comp.getFirma();
+        if (firma < 0) {
+            fallos.increment();
+            return calcular(comp, cartaVisible, pideSuave17 ? h17 : s17);
+        }
+
+        long clave = pideSuave17 ? firma | BIT_SUAVE17 : firma;
+        Franja franja = segmentos[indice(clave, cartaVisible)];
+        double[] distribucion = franja.obtener(clave);
+        if (distribucion != null) {
+            aciertos.increment();
+            return distribucion;
+        }
+
+        fallos.increment();
+        distribucion = calcular(comp, cartaVisible, pideSuave17 ? h17 : s17);
+        franja.guardar(clave, distribucion);
+        return distribucion;
+    }
+
+    public double[] distribucion(Composicion comp, int cartaVisible, ReglasMesa reglas) {
+        return distribucion(comp, cartaVisible, reglas.isDealerPideSuave17());
+    }
+
+    private static int indice(long clave, int cartaVisible) {
+        int franja = (int) ((clave * 0x9E3779B97F4A7C15L) >>> 61);
+        return cartaVisible * FRANJAS + franja;
+    }
+
+    private static double[] calcular(Composicion original, int cartaVisible, ReglasCompiladas reglas) {
+        Composicion comp = original.copia();
+        double[] distribucion = new double[RESULTADOS];
+        int excluido = cartaVisible == Composicion.AS ? Composicion.DIEZ
+                : cartaVisible == Composicion.DIEZ ? Composicion.AS : -1;
+        int total = comp.getTotal() - (excluido >= 0 ? comp.cuenta(excluido) : 0);
+
+        // Carta oculta: no puede completar un blackjack
+        for (int r = 0; r < Composicion.RANGOS; r++) {
+            int cuenta = comp.cuenta(r);
+            if (cuenta == 0 || r == excluido) {
+                continue;
+            }
+            comp.quitar(r);
+            robar(comp, reglas, Composicion.valor(cartaVisible) + Composicion.valor(r),
+                    cartaVisible == Composicion.AS || r == Composicion.AS, (double) cuenta / total, distribucion);
+            comp.devolver(r);
+        }
+        return distribucion;
+    }
+
+    private static void robar(Composicion comp, ReglasCompiladas reglas, int duro, boolean tieneAs,
+                              double prob, double[] distribucion) {
+        boolean suave = tieneAs && duro + 10 <= 21;
+        int total = suave ? duro + 10 : duro;
+        if (total > 21) {
+            distribucion[CalculadoraEV.PASADO] += prob;
+            return;
+        }
+        if (!reglas.dealerPide(total, suave)) {
+            distribucion[total - 17] += prob;
+            return;
+        }
+
+        int cartas = comp.getTotal();
+        for (int r = 0; r < Composicion.RANGOS; r++) {
+            int cuenta = comp.cuenta(r);
+            if (cuenta == 0) {
+                continue;
+            }
+            comp.quitar(r);
+            robar(comp, reglas, duro + Composicion.valor(r), tieneAs || r == Composicion.AS,
+                    prob * cuenta / cartas, distribucion);
+            comp.devolver(r);
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public int getTamano() {
+        int tamano = 0;
+        for (Franja franja : segmentos) {
+            tamano += franja.tamano();
+        }
+        return tamano;
+    }
+
+    /**
+     * LRU acotado protegido por su propio candado
+     */
+    private static final class Franja {
+        private final LinkedHashMap<Long, double[]> mapa;
+
+        Franja(int capacidad) {
+            this.mapa = new LinkedHashMap<>(capacidad * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, double[]> mayor) {
+                    return size() > capacidad;
+                }
+            };
+        }
+
+        synchronized double[] obtener(long clave) {
+            return mapa.get(clave);
+        }
+
+        synchronized void guardar(long clave, double[] distribucion) {
+            mapa.put(clave, distribucion);
+        }
+
+        synchronized int tamano() {
+            return mapa.size();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.blackjack.analysis;
+
+import com.blackjack.rules.ReglasMesa;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Valor esperado exacto del juego tal como lo juega GameService, calculado
+ * por recursión sobre la composición del zapato (cuentas por rango, no el
+ * orden de las cartas).
+ *
+ * Reglas que se modelan: el dealer revisa si tiene blackjack antes de que el
+ * jugador actúe (y entonces solo se pierde la apuesta original), pide según
+ * H17/S17, el blackjack paga según la mesa, se puede doblar con dos cartas
+ * según la regla de la mesa y, tras dividir, solo si la mesa lo permite.
+ * Las manos divididas, ases incluidos, pueden seguir pidiendo.
+ *
+ * Aproximaciones habituales en calculadoras de este tipo: el jugador roba de
+ * la composición sin condicionar a la carta oculta del dealer, cada mano
+ * dividida se evalúa como si la otra no hubiese retirado cartas y no se
+ * consideran redivisiones.
+ *
+ * Las decisiones del jugador se memoizan con la clave compacta de
+ * {@link Composicion}, compartida entre las tareas fork-join que evalúan cada
+ * mano inicial; la distribución del dealer sale de {@link CacheDealer}
+ */
+public class CalculadoraEV {
+
+    /** Índices del vector de resultados del dealer: 17, 18, 19, 20, 21, pasado */
+    public static final int PASADO = 5;
+
+    private static final int BITS_TOTAL = 5;
+
+    private final ReglasMesa reglas;
+    private final Composicion zapato;
+    private final double pagoBlackjack;
+
+    private final CacheDealer cacheDealer;
+    private final boolean pideSuave17;
+    private final Map<Long, Double> memoJugador = new ConcurrentHashMap<>();
+
+    public CalculadoraEV(ReglasMesa reglas) {
+        this(reglas, Composicion.zapato(reglas.getNumeroMazos()), CacheDealer.getInstance());
+    }
+
+    /**
+     * Calculadora para un zapato parcialmente repartido
+     */
+    public CalculadoraEV(ReglasMesa reglas, Composicion zapato, CacheDealer cacheDealer) {
+        this.reglas = reglas;
+        this.cacheDealer = cacheDealer;
+        this.pideSuave17 = reglas.isDealerPideSuave17();
+        this.zapato = zapato.copia();
+        this.pagoBlackjack = (double) reglas.getPagoBlackjackNumerador() / reglas.getPagoBlackjackDenominador();
+    }
+
+    /**
+     * Calcula el valor esperado de todas las manos iniciales con la mejor
+     * jugada, en paralelo sobre el pool indicado
+     */
+    public ResultadoEV calcular(ForkJoinPool pool) {
+        ResultadoEV resultado = new ResultadoEV(reglas);
+        pool.invoke(new TareaCarta(resultado));
+        return resultado;
+    }
+
+    /**
+     * Una tarea por carta visible del dealer, que a su vez lanza una por cada
+     * mano inicial del jugador
+     */
+    private class TareaCarta extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Las tareas de fork/join no se serializan
+        private final transient ResultadoEV resultado;
+
+        TareaCarta(ResultadoEV resultado) {
+            this.resultado = resultado;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tareas = new ArrayList<>();
+            for (int carta = 0; carta < Composicion.RANGOS; carta++) {
+                for (int a = 0; a < Composicion.RANGOS; a++) {
+                    for (int b = a; b < Composicion.RANGOS; b++) {
+                        int dealer = carta;
+                        int primera = a;
+                        int segunda = b;
+                        tareas.add(new RecursiveAction() {
+                            @Override
+                            protected void compute() {
+                                evaluarInicial(primera, segunda, dealer, resultado);
+                            }
+                        });
+                    }
+                }
+            }
+            invokeAll(tareas);
+        }
+    }
+
+    private void evaluarInicial(int primera, int segunda, int dealer, ResultadoEV resultado) {
+        Composicion comp = zapato.copia();
+
+        // Probabilidad de esta combinación: carta del dealer y dos del jugador
+        double prob = (double) comp.cuenta(dealer) / comp.getTotal();
+        if (prob == 0) {
+            return;
+        }
+        comp.quitar(dealer);
+
+        double pA = (double) comp.cuenta(primera) / comp.getTotal();
+        if (pA == 0) {
+            return;
+        }
+        comp.quitar(primera);
+        double pB = (double) comp.cuenta(segunda) / comp.getTotal();
+        if (pB == 0) {
+            return;
+        }
+        comp.quitar(segunda);
+        prob *= pA * pB * (primera == segunda ? 1 : 2);
+
+        double[] ev = evaluarMano(comp, primera, segunda, dealer);
+        resultado.registrar(primera, segunda, dealer, prob, ev);
+    }
+
+    /**
+     * EV de cada acción para una mano de dos cartas, con las cartas ya
+     * retiradas de comp. Devuelve [plantarse, pedir, doblar, dividir, mejor];
+     * las acciones no permitidas valen NaN
+     */
+    public double[] evaluarMano(Composicion comp, int primera, int segunda, int dealer) {
+        double[] ev = new double[ResultadoEV.ACCIONES + 1];
+        java.util.Arrays.fill(ev, Double.NaN);
+
+        double pBlackjackDealer = probabilidadBlackjackDealer(comp, dealer);
+        boolean blackjack = (primera == Composicion.AS && segunda == Composicion.DIEZ)
+                || (primera == Composicion.DIEZ && segunda == Composicion.AS);
+
+        if (blackjack) {
+            double valor = (1 - pBlackjackDealer) * pagoBlackjack;
+            ev[ResultadoEV.PLANTARSE] = valor;
+            ev[ResultadoEV.MEJOR] = valor;
+            return ev;
+        }
+
+        int duro = Composicion.valor(primera) + Composicion.valor(segunda);
+        boolean tieneAs = primera == Composicion.AS || segunda == Composicion.AS;
+        int total = valorMano(duro, tieneAs);
+
+        double plantarse = evPlantarse(comp, total, dealer);
+        double pedir = evPedir(comp, duro, tieneAs, dealer);
+        ev[ResultadoEV.PLANTARSE] = plantarse;
+        ev[ResultadoEV.PEDIR] = pedir;
+        double mejor = Math.max(plantarse, pedir);
+
+        if (reglas.getReglaDoblar().permite(total)) {
+            ev[ResultadoEV.DOBLAR] = evDoblar(comp, duro, tieneAs, dealer);
+            mejor = Math.max(mejor, ev[ResultadoEV.DOBLAR]);
+        }
+
+        if (primera == segunda && reglas.getMaxManos() > 1) {
+            ev[ResultadoEV.DIVIDIR] = evDividir(comp, primera, dealer);
+            mejor = Math.max(mejor, ev[ResultadoEV.DIVIDIR]);
+        }
+
+        // Si el dealer tiene blackjack se pierde solo la apuesta original
+        for (int i = 0; i < ResultadoEV.ACCIONES; i++) {
+            ev[i] = -pBlackjackDealer + (1 - pBlackjackDealer) * ev[i];
+        }
+        ev[ResultadoEV.MEJOR] = -pBlackjackDealer + (1 - pBlackjackDealer) * mejor;
+        return ev;
+    }
+
+    private double probabilidadBlackjackDealer(Composicion comp, int dealer) {
+        if (dealer == Composicion.AS) {
+            return (double) comp.cuenta(Composicion.DIEZ) / comp.getTotal();
+        }
+        if (dealer == Composicion.DIEZ) {
+            return (double) comp.cuenta(Composicion.AS) / comp.getTotal();
+        }
+        return 0;
+    }
+
+    private static int valorMano(int duro, boolean tieneAs) {
+        return tieneAs && duro + 10 <= 21 ? duro + 10 : duro;
+    }
+
+    /**
+     * EV de plantarse con un total frente a la distribución final del dealer
+     */
+    double evPlantarse(Composicion comp, int total, int dealer) {
+        if (total > 21) {
+            return -1;
+        }
+        double[] d = distribucionDealer(comp, dealer);
+        double ev = d[PASADO];
+        for (int i = 0; i < PASADO; i++) {
+            int valorDealer = 17 + i;
+            if (total > valorDealer) {
+                ev += d[i];
+            } else if (total < valorDealer) {
+                ev -= d[i];
+            }
+        }
+        return ev;
+    }
+
+    /**
+     * EV de pedir una carta y seguir jugando de forma óptima (sin doblar)
+     */
+    double evPedir(Composicion comp, int duro, boolean tieneAs, int dealer) {
+        double ev = 0;
+        int total = comp.getTotal();
+
+        for (int r = 0; r < Composicion.RANGOS; r++) {
+            int cuenta = comp.cuenta(r);
+            if (cuenta == 0) {
+                continue;
+            }
+            double p = (double) cuenta / total;
+            int nuevoDuro = duro + Composicion.valor(r);
+            if (nuevoDuro > 21) {
+                ev -= p;
+                continue;
+            }
+
+            comp.quitar(r);
+            ev += p * evMejorSinDoblar(comp, nuevoDuro, tieneAs || r == Composicion.AS, dealer);
+            comp.devolver(r);
+        }
+        return ev;
+    }
+
+    private double evMejorSinDoblar(Composicion comp, int duro, boolean tieneAs, int dealer) {
+        int total = valorMano(duro, tieneAs);
+        if (total == 21) {
+            return evPlantarse(comp, 21, dealer);
+        }
+
+        long clave = -1;
+        if (comp.claveValida()) {
+            clave = comp.getClave()
+                    | (long) duro << Composicion.BITS_CLAVE
+                    | (tieneAs ? 1L : 0L) << (Composicion.BITS_CLAVE + BITS_TOTAL)
+                    | (long) dealer << (Composicion.BITS_CLAVE + BITS_TOTAL + 1);
+            Double memo = memoJugador.get(clave);
+            if (memo != null) {
+                return memo;
+            }
+        }
+
+        double ev = Math.max(evPlantarse(comp, total, dealer), evPedir(comp, duro, tieneAs, dealer));
+        if (clave >= 0) {
+            memoJugador.put(clave, ev);
+        }
+        return ev;
+    }
+
+    double evDoblar(Composicion comp, int duro, boolean tieneAs, int dealer) {
+        double ev = 0;
+        int total = comp.getTotal();
+
+        for (int r = 0; r < Composicion.RANGOS; r++) {
+            int cuenta = comp.cuenta(r);
+            if (cuenta == 0) {
+                continue;
+            }
+            double p = (double) cuenta / total;
+            comp.quitar(r);
+            ev += p * evPlantarse(comp, valorMano(duro + Composicion.valor(r), tieneAs || r == Composicion.AS), dealer);
+            comp.devolver(r);
+        }
+        return 2 * ev;
+    }
+
+    /**
+     * Dos manos que empiezan con la carta de la pareja; cada una recibe una
+     * carta y se juega de forma óptima (doblando solo si la mesa lo permite)
+     */
+    double evDividir(Composicion comp, int carta, int dealer) {
+        double ev = 0;
+        int total = comp.getTotal();
+
+        for (int r = 0; r < Composicion.RANGOS; r++) {
+            int cuenta = comp.cuenta(r);
+            if (cuenta == 0) {
+                continue;
+            }
+            double p = (double) cuenta / total;
+            int duro = Composicion.valor(carta) + Composicion.valor(r);
+            boolean tieneAs = carta == Composicion.AS || r == Composicion.AS;
+            int valor = valorMano(duro, tieneAs);
+
+            comp.quitar(r);
+            double mejor = evMejorSinDoblar(comp, duro, tieneAs, dealer);
+            if (reglas.isDoblarTrasDividir() && reglas.getReglaDoblar().permite(valor)) {
+                mejor = Math.max(mejor, evDoblar(comp, duro, tieneAs, dealer));
+            }
+            comp.devolver(r);
+
+            ev += p * mejor;
+        }
+        return 2 * ev;
+    }
+
+    /**
+     * Distribución final del dealer (17..21, pasado) dada su carta visible,
+     * condicionada a que no tenga blackjack
+     */
+    public double[] distribucionDealer(Composicion comp, int dealer) {
+        return cacheDealer.distribucion(comp, dealer, pideSuave17);
+    }
+
+    public int getTamanoMemo() {
+        return memoJugador.size();
+    }
+}
@@ -0,0 +1,140 @@
+package com.blackjack.analysis;
+
+import com.blackjack.models.Carta;
+
+/**
+ * Composición de un zapato por rango (A, 2..9, 10), sin orden de cartas.
+ *
+ * Además de las cuentas mantiene una clave compacta de las cartas retiradas
+ * respecto al zapato inicial: 5 bits por rango en un long. Dos secuencias que
+ * retiran el mismo multiconjunto de cartas producen la misma clave, que es
+ * lo que permite memoizar los cálculos. Si algún rango supera 31 retiradas
+ * la clave deja de ser válida y el llamador no debe memoizar.
+ *
+ * La firma, en cambio, empaqueta las cuentas absolutas (6 bits por rango y
+ * 8 para los dieces), así que identifica la composición sin depender del
+ * zapato de partida y sirve para cachés compartidas entre zapatos
+ */
+public final class Composicion {
+
+    public static final int RANGOS = 10;
+    public static final int AS = 0;
+    public static final int DIEZ = 9;
+
+    static final int BITS_POR_RANGO = 5;
+    static final int BITS_CLAVE = RANGOS * BITS_POR_RANGO;
+    private static final int MAX_RETIRADAS = (1 << BITS_POR_RANGO) - 1;
+    private static final int BITS_FIRMA = 6;
+    private static final int MAX_CUENTA_FIRMA = (1 << BITS_FIRMA) - 1;
+    private static final int MAX_DIECES_FIRMA = 255;
+
+    private final int[] cuentas;
+    private final int[] retiradas = new int[RANGOS];
+    private int total;
+    private long clave;
+    private int desbordes;
+    private long firma;
+
+    public Composicion(int[] cuentas) {
+        this.cuentas = cuentas.clone();
+        for (int r = 0; r < RANGOS; r++) {
+            total += cuentas[r];
+            int maximo = r == DIEZ ? MAX_DIECES_FIRMA : MAX_CUENTA_FIRMA;
+            if (firma >= 0 && cuentas[r] <= maximo) {
+                firma += (long) cuentas[r] << (r * BITS_FIRMA);
+            } else {
+                firma = -1;
+            }
+        }
+    }
+
+    /**
+     * Zapato completo de n mazos
+     */
+    public static Composicion zapato(int mazos) {
+        int[] cuentas = new int[RANGOS];
+        for (int r = 0; r < DIEZ; r++) {
+            cuentas[r] = 4 * mazos;
+        }
+        cuentas[DIEZ] = 16 * mazos;
+        return new Composicion(cuentas);
+    }
+
+    /**
+     * Rango 0..9 de una carta (J, Q y K cuentan como 10)
+     */
+    public static int rango(Carta.Valor valor) {
+        return Math.min(valor.getValorMinimo(), 10) - 1;
+    }
+
+    /**
+     * Valor en puntos de un rango, contando el as como 1
+     */
+    public static int valor(int rango) {
+        return rango + 1;
+    }
+
+    public Composicion copia() {
+        Composicion copia = new Composicion(cuentas);
+        System.arraycopy(retiradas, 0, copia.retiradas, 0, RANGOS);
+        copia.clave = clave;
+        copia.desbordes = desbordes;
+        copia.firma = firma;
+        return copia;
+    }
+
+    public void quitar(int rango) {
+        cuentas[rango]--;
+        total--;
+        if (++retiradas[rango] > MAX_RETIRADAS) {
+            desbordes++;
+        }
+        clave += 1L << (rango * BITS_POR_RANGO);
+        if (firma >= 0) {
+            firma -= 1L << (rango * BITS_FIRMA);
+        }
+    }
+
+    public void devolver(int rango) {
+        cuentas[rango]++;
+        total++;
+        if (retiradas[rango]-- > MAX_RETIRADAS) {
+            desbordes--;
+        }
+        clave -= 1L << (rango * BITS_POR_RANGO);
+        if (firma >= 0) {
+            firma += 1L << (rango * BITS_FIRMA);
+        }
+    }
+
+    public int cuenta(int rango) {
+        return cuentas[rango];
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean claveValida() {
+        return desbordes == 0;
+    }
+
+    /**
+     * Clave de las cartas retiradas; ocupa los 50 bits bajos
+     */
+    public long getClave() {
+        return clave;
+    }
+
+    /**
+     * Firma de las cuentas absolutas en 62 bits, o -1 si el zapato es
+     * demasiado grande para empaquetarlo (más de 15 mazos)
+     */
+    public long getFirma() {
+        return firma;
+    }
+
+    public int[] getCuentas() {
+        return cuentas.clone();
+    }
+}
@@ -0,0 +1,169 @@
+package com.blackjack.analysis;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.strategies.Accion;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sugerencias de juego para la mano actual.
+ *
+ * Al crearse calcula, para el zapato completo de la mesa, el EV de cada
+ * acción en cada estado (total duro, total suave o pareja) contra cada carta
+ * del dealer, y lo guarda en un arreglo plano. {@link #sugerir} solo indexa
+ * esa tabla, así que se puede llamar desde el hilo de la interfaz en cada
+ * actualización. {@link #refinar} repite el cálculo con la composición real
+ * del zapato en un hilo propio y entrega el resultado de forma asíncrona
+ */
+public class MotorSugerencias {
+
+    private static final int ACCIONES = Accion.values().length;
+    private static final int MIN_DURO = 4;
+    private static final int DURAS = 21 - MIN_DURO + 1;
+    private static final int MIN_SUAVE = 12;
+    private static final int SUAVES = 21 - MIN_SUAVE + 1;
+    private static final int ESTADOS = DURAS + SUAVES;
+
+    private final ReglasMesa reglas;
+    // [(estado * RANGOS + dealer) * ACCIONES + accion]
+    private final double[] tabla = new double[ESTADOS * Composicion.RANGOS * ACCIONES];
+    // [pareja * RANGOS + dealer]
+    private final double[] divisiones = new double[Composicion.RANGOS * Composicion.RANGOS];
+
+    private ExecutorService ejecutor;
+
+    public MotorSugerencias(ReglasMesa reglas) {
+        this.reglas = reglas;
+        precalcular();
+    }
+
+    private void precalcular() {
+        Composicion zapato = Composicion.zapato(reglas.getNumeroMazos());
+        CalculadoraEV calculadora = new CalculadoraEV(reglas, zapato, CacheDealer.getInstance());
+
+        for (int dealer = 0; dealer < Composicion.RANGOS; dealer++) {
+            Composicion comp = zapato.copia();
+            comp.quitar(dealer);
+
+            for (int total = MIN_DURO; total <= 21; total++) {
+                llenar(calculadora, comp, indice(total - MIN_DURO, dealer), total, false, dealer);
+            }
+            for (int total = MIN_SUAVE; total <= 21; total++) {
+                llenar(calculadora, comp, indice(DURAS + total - MIN_SUAVE, dealer), total - 10, true, dealer);
+            }
+            for (int pareja = 0; pareja < Composicion.RANGOS; pareja++) {
+                divisiones[pareja * Composicion.RANGOS + dealer] = calculadora.evDividir(comp, pareja, dealer);
+            }
+        }
+    }
+
+    private void llenar(CalculadoraEV calculadora, Composicion comp, int base, int duro, boolean tieneAs, int dealer) {
+        double[] ev = evAcciones(calculadora, comp, duro, tieneAs, dealer);
+        System.arraycopy(ev, 0, tabla, base, ACCIONES);
+    }
+
+    private static double[] evAcciones(CalculadoraEV calculadora, Composicion comp, int duro, boolean tieneAs, int dealer) {
+        int total = tieneAs && duro + 10 <= 21 ? duro + 10 : duro;
+        double[] ev = new double[ACCIONES];
+        ev[Accion.PLANTARSE.ordinal()] = calculadora.evPlantarse(comp, total, dealer);
+        ev[Accion.PEDIR.ordinal()] = calculadora.evPedir(comp, duro, tieneAs, dealer);
+        ev[Accion.DOBLAR.ordinal()] = calculadora.evDoblar(comp, duro, tieneAs, dealer);
+        ev[Accion.DIVIDIR.ordinal()] = Double.NaN;
+        return ev;
+    }
+
+    private static int indice(int estado, int dealer) {
+        return (estado * Composicion.RANGOS + dealer) * ACCIONES;
+    }
+
+    /**
+     * Sugerencia inmediata desde la tabla del zapato completo, o null si la
+     * mano ya no admite decisiones
+     */
+    public Sugerencia sugerir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+        if (mano.isPlantado() || mano.esBusted() || cartaDealer == null) {
+            return null;
+        }
+
+        int dealer = Composicion.rango(cartaDealer.getValor());
+        int total = mano.calcularValor();
+        int estado = mano.esSuave() ? DURAS + total - MIN_SUAVE : Math.max(total, MIN_DURO) - MIN_DURO;
+
+        double[] ev = Arrays.copyOfRange(tabla, indice(estado, dealer), indice(estado, dealer) + ACCIONES);
+        if (!puedeDoblar) {
+            ev[Accion.DOBLAR.ordinal()] = Double.NaN;
+        }
+        if (puedeDividir) {
+            int pareja = Composicion.rango(mano.getCartas().get(0).getValor());
+            ev[Accion.DIVIDIR.ordinal()] = divisiones[pareja * Composicion.RANGOS + dealer];
+        }
+        return Sugerencia.desde(ev, false);
+    }
+
+    /**
+     * Recalcula la sugerencia con las cuentas por rango que quedan en el
+     * zapato más las cartas boca abajo del dealer, que el jugador no conoce.
+     *
+     * Lee la mano en el hilo que llama, así que después no necesita acceso al
+     * estado del juego; el cálculo corre en un hilo aparte
+     */
+    public CompletableFuture<Sugerencia> refinar(Mano mano, Mano manoDealer, int[] cuentasZapato,
+                                                 boolean puedeDoblar, boolean puedeDividir) {
+        if (mano.isPlantado() || mano.esBusted() || manoDealer.getCantidadCartas() == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        int[] cuentas = cuentasZapato.clone();
+        List<Carta> cartasDealer = manoDealer.getCartas();
+        for (Carta carta : cartasDealer) {
+            if (carta.isBocaAbajo()) {
+                cuentas[Composicion.rango(carta.getValor())]++;
+            }
+        }
+
+        int dealer = Composicion.rango(cartasDealer.get(0).getValor());
+        boolean tieneAs = false;
+        int duro = 0;
+        for (Carta carta : mano.getCartas()) {
+            int rango = Composicion.rango(carta.getValor());
+            duro += Composicion.valor(rango);
+            tieneAs |= rango == Composicion.AS;
+        }
+        int pareja = puedeDividir ? Composicion.rango(mano.getCartas().get(0).getValor()) : -1;
+        int duroFinal = duro;
+        boolean conAs = tieneAs;
+
+        return CompletableFuture.supplyAsync(() -> {
+            Composicion comp = new Composicion(cuentas);
+            CalculadoraEV calculadora = new CalculadoraEV(reglas, comp, CacheDealer.getInstance());
+            double[] ev = evAcciones(calculadora, comp, duroFinal, conAs, dealer);
+            if (!puedeDoblar) {
+                ev[Accion.DOBLAR.ordinal()] = Double.NaN;
+            }
+            if (pareja >= 0) {
+                ev[Accion.DIVIDIR.ordinal()] = calculadora.evDividir(comp, pareja, dealer);
+            }
+            return Sugerencia.desde(ev, true);
+        }, ejecutor());
+    }
+
+    private synchronized ExecutorService ejecutor() {
+        if (ejecutor == null) {
+            ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "sugerencias");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        return ejecutor;
+    }
+
+    public ReglasMesa getReglas() {
+        return reglas;
+    }
+}
@@ -0,0 +1,92 @@
+package com.blackjack.analysis;
+
+import com.blackjack.rules.ReglasMesa;
+import java.io.PrintStream;
+
+/**
+ * Tabla de EV por mano inicial y carta del dealer, con la ventaja global
+ * ponderada por la probabilidad de cada combinación
+ */
+public class ResultadoEV {
+
+    public static final int PLANTARSE = 0;
+    public static final int PEDIR = 1;
+    public static final int DOBLAR = 2;
+    public static final int DIVIDIR = 3;
+    public static final int ACCIONES = 4;
+    public static final int MEJOR = 4;
+
+    private static final String[] NOMBRES_RANGO = {"A", "2", "3", "4", "5", "6", "7", "8", "9", "T"};
+    private static final char[] LETRAS_ACCION = {'S', 'H', 'D', 'P'};
+
+    private final ReglasMesa reglas;
+    // [primera][segunda][dealer] con primera <= segunda
+    private final double[][][][] ev = new double[Composicion.RANGOS][Composicion.RANGOS][Composicion.RANGOS][];
+    private final double[][][] probabilidad = new double[Composicion.RANGOS][Composicion.RANGOS][Composicion.RANGOS];
+
+    ResultadoEV(ReglasMesa reglas) {
+        this.reglas = reglas;
+    }
+
+    void registrar(int primera, int segunda, int dealer, double prob, double[] valores) {
+        ev[primera][segunda][dealer] = valores;
+        probabilidad[primera][segunda][dealer] = prob;
+    }
+
+    /**
+     * EV de cada acción para la mano (NaN si no está permitida)
+     */
+    public double[] getEV(int primera, int segunda, int dealer) {
+        return ev[Math.min(primera, segunda)][Math.max(primera, segunda)][dealer];
+    }
+
+    /**
+     * EV por mano con la mejor jugada; negativo es ventaja de la casa
+     */
+    public double getVentajaJugador() {
+        double total = 0;
+        for (int a = 0; a < Composicion.RANGOS; a++) {
+            for (int b = a; b < Composicion.RANGOS; b++) {
+                for (int d = 0; d < Composicion.RANGOS; d++) {
+                    if (ev[a][b][d] != null) {
+                        total += probabilidad[a][b][d] * ev[a][b][d][MEJOR];
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    public static char mejorAccion(double[] valores) {
+        int mejor = PLANTARSE;
+        for (int i = 1; i < ACCIONES; i++) {
+            if (!Double.isNaN(valores[i]) && valores[i] > valores[mejor]) {
+                mejor = i;
+            }
+        }
+        return LETRAS_ACCION[mejor];
+    }
+
+    public void imprimir(PrintStream salida) {
+        salida.println("Reglas: " + reglas);
+        salida.printf("Ventaja del jugador: %+.4f%% (ventaja de la casa %.4f%%)%n",
+                getVentajaJugador() * 100, -getVentajaJugador() * 100);
+        salida.println();
+        salida.print("Mano  ");
+        for (String rango : NOMBRES_RANGO) {
+            salida.print("  " + rango);
+        }
+        salida.println();
+
+        for (int a = 0; a < Composicion.RANGOS; a++) {
+            for (int b = a; b < Composicion.RANGOS; b++) {
+                salida.printf("%s,%s   ", NOMBRES_RANGO[a], NOMBRES_RANGO[b]);
+                for (int d = 0; d < Composicion.RANGOS; d++) {
+                    double[] valores = ev[a][b][d];
+                    salida.print("  " + (valores == null ? '-' : mejorAccion(valores)));
+                }
+                salida.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.blackjack.analysis;
+
+import com.blackjack.strategies.Accion;
+
+/**
+ * EV de cada acción para la mano actual, por unidad de la apuesta original.
+ * Las acciones que no están permitidas valen NaN
+ *
+ * @param refinada true si se calculó con la composición real del zapato y no
+ *                 con la tabla precalculada del zapato completo
+ */
+public record Sugerencia(double[] ev, Accion mejor, boolean refinada) {
+
+    public double ev(Accion accion) {
+        return ev[accion.ordinal()];
+    }
+
+    public boolean permitida(Accion accion) {
+        return !Double.isNaN(ev[accion.ordinal()]);
+    }
+
+    static Sugerencia desde(double[] ev, boolean refinada) {
+        Accion mejor = null;
+        for (Accion accion : Accion.values()) {
+            double valor = ev[accion.ordinal()];
+            if (!Double.isNaN(valor) && (mejor == null || valor > ev[mejor.ordinal()])) {
+                mejor = accion;
+            }
+        }
+        return new Sugerencia(ev, mejor, refinada);
+    }
+}
@@ -0,0 +1,55 @@
+package com.blackjack.cli;
+
+import com.blackjack.utils.Dinero;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interpreta argumentos de la forma --clave valor
+ */
+public class Argumentos {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    public Argumentos(String[] args, int desde) {
+        for (int i = desde; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inesperado: " + arg);
+            }
+
+            String clave = arg.substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                valores.put(clave, args[++i]);
+            } else {
+                valores.put(clave, "true");
+            }
+        }
+    }
+
+    public String texto(String clave, String porDefecto) {
+        return valores.getOrDefault(clave, porDefecto);
+    }
+
+    public long entero(String clave, long porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Long.parseLong(valor);
+    }
+
+    public double decimal(String clave, double porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Double.parseDouble(valor);
+    }
+
+    /**
+     * Cantidad de dinero en centavos, escrita en unidades ("10", "12.50")
+     */
+    public long dinero(String clave, long porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Dinero.parsear(valor);
+    }
+
+    public boolean tiene(String clave) {
+        return valores.containsKey(clave);
+    }
+}
@@ -0,0 +1,802 @@
+package com.blackjack.cli;
+
+import com.blackjack.analysis.CacheDealer;
+import com.blackjack.analysis.CalculadoraEV;
+import com.blackjack.analysis.ResultadoEV;
+import com.blackjack.database.DatabaseManager;
+import com.blackjack.history.ArchivoHistorial;
+import com.blackjack.history.CodificadorRondas;
+import com.blackjack.history.CursorHistorial;
+import com.blackjack.history.DecodificadorRondas;
+import com.blackjack.history.DiarioMesa;
+import com.blackjack.history.FuenteSaldos;
+import com.blackjack.history.HistorialOffHeap;
+import com.blackjack.history.PasoRonda;
+import com.blackjack.history.RegistradorHistorial;
+import com.blackjack.history.ReproductorDiario;
+import com.blackjack.history.ReproductorRonda;
+import com.blackjack.history.ResultadoReproduccion;
+import com.blackjack.history.RondaCodificada;
+import com.blackjack.history.SegmentoHistorial;
+import com.blackjack.history.SerieMuestreada;
+import com.blackjack.history.SerieSaldo;
+import com.blackjack.models.Carta;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.server.GeneradorCarga;
+import com.blackjack.server.ServidorMesas;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.ClasificacionJugadores;
+import com.blackjack.services.GameService;
+import com.blackjack.services.PreparadorZapatos;
+import com.blackjack.services.SistemaConteo;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.sidebets.SimuladorLaterales;
+import com.blackjack.simulation.ComparadorLotes;
+import com.blackjack.simulation.DistribucionResultados;
+import com.blackjack.simulation.EstadisticaStreaming;
+import com.blackjack.simulation.MedidorAsignaciones;
+import com.blackjack.simulation.PoliticaApuesta;
+import com.blackjack.simulation.ResultadoRiesgo;
+import com.blackjack.simulation.ResultadoSimulacion;
+import com.blackjack.simulation.ResultadoTorneo;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.simulation.SimuladorRiesgo;
+import com.blackjack.simulation.Torneo;
+import com.blackjack.strategies.Estrategia;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.utils.Dinero;
+import com.blackjack.utils.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Punto de entrada sin interfaz gráfica: no carga JavaFX ni abre la base de datos,
+ * por lo que arranca en milisegundos y funciona en servidores sin pantalla
+ */
+public class BlackJackCli {
+
+    private static final PrintStream out = System.out;
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            mostrarAyuda();
+            return;
+        }
+
+        try {
+            Argumentos argumentos = new Argumentos(args, 1);
+            Logger.setActivo(argumentos.tiene("log"));
+
+            int codigo;
+            switch (args[0]) {
+                case "jugar":
+                    codigo = jugar(argumentos);
+                    break;
+                case "simular":
+                    codigo = simular(argumentos);
+                    break;
+                case "torneo":
+                    codigo = torneo(argumentos);
+                    break;
+                case "riesgo":
+                    codigo = riesgo(argumentos);
+                    break;
+                case "laterales":
+                    codigo = laterales(argumentos);
+                    break;
+                case "lotes":
+                    codigo = lotes(argumentos);
+                    break;
+                case "historial":
+                    codigo = historial(argumentos);
+                    break;
+                case "repeticion":
+                    codigo = repeticion(argumentos);
+                    break;
+                case "diario":
+                    codigo = diario(argumentos);
+                    break;
+                case "ventaja":
+                    codigo = ventaja(argumentos);
+                    break;
+                case "grafico":
+                    codigo = grafico(argumentos);
+                    break;
+                case "archivar":
+                    codigo = archivar(argumentos);
+                    break;
+                case "clasificacion":
+                    codigo = clasificacion(argumentos);
+                    break;
+                case "asignaciones":
+                    codigo = asignaciones(argumentos);
+                    break;
+                case "servidor":
+                    codigo = servidor(argumentos);
+                    break;
+                case "carga":
+                    codigo = carga(argumentos);
+                    break;
+                case "ayuda":
+                    mostrarAyuda();
+                    codigo = 0;
+                    break;
+                default:
+                    System.err.println("Comando desconocido: " + args[0]);
+                    mostrarAyuda();
+                    codigo = 2;
+            }
+            System.exit(codigo);
+
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static int jugar(Argumentos argumentos) throws Exception {
+        GameService gameService = crearMesa(argumentos);
+        SesionGuionada sesion = new SesionGuionada(gameService, out);
+        sesion.setDetenerEnError(argumentos.tiene("estricto"));
+        if (argumentos.tiene("conteo")) {
+            sesion.setSistemaConteo(SistemaConteo.desdeTexto(argumentos.texto("conteo", "hi-lo")));
+        }
+
+        String guion = argumentos.texto("guion", null);
+        Reader reader = guion == null
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : new FileReader(guion, StandardCharsets.UTF_8);
+
+        try (BufferedReader br = new BufferedReader(reader)) {
+            int errores = sesion.ejecutar(br);
+            return errores == 0 ? 0 : 1;
+        }
+    }
+
+    private static int simular(Argumentos argumentos) throws Exception {
+        GameService gameService = crearMesa(argumentos);
+        Estrategia estrategia = RegistroEstrategias.crear(argumentos.texto("estrategia", "dealer"));
+        long apuesta = argumentos.dinero("apuesta", Dinero.desdeUnidades(10));
+        long rondas = argumentos.entero("rondas", 100_000);
+
+        Simulador simulador = new Simulador(gameService, estrategia, apuesta);
+        String archivo = argumentos.texto("exportar", null);
+        ExportadorResultados exportador = null;
+
+        if (archivo != null) {
+            exportador = new ExportadorResultados(new FileWriter(archivo, StandardCharsets.UTF_8),
+                    ExportadorResultados.Formato.desdeArchivo(archivo));
+            simulador.setObservador(exportador);
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoSimulacion resultado = simulador.simular(rondas);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        if (exportador != null) {
+            exportador.escribirResumen(resultado);
+            exportador.close();
+        }
+
+        out.printf("Estrategia: %s%n", resultado.getEstrategia());
+        out.printf("Rondas: %d (%.0f rondas/s)%n", resultado.getRondas(), resultado.getRondas() / segundos);
+        out.printf("Ganadas: %d  Perdidas: %d  Empates: %d  Blackjacks: %d%n",
+                resultado.getGanadas(), resultado.getPerdidas(),
+                resultado.getEmpates(), resultado.getBlackjacks());
+        out.printf("Ganancia neta: $%s  Ventaja por ronda: %.4f%n",
+                Dinero.formatear(resultado.getGananciaNeta()), resultado.getVentajaPorRonda());
+        if (resultado.isSinSaldo()) {
+            out.println("La simulación se detuvo por falta de saldo");
+        }
+        return 0;
+    }
+
+    private static int torneo(Argumentos argumentos) throws Exception {
+        String lista = argumentos.texto("estrategias", String.join(",", RegistroEstrategias.nombres()));
+        long manos = argumentos.entero("manos", 1_000_000);
+        int hilos = (int) argumentos.entero("hilos", Runtime.getRuntime().availableProcessors());
+
+        ReglasMesa reglas = cargarReglas(argumentos);
+        Torneo torneo = new Torneo(Arrays.asList(lista.split(",")), reglas,
+                argumentos.entero("semilla", System.nanoTime()), hilos);
+        out.println("Reglas: " + reglas);
+
+        long inicio = System.nanoTime();
+        ResultadoTorneo resultado = torneo.ejecutar(manos);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        resultado.imprimir(out);
+        out.printf("%nTiempo: %.2f s con %d hilos%n", segundos, hilos);
+        return 0;
+    }
+
+    private static int riesgo(Argumentos argumentos) throws Exception {
+        ReglasMesa reglas = cargarReglas(argumentos);
+        Estrategia estrategia = RegistroEstrategias.crear(argumentos.texto("estrategia", "basica"));
+        double unidad = Dinero.aDecimal(argumentos.dinero("apuesta", reglas.getApuestaMinima()));
+        String politica = argumentos.texto("politica", "plana");
+        long semilla = argumentos.entero("semilla", System.nanoTime());
+        int hilos = (int) argumentos.entero("hilos", Runtime.getRuntime().availableProcessors());
+
+        long inicio = System.nanoTime();
+        DistribucionResultados distribucion = DistribucionResultados.medir(reglas, estrategia,
+                argumentos.entero("muestras", 1_000_000), semilla);
+        out.printf("Reglas: %s%nEstrategia: %s, EV por mano %+.4f (%d resultados distintos)%n",
+                reglas, estrategia.getNombre(), distribucion.getMedia(), distribucion.getCantidadValores());
+
+        SimuladorRiesgo simulador = new SimuladorRiesgo(distribucion,
+                () -> PoliticaApuesta.desdeTexto(politica, unidad), reglas,
+                argumentos.decimal("saldo", 1000), argumentos.entero("manos", 1000), semilla, hilos);
+        ResultadoRiesgo resultado = simulador.ejecutar(argumentos.entero("sesiones", 1_000_000));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        resultado.imprimir(out);
+        out.printf("%nTiempo: %.2f s con %d hilos%n", segundos, hilos);
+        return 0;
+    }
+
+    private static int laterales(Argumentos argumentos) throws Exception {
+        ReglasMesa reglas = cargarReglas(argumentos);
+        long rondas = argumentos.entero("rondas", 10_000_000);
+        SimuladorLaterales simulador = new SimuladorLaterales(reglas.getNumeroMazos());
+
+        long inicio = System.nanoTime();
+        Map<ApuestaLateral, EstadisticaStreaming> simulado =
+                simulador.simular(rondas, argumentos.entero("semilla", System.nanoTime()));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        out.printf("%d mazos, %d rondas en %.2f s (%.0f rondas/s)%n",
+                reglas.getNumeroMazos(), rondas, segundos, rondas / segundos);
+        out.printf("%-20s %12s %20s%n", "Apuesta", "Exacto", "Simulado");
+        for (ApuestaLateral apuesta : ApuestaLateral.values()) {
+            EstadisticaStreaming ev = simulado.get(apuesta);
+            out.printf("%-20s %+11.4f%% %+10.4f%% ± %.4f%%%n", apuesta,
+                    simulador.evExacto(apuesta) * 100, ev.getMedia() * 100, ev.getErrorEstandar() * 100);
+        }
+        return 0;
+    }
+
+    private static int lotes(Argumentos argumentos) {
+        ComparadorLotes comparador = new ComparadorLotes((int) argumentos.entero("manos", 1 << 20),
+                argumentos.entero("semilla", System.nanoTime()));
+        comparador.ejecutar((int) argumentos.entero("repeticiones", 20), out);
+        return 0;
+    }
+
+    private static int historial(Argumentos argumentos) throws Exception {
+        GameService gameService = crearMesa(argumentos);
+        Estrategia estrategia = RegistroEstrategias.crear(argumentos.texto("estrategia", "basica"));
+        long rondas = argumentos.entero("rondas", 10_000_000);
+        Path archivo = Path.of(argumentos.texto("archivo", "historial.bjh"));
+
+        try (HistorialOffHeap historial = new HistorialOffHeap()) {
+            gameService.suscribir(new RegistradorHistorial(gameService, historial, 0));
+            Simulador simulador = new Simulador(gameService, estrategia, gameService.getApuestaMinima());
+
+            long recoleccionesAntes = recolecciones();
+            long inicio = System.nanoTime();
+            simulador.simular(rondas);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+            Runtime runtime = Runtime.getRuntime();
+
+            out.printf("%d rondas en %.2f s; %d MB nativos, heap usado %d MB, %d recolecciones%n",
+                    historial.getRegistros(), segundos, historial.getBytesReservados() >> 20,
+                    (runtime.totalMemory() - runtime.freeMemory()) >> 20, recolecciones() - recoleccionesAntes);
+
+            inicio = System.nanoTime();
+            historial.volcar(archivo);
+            out.printf("Volcado a %s en %.2f s%n", archivo, (System.nanoTime() - inicio) / 1e9);
+        }
+
+        try (ArchivoHistorial leido = ArchivoHistorial.abrir(archivo)) {
+            long inicio = System.nanoTime();
+            long[] porResultado = new long[GameService.ResultadoRonda.values().length];
+            long apostado = 0;
+            long ganancia = 0;
+
+            CursorHistorial cursor = leido.cursor();
+            while (cursor.siguiente()) {
+                porResultado[cursor.getResultado().ordinal()]++;
+                apostado += cursor.getApuestaCentavos();
+                ganancia += cursor.getGananciaCentavos();
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            out.printf("Lectura de %d registros en %.3f s%n", leido.getRegistros(), segundos);
+            for (GameService.ResultadoRonda resultado : GameService.ResultadoRonda.values()) {
+                out.printf("  %-10s %d%n", resultado, porResultado[resultado.ordinal()]);
+            }
+            out.printf("  Apostado %s, ganancia %s (%+.4f%%)%n", Dinero.formatear(apostado), Dinero.formatear(ganancia),
+                    apostado == 0 ? 0 : 100.0 * ganancia / apostado);
+        }
+        return 0;
+    }
+
+    private static int repeticion(Argumentos argumentos) throws Exception {
+        GameService gameService = crearMesa(argumentos);
+        Estrategia estrategia = RegistroEstrategias.crear(argumentos.texto("estrategia", "basica"));
+        long rondas = argumentos.entero("rondas", 1_000_000);
+        Path archivo = Path.of(argumentos.texto("archivo", "rondas.bjr"));
+        Path indice = Path.of(archivo + ".idx");
+
+        long inicio = System.nanoTime();
+        CodificadorRondas codificador = new CodificadorRondas(gameService,
+                new BufferedOutputStream(new FileOutputStream(archivo.toFile()), 1 << 16),
+                new BufferedOutputStream(new FileOutputStream(indice.toFile())), 0);
+        try (codificador) {
+            gameService.suscribir(codificador);
+            new Simulador(gameService, estrategia, gameService.getApuestaMinima()).simular(rondas);
+        } finally {
+            gameService.desuscribir(codificador);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        out.printf("%d rondas en %.2f s: %d bytes (%.2f por ronda), índice de %d bytes%n",
+                codificador.getRondas(), segundos, codificador.getBytes(),
+                (double) codificador.getBytes() / Math.max(1, codificador.getRondas()), Files.size(indice));
+
+        inicio = System.nanoTime();
+        long leidas = 0;
+        long ganancia = 0;
+        try (DecodificadorRondas decodificador = new DecodificadorRondas(
+                new BufferedInputStream(new FileInputStream(archivo.toFile()), 1 << 16))) {
+            RondaCodificada ronda;
+            while ((ronda = decodificador.siguiente()) != null) {
+                leidas++;
+                ganancia += ronda.gananciaCentavos();
+            }
+        }
+        segundos = (System.nanoTime() - inicio) / 1e9;
+        out.printf("Decodificadas %d rondas en %.2f s (%.0f rondas/s), ganancia %.2f%n",
+                leidas, segundos, leidas / segundos, ganancia / 100.0);
+
+        long buscada = argumentos.entero("ronda", codificador.getRondas() / 2);
+        inicio = System.nanoTime();
+        RondaCodificada ronda;
+        try (DecodificadorRondas decodificador = DecodificadorRondas.abrirEn(archivo, indice, buscada)) {
+            ronda = decodificador.siguiente();
+        }
+        out.printf("%nRonda %d (búsqueda en %.3f ms), saldo %s, apuesta %s, %d cartas repartidas antes%n",
+                ronda.ronda(), (System.nanoTime() - inicio) / 1e6, Dinero.formatear(ronda.saldoCentavos()),
+                Dinero.formatear(ronda.apuestaCentavos()), ronda.posicionZapato());
+        for (int i = 1; i <= ronda.pasos().size(); i++) {
+            PasoRonda paso = ronda.pasos().get(i - 1);
+            out.printf("  %-28s %s%n", describir(paso), describir(ReproductorRonda.reproducir(ronda, i)));
+        }
+        ReproductorRonda.EstadoMesa fin = ReproductorRonda.reproducir(ronda);
+        out.printf("  %-28s %s | Saldo %s%n", ronda.resultado() + " " + Dinero.formatearConSigno(ronda.gananciaCentavos()),
+                describir(fin), Dinero.formatear(fin.jugador().getSaldo()));
+        return 0;
+    }
+
+    private static int diario(Argumentos argumentos) throws Exception {
+        Path archivo = Path.of(argumentos.texto("archivo", "mesa.bjd"));
+
+        if (!argumentos.tiene("verificar")) {
+            Estrategia estrategia = RegistroEstrategias.crear(argumentos.texto("estrategia", "basica"));
+            long rondas = argumentos.entero("rondas", 1_000_000);
+            Files.deleteIfExists(archivo);
+
+            // El diario se suscribe antes de sentar al jugador para recoger también ese evento
+            ReglasMesa reglas = cargarReglas(argumentos);
+            long semilla = argumentos.tiene("semilla") ? argumentos.entero("semilla", 0) : new Random().nextLong();
+            GameService gameService = new GameService(crearBaraja(argumentos, reglas, semilla), null, reglas);
+
+            long inicio = System.nanoTime();
+            try (DiarioMesa diario = DiarioMesa.abrir(archivo, gameService)) {
+                gameService.suscribir(diario);
+                gameService.iniciarJugador(new Jugador(argumentos.texto("nombre", "cli"),
+                        argumentos.dinero("saldo", Dinero.desdeUnidades(1_000_000))));
+                new Simulador(gameService, estrategia, gameService.getApuestaMinima()).simular(rondas);
+                gameService.desuscribir(diario);
+                out.printf("%d eventos de %d rondas en %.2f s, %d bytes; saldo final %s%n",
+                        diario.getEventos(), rondas, (System.nanoTime() - inicio) / 1e9, Files.size(archivo),
+                        Dinero.formatear(gameService.getJugador().getSaldo()));
+            }
+        }
+
+        long inicio = System.nanoTime();
+        ResultadoReproduccion resultado = ReproductorDiario.verificar(archivo);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        out.printf("Reproducidos %d eventos (%d sesiones, %d rondas) en %.2f s: %.1f millones de eventos/s%n",
+                resultado.eventos(), resultado.sesiones(), resultado.rondas(), segundos,
+                resultado.eventos() / segundos / 1e6);
+
+        if (!resultado.coincide()) {
+            out.printf("DIVERGENCIA en el evento %d: %s%n", resultado.eventoDivergencia(), resultado.divergencia());
+            return 1;
+        }
+        out.printf("Todo coincide; saldo final %s%n", Dinero.formatear(resultado.saldoFinal()));
+        return 0;
+    }
+
+    private static String describir(PasoRonda paso) {
+        switch (paso.tipo()) {
+            case CARTA_JUGADOR:
+                return "Mano " + (paso.mano() + 1) + " recibe " + Carta.desdeOrdinal(paso.carta()).getRepresentacion();
+            case CARTA_DEALER:
+                return "Dealer recibe " + (paso.bocaAbajo() ? "carta oculta"
+                        : Carta.desdeOrdinal(paso.carta()).getRepresentacion());
+            default:
+                return "Mano " + (paso.mano() + 1) + ": " + paso.accion();
+        }
+    }
+
+    private static String describir(ReproductorRonda.EstadoMesa estado) {
+        StringBuilder sb = new StringBuilder("Dealer:");
+        for (Carta carta : estado.dealer().getMano().getCartas()) {
+            sb.append(' ').append(carta.isBocaAbajo() ? "??" : carta.getRepresentacion());
+        }
+        for (Mano mano : estado.jugador().getManos()) {
+            sb.append(" |");
+            for (Carta carta : mano.getCartas()) {
+                sb.append(' ').append(carta.getRepresentacion());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static long recolecciones() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static int ventaja(Argumentos argumentos) throws Exception {
+        ReglasMesa reglas = cargarReglas(argumentos);
+        int hilos = (int) argumentos.entero("hilos", Runtime.getRuntime().availableProcessors());
+
+        long inicio = System.nanoTime();
+        CalculadoraEV calculadora = new CalculadoraEV(reglas);
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        ResultadoEV resultado;
+        try {
+            resultado = calculadora.calcular(pool);
+        } finally {
+            pool.shutdown();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        resultado.imprimir(out);
+        CacheDealer cache = CacheDealer.getInstance();
+        out.printf("%nTiempo: %.2f s con %d hilos, %d entradas memoizadas%n",
+                segundos, hilos, calculadora.getTamanoMemo());
+        out.printf("Caché del dealer: %d entradas, %d aciertos, %d fallos%n",
+                cache.getTamano(), cache.getAciertos(), cache.getFallos());
+        return 0;
+    }
+
+    /**
+     * Simula una sesión guardando el saldo tras cada ronda y mide el gráfico
+     * de saldo sobre ella: la carga de los cubos y el muestreo a varios zooms,
+     * la primera vez y con los niveles ya en caché
+     */
+    private static int grafico(Argumentos argumentos) throws Exception {
+        GameService gameService = crearMesa(argumentos);
+        long rondas = argumentos.entero("rondas", 5_000_000);
+        int ancho = (int) argumentos.entero("ancho", 1200);
+
+        long[] saldos = new long[(int) rondas];
+        Simulador simulador = new Simulador(gameService,
+                RegistroEstrategias.crear(argumentos.texto("estrategia", "basica")), gameService.getApuestaMinima());
+        simulador.setObservador((numero, resultado, apostado, ganancia, saldo) -> saldos[(int) numero - 1] = saldo);
+        long puntos = simulador.simular(rondas).getRondas();
+
+        long inicio = System.nanoTime();
+        SerieSaldo serie = SerieSaldo.cargar(new SaldosEnMemoria(saldos, puntos));
+        out.printf("Carga de %,d saldos en %.1f ms, cubos de %d rondas%n",
+                serie.getPuntos(), (System.nanoTime() - inicio) / 1e6, serie.getTamanoBase());
+
+        for (long tramo = puntos; tramo >= 1; tramo /= 16) {
+            long desde = (puntos - tramo) / 2;
+            double[] ms = new double[2];
+            SerieMuestreada muestra = null;
+            for (int vez = 0; vez < 2; vez++) {
+                inicio = System.nanoTime();
+                muestra = serie.muestrear(desde, desde + tramo, ancho);
+                ms[vez] = (System.nanoTime() - inicio) / 1e6;
+            }
+            out.printf("Tramo de %,d rondas: %d puntos en %.2f ms (%.2f ms en caché)%n",
+                    tramo, muestra.cantidad(), ms[0], ms[1]);
+        }
+        return 0;
+    }
+
+    /**
+     * Saldos en un arreglo, con ids consecutivos desde 1
+     */
+    private static final class SaldosEnMemoria implements FuenteSaldos {
+        private final long[] saldos;
+        private final long puntos;
+
+        SaldosEnMemoria(long[] saldos, long puntos) {
+            this.saldos = saldos;
+            this.puntos = puntos;
+        }
+
+        @Override
+        public long contar() {
+            return puntos;
+        }
+
+        @Override
+        public long leer(long despuesDe, int limite, ConsumidorSaldo consumidor) {
+            long id = Math.max(despuesDe, 0);
+            long fin = Math.min(puntos, id + limite);
+            while (id < fin) {
+                consumidor.aceptar(id + 1, saldos[(int) id]);
+                id++;
+            }
+            return Math.max(despuesDe, id);
+        }
+    }
+
+    /**
+     * Archiva los días cerrados del historial de blackjack.db, en el
+     * directorio actual, y lista los segmentos resultantes
+     */
+    private static int archivar(Argumentos argumentos) {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        dbManager.inicializarBaseDatos();
+        if (dbManager.getArchivo() == null) {
+            System.err.println("No se pudo abrir el directorio del historial archivado");
+            return 1;
+        }
+
+        long inicio = System.nanoTime();
+        int escritos = dbManager.archivarHistorial((int) argumentos.entero("conservar", 0));
+        out.printf("%d segmentos nuevos en %.0f ms%n", escritos, (System.nanoTime() - inicio) / 1e6);
+        for (SegmentoHistorial segmento : dbManager.getArchivo().getSegmentos()) {
+            out.printf("  %-32s %,10d filas %,12d bytes  ids %d-%d%n", segmento.getRuta().getFileName(),
+                    segmento.getFilas(), segmento.getTamanoComprimido(), segmento.getMinId(), segmento.getMaxId());
+        }
+        dbManager.cerrarConexion();
+        return 0;
+    }
+
+    /**
+     * Mide la clasificación con jugadores de saldo aleatorio y comprueba los
+     * mejores y algunas posiciones contra el orden completo; termina con
+     * código 1 si no coinciden
+     */
+    private static int clasificacion(Argumentos argumentos) {
+        int jugadores = (int) argumentos.entero("jugadores", 1_000_000);
+        long actualizaciones = argumentos.entero("actualizaciones", 2_000_000);
+        int cantidad = (int) argumentos.entero("mejores", 10);
+        Random random = new Random(argumentos.entero("semilla", System.nanoTime()));
+
+        ClasificacionJugadores clasificacion = new ClasificacionJugadores();
+        long[] saldos = new long[jugadores];
+        long inicio = System.nanoTime();
+        for (int id = 0; id < jugadores; id++) {
+            saldos[id] = random.nextInt(10_000_000);
+            clasificacion.actualizar(id, "jugador" + id, saldos[id], 0);
+        }
+        out.printf("Alta de %,d jugadores en %.0f ms%n", jugadores, (System.nanoTime() - inicio) / 1e6);
+
+        inicio = System.nanoTime();
+        for (long i = 0; i < actualizaciones; i++) {
+            int id = random.nextInt(jugadores);
+            saldos[id] += random.nextInt(20_001) - 10_000;
+            clasificacion.actualizar(id, null, saldos[id], 0);
+        }
+        long transcurrido = System.nanoTime() - inicio;
+        out.printf("%,d actualizaciones: %.2f us cada una%n", actualizaciones, transcurrido / 1e3 / actualizaciones);
+
+        int consultas = 100_000;
+        long comprobacion = 0;
+        inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            comprobacion += clasificacion.posicion(ClasificacionJugadores.Criterio.SALDO,
+                    random.nextInt(jugadores)).orElseThrow().posicion();
+        }
+        out.printf("Posición de un jugador: %.2f us (%d)%n",
+                (System.nanoTime() - inicio) / 1e3 / consultas, comprobacion % 10);
+
+        inicio = System.nanoTime();
+        List<ClasificacionJugadores.Puesto> mejores = null;
+        for (int i = 0; i < consultas; i++) {
+            mejores = clasificacion.mejores(ClasificacionJugadores.Criterio.SALDO, cantidad);
+        }
+        out.printf("Mejores %d: %.2f us%n", cantidad, (System.nanoTime() - inicio) / 1e3 / consultas);
+
+        // Orden completo: saldo descendente y, a igual saldo, id ascendente
+        Integer[] orden = new Integer[jugadores];
+        for (int id = 0; id < jugadores; id++) {
+            orden[id] = id;
+        }
+        Arrays.sort(orden, (a, b) -> saldos[a] != saldos[b] ? Long.compare(saldos[b], saldos[a]) : Integer.compare(a, b));
+        for (int i = 0; i < mejores.size(); i++) {
+            if (mejores.get(i).jugadorId() != orden[i]) {
+                System.err.printf("Puesto %d: se esperaba el jugador %d y está el %d%n",
+                        i + 1, orden[i], mejores.get(i).jugadorId());
+                return 1;
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            int puesto = random.nextInt(jugadores);
+            int obtenido = clasificacion.posicion(ClasificacionJugadores.Criterio.SALDO, orden[puesto])
+                    .orElseThrow().posicion();
+            if (obtenido != puesto + 1) {
+                System.err.printf("Jugador %d: se esperaba el puesto %d y se obtuvo el %d%n",
+                        orden[puesto], puesto + 1, obtenido);
+                return 1;
+            }
+        }
+        out.println("Mejores y posiciones coinciden con el orden completo");
+        return 0;
+    }
+
+    /**
+     * Compara los bytes asignados por ronda con los presupuestos; termina
+     * con código 1 si algún escenario los supera
+     */
+    private static int asignaciones(Argumentos argumentos) throws Exception {
+        Properties presupuestos;
+        String archivo = argumentos.texto("presupuestos", null);
+        if (archivo == null) {
+            presupuestos = MedidorAsignaciones.presupuestosIncluidos();
+        } else {
+            presupuestos = new Properties();
+            try (Reader reader = Files.newBufferedReader(Path.of(archivo), StandardCharsets.UTF_8)) {
+                presupuestos.load(reader);
+            }
+        }
+
+        long rondas = argumentos.entero("rondas", Long.parseLong(presupuestos.getProperty("rondas", "200000")));
+        long calentamiento = argumentos.entero("calentamiento",
+                Long.parseLong(presupuestos.getProperty("calentamiento", "100000")));
+        MedidorAsignaciones medidor = new MedidorAsignaciones(argumentos.entero("semilla", 42));
+
+        int excedidos = 0;
+        out.printf("%-10s %10s %14s %12s%n", "Escenario", "Rondas", "Bytes/ronda", "Presupuesto");
+        for (MedidorAsignaciones.Escenario escenario : MedidorAsignaciones.Escenario.values()) {
+            String presupuesto = presupuestos.getProperty(escenario.getCodigo());
+            if (presupuesto == null) {
+                throw new IllegalArgumentException("Falta el presupuesto del escenario " + escenario.getCodigo());
+            }
+
+            MedidorAsignaciones.Medicion medicion = medidor.medir(escenario, calentamiento, rondas,
+                    Long.parseLong(presupuesto.trim()));
+            out.printf("%-10s %10d %14.1f %12d%s%n", escenario.getCodigo(), medicion.rondas(),
+                    medicion.bytesPorRonda(), medicion.presupuesto(), medicion.cumple() ? "" : "  EXCEDIDO");
+            if (!medicion.cumple()) {
+                excedidos++;
+            }
+        }
+        return excedidos == 0 ? 0 : 1;
+    }
+
+    private static int servidor(Argumentos argumentos) throws Exception {
+        int puerto = (int) argumentos.entero("puerto", 7777);
+        int reactores = (int) argumentos.entero("hilos", Runtime.getRuntime().availableProcessors());
+
+        ReglasMesa reglas = cargarReglas(argumentos);
+        try (ServidorMesas servidor = new ServidorMesas(new InetSocketAddress(puerto), reactores, reglas)) {
+            out.printf("Servidor de mesas escuchando en el puerto %d con %d reactores%n",
+                    servidor.getPuerto(), reactores);
+            servidor.aceptar();
+        }
+        return 0;
+    }
+
+    private static int carga(Argumentos argumentos) throws Exception {
+        InetSocketAddress direccion = new InetSocketAddress(argumentos.texto("host", "127.0.0.1"),
+                (int) argumentos.entero("puerto", 7777));
+        int conexiones = (int) argumentos.entero("conexiones", 1000);
+        int hilos = (int) argumentos.entero("hilos", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+        GeneradorCarga generador = new GeneradorCarga(direccion, conexiones, hilos);
+        generador.ejecutar((int) argumentos.entero("segundos", 10), out);
+        return 0;
+    }
+
+    static GameService crearMesa(Argumentos argumentos) throws IOException {
+        long semilla = argumentos.tiene("semilla")
+                ? argumentos.entero("semilla", 0)
+                : new Random().nextLong();
+
+        ReglasMesa reglas = cargarReglas(argumentos);
+        GameService gameService = new GameService(crearBaraja(argumentos, reglas, semilla), null, reglas);
+        gameService.iniciarJugador(new Jugador(argumentos.texto("nombre", "cli"),
+                argumentos.dinero("saldo", Dinero.desdeUnidades(1_000_000))));
+        return gameService;
+    }
+
+    /**
+     * Con --prebarajar el siguiente zapato se baraja en segundo plano; las
+     * cartas son las mismas que sin la opción
+     */
+    static Baraja crearBaraja(Argumentos argumentos, ReglasMesa reglas, long semilla) {
+        Baraja baraja = new Baraja(reglas.getNumeroMazos(), semilla);
+        if (argumentos.tiene("prebarajar")) {
+            baraja.usarPreparador(PreparadorZapatos.getInstance());
+        }
+        return baraja;
+    }
+
+    /**
+     * --reglas acepta un archivo .properties o el nombre de unas reglas
+     * incluidas (estandar, seis-a-cinco)
+     */
+    static ReglasMesa cargarReglas(Argumentos argumentos) throws IOException {
+        String reglas = argumentos.texto("reglas", null);
+        if (reglas == null) {
+            return ReglasMesa.porDefecto();
+        }
+
+        Path archivo = Path.of(reglas);
+        if (Files.exists(archivo)) {
+            return ReglasMesa.cargar(archivo);
+        }
+        return ReglasMesa.cargarRecurso("/reglas/" + reglas + ".properties");
+    }
+
+    private static void mostrarAyuda() {
+        out.println("Uso: blackjack <comando> [opciones]");
+        out.println();
+        out.println("Comandos:");
+        out.println("  jugar     Juega una sesión guionada (--guion archivo, o stdin)");
+        out.println("            Comandos del guion: apostar N, pedir, plantarse, doblar,");
+        out.println("            dividir, nueva, estado. Con --estricto se detiene al primer error");
+        out.println("            y con --conteo hi-lo|ko|omega-ii muestra la cuenta del zapato");
+        out.println("  simular   Simulación por lotes (--rondas N --apuesta X --estrategia nombre");
+        out.println("            --exportar archivo.csv|archivo.json)");
+        out.println("  torneo    Compara estrategias con mazos comunes (--estrategias a,b,c");
+        out.println("            --manos N --hilos N). Estrategias: basica, dealer, nunca-pasarse,");
+        out.println("            umbral:D[:S]");
+        out.println("  riesgo    Riesgo de ruina de un saldo (--saldo X --sesiones N --manos N");
+        out.println("            --politica plana|martingala|proporcional:F --apuesta X");
+        out.println("            --estrategia nombre --muestras N --hilos N)");
+        out.println("  laterales Ventaja de las apuestas laterales, exacta y simulada (--rondas N)");
+        out.println("  lotes     Compara la evaluación por lotes escalar y vectorial con Mano");
+        out.println("            (--manos N --repeticiones N). La vectorial necesita");
+        out.println("            java --add-modules jdk.incubator.vector");
+        out.println("  historial Simula rondas guardando el historial fuera del heap, lo vuelca");
+        out.println("            a un archivo mapeado y lo vuelve a leer (--rondas N --archivo X)");
+        out.println("  repeticion Guarda las rondas simuladas en formato compacto, las decodifica");
+        out.println("            y reproduce una paso a paso (--rondas N --archivo X --ronda K)");
+        out.println("  diario    Simula rondas con diario de eventos y lo vuelve a jugar comprobando");
+        out.println("            cartas y saldo (--rondas N --archivo X); con --verificar solo comprueba");
+        out.println("  ventaja   Ventaja de la casa exacta para unas reglas (--reglas, --hilos)");
+        out.println("  grafico   Mide el muestreo del gráfico de saldo sobre una sesión simulada");
+        out.println("            (--rondas N --ancho PIXELES)");
+        out.println("  archivar  Mueve los días cerrados del historial de blackjack.db a segmentos");
+        out.println("            comprimidos en ./historial (--conservar DIAS)");
+        out.println("  clasificacion Mide y comprueba la clasificación en memoria (--jugadores N");
+        out.println("            --actualizaciones N --mejores K)");
+        out.println("  asignaciones Bytes asignados por ronda frente a los presupuestos; falla si");
+        out.println("            alguno se supera (--presupuestos archivo --rondas N --calentamiento N)");
+        out.println("  servidor  Servidor TCP de mesas (--puerto N --hilos N)");
+        out.println("  carga     Generador de carga contra el servidor (--host H --puerto N");
+        out.println("            --conexiones N --hilos N --segundos N)");
+        out.println("  ayuda     Muestra este mensaje");
+        out.println();
+        out.println("Opciones comunes: --semilla N, --saldo X, --nombre X, --log,");
+        out.println("  --reglas archivo.properties|estandar|seis-a-cinco, --prebarajar");
+    }
+}
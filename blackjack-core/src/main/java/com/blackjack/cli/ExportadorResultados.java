@@ -0,0 +1,81 @@
+package com.blackjack.cli;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.simulation.ResultadoSimulacion;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.utils.Dinero;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Exporta resultados de simulación en CSV (una fila por ronda) o JSON (resumen)
+ * Principio SRP: solo se encarga del formato de salida
+ */
+public class ExportadorResultados implements Simulador.ObservadorRondas, Closeable {
+
+    public enum Formato {
+        CSV, JSON;
+
+        public static Formato desdeArchivo(String ruta) {
+            return ruta.toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+        }
+    }
+
+    private final PrintWriter writer;
+    private final Formato formato;
+
+    public ExportadorResultados(Writer destino, Formato formato) {
+        this.writer = new PrintWriter(destino);
+        this.formato = formato;
+
+        if (formato == Formato.CSV) {
+            writer.println("ronda,resultado,apostado,ganancia,saldo");
+        }
+    }
+
+    @Override
+    public void rondaJugada(long numero, ResultadoRonda resultado, long apostado,
+                            long ganancia, long saldo) {
+        if (formato != Formato.CSV) {
+            return;
+        }
+
+        writer.print(numero);
+        writer.print(',');
+        writer.print(resultado);
+        writer.print(',');
+        writer.print(Dinero.formatear(apostado));
+        writer.print(',');
+        writer.print(Dinero.formatear(ganancia));
+        writer.print(',');
+        writer.println(Dinero.formatear(saldo));
+    }
+
+    public void escribirResumen(ResultadoSimulacion resultado) {
+        if (formato != Formato.JSON) {
+            return;
+        }
+
+        writer.println("{");
+        writer.println("  \"estrategia\": \"" + resultado.getEstrategia() + "\",");
+        writer.println("  \"apuestaBase\": " + Dinero.formatear(resultado.getApuestaBase()) + ",");
+        writer.println("  \"rondas\": " + resultado.getRondas() + ",");
+        writer.println("  \"ganadas\": " + resultado.getGanadas() + ",");
+        writer.println("  \"perdidas\": " + resultado.getPerdidas() + ",");
+        writer.println("  \"empates\": " + resultado.getEmpates() + ",");
+        writer.println("  \"blackjacks\": " + resultado.getBlackjacks() + ",");
+        writer.println("  \"totalApostado\": " + Dinero.formatear(resultado.getTotalApostado()) + ",");
+        writer.println("  \"gananciaNeta\": " + Dinero.formatear(resultado.getGananciaNeta()) + ",");
+        writer.println("  \"ventajaPorRonda\": " + resultado.getVentajaPorRonda() + ",");
+        writer.println("  \"sinSaldo\": " + resultado.isSinSaldo());
+        writer.println("}");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
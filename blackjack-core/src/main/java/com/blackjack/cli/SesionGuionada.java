@@ -0,0 +1,171 @@
+package com.blackjack.cli;
+
+import com.blackjack.exceptions.GameException;
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Carta;
+import com.blackjack.models.Dealer;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+import com.blackjack.services.GameService;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.sidebets.ResultadoLateral;
+import com.blackjack.services.RastreadorComposicion;
+import com.blackjack.services.SistemaConteo;
+import com.blackjack.utils.Dinero;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ejecuta una sesión de juego a partir de un guion de comandos, uno por línea:
+ * apostar N [pp=X 21+3=X ll=X], pedir, plantarse, doblar, dividir, nueva, estado.
+ * Las líneas vacías y las que empiezan por # se ignoran
+ */
+public class SesionGuionada {
+
+    private final GameService gameService;
+    private final PrintStream salida;
+    private boolean detenerEnError;
+    private SistemaConteo sistemaConteo;
+
+    public SesionGuionada(GameService gameService, PrintStream salida) {
+        this.gameService = gameService;
+        this.salida = salida;
+    }
+
+    /**
+     * Si se indica, cada estado incluye la cuenta corriente y la real. Es la
+     * vista de la mesa: cuenta también la carta oculta del dealer
+     */
+    public void setSistemaConteo(SistemaConteo sistemaConteo) {
+        this.sistemaConteo = sistemaConteo;
+    }
+
+    public void setDetenerEnError(boolean detenerEnError) {
+        this.detenerEnError = detenerEnError;
+    }
+
+    /**
+     * @return número de comandos que fallaron
+     */
+    public int ejecutar(BufferedReader guion) throws IOException {
+        int errores = 0;
+        int numeroLinea = 0;
+        String linea;
+
+        while ((linea = guion.readLine()) != null) {
+            numeroLinea++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+
+            try {
+                ejecutarComando(linea.split("\\s+"));
+            } catch (GameException | SaldoInsuficienteException | IllegalArgumentException e) {
+                errores++;
+                salida.println("Línea " + numeroLinea + ": " + e.getMessage());
+                if (detenerEnError) {
+                    break;
+                }
+            }
+        }
+
+        return errores;
+    }
+
+    private void ejecutarComando(String[] partes) throws GameException, SaldoInsuficienteException {
+        switch (partes[0].toLowerCase()) {
+            case "apostar":
+                if (partes.length < 2) {
+                    throw new IllegalArgumentException("Falta la cantidad a apostar");
+                }
+                gameService.realizarApuesta(Dinero.parsear(partes[1]), leerLaterales(partes));
+                break;
+            case "pedir":
+                gameService.pedir();
+                break;
+            case "plantarse":
+                gameService.plantarse();
+                break;
+            case "doblar":
+                gameService.doblar();
+                break;
+            case "dividir":
+                gameService.dividir();
+                break;
+            case "nueva":
+                gameService.nuevaRonda();
+                break;
+            case "estado":
+                break;
+            default:
+                throw new IllegalArgumentException("Comando desconocido: " + partes[0]);
+        }
+
+        imprimirEstado();
+    }
+
+    /**
+     * Apuestas laterales tras la principal, como pp=5 21+3=5 ll=5
+     */
+    private static Map<ApuestaLateral, Long> leerLaterales(String[] partes) {
+        Map<ApuestaLateral, Long> laterales = new EnumMap<>(ApuestaLateral.class);
+        for (int i = 2; i < partes.length; i++) {
+            String[] par = partes[i].split("=");
+            if (par.length != 2) {
+                throw new IllegalArgumentException("Apuesta lateral mal escrita: " + partes[i]);
+            }
+            laterales.put(ApuestaLateral.desdeCodigo(par[0]), Dinero.parsear(par[1]));
+        }
+        return laterales;
+    }
+
+    private void imprimirEstado() {
+        Jugador jugador = gameService.getJugador();
+        Dealer dealer = gameService.getDealer();
+        StringBuilder sb = new StringBuilder();
+
+        sb.append('[').append(gameService.getEstadoActual()).append("] Dealer:");
+        agregarCartas(sb, dealer.getMano());
+
+        for (int i = 0; i < jugador.getManos().size(); i++) {
+            Mano mano = jugador.getManos().get(i);
+            sb.append(" | Mano ").append(i + 1);
+            if (i == jugador.getIndiceManoActual()) {
+                sb.append('*');
+            }
+            sb.append(':');
+            agregarCartas(sb, mano);
+            sb.append(" (").append(mano.calcularValor()).append(')');
+        }
+
+        Dinero.agregar(sb.append(" | Saldo: "), jugador.getSaldo());
+
+        for (ResultadoLateral lateral : gameService.getResultadosLaterales()) {
+            sb.append(" | ").append(lateral.tipo().getCodigo()).append(' ');
+            Dinero.agregarConSigno(sb, lateral.ganancia());
+        }
+
+        if (sistemaConteo != null) {
+            RastreadorComposicion.Lectura lectura = gameService.getRastreador().leer();
+            sb.append(" | Cuenta ").append(sistemaConteo).append(": ")
+                    .append(lectura.cuentaCorriente(sistemaConteo))
+                    .append(String.format(" (real %.2f)", lectura.cuentaReal(sistemaConteo)));
+        }
+
+        if (gameService.getEstadoActual() == GameService.EstadoJuego.FINALIZADO) {
+            sb.append(" | ").append(gameService.getUltimoResultado());
+        }
+
+        salida.println(sb);
+    }
+
+    private void agregarCartas(StringBuilder sb, Mano mano) {
+        for (Carta carta : mano.getCartas()) {
+            sb.append(' ').append(carta.getRepresentacion());
+        }
+    }
+}
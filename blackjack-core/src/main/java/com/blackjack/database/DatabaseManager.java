@@ -0,0 +1,803 @@
+package com.blackjack.database;
+
+import com.blackjack.history.FuenteSaldos;
+import com.blackjack.history.HistorialArchivado;
+import com.blackjack.history.LoteHistorial;
+import com.blackjack.history.SegmentoHistorial;
+import com.blackjack.models.EstadisticasJugador;
+import com.blackjack.models.Jugador;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Gestor de base de datos SQLite
+ * Implementa el patrón Singleton y maneja todas las operaciones de BD.
+ * Las cantidades de dinero se guardan como INTEGER en centavos.
+ *
+ * Todas las operaciones comparten una sola conexión JDBC, así que se
+ * serializan sobre esta instancia: el autojuego, el gráfico de saldo y la
+ * interfaz pueden usarla desde hilos distintos sin mezclar transacciones
+ */
+public class DatabaseManager {
+
+    private static DatabaseManager instance;
+    private static final String DB_URL = "jdbc:sqlite:blackjack.db";
+    // Segmentos con los días cerrados del historial, fuera de la base de datos
+    private static final String DIRECTORIO_ARCHIVO = "historial";
+
+    // PRAGMA user_version; la 1 guarda el dinero como INTEGER en centavos,
+    // la 2 añade al historial el saldo tras cada ronda, la 3 las
+    // estadísticas materializadas de cada jugador y la 4 la versión del saldo
+    private static final int VERSION_ESQUEMA = 4;
+
+    // Reintentos cuando otra instancia tiene la base de datos bloqueada
+    private static final int MAX_INTENTOS = 5;
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    private static final String TABLA_JUGADORES = "CREATE TABLE IF NOT EXISTS %s (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "nombre TEXT UNIQUE NOT NULL," +
+            "saldo INTEGER NOT NULL," +
+            "version INTEGER NOT NULL DEFAULT 0," +
+            "partidas_jugadas INTEGER DEFAULT 0," +
+            "partidas_ganadas INTEGER DEFAULT 0," +
+            "fecha_registro TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "ultima_conexion TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private static final String TABLA_HISTORIAL = "CREATE TABLE IF NOT EXISTS %s (" +
+            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+            "jugador_id INTEGER," +
+            "apuesta INTEGER," +
+            "resultado TEXT," +
+            "ganancia INTEGER," +
+            "saldo INTEGER," +
+            "fecha TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "FOREIGN KEY (jugador_id) REFERENCES jugadores(id))";
+
+    private static final String TABLA_ESTADISTICAS = "CREATE TABLE IF NOT EXISTS estadisticas_jugador (" +
+            "jugador_id INTEGER PRIMARY KEY," +
+            "manos INTEGER NOT NULL DEFAULT 0," +
+            "ganadas INTEGER NOT NULL DEFAULT 0," +
+            "empatadas INTEGER NOT NULL DEFAULT 0," +
+            "blackjacks INTEGER NOT NULL DEFAULT 0," +
+            "dobladas INTEGER NOT NULL DEFAULT 0," +
+            "divididas INTEGER NOT NULL DEFAULT 0," +
+            "total_apostado INTEGER NOT NULL DEFAULT 0," +
+            "neto INTEGER NOT NULL DEFAULT 0," +
+            "pico_saldo INTEGER NOT NULL DEFAULT 0," +
+            "maxima_caida INTEGER NOT NULL DEFAULT 0," +
+            "FOREIGN KEY (jugador_id) REFERENCES jugadores(id))";
+    private final String url;
+    private final Path directorioArchivo;
+    private Connection connection;
+    private HistorialArchivado archivo;
+
+    private DatabaseManager() {
+        this(DB_URL, Path.of(DIRECTORIO_ARCHIVO));
+    }
+
+    /**
+     * Base de datos y archivo propios, fuera de la instancia compartida; lo
+     * usan las pruebas
+     */
+    DatabaseManager(String url, Path directorioArchivo) {
+        this.url = url;
+        this.directorioArchivo = directorioArchivo;
+        conectar();
+    }
+
+    public static synchronized DatabaseManager getInstance() {
+        if (instance == null) {
+            instance = new DatabaseManager();
+        }
+        return instance;
+    }
+
+    private void conectar() {
+        try {
+            connection = DriverManager.getConnection(url);
+            Logger.log("Conexión a base de datos establecida");
+        } catch (SQLException e) {
+            Logger.logError("Error al conectar con la base de datos", e);
+        }
+    }
+
+    public synchronized void inicializarBaseDatos() {
+        try (Statement stmt = connection.createStatement()) {
+
+            int version = leerVersionEsquema(stmt);
+            boolean habiaDatos = existeTabla("jugadores");
+            if (version == 0 && habiaDatos) {
+                migrarACentavos(stmt);
+            } else if (version == 1) {
+                stmt.execute("ALTER TABLE historial_partidas ADD COLUMN saldo INTEGER");
+            }
+            if (version >= 1 && version < 4 && habiaDatos) {
+                stmt.execute("ALTER TABLE jugadores ADD COLUMN version INTEGER NOT NULL DEFAULT 0");
+            }
+
+            // Crear tabla de jugadores
+            stmt.execute(String.format(TABLA_JUGADORES, "jugadores"));
+
+            // Crear tabla de historial de partidas
+            stmt.execute(String.format(TABLA_HISTORIAL, "historial_partidas"));
+            // Para leer el historial de un jugador por páginas en orden de id
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_historial_jugador ON historial_partidas (jugador_id, id)");
+
+            stmt.execute(TABLA_ESTADISTICAS);
+            if (version < 3 && habiaDatos) {
+                calcularEstadisticasIniciales(stmt);
+            }
+
+            stmt.execute("PRAGMA user_version = " + VERSION_ESQUEMA);
+            Logger.log("Base de datos inicializada correctamente");
+
+        } catch (SQLException e) {
+            Logger.logError("Error al inicializar la base de datos", e);
+        }
+
+        try {
+            archivo = HistorialArchivado.abrir(directorioArchivo);
+        } catch (IOException e) {
+            // Sin archivo el historial se consulta y se guarda solo en la tabla
+            Logger.logError("No se pudo abrir el historial archivado", new Exception(e));
+        }
+    }
+
+    /**
+     * Mueve los días cerrados del historial (anteriores a hoy en UTC, menos
+     * {@code diasConservados}) a segmentos comprimidos y los borra de la
+     * tabla, un día por transacción. Cada segmento queda escrito en disco
+     * antes de borrar sus filas; si el proceso se interrumpe entre ambos
+     * pasos, la siguiente ejecución termina el borrado.
+     *
+     * El día se elige y se lee con el mismo date(fecha) de SQLite, y se
+     * borran exactamente los ids archivados. Las filas cuya fecha SQLite no
+     * entiende (date(fecha) es NULL) se quedan en la tabla con un aviso. Si
+     * un día no aporta filas o no se borra ninguna, se para en lugar de
+     * repetirlo
+     *
+     * @return segmentos escritos
+     */
+    public synchronized int archivarHistorial(int diasConservados) {
+        if (archivo == null) {
+            return 0;
+        }
+        String limite = LocalDate.now(ZoneOffset.UTC).minusDays(diasConservados).toString();
+        int escritos = 0;
+        try {
+            for (SegmentoHistorial segmento : archivo.getSegmentos()) {
+                borrarArchivadas(segmento);
+            }
+            avisarFechasInvalidas();
+
+            String dia;
+            while ((dia = primerDiaAnterior(limite)) != null) {
+                LoteHistorial lote = leerDia(dia);
+                if (lote.getFilas() == 0) {
+                    Logger.logAdvertencia("El historial del " + dia + " no devolvió filas; se deja de archivar");
+                    break;
+                }
+
+                SegmentoHistorial segmento = archivo.archivar(LocalDate.parse(dia), lote);
+                int borradas = borrarFilas(lote);
+                escritos++;
+                Logger.log(String.format("Historial del %s archivado: %d filas, %d bytes",
+                        dia, segmento.getFilas(), segmento.getTamanoComprimido()));
+                if (borradas == 0) {
+                    Logger.logAdvertencia("No se borró ninguna fila archivada del " + dia
+                            + "; se deja de archivar");
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            Logger.logError("Error al archivar el historial", e);
+        } catch (IOException e) {
+            Logger.logError("Error al escribir un segmento del historial", new Exception(e));
+        }
+        return escritos;
+    }
+
+    private String primerDiaAnterior(String limite) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT date(fecha) FROM historial_partidas WHERE date(fecha) < ? ORDER BY id LIMIT 1")) {
+            pstmt.setString(1, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private LoteHistorial leerDia(String dia) throws SQLException {
+        LoteHistorial lote = new LoteHistorial();
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT id, jugador_id, CAST(strftime('%s', fecha) AS INTEGER), apuesta, resultado," +
+                        " ganancia, saldo FROM historial_partidas WHERE date(fecha) = ?" +
+                        " ORDER BY jugador_id, id")) {
+            pstmt.setString(1, dia);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long saldo = rs.getLong(7);
+                    lote.agregar(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            rs.getString(5), rs.getLong(6), rs.wasNull() ? null : saldo);
+                }
+            }
+        }
+        return lote;
+    }
+
+    private void avisarFechasInvalidas() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM historial_partidas WHERE date(fecha) IS NULL")) {
+            long invalidas = rs.next() ? rs.getLong(1) : 0;
+            if (invalidas > 0) {
+                Logger.logAdvertencia(invalidas + " filas del historial tienen una fecha no válida y no se archivan");
+            }
+        }
+    }
+
+    /**
+     * Borra en una transacción las filas del lote recién archivado
+     *
+     * @return filas borradas
+     */
+    private int borrarFilas(LoteHistorial lote) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "DELETE FROM historial_partidas WHERE id = ?")) {
+            for (int fila = 0; fila < lote.getFilas(); fila++) {
+                pstmt.setLong(1, lote.getId(fila));
+                pstmt.addBatch();
+            }
+            int borradas = 0;
+            for (int cuenta : pstmt.executeBatch()) {
+                borradas += Math.max(cuenta, 0);
+            }
+            connection.commit();
+            return borradas;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Borra de la tabla las filas que ya están en el segmento: las de su
+     * rango de ids y de fechas
+     */
+    private void borrarArchivadas(SegmentoHistorial segmento) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "DELETE FROM historial_partidas WHERE id BETWEEN ? AND ?" +
+                        " AND CAST(strftime('%s', fecha) AS INTEGER) BETWEEN ? AND ?")) {
+            pstmt.setLong(1, segmento.getMinId());
+            pstmt.setLong(2, segmento.getMaxId());
+            pstmt.setLong(3, segmento.getMinFecha());
+            pstmt.setLong(4, segmento.getMaxFecha());
+            pstmt.executeUpdate();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    public HistorialArchivado getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Al pasar a la versión 3 las estadísticas se calculan una vez a partir
+     * del historial. Dobladas, divisiones y caída máxima no se guardaban, así
+     * que empiezan en 0 y el pico en el saldo actual
+     */
+    private void calcularEstadisticasIniciales(Statement stmt) throws SQLException {
+        stmt.execute("INSERT OR IGNORE INTO estadisticas_jugador (jugador_id, manos, ganadas, empatadas," +
+                " blackjacks, total_apostado, neto, pico_saldo)" +
+                " SELECT j.id, COUNT(h.id)," +
+                " COALESCE(SUM(h.resultado IN ('GANA', 'BLACKJACK')), 0)," +
+                " COALESCE(SUM(h.resultado = 'EMPATE'), 0)," +
+                " COALESCE(SUM(h.resultado = 'BLACKJACK'), 0)," +
+                " COALESCE(SUM(h.apuesta), 0), COALESCE(SUM(h.ganancia), 0), j.saldo" +
+                " FROM jugadores j LEFT JOIN historial_partidas h ON h.jugador_id = j.id GROUP BY j.id");
+        Logger.log("Estadísticas de jugadores calculadas a partir del historial");
+    }
+
+    private int leerVersionEsquema(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private boolean existeTabla(String tabla) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            pstmt.setString(1, tabla);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Las bases anteriores a la versión 1 guardaban el dinero como REAL.
+     * SQLite no cambia el tipo de una columna, así que cada tabla se copia a
+     * una nueva con las cantidades redondeadas a centavos y se reemplaza,
+     * todo en una transacción
+     */
+    private void migrarACentavos(Statement stmt) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            stmt.execute(String.format(TABLA_JUGADORES, "jugadores_centavos"));
+            stmt.execute("INSERT INTO jugadores_centavos (id, nombre, saldo, partidas_jugadas, partidas_ganadas," +
+                    " fecha_registro, ultima_conexion) SELECT id, nombre, CAST(ROUND(saldo * 100) AS INTEGER)," +
+                    " partidas_jugadas, partidas_ganadas, fecha_registro, ultima_conexion FROM jugadores");
+            stmt.execute("DROP TABLE jugadores");
+            stmt.execute("ALTER TABLE jugadores_centavos RENAME TO jugadores");
+
+            if (existeTabla("historial_partidas")) {
+                stmt.execute(String.format(TABLA_HISTORIAL, "historial_centavos"));
+                stmt.execute("INSERT INTO historial_centavos (id, jugador_id, apuesta, resultado, ganancia, fecha)" +
+                        " SELECT id, jugador_id, CAST(ROUND(apuesta * 100) AS INTEGER), resultado," +
+                        " CAST(ROUND(ganancia * 100) AS INTEGER), fecha FROM historial_partidas");
+                stmt.execute("DROP TABLE historial_partidas");
+                stmt.execute("ALTER TABLE historial_centavos RENAME TO historial_partidas");
+            }
+
+            connection.commit();
+            Logger.log("Base de datos migrada a cantidades en centavos");
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Las sentencias se cierran siempre: una lectura que queda abierta
+     * mantiene el bloqueo compartido de SQLite y ninguna otra sesión puede
+     * escribir mientras tanto
+     */
+    public synchronized Jugador obtenerJugador(String nombre) {
+        String sql = "SELECT * FROM jugadores WHERE nombre = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, nombre);
+
+            Jugador jugador;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                jugador = new Jugador(
+                        rs.getString("nombre"),
+                        rs.getLong("saldo")
+                );
+                jugador.setId(rs.getLong("id"));
+                jugador.confirmarSaldo(rs.getLong("saldo"), rs.getLong("version"));
+            }
+
+            // Actualizar última conexión
+            actualizarUltimaConexion(jugador.getId());
+
+            return jugador;
+
+        } catch (SQLException e) {
+            Logger.logError("Error al obtener jugador: " + nombre, e);
+        }
+
+        return null;
+    }
+
+    public synchronized void guardarJugador(Jugador jugador) {
+        String sql = "INSERT INTO jugadores (nombre, saldo) VALUES (?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, jugador.getNombre());
+            pstmt.setLong(2, jugador.getSaldo());
+
+            pstmt.executeUpdate();
+
+            // Obtener el ID generado
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    jugador.setId(rs.getLong(1));
+                    jugador.confirmarSaldo(jugador.getSaldo(), 0);
+                }
+            }
+
+            Logger.log("Nuevo jugador guardado: " + jugador.getNombre());
+
+        } catch (SQLException e) {
+            Logger.logError("Error al guardar jugador", e);
+        }
+    }
+
+    /**
+     * Guarda lo que cambió el saldo desde la última vez como una suma
+     * atómica ({@code saldo = saldo + ?}), así que otra instancia que juegue
+     * con el mismo jugador no pisa sus cambios. La suma se rechaza si dejaría
+     * el saldo en negativo. En los dos casos el jugador se queda con el saldo
+     * y la versión de la base de datos, con los cambios ajenos incluidos.
+     *
+     * No se mantiene ningún bloqueo entre llamadas: cada una es una
+     * transacción corta que se reintenta si la base de datos está ocupada.
+     * Si falla por otro motivo, o se agotan los reintentos, la diferencia
+     * queda pendiente para la siguiente llamada
+     */
+    public synchronized ResultadoSaldo actualizarSaldo(Jugador jugador) {
+        long diferencia = jugador.getSaldo() - jugador.getSaldoGuardado();
+        for (int intento = 1; ; intento++) {
+            try {
+                return sumarSaldo(jugador, diferencia);
+            } catch (SQLException e) {
+                int codigo = e.getErrorCode() & 0xFF;
+                if ((codigo != SQLITE_BUSY && codigo != SQLITE_LOCKED) || intento == MAX_INTENTOS) {
+                    Logger.logError("Error al actualizar saldo", e);
+                    return ResultadoSaldo.ERROR;
+                }
+                esperarReintento(intento);
+            }
+        }
+    }
+
+    /**
+     * Resultado de {@link #actualizarSaldo}
+     */
+    public enum ResultadoSaldo {
+        /** Guardado; ninguna otra sesión había cambiado el saldo */
+        GUARDADO,
+        /** Guardado, pero otra sesión lo había cambiado: el jugador queda con la suma de ambos */
+        CAMBIADO_EN_OTRA_SESION,
+        /** Rechazado por dejar el saldo en negativo; el jugador queda con el de la base de datos */
+        RECHAZADO,
+        /** No se pudo guardar; el jugador conserva su saldo y el cambio sigue pendiente */
+        ERROR
+    }
+
+    private ResultadoSaldo sumarSaldo(Jugador jugador, long diferencia) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement sumar = connection.prepareStatement(
+                "UPDATE jugadores SET saldo = saldo + ?, version = version + 1 WHERE id = ? AND saldo + ? >= 0");
+             PreparedStatement leer = connection.prepareStatement(
+                     "SELECT saldo, version FROM jugadores WHERE id = ?")) {
+            sumar.setLong(1, diferencia);
+            sumar.setLong(2, jugador.getId());
+            sumar.setLong(3, diferencia);
+            boolean aceptada = sumar.executeUpdate() == 1;
+
+            long saldo;
+            long version;
+            leer.setLong(1, jugador.getId());
+            try (ResultSet rs = leer.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("El jugador " + jugador.getId() + " no existe");
+                }
+                saldo = rs.getLong(1);
+                version = rs.getLong(2);
+            }
+            connection.commit();
+
+            // Solo tras el commit: si falla, la diferencia sigue pendiente
+            long esperada = jugador.getVersion() + (aceptada ? 1 : 0);
+            jugador.confirmarSaldo(saldo, version);
+            if (!aceptada) {
+                return ResultadoSaldo.RECHAZADO;
+            }
+            if (version != esperada) {
+                Logger.log("El saldo de " + jugador.getNombre() + " cambió desde otra sesión");
+                return ResultadoSaldo.CAMBIADO_EN_OTRA_SESION;
+            }
+            return ResultadoSaldo.GUARDADO;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void esperarReintento(int intento) {
+        try {
+            Thread.sleep(10L << intento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized void registrarPartida(Long jugadorId, long apuesta, String resultado, long ganancia, long saldo) {
+        String sql = "INSERT INTO historial_partidas (jugador_id, apuesta, resultado, ganancia, saldo) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, jugadorId);
+            pstmt.setLong(2, apuesta);
+            pstmt.setString(3, resultado);
+            pstmt.setLong(4, ganancia);
+            pstmt.setLong(5, saldo);
+
+            pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            Logger.logError("Error al registrar partida", e);
+        }
+    }
+
+    /**
+     * Fila del historial todavía sin guardar
+     */
+    public record Partida(long apuesta, String resultado, long ganancia, long saldo) {
+    }
+
+    /**
+     * Guarda varias filas del historial en una sola transacción. Ronda a
+     * ronda, cada fila es un commit y el ritmo de juego queda limitado por lo
+     * que tarde el disco en sincronizar
+     *
+     * @return falso si no se pudo guardar y las filas siguen pendientes
+     */
+    public synchronized boolean registrarPartidas(long jugadorId, List<Partida> partidas) {
+        for (int intento = 1; ; intento++) {
+            try {
+                insertarPartidas(jugadorId, partidas);
+                return true;
+            } catch (SQLException e) {
+                int codigo = e.getErrorCode() & 0xFF;
+                if ((codigo != SQLITE_BUSY && codigo != SQLITE_LOCKED) || intento == MAX_INTENTOS) {
+                    Logger.logError("Error al registrar partidas", e);
+                    return false;
+                }
+                esperarReintento(intento);
+            }
+        }
+    }
+
+    private void insertarPartidas(long jugadorId, List<Partida> partidas) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "INSERT INTO historial_partidas (jugador_id, apuesta, resultado, ganancia, saldo) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < partidas.size(); i++) {
+                Partida partida = partidas.get(i);
+                pstmt.setLong(1, jugadorId);
+                pstmt.setLong(2, partida.apuesta());
+                pstmt.setString(3, partida.resultado());
+                pstmt.setLong(4, partida.ganancia());
+                pstmt.setLong(5, partida.saldo());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Estadísticas materializadas del jugador; vacías si todavía no jugó
+     */
+    public synchronized EstadisticasJugador obtenerEstadisticas(long jugadorId) {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT * FROM estadisticas_jugador WHERE jugador_id = ?")) {
+            pstmt.setLong(1, jugadorId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new EstadisticasJugador(
+                            rs.getLong("manos"),
+                            rs.getLong("ganadas"),
+                            rs.getLong("empatadas"),
+                            rs.getLong("blackjacks"),
+                            rs.getLong("dobladas"),
+                            rs.getLong("divididas"),
+                            rs.getLong("total_apostado"),
+                            rs.getLong("neto"),
+                            rs.getLong("pico_saldo"),
+                            rs.getLong("maxima_caida"));
+                }
+            }
+        } catch (SQLException e) {
+            Logger.logError("Error al obtener estadísticas", e);
+        }
+        return new EstadisticasJugador();
+    }
+
+    /**
+     * Suma a las guardadas las estadísticas de las rondas jugadas desde el
+     * último guardado (ver {@link EstadisticasJugador#diferencia}), y las partidas a partidas_jugadas y partidas_ganadas
+     * de jugadores, en una transacción. Al ser sumas, dos instancias con el
+     * mismo jugador no se pisan; el pico y la caída máxima se quedan con el
+     * mayor de los dos valores
+     *
+     * @return falso si no se pudo guardar y las rondas siguen pendientes
+     */
+    public synchronized boolean guardarEstadisticas(long jugadorId, EstadisticasJugador pendientes) {
+        for (int intento = 1; ; intento++) {
+            try {
+                sumarEstadisticas(jugadorId, pendientes);
+                return true;
+            } catch (SQLException e) {
+                int codigo = e.getErrorCode() & 0xFF;
+                if ((codigo != SQLITE_BUSY && codigo != SQLITE_LOCKED) || intento == MAX_INTENTOS) {
+                    Logger.logError("Error al guardar estadísticas", e);
+                    return false;
+                }
+                esperarReintento(intento);
+            }
+        }
+    }
+
+    private void sumarEstadisticas(long jugadorId, EstadisticasJugador pendientes) throws SQLException {
+        String sql = "INSERT INTO estadisticas_jugador (jugador_id, manos, ganadas, empatadas, blackjacks," +
+                " dobladas, divididas, total_apostado, neto, pico_saldo, maxima_caida)" +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)" +
+                " ON CONFLICT (jugador_id) DO UPDATE SET manos = manos + excluded.manos," +
+                " ganadas = ganadas + excluded.ganadas, empatadas = empatadas + excluded.empatadas," +
+                " blackjacks = blackjacks + excluded.blackjacks, dobladas = dobladas + excluded.dobladas," +
+                " divididas = divididas + excluded.divididas," +
+                " total_apostado = total_apostado + excluded.total_apostado, neto = neto + excluded.neto," +
+                " pico_saldo = MAX(pico_saldo, excluded.pico_saldo)," +
+                " maxima_caida = MAX(maxima_caida, excluded.maxima_caida)";
+        connection.setAutoCommit(false);
+        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+             PreparedStatement jugadores = connection.prepareStatement(
+                     "UPDATE jugadores SET partidas_jugadas = partidas_jugadas + ?," +
+                             " partidas_ganadas = partidas_ganadas + ? WHERE id = ?")) {
+            pstmt.setLong(1, jugadorId);
+            pstmt.setLong(2, pendientes.getManos());
+            pstmt.setLong(3, pendientes.getGanadas());
+            pstmt.setLong(4, pendientes.getEmpatadas());
+            pstmt.setLong(5, pendientes.getBlackjacks());
+            pstmt.setLong(6, pendientes.getDobladas());
+            pstmt.setLong(7, pendientes.getDivididas());
+            pstmt.setLong(8, pendientes.getTotalApostado());
+            pstmt.setLong(9, pendientes.getNeto());
+            pstmt.setLong(10, pendientes.getPicoSaldo());
+            pstmt.setLong(11, pendientes.getMaximaCaida());
+            pstmt.executeUpdate();
+
+            jugadores.setLong(1, pendientes.getManos());
+            jugadores.setLong(2, pendientes.getGanadas());
+            jugadores.setLong(3, jugadorId);
+            jugadores.executeUpdate();
+
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Saldos de un jugador tras cada ronda, para el gráfico. Las filas
+     * anteriores a la versión 2 del esquema no tienen saldo y se omiten.
+     * Lee primero los segmentos archivados y sigue con la tabla, como si
+     * fueran una sola serie
+     */
+    public FuenteSaldos fuenteSaldos(long jugadorId) {
+        HistorialArchivado archivado = archivo;
+        return new FuenteSaldos() {
+            @Override
+            public long contar() throws IOException {
+                long archivadas = archivado == null ? 0 : archivado.contarSaldos(jugadorId);
+                return archivadas + contarVivas();
+            }
+
+            @Override
+            public long leer(long despuesDe, int limite, ConsumidorSaldo consumidor) throws IOException {
+                if (archivado == null || despuesDe >= archivado.getMaxId()) {
+                    return leerVivas(despuesDe, limite, consumidor);
+                }
+                int[] entregadas = {0};
+                long ultimo = archivado.leerSaldos(jugadorId, despuesDe, limite, (id, saldo) -> {
+                    entregadas[0]++;
+                    consumidor.aceptar(id, saldo);
+                });
+                if (entregadas[0] < limite) {
+                    ultimo = leerVivas(Math.max(ultimo, archivado.getMaxId()), limite - entregadas[0], consumidor);
+                }
+                return ultimo;
+            }
+
+            private long contarVivas() throws IOException {
+                synchronized (DatabaseManager.this) {
+                    return contarVivasBloqueado();
+                }
+            }
+
+            private long contarVivasBloqueado() throws IOException {
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT COUNT(*) FROM historial_partidas WHERE jugador_id = ? AND saldo IS NOT NULL")) {
+                    pstmt.setLong(1, jugadorId);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? rs.getLong(1) : 0;
+                    }
+                } catch (SQLException e) {
+                    throw new IOException("Error al contar el historial", e);
+                }
+            }
+
+            private long leerVivas(long despuesDe, int limite, ConsumidorSaldo consumidor) throws IOException {
+                synchronized (DatabaseManager.this) {
+                    return leerVivasBloqueado(despuesDe, limite, consumidor);
+                }
+            }
+
+            private long leerVivasBloqueado(long despuesDe, int limite, ConsumidorSaldo consumidor)
+                    throws IOException {
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "SELECT id, saldo FROM historial_partidas WHERE jugador_id = ? AND id > ?" +
+                                " AND saldo IS NOT NULL ORDER BY id LIMIT ?")) {
+                    pstmt.setLong(1, jugadorId);
+                    pstmt.setLong(2, despuesDe);
+                    pstmt.setInt(3, limite);
+                    long ultimo = despuesDe;
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            ultimo = rs.getLong(1);
+                            consumidor.aceptar(ultimo, rs.getLong(2));
+                        }
+                    }
+                    return ultimo;
+                } catch (SQLException e) {
+                    throw new IOException("Error al leer el historial", e);
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorJugador {
+        void aceptar(long id, String nombre, long saldo, long neto);
+    }
+
+    /**
+     * Recorre todos los jugadores con su saldo y su ganancia neta en una sola
+     * consulta, fila a fila, sin cargarlos antes en una lista
+     */
+    public synchronized void recorrerJugadores(ConsumidorJugador consumidor) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(1000);
+            try (ResultSet rs = stmt.executeQuery("SELECT j.id, j.nombre, j.saldo, COALESCE(e.neto, 0)" +
+                    " FROM jugadores j LEFT JOIN estadisticas_jugador e ON e.jugador_id = j.id")) {
+                while (rs.next()) {
+                    consumidor.aceptar(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4));
+                }
+            }
+        } catch (SQLException e) {
+            Logger.logError("Error al recorrer los jugadores", e);
+        }
+    }
+
+    private void actualizarUltimaConexion(Long jugadorId) {
+        String sql = "UPDATE jugadores SET ultima_conexion = CURRENT_TIMESTAMP WHERE id = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, jugadorId);
+            pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            Logger.logError("Error al actualizar última conexión", e);
+        }
+    }
+
+    public synchronized void cerrarConexion() {
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.close();
+                Logger.log("Conexión a base de datos cerrada");
+            }
+        } catch (SQLException e) {
+            Logger.logError("Error al cerrar conexión", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.blackjack.events;
+
+import com.blackjack.utils.Logger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publica eventos a los observadores suscritos sin bloqueos.
+ * La lista se guarda como un arreglo inmutable que se reemplaza con CAS al
+ * suscribir o desuscribir, así publicar solo lee una referencia
+ */
+public class DespachadorEventos {
+
+    private static final ObservadorJuego[] VACIO = new ObservadorJuego[0];
+
+    private final AtomicReference<ObservadorJuego[]> observadores = new AtomicReference<>(VACIO);
+
+    public void suscribir(ObservadorJuego observador) {
+        ObservadorJuego[] actual;
+        ObservadorJuego[] nuevo;
+        do {
+            actual = observadores.get();
+            nuevo = Arrays.copyOf(actual, actual.length + 1);
+            nuevo[actual.length] = observador;
+        } while (!observadores.compareAndSet(actual, nuevo));
+    }
+
+    public void desuscribir(ObservadorJuego observador) {
+        ObservadorJuego[] actual;
+        ObservadorJuego[] nuevo;
+        do {
+            actual = observadores.get();
+            int indice = -1;
+            for (int i = 0; i < actual.length; i++) {
+                if (actual[i] == observador) {
+                    indice = i;
+                    break;
+                }
+            }
+            if (indice < 0) {
+                return;
+            }
+
+            nuevo = actual.length == 1 ? VACIO : new ObservadorJuego[actual.length - 1];
+            System.arraycopy(actual, 0, nuevo, 0, indice);
+            System.arraycopy(actual, indice + 1, nuevo, indice, actual.length - indice - 1);
+        } while (!observadores.compareAndSet(actual, nuevo));
+    }
+
+    /**
+     * Permite evitar construir el evento cuando nadie escucha
+     */
+    public boolean hayObservadores() {
+        return observadores.get().length > 0;
+    }
+
+    public void publicar(EventoJuego evento) {
+        for (ObservadorJuego observador : observadores.get()) {
+            try {
+                observador.alEvento(evento);
+            } catch (RuntimeException e) {
+                // Un observador defectuoso no debe interrumpir la partida
+                Logger.logError("Error en observador de eventos", e);
+            }
+        }
+    }
+}
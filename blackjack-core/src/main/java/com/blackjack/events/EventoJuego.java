@@ -0,0 +1,93 @@
+package com.blackjack.events;
+
+import com.blackjack.models.Carta;
+import com.blackjack.services.GameService.EstadoJuego;
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.strategies.Accion;
+import java.util.Map;
+
+/**
+ * Eventos que publica GameService cuando cambia el estado de la mesa.
+ * Los observadores reaccionan solo a lo que cambió en lugar de releer todo.
+ * Las cantidades van en centavos
+ */
+public sealed interface EventoJuego {
+
+    /** Índice de mano usado para las cartas del dealer */
+    int DEALER = -1;
+
+    /** Se sentó un jugador en la mesa con el saldo indicado */
+    record JugadorIniciado(String nombre, long saldo) implements EventoJuego {
+    }
+
+    /**
+     * Se preparó una ronda nueva. No implica barajar: el zapato solo se
+     * cambia al pasar la carta de corte y, con barajado continuo, los
+     * descartes vuelven a él en cada ronda
+     */
+    record NuevaRonda() implements EventoJuego {
+    }
+
+    /**
+     * Se aceptaron la apuesta principal y las laterales, antes de repartir;
+     * saldo es el que había antes de apostar
+     */
+    record ApuestaRealizada(long apuesta, Map<ApuestaLateral, Long> laterales, long saldo)
+            implements EventoJuego {
+    }
+
+    /** Se aceptó una acción del jugador sobre la mano indicada, antes de repartir sus cartas */
+    record AccionJugador(int mano, Accion accion) implements EventoJuego {
+    }
+
+    /**
+     * Se repartió una carta. Si está boca abajo su valor no debe mostrarse
+     * hasta recibir {@link CartaDealerRevelada}
+     */
+    record CartaRepartida(int mano, int posicion, Carta carta) implements EventoJuego {
+        public boolean esDealer() {
+            return mano == DEALER;
+        }
+    }
+
+    /** La mano indicada se dividió; la nueva mano ocupa el índice siguiente */
+    record ManoDividida(int mano) implements EventoJuego {
+    }
+
+    /** La mano indicada se pasó de 21 */
+    record ManoPasada(int mano, int valor) implements EventoJuego {
+    }
+
+    /** Se descubrió la carta oculta del dealer */
+    record CartaDealerRevelada(int posicion, Carta carta) implements EventoJuego {
+    }
+
+    /** La ronda terminó y se pagaron las ganancias */
+    record RondaLiquidada(ResultadoRonda resultado, long ganancia, long saldo) implements EventoJuego {
+    }
+
+    record SaldoCambiado(long anterior, long nuevo) implements EventoJuego {
+    }
+
+    /**
+     * Al guardar el saldo se vio que otra sesión del mismo jugador lo había
+     * cambiado; el jugador pasa al de la base de datos
+     */
+    record SaldoExterno(long anterior, long nuevo) implements EventoJuego {
+    }
+
+    /** No se pudo guardar el saldo; el cambio queda pendiente para el siguiente guardado */
+    record SaldoNoGuardado(long saldo) implements EventoJuego {
+    }
+
+    record EstadoCambiado(EstadoJuego anterior, EstadoJuego nuevo) implements EventoJuego {
+    }
+
+    /**
+     * Empieza o termina una ráfaga de rondas seguidas (autojuego). Mientras
+     * dure, la mesa guarda en la base de datos por bloques y no ronda a ronda
+     */
+    record Rafaga(boolean activa) implements EventoJuego {
+    }
+}
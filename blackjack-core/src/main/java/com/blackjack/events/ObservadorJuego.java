@@ -0,0 +1,11 @@
+package com.blackjack.events;
+
+/**
+ * Recibe los eventos de una mesa. Se invoca en el hilo que ejecuta la acción
+ * de GameService, por lo que debe ser rápido y no bloquear
+ */
+@FunctionalInterface
+public interface ObservadorJuego {
+
+    void alEvento(EventoJuego evento);
+}
@@ -1,10 +1,15 @@
 package com.blackjack.exceptions;
 
+import java.io.Serial;
+
 /**
  * Excepción general para errores del juego
  */
 public class GameException extends Exception {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public GameException(String mensaje) {
         super(mensaje);
     }
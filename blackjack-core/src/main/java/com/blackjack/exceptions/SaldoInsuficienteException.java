@@ -1,10 +1,15 @@
 package com.blackjack.exceptions;
 
+import java.io.Serial;
+
 /**
  * Excepción para manejar casos de saldo insuficiente
  */
 public class SaldoInsuficienteException extends Exception {
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
     public SaldoInsuficienteException(String mensaje) {
         super(mensaje);
     }
@@ -0,0 +1,60 @@
+package com.blackjack.history;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Historial volcado a disco, mapeado en memoria de solo lectura. Los
+ * cursores leen directamente de las páginas del archivo
+ */
+public class ArchivoHistorial implements AutoCloseable {
+
+    private final Arena arena;
+    private final MemorySegment registros;
+    private final long cantidad;
+
+    private ArchivoHistorial(MemorySegment archivo, Arena arena) throws IOException {
+        this.arena = arena;
+        if (archivo.byteSize() < FormatoHistorial.CABECERA
+                || archivo.get(JAVA_INT, 0) != FormatoHistorial.MAGICO) {
+            throw new IOException("No es un archivo de historial");
+        }
+        if (archivo.get(JAVA_INT, 4) != FormatoHistorial.VERSION) {
+            throw new IOException("Versión de historial no soportada: " + archivo.get(JAVA_INT, 4));
+        }
+        this.cantidad = archivo.get(JAVA_LONG, 8);
+        this.registros = archivo.asSlice(FormatoHistorial.CABECERA, cantidad * FormatoHistorial.TAMANO);
+    }
+
+    public static ArchivoHistorial abrir(Path ruta) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            MemorySegment mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            return new ArchivoHistorial(mapeado, arena);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    public long getRegistros() {
+        return cantidad;
+    }
+
+    public CursorHistorial cursor() {
+        return new CursorHistorial(List.of(registros));
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
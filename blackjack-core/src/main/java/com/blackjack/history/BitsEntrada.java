@@ -0,0 +1,69 @@
+package com.blackjack.history;
+
+import java.io.EOFException;
+
+/**
+ * Lee los campos escritos por {@link BitsSalida}
+ */
+final class BitsEntrada {
+
+    private final byte[] datos;
+    private final int longitud;
+    private int posicion;
+    private long acumulador;
+    private int bitsDisponibles;
+
+    BitsEntrada(byte[] datos, int longitud) {
+        this.datos = datos;
+        this.longitud = longitud;
+    }
+
+    long leer(int bits) throws EOFException {
+        long valor = 0;
+        for (int restantes = bits; restantes > 0; ) {
+            if (bitsDisponibles == 0) {
+                if (posicion >= longitud) {
+                    throw new EOFException("Ronda codificada incompleta");
+                }
+                acumulador = datos[posicion++] & 0xFF;
+                bitsDisponibles = 8;
+            }
+            int tomar = Math.min(restantes, bitsDisponibles);
+            bitsDisponibles -= tomar;
+            valor = (valor << tomar) | ((acumulador >>> bitsDisponibles) & ((1L << tomar) - 1));
+            restantes -= tomar;
+        }
+        return valor;
+    }
+
+    boolean leerBit() throws EOFException {
+        return leer(1) == 1;
+    }
+
+    long leerVarint() throws EOFException {
+        long valor = 0;
+        for (int desplazamiento = 0; ; desplazamiento += 7) {
+            long b = leer(8);
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+    }
+
+    long leerVarintConSigno() throws EOFException {
+        long z = leerVarint();
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    int leerPequeno(int bits) throws EOFException {
+        int valor = 0;
+        for (int desplazamiento = 0; ; desplazamiento += bits) {
+            boolean sigue = leerBit();
+            valor |= (int) leer(bits) << desplazamiento;
+            if (!sigue) {
+                return valor;
+            }
+        }
+    }
+}
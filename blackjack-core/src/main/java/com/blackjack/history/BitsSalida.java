@@ -0,0 +1,94 @@
+package com.blackjack.history;
+
+import java.util.Arrays;
+
+/**
+ * Escribe campos de ancho arbitrario en un búfer de bytes, del bit más
+ * significativo al menos significativo
+ */
+final class BitsSalida {
+
+    private byte[] datos = new byte[256];
+    private long acumulador;
+    private int bitsPendientes;
+    private int longitud;
+
+    void escribir(long valor, int bits) {
+        for (int restantes = bits; restantes > 0; ) {
+            int tomar = Math.min(restantes, 56 - bitsPendientes);
+            restantes -= tomar;
+            acumulador = (acumulador << tomar) | ((valor >>> restantes) & ((1L << tomar) - 1));
+            bitsPendientes += tomar;
+            while (bitsPendientes >= 8) {
+                bitsPendientes -= 8;
+                agregarByte((int) (acumulador >>> bitsPendientes));
+            }
+        }
+    }
+
+    void escribirBit(boolean bit) {
+        escribir(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Entero sin signo en grupos de 7 bits con bit de continuación
+     */
+    void escribirVarint(long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            escribir((valor & 0x7F) | 0x80, 8);
+            valor >>>= 7;
+        }
+        escribir(valor, 8);
+    }
+
+    /**
+     * Entero con signo en zigzag: los valores pequeños en magnitud ocupan
+     * pocos bytes
+     */
+    void escribirVarintConSigno(long valor) {
+        escribirVarint((valor << 1) ^ (valor >> 63));
+    }
+
+    /**
+     * Entero pequeño en grupos de n bits con bit de continuación
+     */
+    void escribirPequeno(int valor, int bits) {
+        int limite = 1 << bits;
+        while (valor >= limite) {
+            escribir(1, 1);
+            escribir(valor & (limite - 1), bits);
+            valor >>>= bits;
+        }
+        escribir(0, 1);
+        escribir(valor, bits);
+    }
+
+    /**
+     * Completa el último byte con ceros y devuelve la longitud en bytes
+     */
+    int cerrar() {
+        if (bitsPendientes > 0) {
+            agregarByte((int) (acumulador << (8 - bitsPendientes)));
+            bitsPendientes = 0;
+        }
+        acumulador = 0;
+        return longitud;
+    }
+
+    byte[] getDatos() {
+        return datos;
+    }
+
+    void reiniciar() {
+        acumulador = 0;
+        bitsPendientes = 0;
+        longitud = 0;
+    }
+
+    private void agregarByte(int b) {
+        if (longitud == datos.length) {
+            datos = Arrays.copyOf(datos, datos.length * 2);
+        }
+        datos[longitud++] = (byte) b;
+    }
+}
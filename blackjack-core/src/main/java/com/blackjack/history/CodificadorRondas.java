@@ -0,0 +1,122 @@
+package com.blackjack.history;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.services.GameService;
+import com.blackjack.services.RastreadorComposicion;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Observador que escribe cada ronda de una mesa en el formato compacto de
+ * {@link FormatoRondas}: unos 20 bytes por ronda típica, la mitad de
+ * ellos de cabecera. Cada
+ * {@link IndiceRondas#INTERVALO} rondas anota en el índice el desplazamiento
+ * del marco, para que {@link DecodificadorRondas#abrirEn} llegue a cualquier
+ * ronda sin decodificar el archivo desde el principio.
+ *
+ * Los eventos llegan en el hilo de la mesa, que no puede recibir
+ * excepciones de E/S: el primer error se guarda y se lanza en {@link #close()}
+ */
+public class CodificadorRondas implements ObservadorJuego, Closeable {
+
+    private final GameService gameService;
+    private final OutputStream datos;
+    private final DataOutputStream indice;
+    private final int asiento;
+    private final BitsSalida bits = new BitsSalida();
+    private final byte[] longitud = new byte[10];
+
+    private long ronda;
+    private long desplazamiento;
+    private boolean enRonda;
+    private IOException error;
+
+    public CodificadorRondas(GameService gameService, OutputStream datos, OutputStream indice, int asiento) {
+        this.gameService = gameService;
+        this.datos = datos;
+        this.indice = new DataOutputStream(indice);
+        this.asiento = asiento;
+    }
+
+    @Override
+    public void alEvento(EventoJuego evento) {
+        if (evento instanceof EventoJuego.ApuestaRealizada apuesta) {
+            RastreadorComposicion.Lectura lectura = gameService.getRastreador().leer();
+            bits.reiniciar();
+            FormatoRondas.escribirCabecera(bits, asiento, lectura.mazos() * 52 - lectura.restantes(),
+                    apuesta.saldo(), apuesta.apuesta());
+            enRonda = true;
+        } else if (!enRonda) {
+            // Suscrito a mitad de ronda: se espera a la siguiente apuesta
+            return;
+        } else if (evento instanceof EventoJuego.CartaRepartida repartida) {
+            int carta = repartida.carta().getOrdinal();
+            FormatoRondas.escribirPaso(bits, repartida.esDealer()
+                    ? PasoRonda.cartaDealer(carta, repartida.carta().isBocaAbajo())
+                    : PasoRonda.cartaJugador(repartida.mano(), carta));
+        } else if (evento instanceof EventoJuego.AccionJugador accion) {
+            FormatoRondas.escribirPaso(bits, PasoRonda.accion(accion.mano(), accion.accion()));
+        } else if (evento instanceof EventoJuego.RondaLiquidada liquidada) {
+            FormatoRondas.escribirFin(bits, liquidada.resultado(), liquidada.ganancia());
+            enRonda = false;
+            escribirMarco();
+        }
+    }
+
+    /**
+     * Rondas escritas hasta ahora
+     */
+    public long getRondas() {
+        return ronda;
+    }
+
+    public long getBytes() {
+        return desplazamiento;
+    }
+
+    private void escribirMarco() {
+        if (error != null) {
+            return;
+        }
+
+        int tamano = bits.cerrar();
+        try {
+            if (ronda % IndiceRondas.INTERVALO == 0) {
+                indice.writeLong(ronda);
+                indice.writeLong(desplazamiento);
+            }
+
+            int n = 0;
+            long valor = tamano;
+            while ((valor & ~0x7FL) != 0) {
+                longitud[n++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            longitud[n++] = (byte) valor;
+
+            datos.write(longitud, 0, n);
+            datos.write(bits.getDatos(), 0, tamano);
+            desplazamiento += n + tamano;
+            ronda++;
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            indice.flush();
+            datos.flush();
+        } finally {
+            indice.close();
+            datos.close();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
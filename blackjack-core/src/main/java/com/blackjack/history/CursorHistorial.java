@@ -0,0 +1,84 @@
+package com.blackjack.history;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+
+/**
+ * Recorre registros de historial leyendo cada campo directamente del
+ * segmento (en memoria nativa o en un archivo mapeado), sin crear objetos
+ * por registro. Uso: while (cursor.siguiente()) { cursor.getGanancia(); }
+ */
+public class CursorHistorial {
+
+    private static final ResultadoRonda[] RESULTADOS = ResultadoRonda.values();
+
+    private final List<MemorySegment> segmentos;
+    private int indiceSegmento;
+    private MemorySegment segmento;
+    private long base = -FormatoHistorial.TAMANO;
+
+    CursorHistorial(List<MemorySegment> segmentos) {
+        this.segmentos = segmentos;
+        this.segmento = segmentos.isEmpty() ? MemorySegment.NULL : segmentos.get(0);
+    }
+
+    public boolean siguiente() {
+        base += FormatoHistorial.TAMANO;
+        while (base >= segmento.byteSize()) {
+            if (++indiceSegmento >= segmentos.size()) {
+                return false;
+            }
+            segmento = segmentos.get(indiceSegmento);
+            base = 0;
+        }
+        return true;
+    }
+
+    public long getRonda() {
+        return segmento.get(JAVA_LONG, base + FormatoHistorial.RONDA);
+    }
+
+    public int getMesa() {
+        return segmento.get(JAVA_INT, base + FormatoHistorial.MESA);
+    }
+
+    public ResultadoRonda getResultado() {
+        return RESULTADOS[segmento.get(JAVA_BYTE, base + FormatoHistorial.RESULTADO)];
+    }
+
+    public int getManos() {
+        return segmento.get(JAVA_BYTE, base + FormatoHistorial.MANOS);
+    }
+
+    public int getCantidadCartasJugador() {
+        return segmento.get(JAVA_BYTE, base + FormatoHistorial.CARTAS_JUGADOR);
+    }
+
+    public int getCantidadCartasDealer() {
+        return segmento.get(JAVA_BYTE, base + FormatoHistorial.CARTAS_DEALER);
+    }
+
+    /**
+     * Valor 1..13 de la carta i del jugador
+     */
+    public int getCartaJugador(int i) {
+        return (int) (segmento.get(JAVA_LONG, base + FormatoHistorial.CARTAS) >>> (4 * i)) & 0xF;
+    }
+
+    public int getCartaDealer(int i) {
+        return getCartaJugador(FormatoHistorial.MAX_CARTAS_JUGADOR + i);
+    }
+
+    public long getApuestaCentavos() {
+        return segmento.get(JAVA_INT, base + FormatoHistorial.APUESTA);
+    }
+
+    public long getGananciaCentavos() {
+        return segmento.get(JAVA_INT, base + FormatoHistorial.GANANCIA);
+    }
+}
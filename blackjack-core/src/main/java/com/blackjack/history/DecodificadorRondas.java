@@ -0,0 +1,108 @@
+package com.blackjack.history;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lee en orden las rondas escritas por {@link CodificadorRondas}
+ */
+public class DecodificadorRondas implements Closeable {
+
+    private final InputStream entrada;
+    private byte[] marco = new byte[64];
+    private long ronda;
+
+    public DecodificadorRondas(InputStream entrada) {
+        this(entrada, 0);
+    }
+
+    /**
+     * @param primeraRonda número de la ronda en la que está colocada la entrada
+     */
+    public DecodificadorRondas(InputStream entrada, long primeraRonda) {
+        this.entrada = entrada;
+        this.ronda = primeraRonda;
+    }
+
+    /**
+     * Abre el archivo de rondas colocado en la ronda indicada: busca en el
+     * índice el marco anotado más cercano y salta los que faltan, como
+     * mucho {@link IndiceRondas#INTERVALO} - 1
+     */
+    public static DecodificadorRondas abrirEn(Path datos, Path indice, long ronda) throws IOException {
+        long[] entrada = IndiceRondas.buscar(indice, ronda);
+        FileChannel canal = FileChannel.open(datos, StandardOpenOption.READ);
+        canal.position(entrada[1]);
+
+        DecodificadorRondas decodificador = new DecodificadorRondas(
+                new BufferedInputStream(Channels.newInputStream(canal)), entrada[0]);
+        for (long r = entrada[0]; r < ronda; r++) {
+            if (!decodificador.saltar()) {
+                decodificador.close();
+                throw new EOFException("El archivo no llega a la ronda " + ronda);
+            }
+        }
+        return decodificador;
+    }
+
+    /**
+     * @return la siguiente ronda, o null al final del archivo
+     */
+    public RondaCodificada siguiente() throws IOException {
+        int tamano = leerLongitud();
+        if (tamano < 0) {
+            return null;
+        }
+        if (tamano > marco.length) {
+            marco = new byte[Math.max(tamano, marco.length * 2)];
+        }
+        if (entrada.readNBytes(marco, 0, tamano) < tamano) {
+            throw new EOFException("Ronda codificada incompleta");
+        }
+        return FormatoRondas.leer(new BitsEntrada(marco, tamano), ronda++);
+    }
+
+    /**
+     * Pasa a la ronda siguiente sin decodificar la actual
+     *
+     * @return false si no quedaban rondas
+     */
+    public boolean saltar() throws IOException {
+        int tamano = leerLongitud();
+        if (tamano < 0) {
+            return false;
+        }
+        entrada.skipNBytes(tamano);
+        ronda++;
+        return true;
+    }
+
+    private int leerLongitud() throws IOException {
+        int valor = 0;
+        for (int desplazamiento = 0; ; desplazamiento += 7) {
+            int b = entrada.read();
+            if (b < 0) {
+                if (desplazamiento == 0) {
+                    return -1;
+                }
+                throw new EOFException("Longitud de ronda incompleta");
+            }
+            valor |= (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
@@ -0,0 +1,133 @@
+package com.blackjack.history;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.services.GameService;
+import com.blackjack.sidebets.ApuestaLateral;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Diario de solo añadir con todo lo que ocurre en una mesa: jugador,
+ * rondas, apuestas, acciones, cada carta sacada del zapato y cada
+ * liquidación, precedidos de la semilla de la baraja y las reglas.
+ * Con él {@link ReproductorDiario} vuelve a jugar la sesión y comprueba
+ * que las cartas y el saldo coinciden.
+ *
+ * Debe suscribirse antes de que la mesa saque o mezcle cartas; si la
+ * baraja se vuelve a sembrar con {@code Baraja.reiniciar(long)} la
+ * reproducción detectará la divergencia
+ */
+public class DiarioMesa implements ObservadorJuego, Closeable {
+
+    private final DataOutputStream salida;
+    private long eventos;
+    private boolean volcarPorRonda;
+    private boolean enRafaga;
+    private IOException error;
+
+    public DiarioMesa(GameService gameService, OutputStream salida) throws IOException {
+        this.salida = new DataOutputStream(salida);
+
+        StringWriter reglas = new StringWriter();
+        gameService.getReglas().aPropiedades().store(reglas, null);
+
+        this.salida.writeByte(FormatoDiario.CABECERA);
+        this.salida.writeInt(FormatoDiario.MAGIA);
+        this.salida.writeLong(gameService.getSemilla());
+        this.salida.writeUTF(reglas.toString());
+        this.salida.writeLong(System.currentTimeMillis());
+        eventos++;
+    }
+
+    /**
+     * Abre (o crea) el archivo para añadir una sesión nueva al final
+     */
+    public static DiarioMesa abrir(Path archivo, GameService gameService) throws IOException {
+        return new DiarioMesa(gameService, new BufferedOutputStream(Files.newOutputStream(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 1 << 16));
+    }
+
+    @Override
+    public void alEvento(EventoJuego evento) {
+        if (error != null) {
+            return;
+        }
+
+        try {
+            if (evento instanceof EventoJuego.Rafaga rafaga) {
+                // No se escribe: no cambia lo que se reproduce
+                enRafaga = rafaga.activa();
+                if (!enRafaga && volcarPorRonda) {
+                    salida.flush();
+                }
+                return;
+            }
+            if (evento instanceof EventoJuego.CartaRepartida repartida) {
+                salida.writeByte(FormatoDiario.CARTA);
+                salida.writeByte(repartida.mano());
+                salida.writeByte(repartida.carta().getOrdinal());
+            } else if (evento instanceof EventoJuego.AccionJugador accion) {
+                salida.writeByte(FormatoDiario.ACCION);
+                salida.writeByte(accion.mano());
+                salida.writeByte(accion.accion().ordinal());
+            } else if (evento instanceof EventoJuego.ApuestaRealizada apuesta) {
+                salida.writeByte(FormatoDiario.APUESTA);
+                salida.writeLong(apuesta.apuesta());
+                salida.writeByte(apuesta.laterales().size());
+                for (Map.Entry<ApuestaLateral, Long> lateral : apuesta.laterales().entrySet()) {
+                    salida.writeByte(lateral.getKey().ordinal());
+                    salida.writeLong(lateral.getValue());
+                }
+            } else if (evento instanceof EventoJuego.RondaLiquidada liquidada) {
+                salida.writeByte(FormatoDiario.LIQUIDACION);
+                salida.writeByte(liquidada.resultado().ordinal());
+                salida.writeLong(liquidada.saldo());
+                if (volcarPorRonda && !enRafaga) {
+                    salida.flush();
+                }
+            } else if (evento instanceof EventoJuego.NuevaRonda) {
+                salida.writeByte(FormatoDiario.NUEVA_RONDA);
+            } else if (evento instanceof EventoJuego.JugadorIniciado jugador) {
+                salida.writeByte(FormatoDiario.JUGADOR);
+                salida.writeUTF(jugador.nombre());
+                salida.writeLong(jugador.saldo());
+            } else {
+                return;
+            }
+            eventos++;
+        } catch (IOException e) {
+            error = e;
+        }
+    }
+
+    /**
+     * Vuelca el búfer al archivo tras cada liquidación, para no perder rondas
+     * terminadas si el proceso muere. Las simulaciones lo dejan desactivado.
+     * Durante una ráfaga ({@link EventoJuego.Rafaga}) se vuelca solo al
+     * llenarse el búfer y al terminarla
+     */
+    public void setVolcarPorRonda(boolean volcarPorRonda) {
+        this.volcarPorRonda = volcarPorRonda;
+    }
+
+    public long getEventos() {
+        return eventos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        salida.close();
+        if (error != null) {
+            throw error;
+        }
+    }
+}
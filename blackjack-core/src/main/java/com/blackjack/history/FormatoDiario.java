@@ -0,0 +1,30 @@
+package com.blackjack.history;
+
+/**
+ * Formato del diario de una mesa: secuencia de eventos, cada uno con una
+ * etiqueta de un byte seguida de sus campos en DataOutput.
+ *
+ * CABECERA: magia, semilla (long), reglas (texto .properties), instante (long).
+ * JUGADOR: nombre (UTF), saldo. NUEVA_RONDA: sin campos. APUESTA: cantidad,
+ * número de laterales (byte) y por cada una tipo (byte) y cantidad.
+ * ACCION: mano (byte), acción (byte). CARTA: destino (byte, -1 el dealer),
+ * ordinal (byte). LIQUIDACION: resultado (byte), saldo final.
+ *
+ * Las cantidades van en centavos (long). Un archivo puede contener varias sesiones seguidas, cada una con su
+ * cabecera, porque la aplicación lo abre para añadir
+ */
+final class FormatoDiario {
+
+    static final int MAGIA = 0x424A4433; // "BJD3": un zapato por semilla, sin barajar entre rondas
+
+    static final int CABECERA = 0;
+    static final int JUGADOR = 1;
+    static final int NUEVA_RONDA = 2;
+    static final int APUESTA = 3;
+    static final int ACCION = 4;
+    static final int CARTA = 5;
+    static final int LIQUIDACION = 6;
+
+    private FormatoDiario() {
+    }
+}
@@ -0,0 +1,66 @@
+package com.blackjack.history;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import com.blackjack.models.Carta;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.StructLayout;
+
+/**
+ * Formato fijo de 32 bytes por ronda para el historial fuera del heap.
+ *
+ * Las cartas se guardan como nibbles con el valor 1..13 (sin palo): los 10
+ * nibbles bajos son las cartas del jugador en orden de reparto, sumando
+ * todas sus manos, y los 6 altos las del dealer. Las cantidades van en
+ * centavos. Los archivos empiezan con una cabecera de 16 bytes: número
+ * mágico, versión y cantidad de registros
+ */
+public final class FormatoHistorial {
+
+    public static final StructLayout REGISTRO = MemoryLayout.structLayout(
+            JAVA_LONG.withName("ronda"),
+            JAVA_INT.withName("mesa"),
+            JAVA_BYTE.withName("resultado"),
+            JAVA_BYTE.withName("cartasJugador"),
+            JAVA_BYTE.withName("cartasDealer"),
+            JAVA_BYTE.withName("manos"),
+            JAVA_LONG.withName("cartas"),
+            JAVA_INT.withName("apuesta"),
+            JAVA_INT.withName("ganancia"));
+
+    public static final long TAMANO = REGISTRO.byteSize();
+
+    static final long RONDA = desplazamiento("ronda");
+    static final long MESA = desplazamiento("mesa");
+    static final long RESULTADO = desplazamiento("resultado");
+    static final long CARTAS_JUGADOR = desplazamiento("cartasJugador");
+    static final long CARTAS_DEALER = desplazamiento("cartasDealer");
+    static final long MANOS = desplazamiento("manos");
+    static final long CARTAS = desplazamiento("cartas");
+    static final long APUESTA = desplazamiento("apuesta");
+    static final long GANANCIA = desplazamiento("ganancia");
+
+    public static final int MAX_CARTAS_JUGADOR = 10;
+    public static final int MAX_CARTAS_DEALER = 6;
+
+    static final int MAGICO = 0x424A4848; // "BJHH"
+    static final int VERSION = 1;
+    static final long CABECERA = 16;
+
+    private FormatoHistorial() {
+    }
+
+    private static long desplazamiento(String campo) {
+        return REGISTRO.byteOffset(PathElement.groupElement(campo));
+    }
+
+    /**
+     * Valor 1..13 de una carta, el que se guarda en cada nibble
+     */
+    public static int nibble(Carta carta) {
+        return carta.getValor().ordinal() + 1;
+    }
+}
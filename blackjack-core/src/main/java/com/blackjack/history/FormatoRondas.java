@@ -0,0 +1,106 @@
+package com.blackjack.history;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.strategies.Accion;
+import java.io.EOFException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación en bits de una ronda.
+ *
+ * Cabecera: varints con asiento, posición en el zapato, saldo y apuesta
+ * (en centavos). El número de ronda no se guarda: es la posición del marco
+ * en el archivo. Después, pasos con un tipo de 2 bits:
+ * carta del jugador (mano en grupos de 3 bits, ordinal de 6 bits), carta
+ * del dealer (bit boca abajo, ordinal de 6 bits), acción (mano, 2 bits) y
+ * fin (resultado de 2 bits y ganancia en varint zigzag). En el archivo cada
+ * ronda va precedida de su longitud en bytes como varint, para poder
+ * saltarla sin decodificarla
+ */
+final class FormatoRondas {
+
+    static final int TIPO_CARTA_JUGADOR = 0;
+    static final int TIPO_CARTA_DEALER = 1;
+    static final int TIPO_ACCION = 2;
+    static final int TIPO_FIN = 3;
+
+    static final int BITS_TIPO = 2;
+    static final int BITS_CARTA = 6;
+    static final int BITS_MANO = 3;
+    static final int BITS_ACCION = 2;
+    static final int BITS_RESULTADO = 2;
+
+    private static final Accion[] ACCIONES = Accion.values();
+    private static final ResultadoRonda[] RESULTADOS = ResultadoRonda.values();
+
+    private FormatoRondas() {
+    }
+
+    static void escribirCabecera(BitsSalida salida, int asiento, int posicionZapato,
+                                 long saldoCentavos, long apuestaCentavos) {
+        salida.escribirVarint(asiento);
+        salida.escribirVarint(posicionZapato);
+        salida.escribirVarint(saldoCentavos);
+        salida.escribirVarint(apuestaCentavos);
+    }
+
+    static void escribirPaso(BitsSalida salida, PasoRonda paso) {
+        switch (paso.tipo()) {
+            case CARTA_JUGADOR:
+                salida.escribir(TIPO_CARTA_JUGADOR, BITS_TIPO);
+                salida.escribirPequeno(paso.mano(), BITS_MANO);
+                salida.escribir(paso.carta(), BITS_CARTA);
+                break;
+            case CARTA_DEALER:
+                salida.escribir(TIPO_CARTA_DEALER, BITS_TIPO);
+                salida.escribirBit(paso.bocaAbajo());
+                salida.escribir(paso.carta(), BITS_CARTA);
+                break;
+            default:
+                salida.escribir(TIPO_ACCION, BITS_TIPO);
+                salida.escribirPequeno(paso.mano(), BITS_MANO);
+                salida.escribir(paso.accion().ordinal(), BITS_ACCION);
+        }
+    }
+
+    static void escribirFin(BitsSalida salida, ResultadoRonda resultado, long gananciaCentavos) {
+        salida.escribir(TIPO_FIN, BITS_TIPO);
+        salida.escribir(resultado.ordinal(), BITS_RESULTADO);
+        salida.escribirVarintConSigno(gananciaCentavos);
+    }
+
+    static RondaCodificada leer(BitsEntrada entrada, long ronda) throws EOFException {
+        int asiento = (int) entrada.leerVarint();
+        int posicion = (int) entrada.leerVarint();
+        long saldo = entrada.leerVarint();
+        long apuesta = entrada.leerVarint();
+
+        List<PasoRonda> pasos = new ArrayList<>();
+        while (true) {
+            int tipo = (int) entrada.leer(BITS_TIPO);
+            switch (tipo) {
+                case TIPO_CARTA_JUGADOR: {
+                    int mano = entrada.leerPequeno(BITS_MANO);
+                    pasos.add(PasoRonda.cartaJugador(mano, (int) entrada.leer(BITS_CARTA)));
+                    break;
+                }
+                case TIPO_CARTA_DEALER: {
+                    boolean bocaAbajo = entrada.leerBit();
+                    pasos.add(PasoRonda.cartaDealer((int) entrada.leer(BITS_CARTA), bocaAbajo));
+                    break;
+                }
+                case TIPO_ACCION: {
+                    int mano = entrada.leerPequeno(BITS_MANO);
+                    pasos.add(PasoRonda.accion(mano, ACCIONES[(int) entrada.leer(BITS_ACCION)]));
+                    break;
+                }
+                default: {
+                    ResultadoRonda resultado = RESULTADOS[(int) entrada.leer(BITS_RESULTADO)];
+                    long ganancia = entrada.leerVarintConSigno();
+                    return new RondaCodificada(ronda, asiento, posicion, saldo, apuesta, pasos, resultado, ganancia);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.blackjack.history;
+
+/**
+ * Formato de los segmentos del historial archivado: un archivo inmutable
+ * por día cerrado, con las filas ordenadas por jugador e id y guardadas
+ * por columnas.
+ *
+ * Prefijo fijo: magia, versión y longitud de la cabecera (int). Cabecera:
+ * filas (int); mínimo y máximo de cada columna (long, long); diccionario de
+ * resultados (byte con la cantidad y cada uno en UTF); directorio de
+ * jugadores (int con la cantidad y por cada uno id, primera fila, filas y
+ * filas con saldo); longitud comprimida de cada columna (int). Después van
+ * las columnas, una tras otra.
+ *
+ * Cada columna es una secuencia de varints de {@link BitsSalida} comprimida
+ * con Deflate: id, jugador y fecha (segundos UTC) como diferencia con la
+ * fila anterior en zigzag, apuesta y ganancia en zigzag, el resultado como
+ * índice del diccionario y el saldo en zigzag más uno, con 0 para las filas
+ * que no lo tienen. Las cantidades van en centavos
+ */
+final class FormatoSegmento {
+
+    static final int MAGIA = 0x424A5331; // "BJS1"
+    static final int VERSION = 1;
+
+    static final int ID = 0;
+    static final int JUGADOR = 1;
+    static final int FECHA = 2;
+    static final int APUESTA = 3;
+    static final int RESULTADO = 4;
+    static final int GANANCIA = 5;
+    static final int SALDO = 6;
+    static final int COLUMNAS = 7;
+
+    static final String EXTENSION = ".bjs";
+
+    private FormatoSegmento() {
+    }
+}
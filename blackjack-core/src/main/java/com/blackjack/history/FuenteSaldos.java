@@ -0,0 +1,25 @@
+package com.blackjack.history;
+
+import java.io.IOException;
+
+/**
+ * Serie de saldos de un jugador, una fila por ronda en orden de id, leída
+ * por páginas. Cada página se pide por clave (el id de la última fila
+ * leída) y no por desplazamiento, así que cuesta lo mismo esté donde esté
+ */
+public interface FuenteSaldos {
+
+    @FunctionalInterface
+    interface ConsumidorSaldo {
+        void aceptar(long id, long saldo);
+    }
+
+    long contar() throws IOException;
+
+    /**
+     * Entrega hasta {@code limite} filas con id mayor que {@code despuesDe}
+     *
+     * @return id de la última fila entregada, o {@code despuesDe} si no quedaban
+     */
+    long leer(long despuesDe, int limite, ConsumidorSaldo consumidor) throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.blackjack.history;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Directorio con los segmentos del historial archivado, uno por día cerrado
+ * ({@code historial-AAAA-MM-DD.bjs}). Al abrirlo lee solo sus cabeceras;
+ * las consultas recorren los segmentos en orden de id y se saltan los que
+ * por sus metadatos no pueden tener filas del jugador o del tramo pedido.
+ *
+ * Los ids del historial crecen con el tiempo, así que todo lo archivado va
+ * antes que lo que sigue en la tabla viva
+ */
+public class HistorialArchivado {
+
+    private final Path directorio;
+    private final List<SegmentoHistorial> segmentos = new CopyOnWriteArrayList<>();
+
+    private HistorialArchivado(Path directorio, List<SegmentoHistorial> segmentos) {
+        this.directorio = directorio;
+        this.segmentos.addAll(segmentos);
+    }
+
+    public static HistorialArchivado abrir(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        List<SegmentoHistorial> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "*" + FormatoSegmento.EXTENSION)) {
+            for (Path archivo : archivos) {
+                segmentos.add(SegmentoHistorial.abrir(archivo));
+            }
+        }
+        segmentos.sort(Comparator.comparingLong(SegmentoHistorial::getMinId));
+        return new HistorialArchivado(directorio, segmentos);
+    }
+
+    /**
+     * Escribe el lote como un segmento nuevo del día indicado. Si ya hay uno
+     * de ese día (filas que llegaron tarde) se añade otro con sufijo
+     */
+    public SegmentoHistorial archivar(LocalDate dia, LoteHistorial lote) throws IOException {
+        String base = "historial-" + dia;
+        Path destino = directorio.resolve(base + FormatoSegmento.EXTENSION);
+        for (int sufijo = 2; Files.exists(destino); sufijo++) {
+            destino = directorio.resolve(base + "-" + sufijo + FormatoSegmento.EXTENSION);
+        }
+
+        SegmentoHistorial segmento = SegmentoHistorial.escribir(destino, lote);
+        synchronized (segmentos) {
+            int posicion = segmentos.size();
+            while (posicion > 0 && segmentos.get(posicion - 1).getMinId() > segmento.getMinId()) {
+                posicion--;
+            }
+            segmentos.add(posicion, segmento);
+        }
+        return segmento;
+    }
+
+    public List<SegmentoHistorial> getSegmentos() {
+        return List.copyOf(segmentos);
+    }
+
+    /**
+     * Mayor id archivado, o 0 si no hay segmentos
+     */
+    public long getMaxId() {
+        long maximo = 0;
+        for (SegmentoHistorial segmento : segmentos) {
+            maximo = Math.max(maximo, segmento.getMaxId());
+        }
+        return maximo;
+    }
+
+    public long contarSaldos(long jugadorId) {
+        long total = 0;
+        for (SegmentoHistorial segmento : segmentos) {
+            total += segmento.contarSaldos(jugadorId);
+        }
+        return total;
+    }
+
+    /**
+     * Igual que {@link FuenteSaldos#leer} sobre todos los segmentos
+     */
+    public long leerSaldos(long jugadorId, long despuesDe, int limite, FuenteSaldos.ConsumidorSaldo consumidor)
+            throws IOException {
+        int[] entregadas = {0};
+        FuenteSaldos.ConsumidorSaldo contador = (id, saldo) -> {
+            entregadas[0]++;
+            consumidor.aceptar(id, saldo);
+        };
+
+        long ultimo = despuesDe;
+        for (SegmentoHistorial segmento : segmentos) {
+            if (entregadas[0] >= limite) {
+                break;
+            }
+            if (segmento.getMaxId() <= ultimo || !segmento.puedeContener(jugadorId)) {
+                continue;
+            }
+            ultimo = segmento.leerSaldos(jugadorId, ultimo, limite - entregadas[0], contador);
+        }
+        return ultimo;
+    }
+}
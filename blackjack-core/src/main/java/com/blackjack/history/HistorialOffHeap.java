@@ -0,0 +1,128 @@
+package com.blackjack.history;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Historial de rondas fuera del heap: los registros se escriben en bloques
+ * de memoria nativa de tamaño fijo reservados en un {@link Arena}, así el
+ * recolector de basura no ve ni recorre los datos sin importar cuántas
+ * rondas se guarden.
+ *
+ * Lo escribe un solo hilo (una mesa); para varias mesas se usa un historial
+ * por hilo y se vuelcan a archivos separados
+ */
+public class HistorialOffHeap implements AutoCloseable {
+
+    private static final long REGISTROS_POR_BLOQUE = 1 << 20;
+
+    private final Arena arena = Arena.ofShared();
+    private final long registrosPorBloque;
+    private final List<MemorySegment> bloques = new ArrayList<>();
+    private MemorySegment actual;
+    private long usadosEnActual;
+    private long registros;
+
+    public HistorialOffHeap() {
+        this(REGISTROS_POR_BLOQUE);
+    }
+
+    public HistorialOffHeap(long registrosPorBloque) {
+        this.registrosPorBloque = registrosPorBloque;
+    }
+
+    public void agregar(long ronda, int mesa, ResultadoRonda resultado, int manos,
+                        long cartas, int cartasJugador, int cartasDealer, long apuesta, long ganancia) {
+        if (actual == null || usadosEnActual == registrosPorBloque) {
+            actual = arena.allocate(registrosPorBloque * FormatoHistorial.TAMANO, Long.BYTES);
+            bloques.add(actual);
+            usadosEnActual = 0;
+        }
+
+        long base = usadosEnActual * FormatoHistorial.TAMANO;
+        actual.set(JAVA_LONG, base + FormatoHistorial.RONDA, ronda);
+        actual.set(JAVA_INT, base + FormatoHistorial.MESA, mesa);
+        actual.set(JAVA_BYTE, base + FormatoHistorial.RESULTADO, (byte) resultado.ordinal());
+        actual.set(JAVA_BYTE, base + FormatoHistorial.CARTAS_JUGADOR, (byte) cartasJugador);
+        actual.set(JAVA_BYTE, base + FormatoHistorial.CARTAS_DEALER, (byte) cartasDealer);
+        actual.set(JAVA_BYTE, base + FormatoHistorial.MANOS, (byte) manos);
+        actual.set(JAVA_LONG, base + FormatoHistorial.CARTAS, cartas);
+        actual.set(JAVA_INT, base + FormatoHistorial.APUESTA, Math.toIntExact(apuesta));
+        actual.set(JAVA_INT, base + FormatoHistorial.GANANCIA, Math.toIntExact(ganancia));
+
+        usadosEnActual++;
+        registros++;
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    /**
+     * Bytes nativos reservados
+     */
+    public long getBytesReservados() {
+        return bloques.size() * registrosPorBloque * FormatoHistorial.TAMANO;
+    }
+
+    /**
+     * Cursor sobre los registros en memoria, sin copiarlos
+     */
+    public CursorHistorial cursor() {
+        List<MemorySegment> usados = new ArrayList<>(bloques.size());
+        long restantes = registros;
+        for (MemorySegment bloque : bloques) {
+            long enBloque = Math.min(restantes, registrosPorBloque);
+            usados.add(bloque.asSlice(0, enBloque * FormatoHistorial.TAMANO));
+            restantes -= enBloque;
+        }
+        return new CursorHistorial(usados);
+    }
+
+    /**
+     * Escribe la cabecera y todos los registros en un archivo mapeado en
+     * memoria; la copia va de memoria nativa a la página mapeada
+     */
+    public void volcar(Path archivo) throws IOException {
+        long tamano = FormatoHistorial.CABECERA + registros * FormatoHistorial.TAMANO;
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             Arena mapeo = Arena.ofConfined()) {
+
+            MemorySegment destino = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano, mapeo);
+            destino.set(JAVA_INT, 0, FormatoHistorial.MAGICO);
+            destino.set(JAVA_INT, 4, FormatoHistorial.VERSION);
+            destino.set(JAVA_LONG, 8, registros);
+
+            long posicion = FormatoHistorial.CABECERA;
+            long restantes = registros;
+            for (MemorySegment bloque : bloques) {
+                long bytes = Math.min(restantes, registrosPorBloque) * FormatoHistorial.TAMANO;
+                MemorySegment.copy(bloque, 0, destino, posicion, bytes);
+                posicion += bytes;
+                restantes -= bytes / FormatoHistorial.TAMANO;
+            }
+            destino.force();
+        }
+    }
+
+    /**
+     * Libera la memoria nativa; los cursores abiertos dejan de ser válidos
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,54 @@
+package com.blackjack.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Índice disperso de un archivo de rondas: entradas de 16 bytes
+ * (número de ronda, desplazamiento del marco) cada {@link #INTERVALO}
+ * rondas, ordenadas por ronda
+ */
+final class IndiceRondas {
+
+    static final int INTERVALO = 1024;
+    static final int TAMANO_ENTRADA = 16;
+
+    private IndiceRondas() {
+    }
+
+    /**
+     * Búsqueda binaria con lecturas posicionales: devuelve {ronda,
+     * desplazamiento} de la última entrada que no pasa de la ronda pedida,
+     * o {0, 0} si el índice está vacío
+     */
+    static long[] buscar(Path archivo, long ronda) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer entrada = ByteBuffer.allocate(TAMANO_ENTRADA);
+            long bajo = 0;
+            long alto = canal.size() / TAMANO_ENTRADA - 1;
+            long[] encontrada = {0, 0};
+
+            while (bajo <= alto) {
+                long medio = (bajo + alto) >>> 1;
+                entrada.clear();
+                while (entrada.hasRemaining()) {
+                    if (canal.read(entrada, medio * TAMANO_ENTRADA + entrada.position()) < 0) {
+                        throw new IOException("Índice de rondas truncado");
+                    }
+                }
+                long rondaEntrada = entrada.getLong(0);
+                if (rondaEntrada <= ronda) {
+                    encontrada[0] = rondaEntrada;
+                    encontrada[1] = entrada.getLong(8);
+                    bajo = medio + 1;
+                } else {
+                    alto = medio - 1;
+                }
+            }
+            return encontrada;
+        }
+    }
+}
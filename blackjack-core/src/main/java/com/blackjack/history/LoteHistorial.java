@@ -0,0 +1,84 @@
+package com.blackjack.history;
+
+import java.util.Arrays;
+
+/**
+ * Filas del historial de partidas reunidas por columnas para escribir un
+ * {@link SegmentoHistorial}. Deben agregarse ordenadas por jugador y, dentro
+ * de cada jugador, por id
+ */
+public class LoteHistorial {
+
+    private final long[][] columnas = new long[FormatoSegmento.COLUMNAS][1024];
+    private boolean[] conSaldo = new boolean[1024];
+    private String[] resultados = new String[0];
+    private int filas;
+
+    /**
+     * @param fecha  segundos desde la época, en UTC
+     * @param saldo  saldo tras la ronda, o {@code null} en filas anteriores
+     *               a que se guardara
+     */
+    public void agregar(long id, long jugadorId, long fecha, long apuesta, String resultado,
+                        long ganancia, Long saldo) {
+        if (filas > 0) {
+            long jugadorAnterior = columnas[FormatoSegmento.JUGADOR][filas - 1];
+            if (jugadorId < jugadorAnterior
+                    || jugadorId == jugadorAnterior && id <= columnas[FormatoSegmento.ID][filas - 1]) {
+                throw new IllegalArgumentException("Las filas deben ir ordenadas por jugador e id");
+            }
+        }
+        if (filas == columnas[0].length) {
+            for (int c = 0; c < FormatoSegmento.COLUMNAS; c++) {
+                columnas[c] = Arrays.copyOf(columnas[c], filas * 2);
+            }
+            conSaldo = Arrays.copyOf(conSaldo, filas * 2);
+        }
+        columnas[FormatoSegmento.ID][filas] = id;
+        columnas[FormatoSegmento.JUGADOR][filas] = jugadorId;
+        columnas[FormatoSegmento.FECHA][filas] = fecha;
+        columnas[FormatoSegmento.APUESTA][filas] = apuesta;
+        columnas[FormatoSegmento.RESULTADO][filas] = indiceResultado(resultado);
+        columnas[FormatoSegmento.GANANCIA][filas] = ganancia;
+        columnas[FormatoSegmento.SALDO][filas] = saldo == null ? 0 : saldo;
+        conSaldo[filas] = saldo != null;
+        filas++;
+    }
+
+    private int indiceResultado(String resultado) {
+        if (resultado == null) {
+            resultado = "";
+        }
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i].equals(resultado)) {
+                return i;
+            }
+        }
+        if (resultados.length == 255) {
+            throw new IllegalArgumentException("Demasiados resultados distintos en un segmento");
+        }
+        resultados = Arrays.copyOf(resultados, resultados.length + 1);
+        resultados[resultados.length - 1] = resultado;
+        return resultados.length - 1;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public long getId(int fila) {
+        return columnas[FormatoSegmento.ID][fila];
+    }
+
+    long valor(int columna, int fila) {
+        return columnas[columna][fila];
+    }
+
+    boolean tieneSaldo(int fila) {
+        return conSaldo[fila];
+    }
+
+    String[] getResultados() {
+        return resultados;
+    }
+}
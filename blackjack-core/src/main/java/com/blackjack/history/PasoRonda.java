@@ -0,0 +1,26 @@
+package com.blackjack.history;
+
+import com.blackjack.strategies.Accion;
+
+/**
+ * Un paso de una ronda codificada: una carta repartida o una acción del
+ * jugador. Las cartas van como ordinal 0..51
+ */
+public record PasoRonda(Tipo tipo, int mano, int carta, boolean bocaAbajo, Accion accion) {
+
+    public enum Tipo {
+        CARTA_JUGADOR, CARTA_DEALER, ACCION
+    }
+
+    public static PasoRonda cartaJugador(int mano, int carta) {
+        return new PasoRonda(Tipo.CARTA_JUGADOR, mano, carta, false, null);
+    }
+
+    public static PasoRonda cartaDealer(int carta, boolean bocaAbajo) {
+        return new PasoRonda(Tipo.CARTA_DEALER, -1, carta, bocaAbajo, null);
+    }
+
+    public static PasoRonda accion(int mano, Accion accion) {
+        return new PasoRonda(Tipo.ACCION, mano, -1, false, accion);
+    }
+}
@@ -0,0 +1,57 @@
+package com.blackjack.history;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.models.Mano;
+import com.blackjack.services.GameService;
+
+/**
+ * Observador que convierte los eventos de una mesa en registros de
+ * historial: acumula las cartas de la ronda y escribe un registro al
+ * liquidarse
+ */
+public class RegistradorHistorial implements ObservadorJuego {
+
+    private final GameService gameService;
+    private final HistorialOffHeap historial;
+    private final int mesa;
+
+    private long ronda;
+    private long cartas;
+    private int cartasJugador;
+    private int cartasDealer;
+    private int manos = 1;
+
+    public RegistradorHistorial(GameService gameService, HistorialOffHeap historial, int mesa) {
+        this.gameService = gameService;
+        this.historial = historial;
+        this.mesa = mesa;
+    }
+
+    @Override
+    public void alEvento(EventoJuego evento) {
+        if (evento instanceof EventoJuego.CartaRepartida repartida) {
+            int nibble = FormatoHistorial.nibble(repartida.carta());
+            if (repartida.esDealer()) {
+                if (cartasDealer < FormatoHistorial.MAX_CARTAS_DEALER) {
+                    cartas |= (long) nibble << (4 * (FormatoHistorial.MAX_CARTAS_JUGADOR + cartasDealer++));
+                }
+            } else if (cartasJugador < FormatoHistorial.MAX_CARTAS_JUGADOR) {
+                cartas |= (long) nibble << (4 * cartasJugador++);
+            }
+        } else if (evento instanceof EventoJuego.ManoDividida) {
+            manos++;
+        } else if (evento instanceof EventoJuego.RondaLiquidada liquidada) {
+            long apuesta = 0;
+            for (Mano mano : gameService.getJugador().getManos()) {
+                apuesta += mano.getApuesta();
+            }
+            historial.agregar(ronda++, mesa, liquidada.resultado(), manos, cartas,
+                    cartasJugador, cartasDealer, apuesta, liquidada.ganancia());
+            cartas = 0;
+            cartasJugador = 0;
+            cartasDealer = 0;
+            manos = 1;
+        }
+    }
+}
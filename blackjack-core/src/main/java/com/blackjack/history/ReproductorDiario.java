@@ -0,0 +1,241 @@
+package com.blackjack.history;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.exceptions.GameException;
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.strategies.Accion;
+import com.blackjack.utils.Dinero;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Vuelve a jugar un diario de {@link DiarioMesa} sobre una mesa nueva con la
+ * misma semilla y reglas. Las apuestas y acciones se ejecutan en la mesa;
+ * las cartas y liquidaciones del diario se comparan con las que produce.
+ * Se detiene en la primera discrepancia.
+ *
+ * No es seguro para varios hilos: cada hilo debe usar su propia instancia
+ */
+public class ReproductorDiario implements ObservadorJuego {
+
+    private static final Accion[] ACCIONES = Accion.values();
+    private static final ResultadoRonda[] RESULTADOS = ResultadoRonda.values();
+    private static final ApuestaLateral[] LATERALES = ApuestaLateral.values();
+
+    private GameService mesa;
+
+    // Cartas que sacó la mesa desde la última orden: (destino + 1) << 6 | ordinal
+    private int[] emitidas = new int[32];
+    private int totalEmitidas;
+    private int comparadas;
+
+    private boolean liquidacionPendiente;
+    private ResultadoRonda resultadoMesa;
+    private long saldoMesa;
+
+    private long sesiones;
+    private long rondas;
+
+    public static ResultadoReproduccion verificar(Path archivo) throws IOException {
+        try (InputStream entrada = new BufferedInputStream(Files.newInputStream(archivo), 1 << 16)) {
+            return new ReproductorDiario().reproducir(entrada);
+        }
+    }
+
+    public ResultadoReproduccion reproducir(InputStream flujo) throws IOException {
+        DataInputStream entrada = new DataInputStream(flujo);
+        long evento = 0;
+        int etiqueta;
+
+        while ((etiqueta = entrada.read()) >= 0) {
+            String divergencia;
+            try {
+                divergencia = procesar(etiqueta, entrada);
+            } catch (GameException | SaldoInsuficienteException | IllegalStateException e) {
+                divergencia = "La mesa rechazó la orden: " + e.getMessage();
+            }
+            if (divergencia != null) {
+                return resultado(evento, divergencia);
+            }
+            evento++;
+        }
+
+        return resultado(evento, comprobarPendientes());
+    }
+
+    @Override
+    public void alEvento(EventoJuego evento) {
+        if (evento instanceof EventoJuego.CartaRepartida repartida) {
+            if (totalEmitidas == emitidas.length) {
+                emitidas = Arrays.copyOf(emitidas, emitidas.length * 2);
+            }
+            emitidas[totalEmitidas++] = (repartida.mano() + 1) << 6 | repartida.carta().getOrdinal();
+        } else if (evento instanceof EventoJuego.RondaLiquidada liquidada) {
+            liquidacionPendiente = true;
+            resultadoMesa = liquidada.resultado();
+            saldoMesa = liquidada.saldo();
+        }
+    }
+
+    private String procesar(int etiqueta, DataInputStream entrada)
+            throws IOException, GameException, SaldoInsuficienteException {
+        if (etiqueta == FormatoDiario.CABECERA) {
+            return iniciarSesion(entrada);
+        }
+        if (mesa == null) {
+            return "Evento antes de la cabecera del diario";
+        }
+
+        switch (etiqueta) {
+            case FormatoDiario.CARTA: {
+                int esperada = (entrada.readByte() + 1) << 6 | entrada.readUnsignedByte();
+                if (comparadas == totalEmitidas) {
+                    return "El diario registra una carta que la mesa no sacó";
+                }
+                if (emitidas[comparadas++] != esperada) {
+                    return "La mesa sacó otra carta: diario " + esperada + ", mesa " + emitidas[comparadas - 1];
+                }
+                return null;
+            }
+            case FormatoDiario.LIQUIDACION: {
+                ResultadoRonda resultado = RESULTADOS[entrada.readUnsignedByte()];
+                long saldo = entrada.readLong();
+                if (!liquidacionPendiente) {
+                    return "El diario registra una liquidación que la mesa no hizo";
+                }
+                liquidacionPendiente = false;
+                rondas++;
+                if (resultado != resultadoMesa || saldo != saldoMesa) {
+                    return "Liquidación distinta: diario " + resultado + " " + Dinero.formatear(saldo)
+                            + ", mesa " + resultadoMesa + " " + Dinero.formatear(saldoMesa);
+                }
+                return null;
+            }
+            case FormatoDiario.ACCION: {
+                int mano = entrada.readByte();
+                Accion accion = ACCIONES[entrada.readUnsignedByte()];
+                String pendiente = comprobarPendientes();
+                if (pendiente != null) {
+                    return pendiente;
+                }
+                if (mesa.getJugador().getIndiceManoActual() != mano) {
+                    return "Acción sobre la mano " + mano + " con la mesa en la mano "
+                            + mesa.getJugador().getIndiceManoActual();
+                }
+                ejecutar(accion);
+                return null;
+            }
+            case FormatoDiario.APUESTA: {
+                long cantidad = entrada.readLong();
+                int n = entrada.readUnsignedByte();
+                Map<ApuestaLateral, Long> laterales = Collections.emptyMap();
+                if (n > 0) {
+                    laterales = new EnumMap<>(ApuestaLateral.class);
+                    for (int i = 0; i < n; i++) {
+                        laterales.put(LATERALES[entrada.readUnsignedByte()], entrada.readLong());
+                    }
+                }
+                String pendiente = comprobarPendientes();
+                if (pendiente != null) {
+                    return pendiente;
+                }
+                mesa.realizarApuesta(cantidad, laterales);
+                return null;
+            }
+            case FormatoDiario.NUEVA_RONDA: {
+                String pendiente = comprobarPendientes();
+                if (pendiente != null) {
+                    return pendiente;
+                }
+                mesa.nuevaRonda();
+                return null;
+            }
+            case FormatoDiario.JUGADOR: {
+                String nombre = entrada.readUTF();
+                long saldo = entrada.readLong();
+                mesa.iniciarJugador(new Jugador(nombre, saldo));
+                return null;
+            }
+            default:
+                return "Etiqueta de evento desconocida: " + etiqueta;
+        }
+    }
+
+    private String iniciarSesion(DataInputStream entrada) throws IOException {
+        String pendiente = mesa == null ? null : comprobarPendientes();
+        if (pendiente != null) {
+            return pendiente;
+        }
+        if (entrada.readInt() != FormatoDiario.MAGIA) {
+            return "El archivo no es un diario de mesa";
+        }
+
+        long semilla = entrada.readLong();
+        Properties propiedades = new Properties();
+        propiedades.load(new StringReader(entrada.readUTF()));
+        entrada.readLong();
+
+        ReglasMesa reglas = ReglasMesa.desdePropiedades(propiedades);
+        if (mesa != null) {
+            mesa.desuscribir(this);
+        }
+        mesa = new GameService(new Baraja(reglas.getNumeroMazos(), semilla), null, reglas);
+        mesa.suscribir(this);
+        sesiones++;
+        return null;
+    }
+
+    private void ejecutar(Accion accion) throws GameException, SaldoInsuficienteException {
+        switch (accion) {
+            case PEDIR:
+                mesa.pedir();
+                break;
+            case PLANTARSE:
+                mesa.plantarse();
+                break;
+            case DOBLAR:
+                mesa.doblar();
+                break;
+            default:
+                mesa.dividir();
+        }
+    }
+
+    /**
+     * Antes de cada orden, todo lo que produjo la mesa con la anterior debe
+     * haber aparecido ya en el diario
+     */
+    private String comprobarPendientes() {
+        if (comparadas != totalEmitidas) {
+            return "La mesa sacó " + (totalEmitidas - comparadas) + " cartas que no están en el diario";
+        }
+        if (liquidacionPendiente) {
+            return "La mesa liquidó una ronda que no está en el diario";
+        }
+        comparadas = 0;
+        totalEmitidas = 0;
+        return null;
+    }
+
+    private ResultadoReproduccion resultado(long eventos, String divergencia) {
+        long saldo = mesa == null || mesa.getJugador() == null ? 0 : mesa.getJugador().getSaldo();
+        return new ResultadoReproduccion(sesiones, eventos, rondas, saldo, divergencia, divergencia == null ? -1 : eventos);
+    }
+}
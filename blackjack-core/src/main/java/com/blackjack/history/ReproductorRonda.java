@@ -0,0 +1,95 @@
+package com.blackjack.history;
+
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Carta;
+import com.blackjack.models.Dealer;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+
+/**
+ * Reconstruye la mesa de una ronda codificada paso a paso, sin baraja ni
+ * GameService: aplica las cartas y acciones tal como se registraron
+ */
+public final class ReproductorRonda {
+
+    public record EstadoMesa(Jugador jugador, Dealer dealer) {
+    }
+
+    private ReproductorRonda() {
+    }
+
+    public static EstadoMesa reproducir(RondaCodificada ronda) {
+        return reproducir(ronda, ronda.pasos().size());
+    }
+
+    /**
+     * Estado de la mesa tras aplicar los primeros pasos de la ronda. Con
+     * todos los pasos se aplica también la liquidación y se descubre la
+     * carta oculta del dealer
+     */
+    public static EstadoMesa reproducir(RondaCodificada ronda, int pasos) {
+        Jugador jugador = new Jugador("Ronda " + ronda.ronda(), ronda.saldoCentavos());
+        Dealer dealer = new Dealer();
+        int aplicar = Math.min(pasos, ronda.pasos().size());
+
+        try {
+            jugador.apostar(ronda.apuestaCentavos());
+
+            for (int i = 0; i < aplicar; i++) {
+                PasoRonda paso = ronda.pasos().get(i);
+                switch (paso.tipo()) {
+                    case CARTA_JUGADOR:
+                        jugador.getManos().get(paso.mano()).agregarCarta(Carta.desdeOrdinal(paso.carta()));
+                        break;
+                    case CARTA_DEALER:
+                        if (!paso.bocaAbajo()) {
+                            // El dealer solo pide tras descubrir su carta
+                            revelar(dealer.getMano());
+                        }
+                        Carta carta = Carta.desdeOrdinal(paso.carta());
+                        carta.setBocaAbajo(paso.bocaAbajo());
+                        dealer.getMano().agregarCarta(carta);
+                        break;
+                    default:
+                        aplicarAccion(jugador, paso);
+                }
+            }
+        } catch (SaldoInsuficienteException e) {
+            throw new IllegalStateException("La ronda " + ronda.ronda() + " no cuadra con su saldo", e);
+        }
+
+        if (aplicar == ronda.pasos().size()) {
+            revelar(dealer.getMano());
+            jugador.setSaldo(ronda.saldoCentavos() + ronda.gananciaCentavos());
+        }
+        return new EstadoMesa(jugador, dealer);
+    }
+
+    private static void aplicarAccion(Jugador jugador, PasoRonda paso) throws SaldoInsuficienteException {
+        while (jugador.getIndiceManoActual() < paso.mano() && jugador.tieneSiguienteMano()) {
+            jugador.siguienteMano();
+        }
+
+        switch (paso.accion()) {
+            case PLANTARSE:
+                jugador.getManoActual().setPlantado(true);
+                break;
+            case DOBLAR:
+                jugador.doblarApuesta();
+                jugador.getManoActual().setPlantado(true);
+                break;
+            case DIVIDIR:
+                jugador.dividirMano();
+                break;
+            default:
+                // Pedir: la carta llega en el paso siguiente
+                break;
+        }
+    }
+
+    private static void revelar(Mano mano) {
+        for (Carta carta : mano.getCartas()) {
+            carta.setBocaAbajo(false);
+        }
+    }
+}
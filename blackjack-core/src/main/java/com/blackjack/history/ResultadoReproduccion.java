@@ -0,0 +1,15 @@
+package com.blackjack.history;
+
+/**
+ * Resultado de volver a jugar un diario
+ *
+ * @param divergencia descripción de la primera discrepancia, o null si todo coincide
+ * @param eventoDivergencia número de evento (desde 0) donde se detectó
+ */
+public record ResultadoReproduccion(long sesiones, long eventos, long rondas, long saldoFinal,
+                                    String divergencia, long eventoDivergencia) {
+
+    public boolean coincide() {
+        return divergencia == null;
+    }
+}
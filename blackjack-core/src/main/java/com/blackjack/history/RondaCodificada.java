@@ -0,0 +1,15 @@
+package com.blackjack.history;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+import java.util.List;
+
+/**
+ * Ronda completa tal como se guarda en el historial compacto. Las
+ * cantidades van en centavos; saldo es el que había antes de apostar
+ *
+ * @param posicionZapato cartas ya repartidas del zapato al empezar la ronda
+ */
+public record RondaCodificada(long ronda, int asiento, int posicionZapato, long saldoCentavos,
+                              long apuestaCentavos, List<PasoRonda> pasos,
+                              ResultadoRonda resultado, long gananciaCentavos) {
+}
@@ -0,0 +1,365 @@
+package com.blackjack.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Segmento inmutable del historial archivado (ver {@link FormatoSegmento}).
+ * Al abrirlo solo se lee la cabecera: el mínimo y el máximo de cada columna
+ * y el directorio de jugadores bastan para descartarlo o para contar sus
+ * filas. Las columnas se descomprimen cuando una lectura las necesita y se
+ * guardan mientras haya memoria
+ */
+public class SegmentoHistorial {
+
+    private static final int PREFIJO = 12;
+
+    private final Path ruta;
+    private final int filas;
+    private final long[] minimos;
+    private final long[] maximos;
+    private final String[] resultados;
+    private final long[] jugadores;
+    private final int[] primeraFila;
+    private final int[] filasJugador;
+    private final int[] filasConSaldo;
+    private final long[] desplazamientos;
+    private final int[] longitudes;
+
+    private SoftReference<long[]> ids = new SoftReference<>(null);
+    private SoftReference<long[]> saldos = new SoftReference<>(null);
+
+    private SegmentoHistorial(Path ruta, DataInputStream cabecera, long inicioDatos) throws IOException {
+        this.ruta = ruta;
+        this.filas = cabecera.readInt();
+        this.minimos = new long[FormatoSegmento.COLUMNAS];
+        this.maximos = new long[FormatoSegmento.COLUMNAS];
+        for (int c = 0; c < FormatoSegmento.COLUMNAS; c++) {
+            minimos[c] = cabecera.readLong();
+            maximos[c] = cabecera.readLong();
+        }
+
+        this.resultados = new String[cabecera.readUnsignedByte()];
+        for (int i = 0; i < resultados.length; i++) {
+            resultados[i] = cabecera.readUTF();
+        }
+
+        int cantidad = cabecera.readInt();
+        this.jugadores = new long[cantidad];
+        this.primeraFila = new int[cantidad];
+        this.filasJugador = new int[cantidad];
+        this.filasConSaldo = new int[cantidad];
+        for (int j = 0; j < cantidad; j++) {
+            jugadores[j] = cabecera.readLong();
+            primeraFila[j] = cabecera.readInt();
+            filasJugador[j] = cabecera.readInt();
+            filasConSaldo[j] = cabecera.readInt();
+        }
+
+        this.desplazamientos = new long[FormatoSegmento.COLUMNAS];
+        this.longitudes = new int[FormatoSegmento.COLUMNAS];
+        long desplazamiento = inicioDatos;
+        for (int c = 0; c < FormatoSegmento.COLUMNAS; c++) {
+            longitudes[c] = cabecera.readInt();
+            desplazamientos[c] = desplazamiento;
+            desplazamiento += longitudes[c];
+        }
+    }
+
+    public static SegmentoHistorial abrir(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            ByteBuffer prefijo = leer(canal, 0, PREFIJO);
+            if (prefijo.getInt() != FormatoSegmento.MAGIA) {
+                throw new IOException("No es un segmento de historial: " + ruta);
+            }
+            int version = prefijo.getInt();
+            if (version != FormatoSegmento.VERSION) {
+                throw new IOException("Versión de segmento no soportada: " + version);
+            }
+            int longitud = prefijo.getInt();
+            ByteBuffer cabecera = leer(canal, PREFIJO, longitud);
+            return new SegmentoHistorial(ruta, new DataInputStream(
+                    new ByteArrayInputStream(cabecera.array())), PREFIJO + longitud);
+        }
+    }
+
+    /**
+     * Escribe el lote en {@code destino} de forma atómica: primero en un
+     * archivo temporal que se sincroniza con el disco y luego se renombra.
+     * Si algo falla no queda ningún segmento a medias
+     */
+    public static SegmentoHistorial escribir(Path destino, LoteHistorial lote) throws IOException {
+        if (lote.getFilas() == 0) {
+            throw new IllegalArgumentException("No se archiva un segmento vacío");
+        }
+
+        byte[][] columnas = new byte[FormatoSegmento.COLUMNAS][];
+        for (int c = 0; c < FormatoSegmento.COLUMNAS; c++) {
+            columnas[c] = comprimir(codificar(lote, c));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream cabecera = new DataOutputStream(bytes);
+        escribirCabecera(cabecera, lote, columnas);
+
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer prefijo = ByteBuffer.allocate(PREFIJO)
+                    .putInt(FormatoSegmento.MAGIA)
+                    .putInt(FormatoSegmento.VERSION)
+                    .putInt(bytes.size())
+                    .flip();
+            escribirTodo(canal, prefijo);
+            escribirTodo(canal, ByteBuffer.wrap(bytes.toByteArray()));
+            for (byte[] columna : columnas) {
+                escribirTodo(canal, ByteBuffer.wrap(columna));
+            }
+            canal.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        return abrir(destino);
+    }
+
+    private static void escribirCabecera(DataOutputStream cabecera, LoteHistorial lote, byte[][] columnas)
+            throws IOException {
+        int filas = lote.getFilas();
+        cabecera.writeInt(filas);
+        for (int c = 0; c < FormatoSegmento.COLUMNAS; c++) {
+            long minimo = Long.MAX_VALUE;
+            long maximo = Long.MIN_VALUE;
+            for (int f = 0; f < filas; f++) {
+                if (c == FormatoSegmento.SALDO && !lote.tieneSaldo(f)) {
+                    continue;
+                }
+                minimo = Math.min(minimo, lote.valor(c, f));
+                maximo = Math.max(maximo, lote.valor(c, f));
+            }
+            cabecera.writeLong(minimo);
+            cabecera.writeLong(maximo);
+        }
+
+        String[] resultados = lote.getResultados();
+        cabecera.writeByte(resultados.length);
+        for (String resultado : resultados) {
+            cabecera.writeUTF(resultado);
+        }
+
+        // Las filas de cada jugador van seguidas: basta con dónde empiezan y cuántas son
+        ByteArrayOutputStream directorio = new ByteArrayOutputStream();
+        DataOutputStream entradas = new DataOutputStream(directorio);
+        int cantidad = 0;
+        for (int inicio = 0; inicio < filas; ) {
+            long jugador = lote.valor(FormatoSegmento.JUGADOR, inicio);
+            int fin = inicio;
+            int conSaldo = 0;
+            while (fin < filas && lote.valor(FormatoSegmento.JUGADOR, fin) == jugador) {
+                conSaldo += lote.tieneSaldo(fin) ? 1 : 0;
+                fin++;
+            }
+            entradas.writeLong(jugador);
+            entradas.writeInt(inicio);
+            entradas.writeInt(fin - inicio);
+            entradas.writeInt(conSaldo);
+            cantidad++;
+            inicio = fin;
+        }
+        cabecera.writeInt(cantidad);
+        directorio.writeTo(cabecera);
+
+        for (byte[] columna : columnas) {
+            cabecera.writeInt(columna.length);
+        }
+        cabecera.flush();
+    }
+
+    private static BitsSalida codificar(LoteHistorial lote, int columna) {
+        BitsSalida salida = new BitsSalida();
+        long anterior = 0;
+        for (int f = 0; f < lote.getFilas(); f++) {
+            long valor = lote.valor(columna, f);
+            switch (columna) {
+                case FormatoSegmento.ID, FormatoSegmento.JUGADOR, FormatoSegmento.FECHA -> {
+                    salida.escribirVarintConSigno(valor - anterior);
+                    anterior = valor;
+                }
+                case FormatoSegmento.RESULTADO -> salida.escribirVarint(valor);
+                case FormatoSegmento.SALDO -> salida.escribirVarint(lote.tieneSaldo(f) ? zigzag(valor) + 1 : 0);
+                default -> salida.escribirVarintConSigno(valor);
+            }
+        }
+        return salida;
+    }
+
+    private static byte[] comprimir(BitsSalida salida) throws IOException {
+        int longitud = salida.cerrar();
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream(longitud / 4 + 64);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(comprimido)) {
+            deflate.write(salida.getDatos(), 0, longitud);
+        }
+        return comprimido.toByteArray();
+    }
+
+    /**
+     * Descomprime una columna; el saldo se deja codificado (0 si falta)
+     */
+    private long[] decodificar(int columna) throws IOException {
+        byte[] comprimido;
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            comprimido = leer(canal, desplazamientos[columna], longitudes[columna]).array();
+        }
+        byte[] datos;
+        try (InflaterInputStream inflate = new InflaterInputStream(new ByteArrayInputStream(comprimido))) {
+            datos = inflate.readAllBytes();
+        }
+
+        BitsEntrada entrada = new BitsEntrada(datos, datos.length);
+        long[] valores = new long[filas];
+        long anterior = 0;
+        for (int f = 0; f < filas; f++) {
+            switch (columna) {
+                case FormatoSegmento.ID, FormatoSegmento.JUGADOR, FormatoSegmento.FECHA -> {
+                    anterior += entrada.leerVarintConSigno();
+                    valores[f] = anterior;
+                }
+                case FormatoSegmento.RESULTADO, FormatoSegmento.SALDO -> valores[f] = entrada.leerVarint();
+                default -> valores[f] = entrada.leerVarintConSigno();
+            }
+        }
+        return valores;
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long desdeZigzag(long z) {
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    private static ByteBuffer leer(FileChannel canal, long posicion, int longitud) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(longitud);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicion + buffer.position()) < 0) {
+                throw new EOFException("Segmento de historial incompleto");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void escribirTodo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    public Path getRuta() {
+        return ruta;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public long getMinId() {
+        return minimos[FormatoSegmento.ID];
+    }
+
+    public long getMaxId() {
+        return maximos[FormatoSegmento.ID];
+    }
+
+    /**
+     * Segundos UTC de la primera y la última ronda del segmento
+     */
+    public long getMinFecha() {
+        return minimos[FormatoSegmento.FECHA];
+    }
+
+    public long getMaxFecha() {
+        return maximos[FormatoSegmento.FECHA];
+    }
+
+    public long getTamanoComprimido() {
+        long total = 0;
+        for (int longitud : longitudes) {
+            total += longitud;
+        }
+        return total;
+    }
+
+    /**
+     * Descarte por metadatos: falso si el jugador queda fuera del rango de
+     * jugadores del segmento
+     */
+    public boolean puedeContener(long jugadorId) {
+        return jugadorId >= minimos[FormatoSegmento.JUGADOR] && jugadorId <= maximos[FormatoSegmento.JUGADOR];
+    }
+
+    /**
+     * Filas del jugador con saldo, leídas del directorio sin descomprimir
+     */
+    public int contarSaldos(long jugadorId) {
+        if (!puedeContener(jugadorId)) {
+            return 0;
+        }
+        int j = Arrays.binarySearch(jugadores, jugadorId);
+        return j < 0 ? 0 : filasConSaldo[j];
+    }
+
+    /**
+     * Igual que {@link FuenteSaldos#leer}, solo con las filas de este segmento
+     */
+    public synchronized long leerSaldos(long jugadorId, long despuesDe, int limite,
+                                        FuenteSaldos.ConsumidorSaldo consumidor) throws IOException {
+        if (contarSaldos(jugadorId) == 0 || despuesDe >= getMaxId()) {
+            return despuesDe;
+        }
+        int j = Arrays.binarySearch(jugadores, jugadorId);
+
+        long[] columnaIds = ids.get();
+        if (columnaIds == null) {
+            columnaIds = decodificar(FormatoSegmento.ID);
+            ids = new SoftReference<>(columnaIds);
+        }
+        long[] columnaSaldos = saldos.get();
+        if (columnaSaldos == null) {
+            columnaSaldos = decodificar(FormatoSegmento.SALDO);
+            saldos = new SoftReference<>(columnaSaldos);
+        }
+
+        int fin = primeraFila[j] + filasJugador[j];
+        int fila = Arrays.binarySearch(columnaIds, primeraFila[j], fin, despuesDe + 1);
+        if (fila < 0) {
+            fila = -fila - 1;
+        }
+
+        long ultimo = despuesDe;
+        for (int entregadas = 0; fila < fin && entregadas < limite; fila++) {
+            if (columnaSaldos[fila] == 0) {
+                continue;
+            }
+            ultimo = columnaIds[fila];
+            consumidor.aceptar(ultimo, desdeZigzag(columnaSaldos[fila] - 1));
+            entregadas++;
+        }
+        return ultimo;
+    }
+}
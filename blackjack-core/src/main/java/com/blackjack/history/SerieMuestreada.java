@@ -0,0 +1,10 @@
+package com.blackjack.history;
+
+/**
+ * Puntos a dibujar de una serie de saldos: posición (número de ronda en el
+ * historial) y saldo en centavos, en orden de posición
+ */
+public record SerieMuestreada(long[] posiciones, long[] saldos, int cantidad) {
+
+    static final SerieMuestreada VACIA = new SerieMuestreada(new long[0], new long[0], 0);
+}
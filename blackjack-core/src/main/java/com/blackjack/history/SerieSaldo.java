@@ -0,0 +1,314 @@
+package com.blackjack.history;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serie de saldos reducida al ancho en píxeles de un gráfico.
+ *
+ * Al cargarse recorre la fuente una sola vez, página a página, y resume
+ * cada cubo de {@code tamanoBase} rondas en su mínimo y su máximo, con hasta
+ * {@link #MAX_CUBOS} cubos. Los niveles más gruesos (cubos del doble de
+ * tamaño) se calculan a partir del anterior la primera vez que un zoom los
+ * necesita y quedan guardados. Dibujar cualquier tramo recorre a lo sumo
+ * unos dos cubos por píxel, sin importar cuántas rondas tenga el historial.
+ *
+ * El muestreo es por mínimo y máximo por columna: a diferencia de LTTB se
+ * puede componer entre niveles y conserva exactos los picos y las caídas.
+ * Solo cuando el zoom baja de un cubo base por píxel se vuelven a leer las
+ * filas de ese tramo de la fuente; {@link #muestrearResumen} nunca lee y
+ * sirve para dibujar algo mientras tanto sin bloquear la interfaz
+ */
+public class SerieSaldo {
+
+    public static final int MAX_CUBOS = 1 << 16;
+    private static final int PAGINA = 10_000;
+
+    private final FuenteSaldos fuente;
+    private final long puntos;
+    private final long[] idInicio;
+    private final Nivel base;
+    // Niveles calculados a partir de base; solo se tocan con el candado de la serie
+    private final List<Nivel> niveles = new ArrayList<>();
+
+    /**
+     * Mínimo y máximo de cada cubo, con la posición en que aparecen para
+     * dibujarlos en orden
+     */
+    private static final class Nivel {
+        final long tamano;
+        final int cubos;
+        final long[] minimo;
+        final long[] maximo;
+        final long[] posMinimo;
+        final long[] posMaximo;
+
+        Nivel(long tamano, int cubos) {
+            this.tamano = tamano;
+            this.cubos = cubos;
+            this.minimo = new long[cubos];
+            this.maximo = new long[cubos];
+            this.posMinimo = new long[cubos];
+            this.posMaximo = new long[cubos];
+        }
+
+        void agregar(int cubo, long posicion, long saldo) {
+            if (posicion % tamano == 0 || saldo < minimo[cubo]) {
+                minimo[cubo] = saldo;
+                posMinimo[cubo] = posicion;
+            }
+            if (posicion % tamano == 0 || saldo > maximo[cubo]) {
+                maximo[cubo] = saldo;
+                posMaximo[cubo] = posicion;
+            }
+        }
+
+        Nivel combinar() {
+            Nivel siguiente = new Nivel(tamano * 2, (cubos + 1) / 2);
+            for (int c = 0; c < siguiente.cubos; c++) {
+                int a = 2 * c;
+                int b = Math.min(a + 1, cubos - 1);
+                boolean minDeA = minimo[a] <= minimo[b];
+                boolean maxDeA = maximo[a] >= maximo[b];
+                siguiente.minimo[c] = minDeA ? minimo[a] : minimo[b];
+                siguiente.posMinimo[c] = minDeA ? posMinimo[a] : posMinimo[b];
+                siguiente.maximo[c] = maxDeA ? maximo[a] : maximo[b];
+                siguiente.posMaximo[c] = maxDeA ? posMaximo[a] : posMaximo[b];
+            }
+            return siguiente;
+        }
+    }
+
+    private SerieSaldo(FuenteSaldos fuente, long puntos, long[] idInicio, Nivel base) {
+        this.fuente = fuente;
+        this.puntos = puntos;
+        this.idInicio = idInicio;
+        this.base = base;
+        this.niveles.add(base);
+    }
+
+    public static SerieSaldo cargar(FuenteSaldos fuente) throws IOException {
+        long esperados = fuente.contar();
+        long tamano = Math.max(1, (esperados + MAX_CUBOS - 1) / MAX_CUBOS);
+        Cargador cargador = new Cargador(tamano, (int) ((esperados + tamano - 1) / tamano));
+
+        long despuesDe = Long.MIN_VALUE;
+        while (cargador.leidos < esperados) {
+            long antes = cargador.leidos;
+            despuesDe = fuente.leer(despuesDe, (int) Math.min(PAGINA, esperados - cargador.leidos), cargador);
+            if (cargador.leidos == antes) {
+                // Se borraron filas entre contar y leer
+                break;
+            }
+        }
+
+        return new SerieSaldo(fuente, cargador.leidos, cargador.idInicio, cargador.base);
+    }
+
+    private static final class Cargador implements FuenteSaldos.ConsumidorSaldo {
+        final Nivel base;
+        final long[] idInicio;
+        long leidos;
+
+        Cargador(long tamano, int cubos) {
+            this.base = new Nivel(tamano, cubos);
+            this.idInicio = new long[cubos];
+        }
+
+        @Override
+        public void aceptar(long id, long saldo) {
+            int cubo = (int) (leidos / base.tamano);
+            if (leidos % base.tamano == 0) {
+                idInicio[cubo] = id;
+            }
+            base.agregar(cubo, leidos, saldo);
+            leidos++;
+        }
+    }
+
+    public long getPuntos() {
+        return puntos;
+    }
+
+    /**
+     * Rondas por cubo del nivel más fino guardado en memoria
+     */
+    public long getTamanoBase() {
+        return base.tamano;
+    }
+
+    /**
+     * Si muestrear este tramo tiene que leer filas de la fuente, por caer
+     * por debajo de un cubo base por píxel
+     */
+    public boolean necesitaLectura(long desde, long hasta, int ancho) {
+        long tramo = Math.min(puntos, hasta) - Math.max(0, desde);
+        return tramo > 0 && ancho >= 1 && (double) tramo / ancho < getTamanoBase();
+    }
+
+    /**
+     * Hasta dos puntos por columna (el mínimo y el máximo de las rondas que
+     * caen en ella) para el tramo [desde, hasta) dibujado en {@code ancho}
+     * píxeles. Los cubos de los extremos pueden asomar un poco fuera del tramo.
+     * Si {@link #necesitaLectura} lee de la fuente, así que no debe llamarse
+     * desde el hilo de la interfaz
+     */
+    public SerieMuestreada muestrear(long desde, long hasta, int ancho) throws IOException {
+        return muestrear(desde, hasta, ancho, true);
+    }
+
+    /**
+     * Como {@link #muestrear} pero solo con los cubos en memoria: por debajo
+     * de un cubo base por píxel dibuja los cubos base, sin leer la fuente
+     */
+    public SerieMuestreada muestrearResumen(long desde, long hasta, int ancho) {
+        try {
+            return muestrear(desde, hasta, ancho, false);
+        } catch (IOException e) {
+            throw new IllegalStateException("El resumen no lee de la fuente", e);
+        }
+    }
+
+    private SerieMuestreada muestrear(long desde, long hasta, int ancho, boolean leer) throws IOException {
+        desde = Math.max(0, desde);
+        hasta = Math.min(puntos, hasta);
+        if (hasta <= desde || ancho < 1) {
+            return SerieMuestreada.VACIA;
+        }
+
+        double porPixel = (double) (hasta - desde) / ancho;
+        Muestreo muestreo = new Muestreo(ancho, desde, porPixel);
+        if (porPixel < getTamanoBase() && leer) {
+            leerTramo(desde, hasta, muestreo);
+        } else {
+            Nivel nivel = porPixel < getTamanoBase() ? base : nivelPara(porPixel);
+            int primero = (int) (desde / nivel.tamano);
+            int ultimo = (int) ((hasta - 1) / nivel.tamano);
+            for (int c = primero; c <= ultimo; c++) {
+                muestreo.agregar(Math.max(desde, c * nivel.tamano),
+                        nivel.minimo[c], nivel.posMinimo[c], nivel.maximo[c], nivel.posMaximo[c]);
+            }
+        }
+        return muestreo.terminar();
+    }
+
+    /**
+     * El nivel de cubos más grandes que sigue dando al menos un cubo por píxel
+     */
+    private synchronized Nivel nivelPara(double porPixel) {
+        int k = 0;
+        while (true) {
+            if (k + 1 == niveles.size()) {
+                Nivel actual = niveles.get(k);
+                if (actual.cubos == 1 || actual.tamano * 2 > porPixel) {
+                    return actual;
+                }
+                niveles.add(actual.combinar());
+            }
+            if (niveles.get(k + 1).tamano > porPixel) {
+                return niveles.get(k);
+            }
+            k++;
+        }
+    }
+
+    /**
+     * Zoom por debajo de un cubo base por píxel: lee de la fuente las filas
+     * del tramo, empezando por el primer id del cubo que lo contiene
+     */
+    private void leerTramo(long desde, long hasta, Muestreo muestreo) throws IOException {
+        long tamano = getTamanoBase();
+        int cubo = (int) (desde / tamano);
+        long[] posicion = {cubo * tamano};
+        long despuesDe = idInicio[cubo] - 1;
+
+        FuenteSaldos.ConsumidorSaldo consumidor = (id, saldo) -> {
+            long p = posicion[0]++;
+            if (p >= desde && p < hasta) {
+                muestreo.agregar(p, saldo, p, saldo, p);
+            }
+        };
+        while (posicion[0] < hasta) {
+            long antes = posicion[0];
+            despuesDe = fuente.leer(despuesDe, (int) Math.min(PAGINA, hasta - posicion[0]), consumidor);
+            if (posicion[0] == antes) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Acumula el mínimo y el máximo de cada columna y los emite en el orden
+     * en que aparecen al pasar a la siguiente
+     */
+    private static final class Muestreo {
+        private final long desde;
+        private final double porPixel;
+        private final int ancho;
+        private final long[] posiciones;
+        private final long[] saldos;
+        private int cantidad;
+
+        private int columna = -1;
+        private long minimo;
+        private long posMinimo;
+        private long maximo;
+        private long posMaximo;
+
+        Muestreo(int ancho, long desde, double porPixel) {
+            this.ancho = ancho;
+            this.desde = desde;
+            this.porPixel = porPixel;
+            this.posiciones = new long[2 * ancho];
+            this.saldos = new long[2 * ancho];
+        }
+
+        void agregar(long inicio, long min, long posMin, long max, long posMax) {
+            int col = (int) Math.min(ancho - 1, (inicio - desde) / porPixel);
+            if (col != columna) {
+                emitir();
+                columna = col;
+                minimo = min;
+                posMinimo = posMin;
+                maximo = max;
+                posMaximo = posMax;
+                return;
+            }
+            if (min < minimo) {
+                minimo = min;
+                posMinimo = posMin;
+            }
+            if (max > maximo) {
+                maximo = max;
+                posMaximo = posMax;
+            }
+        }
+
+        private void emitir() {
+            if (columna < 0) {
+                return;
+            }
+            if (posMinimo == posMaximo) {
+                punto(posMinimo, minimo);
+            } else if (posMinimo < posMaximo) {
+                punto(posMinimo, minimo);
+                punto(posMaximo, maximo);
+            } else {
+                punto(posMaximo, maximo);
+                punto(posMinimo, minimo);
+            }
+        }
+
+        private void punto(long posicion, long saldo) {
+            posiciones[cantidad] = posicion;
+            saldos[cantidad] = saldo;
+            cantidad++;
+        }
+
+        SerieMuestreada terminar() {
+            emitir();
+            return new SerieMuestreada(posiciones, saldos, cantidad);
+        }
+    }
+}
@@ -65,6 +65,18 @@ public class Carta {
         return valor;
     }
 
+    /**
+     * Número 0..51 (palo * 13 + valor) que identifica la carta en los
+     * formatos binarios
+     */
+    public int getOrdinal() {
+        return palo.ordinal() * 13 + valor.ordinal();
+    }
+
+    public static Carta desdeOrdinal(int ordinal) {
+        return new Carta(Palo.values()[ordinal / 13], Valor.values()[ordinal % 13]);
+    }
+
     public boolean isBocaAbajo() {
         return bocaAbajo;
     }
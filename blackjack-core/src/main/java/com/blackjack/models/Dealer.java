@@ -1,5 +1,7 @@
 package com.blackjack.models;
 
+import com.blackjack.rules.ReglasCompiladas;
+
 /**
  * Clase que representa al dealer
  * Extiende el comportamiento básico del jugador
@@ -20,16 +22,15 @@ public class Dealer {
         mano.limpiar();
     }
 
-    public boolean debeTomarCarta() {
-        int valor = mano.calcularValor();
-        // El dealer debe tomar carta si tiene 16 o menos
-        // y debe plantarse con 17 o más
-        return valor < 17;
+    public boolean debeTomarCarta(ReglasCompiladas reglas) {
+        // El dealer pide con 16 o menos y se planta con 17 o más;
+        // con 17 suave depende de la mesa
+        return reglas.dealerPide(mano);
     }
 
     public Carta getCartaVisible() {
-        if (mano.getCartas().size() > 0) {
-            return mano.getCartas().get(0);
+        if (mano.getCantidadCartas() > 0) {
+            return mano.getCarta(0);
         }
         return null;
     }
@@ -0,0 +1,152 @@
+package com.blackjack.models;
+
+import com.blackjack.utils.Dinero;
+
+/**
+ * Estadísticas acumuladas de un jugador, actualizadas ronda a ronda al
+ * liquidarse. Se guardan ya calculadas, así que consultarlas no recorre el
+ * historial. Las cantidades van en centavos (ver {@link Dinero})
+ */
+public class EstadisticasJugador {
+
+    private long manos;
+    private long ganadas;
+    private long empatadas;
+    private long blackjacks;
+    private long dobladas;
+    private long divididas;
+    private long totalApostado;
+    private long neto;
+    private long picoSaldo;
+    private long maximaCaida;
+
+    public EstadisticasJugador() {
+    }
+
+    /**
+     * Estadísticas ya guardadas, tal como las devuelve la base de datos
+     */
+    public EstadisticasJugador(long manos, long ganadas, long empatadas, long blackjacks, long dobladas,
+                               long divididas, long totalApostado, long neto, long picoSaldo, long maximaCaida) {
+        this.manos = manos;
+        this.ganadas = ganadas;
+        this.empatadas = empatadas;
+        this.blackjacks = blackjacks;
+        this.dobladas = dobladas;
+        this.divididas = divididas;
+        this.totalApostado = totalApostado;
+        this.neto = neto;
+        this.picoSaldo = picoSaldo;
+        this.maximaCaida = maximaCaida;
+    }
+
+    /**
+     * Suma una ronda liquidada. Un blackjack cuenta también como ganada y
+     * la caída máxima se mide desde el saldo más alto alcanzado
+     *
+     * @param apostado total apostado en la ronda, con dobladas y divisiones
+     * @param ganancia ganancia neta de la ronda, negativa si se perdió
+     * @param saldo    saldo del jugador tras la ronda
+     */
+    public void registrarRonda(boolean ganada, boolean empate, boolean blackjack, int dobladasRonda,
+                               int divisionesRonda, long apostado, long ganancia, long saldo) {
+        if (manos == 0) {
+            picoSaldo = saldo - ganancia;
+        }
+        manos++;
+        if (ganada) {
+            ganadas++;
+        }
+        if (empate) {
+            empatadas++;
+        }
+        if (blackjack) {
+            blackjacks++;
+        }
+        dobladas += dobladasRonda;
+        divididas += divisionesRonda;
+        totalApostado += apostado;
+        neto += ganancia;
+
+        if (saldo > picoSaldo) {
+            picoSaldo = saldo;
+        } else if (picoSaldo - saldo > maximaCaida) {
+            maximaCaida = picoSaldo - saldo;
+        }
+    }
+
+    /**
+     * Lo acumulado desde {@code anteriores} (una copia previa de estas mismas
+     * estadísticas): los contadores y cantidades restados; el pico y la caída
+     * máxima, que no se suman, tal como están ahora
+     */
+    public EstadisticasJugador diferencia(EstadisticasJugador anteriores) {
+        return new EstadisticasJugador(manos - anteriores.manos, ganadas - anteriores.ganadas,
+                empatadas - anteriores.empatadas, blackjacks - anteriores.blackjacks,
+                dobladas - anteriores.dobladas, divididas - anteriores.divididas,
+                totalApostado - anteriores.totalApostado, neto - anteriores.neto, picoSaldo, maximaCaida);
+    }
+
+    public EstadisticasJugador copiar() {
+        return new EstadisticasJugador(manos, ganadas, empatadas, blackjacks, dobladas,
+                divididas, totalApostado, neto, picoSaldo, maximaCaida);
+    }
+
+    public long getManos() {
+        return manos;
+    }
+
+    public long getGanadas() {
+        return ganadas;
+    }
+
+    public long getEmpatadas() {
+        return empatadas;
+    }
+
+    public long getPerdidas() {
+        return manos - ganadas - empatadas;
+    }
+
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    public long getDobladas() {
+        return dobladas;
+    }
+
+    public long getDivididas() {
+        return divididas;
+    }
+
+    public long getTotalApostado() {
+        return totalApostado;
+    }
+
+    public long getNeto() {
+        return neto;
+    }
+
+    public long getPicoSaldo() {
+        return picoSaldo;
+    }
+
+    public long getMaximaCaida() {
+        return maximaCaida;
+    }
+
+    /**
+     * Porcentaje de rondas ganadas, 0 si no hay ninguna
+     */
+    public double getPorcentajeGanadas() {
+        return manos == 0 ? 0 : 100.0 * ganadas / manos;
+    }
+
+    /**
+     * Retorno neto por cada unidad apostada, 0 si no se apostó nada
+     */
+    public double getRetorno() {
+        return totalApostado == 0 ? 0 : (double) neto / totalApostado;
+    }
+}
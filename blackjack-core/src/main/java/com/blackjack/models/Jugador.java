@@ -1,32 +1,37 @@
 package com.blackjack.models;
 
 import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.utils.Dinero;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Clase que representa un jugador
- * Implementa el patrón Builder para construcción flexible
+ * Implementa el patrón Builder para construcción flexible.
+ * Todas las cantidades van en centavos (ver {@link Dinero})
  */
 public class Jugador {
 
     private Long id;
     private String nombre;
-    private double saldo;
+    private long saldo;
+    private long saldoGuardado;
+    private long version;
     private List<Mano> manos;
     private int manoActual;
 
-    public Jugador(String nombre, double saldoInicial) {
+    public Jugador(String nombre, long saldoInicial) {
         this.nombre = nombre;
         this.saldo = saldoInicial;
+        this.saldoGuardado = saldoInicial;
         this.manos = new ArrayList<>();
         this.manos.add(new Mano());
         this.manoActual = 0;
     }
 
-    public void apostar(double cantidad) throws SaldoInsuficienteException {
+    public void apostar(long cantidad) throws SaldoInsuficienteException {
         if (cantidad > saldo) {
-            throw new SaldoInsuficienteException("Saldo insuficiente. Saldo actual: $" + saldo);
+            throw new SaldoInsuficienteException("Saldo insuficiente. Saldo actual: $" + Dinero.formatear(saldo));
         }
 
         if (cantidad <= 0) {
@@ -37,9 +42,24 @@ public class Jugador {
         manos.get(manoActual).setApuesta(cantidad);
     }
 
+    /**
+     * Descuenta una apuesta lateral, que no pertenece a ninguna mano
+     */
+    public void apostarLateral(long cantidad) throws SaldoInsuficienteException {
+        if (cantidad > saldo) {
+            throw new SaldoInsuficienteException("Saldo insuficiente para la apuesta lateral");
+        }
+
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La apuesta lateral debe ser mayor a 0");
+        }
+
+        saldo -= cantidad;
+    }
+
     public void doblarApuesta() throws SaldoInsuficienteException {
         Mano mano = manos.get(manoActual);
-        double apuestaActual = mano.getApuesta();
+        long apuestaActual = mano.getApuesta();
 
         if (apuestaActual > saldo) {
             throw new SaldoInsuficienteException("Saldo insuficiente para doblar");
@@ -56,19 +76,19 @@ public class Jugador {
             throw new IllegalStateException("No se puede dividir esta mano");
         }
 
-        double apuestaOriginal = manoOriginal.getApuesta();
+        long apuestaOriginal = manoOriginal.getApuesta();
         if (apuestaOriginal > saldo) {
             throw new SaldoInsuficienteException("Saldo insuficiente para dividir");
         }
 
         // Crear nueva mano con la segunda carta
+        // getCartas es una vista de solo lectura, así que la segunda carta se
+        // retira de la mano original para dejarle solo la primera
         Mano nuevaMano = new Mano();
-        List<Carta> cartasOriginales = manoOriginal.getCartas();
-        nuevaMano.agregarCarta(cartasOriginales.get(1));
+        nuevaMano.setDividida(true);
+        nuevaMano.agregarCarta(manoOriginal.quitarCarta(1));
         nuevaMano.setApuesta(apuestaOriginal);
-
-        // Mantener solo la primera carta en la mano original
-        cartasOriginales.remove(1);
+        manoOriginal.setDividida(true);
 
         // Restar apuesta del saldo
         saldo -= apuestaOriginal;
@@ -77,13 +97,19 @@ public class Jugador {
         manos.add(manoActual + 1, nuevaMano);
     }
 
-    public void recibirGanancia(double cantidad) {
+    public void recibirGanancia(long cantidad) {
         saldo += cantidad;
     }
 
+    /**
+     * Deja una sola mano vacía, reutilizando la primera para no crear una
+     * nueva en cada ronda
+     */
     public void reiniciarManos() {
+        Mano primera = manos.get(0);
+        primera.limpiar();
         manos.clear();
-        manos.add(new Mano());
+        manos.add(primera);
         manoActual = 0;
     }
 
@@ -110,12 +136,34 @@ public class Jugador {
         return nombre;
     }
 
-    public double getSaldo() {
+    public long getSaldo() {
         return saldo;
     }
 
-    public void setSaldo(double saldo) {
+    public void setSaldo(long saldo) {
+        this.saldo = saldo;
+    }
+
+    /**
+     * Saldo según la última lectura o escritura en la base de datos; la
+     * diferencia con {@link #getSaldo()} es lo que falta por guardar
+     */
+    public long getSaldoGuardado() {
+        return saldoGuardado;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Toma el saldo y la versión tal como quedaron en la base de datos,
+     * que pueden incluir cambios hechos desde otra sesión
+     */
+    public void confirmarSaldo(long saldo, long version) {
         this.saldo = saldo;
+        this.saldoGuardado = saldo;
+        this.version = version;
     }
 
     public Mano getManoActual() {
@@ -1,6 +1,7 @@
 package com.blackjack.models;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -9,21 +10,21 @@ import java.util.List;
  */
 public class Mano {
 
-    private List<Carta> cartas;
-    private double apuesta;
+    private final List<Carta> cartas;
+    private final List<Carta> vista;
+    private long apuesta;
     private boolean plantado;
-    private boolean blackjack;
+    private boolean dividida;
 
     public Mano() {
         this.cartas = new ArrayList<>();
+        this.vista = Collections.unmodifiableList(cartas);
         this.apuesta = 0;
         this.plantado = false;
-        this.blackjack = false;
     }
 
     public void agregarCarta(Carta carta) {
         cartas.add(carta);
-        verificarBlackjack();
     }
 
     public int calcularValor() {
@@ -48,18 +49,30 @@ public class Mano {
         return valor;
     }
 
+    /**
+     * Indica si la mano cuenta un as como 11 sin pasarse
+     */
+    public boolean esSuave() {
+        int valor = 0;
+        boolean tieneAs = false;
+
+        for (Carta carta : cartas) {
+            valor += carta.getValor().getValorMinimo();
+            tieneAs |= carta.getValor() == Carta.Valor.AS;
+        }
+
+        return tieneAs && valor + 10 <= 21;
+    }
+
     public boolean esBusted() {
         return calcularValor() > 21;
     }
 
+    /**
+     * Un 21 con dos cartas tras dividir no cuenta como blackjack
+     */
     public boolean esBlackjack() {
-        return cartas.size() == 2 && calcularValor() == 21;
-    }
-
-    private void verificarBlackjack() {
-        if (cartas.size() == 2 && calcularValor() == 21) {
-            blackjack = true;
-        }
+        return cartas.size() == 2 && !dividida && calcularValor() == 21;
     }
 
     public boolean puedeDoublar() {
@@ -75,23 +88,39 @@ public class Mano {
         return valor1.getValorMinimo() == valor2.getValorMinimo();
     }
 
+    /**
+     * Retira una carta de la mano, usado al dividir
+     */
+    Carta quitarCarta(int indice) {
+        return cartas.remove(indice);
+    }
+
     public void limpiar() {
         cartas.clear();
         apuesta = 0;
         plantado = false;
-        blackjack = false;
+        dividida = false;
     }
 
     // Getters y Setters
+
+    /**
+     * Vista de solo lectura que sigue a la mano; quien necesite conservar
+     * las cartas de esta ronda debe copiarla
+     */
     public List<Carta> getCartas() {
-        return new ArrayList<>(cartas);
+        return vista;
+    }
+
+    public Carta getCarta(int indice) {
+        return cartas.get(indice);
     }
 
-    public double getApuesta() {
+    public long getApuesta() {
         return apuesta;
     }
 
-    public void setApuesta(double apuesta) {
+    public void setApuesta(long apuesta) {
         this.apuesta = apuesta;
     }
 
@@ -103,6 +132,14 @@ public class Mano {
         this.plantado = plantado;
     }
 
+    public boolean isDividida() {
+        return dividida;
+    }
+
+    void setDividida(boolean dividida) {
+        this.dividida = dividida;
+    }
+
     public int getCantidadCartas() {
         return cartas.size();
     }
@@ -0,0 +1,87 @@
+package com.blackjack.rules;
+
+import com.blackjack.models.Mano;
+import com.blackjack.utils.Dinero;
+
+/**
+ * Reglas de una mesa precalculadas en tablas densas. Durante el juego cada
+ * decisión es un acceso a arreglo indexado por total (y suavidad o si la mano
+ * viene de una división) en lugar de ramas sobre la configuración
+ */
+public final class ReglasCompiladas {
+
+    // Totales posibles de una mano antes de pasarse más un margen: 0..31
+    private static final int TOTALES = 32;
+
+    private final ReglasMesa reglas;
+
+    // [suave * TOTALES + total]
+    private final boolean[] dealerPide = new boolean[2 * TOTALES];
+    // [dividida * TOTALES + total]
+    private final boolean[] puedeDoblar = new boolean[2 * TOTALES];
+    private final int pagoBlackjackNumerador;
+    private final int pagoBlackjackDenominador;
+    private final int maxManos;
+    private final long apuestaMinima;
+    private final long apuestaMaxima;
+
+    ReglasCompiladas(ReglasMesa reglas) {
+        this.reglas = reglas;
+
+        for (int total = 0; total < TOTALES; total++) {
+            dealerPide[total] = total < 17;
+            dealerPide[TOTALES + total] = total < 17 || (total == 17 && reglas.isDealerPideSuave17());
+
+            boolean permitido = reglas.getReglaDoblar().permite(total);
+            puedeDoblar[total] = permitido;
+            puedeDoblar[TOTALES + total] = permitido && reglas.isDoblarTrasDividir();
+        }
+
+        this.pagoBlackjackNumerador = reglas.getPagoBlackjackNumerador();
+        this.pagoBlackjackDenominador = reglas.getPagoBlackjackDenominador();
+        this.maxManos = reglas.getMaxManos();
+        this.apuestaMinima = reglas.getApuestaMinima();
+        this.apuestaMaxima = reglas.getApuestaMaxima();
+    }
+
+    public ReglasMesa getReglas() {
+        return reglas;
+    }
+
+    public boolean dealerPide(int total, boolean suave) {
+        return dealerPide[(suave ? TOTALES : 0) + Math.min(total, TOTALES - 1)];
+    }
+
+    public boolean dealerPide(Mano mano) {
+        return dealerPide(mano.calcularValor(), mano.esSuave());
+    }
+
+    /**
+     * Combina la regla estructural de la mano (dos cartas, sin plantarse) con
+     * las restricciones de la mesa
+     */
+    public boolean puedeDoblar(Mano mano) {
+        return mano.puedeDoublar()
+                && puedeDoblar[(mano.isDividida() ? TOTALES : 0) + Math.min(mano.calcularValor(), TOTALES - 1)];
+    }
+
+    public boolean puedeDividir(Mano mano, int manosActuales) {
+        return manosActuales < maxManos && mano.puedeDividir();
+    }
+
+    /**
+     * Cantidad total devuelta al ganar con blackjack, incluida la apuesta.
+     * El premio se redondea hacia abajo al centavo: 3:2 sobre 10.05 paga 15.07
+     */
+    public long retornoBlackjack(long apuesta) {
+        return apuesta + Dinero.fraccion(apuesta, pagoBlackjackNumerador, pagoBlackjackDenominador);
+    }
+
+    public long getApuestaMinima() {
+        return apuestaMinima;
+    }
+
+    public long getApuestaMaxima() {
+        return apuestaMaxima;
+    }
+}
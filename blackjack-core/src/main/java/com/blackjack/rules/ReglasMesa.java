@@ -0,0 +1,319 @@
+package com.blackjack.rules;
+
+import com.blackjack.utils.Dinero;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Reglas configurables de una mesa. Se construyen con {@link Builder} o se
+ * cargan de un archivo .properties, y se compilan con {@link #compilar()}
+ * en las tablas que consulta GameService durante el juego.
+ *
+ * Claves del archivo: mazos, dealer-pide-17-suave, pago-blackjack (3:2, 6:5),
+ * doblar (cualquiera, 9-11, 10-11), doblar-tras-dividir, max-manos,
+ * apuesta-minima, apuesta-maxima, penetracion (fracción del zapato que se
+ * reparte antes de cambiarlo), barajado-continuo (máquina barajadora: los
+ * descartes vuelven al zapato cada ronda)
+ */
+public class ReglasMesa {
+
+    public enum ReglaDoblar {
+        CUALQUIERA(2, 21), NUEVE_A_ONCE(9, 11), DIEZ_A_ONCE(10, 11);
+
+        private final int minimo;
+        private final int maximo;
+
+        ReglaDoblar(int minimo, int maximo) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        public boolean permite(int total) {
+            return total >= minimo && total <= maximo;
+        }
+
+        public String getTexto() {
+            switch (this) {
+                case NUEVE_A_ONCE: return "9-11";
+                case DIEZ_A_ONCE: return "10-11";
+                default: return "cualquiera";
+            }
+        }
+
+        static ReglaDoblar desdeTexto(String texto) {
+            switch (texto.trim()) {
+                case "cualquiera": return CUALQUIERA;
+                case "9-11": return NUEVE_A_ONCE;
+                case "10-11": return DIEZ_A_ONCE;
+                default: throw new IllegalArgumentException("Regla de doblar desconocida: " + texto);
+            }
+        }
+    }
+
+    private final int numeroMazos;
+    private final boolean dealerPideSuave17;
+    private final int pagoBlackjackNumerador;
+    private final int pagoBlackjackDenominador;
+    private final ReglaDoblar reglaDoblar;
+    private final boolean doblarTrasDividir;
+    private final int maxManos;
+    private final long apuestaMinima;
+    private final long apuestaMaxima;
+    private final double penetracion;
+    private final boolean barajadoContinuo;
+
+    private ReglasMesa(Builder builder) {
+        this.numeroMazos = builder.numeroMazos;
+        this.dealerPideSuave17 = builder.dealerPideSuave17;
+        this.pagoBlackjackNumerador = builder.pagoBlackjackNumerador;
+        this.pagoBlackjackDenominador = builder.pagoBlackjackDenominador;
+        this.reglaDoblar = builder.reglaDoblar;
+        this.doblarTrasDividir = builder.doblarTrasDividir;
+        this.maxManos = builder.maxManos;
+        this.apuestaMinima = builder.apuestaMinima;
+        this.apuestaMaxima = builder.apuestaMaxima;
+        this.penetracion = builder.penetracion;
+        this.barajadoContinuo = builder.barajadoContinuo;
+    }
+
+    /**
+     * Reglas con las que el juego funcionaba antes de ser configurable:
+     * un mazo, el dealer se planta en 17, blackjack 3:2, doblar con cualquier
+     * par de cartas, también tras dividir, y sin límite de divisiones
+     */
+    public static ReglasMesa porDefecto() {
+        return new Builder().build();
+    }
+
+    public static ReglasMesa cargar(Path archivo) throws IOException {
+        try (Reader reader = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            Properties propiedades = new Properties();
+            propiedades.load(reader);
+            return desdePropiedades(propiedades);
+        }
+    }
+
+    /**
+     * Carga unas reglas incluidas en el jar, por ejemplo "/reglas/estandar.properties"
+     */
+    public static ReglasMesa cargarRecurso(String recurso) throws IOException {
+        try (InputStream entrada = ReglasMesa.class.getResourceAsStream(recurso)) {
+            if (entrada == null) {
+                throw new IOException("No se encontró el recurso de reglas: " + recurso);
+            }
+            Properties propiedades = new Properties();
+            propiedades.load(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+            return desdePropiedades(propiedades);
+        }
+    }
+
+    public static ReglasMesa desdePropiedades(Properties p) {
+        Builder builder = new Builder();
+
+        if (p.containsKey("mazos")) {
+            builder.numeroMazos(Integer.parseInt(p.getProperty("mazos").trim()));
+        }
+        if (p.containsKey("dealer-pide-17-suave")) {
+            builder.dealerPideSuave17(Boolean.parseBoolean(p.getProperty("dealer-pide-17-suave").trim()));
+        }
+        if (p.containsKey("pago-blackjack")) {
+            String[] partes = p.getProperty("pago-blackjack").trim().split(":");
+            builder.pagoBlackjack(Integer.parseInt(partes[0]), Integer.parseInt(partes[1]));
+        }
+        if (p.containsKey("doblar")) {
+            builder.reglaDoblar(ReglaDoblar.desdeTexto(p.getProperty("doblar")));
+        }
+        if (p.containsKey("doblar-tras-dividir")) {
+            builder.doblarTrasDividir(Boolean.parseBoolean(p.getProperty("doblar-tras-dividir").trim()));
+        }
+        if (p.containsKey("max-manos")) {
+            builder.maxManos(Integer.parseInt(p.getProperty("max-manos").trim()));
+        }
+        if (p.containsKey("apuesta-minima")) {
+            builder.apuestaMinima(Dinero.parsear(p.getProperty("apuesta-minima")));
+        }
+        if (p.containsKey("apuesta-maxima")) {
+            builder.apuestaMaxima(Dinero.parsear(p.getProperty("apuesta-maxima")));
+        }
+        if (p.containsKey("penetracion")) {
+            builder.penetracion(Double.parseDouble(p.getProperty("penetracion").trim()));
+        }
+        if (p.containsKey("barajado-continuo")) {
+            builder.barajadoContinuo(Boolean.parseBoolean(p.getProperty("barajado-continuo").trim()));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Inversa de {@link #desdePropiedades}, por ejemplo para guardar las
+     * reglas junto a una partida
+     */
+    public Properties aPropiedades() {
+        Properties p = new Properties();
+        p.setProperty("mazos", String.valueOf(numeroMazos));
+        p.setProperty("dealer-pide-17-suave", String.valueOf(dealerPideSuave17));
+        p.setProperty("pago-blackjack", pagoBlackjackNumerador + ":" + pagoBlackjackDenominador);
+        p.setProperty("doblar", reglaDoblar.getTexto());
+        p.setProperty("doblar-tras-dividir", String.valueOf(doblarTrasDividir));
+        p.setProperty("max-manos", String.valueOf(maxManos));
+        p.setProperty("apuesta-minima", Dinero.formatear(apuestaMinima));
+        p.setProperty("apuesta-maxima", Dinero.formatear(apuestaMaxima));
+        p.setProperty("penetracion", String.valueOf(penetracion));
+        p.setProperty("barajado-continuo", String.valueOf(barajadoContinuo));
+        return p;
+    }
+
+    public ReglasCompiladas compilar() {
+        return new ReglasCompiladas(this);
+    }
+
+    public int getNumeroMazos() {
+        return numeroMazos;
+    }
+
+    public boolean isDealerPideSuave17() {
+        return dealerPideSuave17;
+    }
+
+    public int getPagoBlackjackNumerador() {
+        return pagoBlackjackNumerador;
+    }
+
+    public int getPagoBlackjackDenominador() {
+        return pagoBlackjackDenominador;
+    }
+
+    public ReglaDoblar getReglaDoblar() {
+        return reglaDoblar;
+    }
+
+    public boolean isDoblarTrasDividir() {
+        return doblarTrasDividir;
+    }
+
+    public int getMaxManos() {
+        return maxManos;
+    }
+
+    /**
+     * En centavos, como todas las cantidades del juego
+     */
+    public long getApuestaMinima() {
+        return apuestaMinima;
+    }
+
+    public long getApuestaMaxima() {
+        return apuestaMaxima;
+    }
+
+    /**
+     * Fracción del zapato que se reparte antes de la carta de corte; 1 si
+     * se reparte entero
+     */
+    public double getPenetracion() {
+        return penetracion;
+    }
+
+    public boolean isBarajadoContinuo() {
+        return barajadoContinuo;
+    }
+
+    @Override
+    public String toString() {
+        return numeroMazos + " mazos, " + (dealerPideSuave17 ? "H17" : "S17")
+                + ", BJ " + pagoBlackjackNumerador + ":" + pagoBlackjackDenominador
+                + ", doblar " + reglaDoblar + (doblarTrasDividir ? " DAS" : " sin DAS")
+                + ", max " + maxManos + " manos" + (barajadoContinuo ? ", CSM" : "");
+    }
+
+    public static class Builder {
+        private int numeroMazos = 1;
+        private boolean dealerPideSuave17 = false;
+        private int pagoBlackjackNumerador = 3;
+        private int pagoBlackjackDenominador = 2;
+        private ReglaDoblar reglaDoblar = ReglaDoblar.CUALQUIERA;
+        private boolean doblarTrasDividir = true;
+        private int maxManos = Integer.MAX_VALUE;
+        private long apuestaMinima = Dinero.desdeUnidades(10);
+        private long apuestaMaxima = Dinero.desdeUnidades(1000);
+        private double penetracion = 1;
+        private boolean barajadoContinuo = false;
+
+        public Builder numeroMazos(int numeroMazos) {
+            this.numeroMazos = numeroMazos;
+            return this;
+        }
+
+        public Builder dealerPideSuave17(boolean dealerPideSuave17) {
+            this.dealerPideSuave17 = dealerPideSuave17;
+            return this;
+        }
+
+        public Builder pagoBlackjack(int numerador, int denominador) {
+            this.pagoBlackjackNumerador = numerador;
+            this.pagoBlackjackDenominador = denominador;
+            return this;
+        }
+
+        public Builder reglaDoblar(ReglaDoblar reglaDoblar) {
+            this.reglaDoblar = reglaDoblar;
+            return this;
+        }
+
+        public Builder doblarTrasDividir(boolean doblarTrasDividir) {
+            this.doblarTrasDividir = doblarTrasDividir;
+            return this;
+        }
+
+        public Builder maxManos(int maxManos) {
+            this.maxManos = maxManos;
+            return this;
+        }
+
+        public Builder apuestaMinima(long apuestaMinima) {
+            this.apuestaMinima = apuestaMinima;
+            return this;
+        }
+
+        public Builder apuestaMaxima(long apuestaMaxima) {
+            this.apuestaMaxima = apuestaMaxima;
+            return this;
+        }
+
+        public Builder penetracion(double penetracion) {
+            this.penetracion = penetracion;
+            return this;
+        }
+
+        public Builder barajadoContinuo(boolean barajadoContinuo) {
+            this.barajadoContinuo = barajadoContinuo;
+            return this;
+        }
+
+        public ReglasMesa build() {
+            if (numeroMazos < 1 || numeroMazos > 8) {
+                throw new IllegalArgumentException("El número de mazos debe estar entre 1 y 8");
+            }
+            if (pagoBlackjackNumerador <= 0 || pagoBlackjackDenominador <= 0) {
+                throw new IllegalArgumentException("Pago de blackjack inválido");
+            }
+            if (maxManos < 1) {
+                throw new IllegalArgumentException("max-manos debe ser al menos 1");
+            }
+            if (apuestaMinima <= 0 || apuestaMaxima < apuestaMinima) {
+                throw new IllegalArgumentException("Límites de apuesta inválidos");
+            }
+            if (!(penetracion >= 0.5 && penetracion <= 1)) {
+                throw new IllegalArgumentException("La penetración debe estar entre 0.5 y 1");
+            }
+            return new ReglasMesa(this);
+        }
+    }
+}
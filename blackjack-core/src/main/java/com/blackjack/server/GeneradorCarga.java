@@ -0,0 +1,241 @@
+package com.blackjack.server;
+
+import com.blackjack.models.Carta;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cliente de carga para el servidor de mesas: abre muchas conexiones NIO
+ * y en cada una juega rondas sin pausa, pidiendo hasta 17 como el dealer.
+ * Reconstruye la mesa a partir de los mensajes ESTADO recibidos
+ */
+public class GeneradorCarga {
+
+    private static final long APUESTA_CENTAVOS = 1000;
+    private static final int ESPERANDO_APUESTA = 0;
+    private static final int JUGANDO = 1;
+    private static final int FINALIZADO = 3;
+
+    private final InetSocketAddress direccion;
+    private final int conexiones;
+    private final int hilos;
+
+    private final AtomicLong conectadas = new AtomicLong();
+    private final LongAdder rondas = new LongAdder();
+    private final LongAdder mensajes = new LongAdder();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder latenciaTotalNanos = new LongAdder();
+    private volatile boolean activo = true;
+
+    public GeneradorCarga(InetSocketAddress direccion, int conexiones, int hilos) {
+        this.direccion = direccion;
+        this.conexiones = conexiones;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Ejecuta la carga durante los segundos indicados e imprime una línea
+     * de métricas por segundo
+     */
+    public void ejecutar(int segundos, PrintStream salida) throws InterruptedException {
+        Thread[] trabajadores = new Thread[hilos];
+        for (int i = 0; i < hilos; i++) {
+            int cantidad = conexiones / hilos + (i < conexiones % hilos ? 1 : 0);
+            trabajadores[i] = new Thread(() -> bucle(cantidad), "carga-" + i);
+            trabajadores[i].setDaemon(true);
+            trabajadores[i].start();
+        }
+
+        long rondasAnteriores = 0;
+        long mensajesAnteriores = 0;
+        for (int s = 1; s <= segundos; s++) {
+            Thread.sleep(1000);
+            long rondasActuales = rondas.sum();
+            long mensajesActuales = mensajes.sum();
+            long nuevosMensajes = mensajesActuales - mensajesAnteriores;
+            double latenciaMicros = nuevosMensajes == 0 ? 0
+                    : latenciaTotalNanos.sumThenReset() / 1000.0 / nuevosMensajes;
+
+            salida.printf("[%3ds] conexiones=%d rondas/s=%d mensajes/s=%d latencia media=%.1fus errores=%d%n",
+                    s, conectadas.get(), rondasActuales - rondasAnteriores,
+                    nuevosMensajes, latenciaMicros, errores.sum());
+
+            rondasAnteriores = rondasActuales;
+            mensajesAnteriores = mensajesActuales;
+        }
+
+        activo = false;
+        for (Thread trabajador : trabajadores) {
+            trabajador.join(2000);
+        }
+    }
+
+    private void bucle(int cantidad) {
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < cantidad; i++) {
+                SocketChannel canal = SocketChannel.open();
+                canal.configureBlocking(false);
+                canal.setOption(java.net.StandardSocketOptions.TCP_NODELAY, true);
+                canal.connect(direccion);
+                canal.register(selector, SelectionKey.OP_CONNECT, new ClienteCarga(canal, "carga" + i));
+            }
+
+            while (activo) {
+                selector.select(100);
+                Iterator<SelectionKey> claves = selector.selectedKeys().iterator();
+                while (claves.hasNext()) {
+                    SelectionKey clave = claves.next();
+                    claves.remove();
+                    ClienteCarga cliente = (ClienteCarga) clave.attachment();
+                    try {
+                        cliente.atender(clave);
+                    } catch (IOException | RuntimeException e) {
+                        errores.increment();
+                        clave.cancel();
+                        clave.channel().close();
+                        conectadas.decrementAndGet();
+                    }
+                }
+            }
+
+            for (SelectionKey clave : selector.keys()) {
+                clave.channel().close();
+            }
+        } catch (IOException e) {
+            errores.increment();
+        }
+    }
+
+    /**
+     * Vista local de una conexión de carga
+     */
+    private class ClienteCarga {
+
+        private final SocketChannel canal;
+        private final String nombre;
+        private final ByteBuffer entrada = ByteBuffer.allocate(Protocolo.MAX_MENSAJE * 4);
+        private final ByteBuffer salida = ByteBuffer.allocate(Protocolo.MAX_MENSAJE);
+        private final byte[][] cartas = new byte[16][32];
+        private final int[] longitudes = new int[16];
+        private long enviadoNanos;
+
+        ClienteCarga(SocketChannel canal, String nombre) {
+            this.canal = canal;
+            this.nombre = nombre;
+        }
+
+        void atender(SelectionKey clave) throws IOException {
+            if (clave.isConnectable()) {
+                canal.finishConnect();
+                conectadas.incrementAndGet();
+                clave.interestOps(SelectionKey.OP_READ);
+
+                int inicio = Protocolo.empezarMensaje(salida, Protocolo.HOLA);
+                Protocolo.escribirTexto(salida, nombre);
+                Protocolo.terminarMensaje(salida, inicio);
+                enviar();
+                return;
+            }
+
+            if (canal.read(entrada) < 0) {
+                throw new IOException("El servidor cerró la conexión");
+            }
+
+            entrada.flip();
+            while (entrada.remaining() >= Protocolo.CABECERA) {
+                int longitud = entrada.getShort(entrada.position()) & 0xFFFF;
+                if (entrada.remaining() < Protocolo.CABECERA + longitud) {
+                    break;
+                }
+                entrada.getShort();
+                int fin = entrada.position() + longitud;
+                procesar(entrada.get());
+                entrada.position(fin);
+            }
+            entrada.compact();
+            enviar();
+        }
+
+        private void procesar(byte tipo) {
+            mensajes.increment();
+
+            if (tipo == Protocolo.ERROR) {
+                // Normalmente saldo agotado: la conexión queda abierta pero inactiva
+                errores.increment();
+                return;
+            }
+            if (tipo != Protocolo.ESTADO) {
+                return;
+            }
+
+            latenciaTotalNanos.add(System.nanoTime() - enviadoNanos);
+            int estado = entrada.get();
+            int manoActual = entrada.get();
+            int flags = entrada.get();
+            if ((flags & Protocolo.FLAG_SALDO) != 0) {
+                entrada.getLong();
+            }
+            if ((flags & Protocolo.FLAG_RESULTADO) != 0) {
+                entrada.get();
+            }
+
+            int cambios = entrada.get();
+            for (int i = 0; i < cambios; i++) {
+                int destino = entrada.get();
+                int longitud = entrada.get();
+                int desde = entrada.get();
+                for (int j = desde; j < longitud; j++) {
+                    cartas[destino][j] = entrada.get();
+                }
+                longitudes[destino] = longitud;
+            }
+
+            switch (estado) {
+                case ESPERANDO_APUESTA:
+                    Protocolo.escribirMensajeDinero(salida, Protocolo.APOSTAR, APUESTA_CENTAVOS);
+                    break;
+                case JUGANDO:
+                    boolean pedir = valorMano(manoActual + 1) < 17;
+                    Protocolo.escribirMensajeVacio(salida, pedir ? Protocolo.PEDIR : Protocolo.PLANTARSE);
+                    break;
+                case FINALIZADO:
+                    rondas.increment();
+                    Protocolo.escribirMensajeVacio(salida, Protocolo.NUEVA_RONDA);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private int valorMano(int destino) {
+            int valor = 0;
+            boolean as = false;
+            for (int i = 0; i < longitudes[destino]; i++) {
+                Carta.Valor v = Protocolo.valor(cartas[destino][i]);
+                valor += v.getValorMinimo();
+                as |= v == Carta.Valor.AS;
+            }
+            return as && valor + 10 <= 21 ? valor + 10 : valor;
+        }
+
+        private void enviar() throws IOException {
+            if (salida.position() == 0) {
+                return;
+            }
+            salida.flip();
+            enviadoNanos = System.nanoTime();
+            while (salida.hasRemaining()) {
+                canal.write(salida);
+            }
+            salida.clear();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.blackjack.server;
+
+import com.blackjack.models.Carta;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato binario de los mensajes entre el servidor de mesas y sus clientes.
+ *
+ * Cada mensaje es [longitud:u16][tipo:u8][carga], donde la longitud cuenta el
+ * tipo y la carga. Las cantidades de dinero viajan como long en centavos y las
+ * cartas como un byte con su ordinal (palo * 13 + valor), 63 si está boca abajo.
+ *
+ * Mensaje ESTADO (servidor a cliente), enviado tras cada acción:
+ * [estado:u8][manoActual:u8][flags:u8][saldo:i64 si flags&1][resultado:u8 si flags&2]
+ * [numCambios:u8] y por cada cambio [destino:u8][longitud:u8][desde:u8][cartas desde..longitud].
+ * El destino 0 es el dealer y 1..n las manos del jugador; solo se envían las
+ * posiciones que cambiaron desde el último ESTADO
+ */
+public final class Protocolo {
+
+    // Cliente a servidor
+    public static final byte HOLA = 1;
+    public static final byte APOSTAR = 2;
+    public static final byte PEDIR = 3;
+    public static final byte PLANTARSE = 4;
+    public static final byte DOBLAR = 5;
+    public static final byte DIVIDIR = 6;
+    public static final byte NUEVA_RONDA = 7;
+
+    // Servidor a cliente
+    public static final byte BIENVENIDA = 64;
+    public static final byte ESTADO = 65;
+    public static final byte ERROR = 66;
+
+    public static final int CABECERA = 2;
+    public static final int MAX_MENSAJE = 1024;
+    public static final byte CARTA_OCULTA = 63;
+
+    public static final int FLAG_SALDO = 1;
+    public static final int FLAG_RESULTADO = 2;
+
+    private static final Carta.Palo[] PALOS = Carta.Palo.values();
+    private static final Carta.Valor[] VALORES = Carta.Valor.values();
+
+    private Protocolo() {
+    }
+
+    public static byte ordinal(Carta carta) {
+        if (carta.isBocaAbajo()) {
+            return CARTA_OCULTA;
+        }
+        return (byte) (carta.getPalo().ordinal() * VALORES.length + carta.getValor().ordinal());
+    }
+
+    public static Carta.Valor valor(byte ordinal) {
+        return VALORES[ordinal % VALORES.length];
+    }
+
+    public static Carta.Palo palo(byte ordinal) {
+        return PALOS[ordinal / VALORES.length];
+    }
+
+    /**
+     * Reserva la cabecera y escribe el tipo; devuelve la posición de inicio
+     * que hay que pasar a {@link #terminarMensaje}
+     */
+    public static int empezarMensaje(ByteBuffer buffer, byte tipo) {
+        int inicio = buffer.position();
+        buffer.putShort((short) 0);
+        buffer.put(tipo);
+        return inicio;
+    }
+
+    public static void terminarMensaje(ByteBuffer buffer, int inicio) {
+        int longitud = buffer.position() - inicio - CABECERA;
+        buffer.putShort(inicio, (short) longitud);
+    }
+
+    public static void escribirMensajeVacio(ByteBuffer buffer, byte tipo) {
+        buffer.putShort((short) 1);
+        buffer.put(tipo);
+    }
+
+    public static void escribirMensajeDinero(ByteBuffer buffer, byte tipo, long centavos) {
+        buffer.putShort((short) 9);
+        buffer.put(tipo);
+        buffer.putLong(centavos);
+    }
+
+    /**
+     * Escribe el texto en UTF-8 precedido de su longitud (u16). Si no cabe en
+     * un mensaje se corta, sin partir ningún carácter de varios bytes
+     */
+    public static void escribirTexto(ByteBuffer buffer, String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        int longitud = Math.min(bytes.length, MAX_MENSAJE - 16);
+        // Retroceder mientras el corte caiga en un byte de continuación (10xxxxxx)
+        while (longitud > 0 && longitud < bytes.length && (bytes[longitud] & 0xC0) == 0x80) {
+            longitud--;
+        }
+        buffer.putShort((short) longitud);
+        buffer.put(bytes, 0, longitud);
+    }
+
+    public static String leerTexto(ByteBuffer buffer) {
+        int longitud = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[longitud];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
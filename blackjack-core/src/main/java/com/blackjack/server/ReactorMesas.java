@@ -0,0 +1,124 @@
+package com.blackjack.server;
+
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hilo con su propio Selector que atiende un subconjunto de las conexiones.
+ * Cada sesión pertenece a un único reactor, así su GameService nunca se
+ * usa desde dos hilos y no necesita sincronización
+ */
+class ReactorMesas implements Runnable {
+
+    private final Selector selector;
+    private final Queue<SocketChannel> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger conexiones;
+    private final ReglasMesa reglas;
+    private volatile boolean activo = true;
+
+    ReactorMesas(AtomicInteger conexiones, ReglasMesa reglas) throws IOException {
+        this.selector = Selector.open();
+        this.conexiones = conexiones;
+        this.reglas = reglas;
+    }
+
+    /**
+     * Entrega una conexión aceptada; se registra desde el hilo del reactor
+     */
+    void asignar(SocketChannel canal) {
+        pendientes.add(canal);
+        selector.wakeup();
+    }
+
+    void detener() {
+        activo = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (activo) {
+                selector.select();
+                registrarPendientes();
+
+                Iterator<SelectionKey> claves = selector.selectedKeys().iterator();
+                while (claves.hasNext()) {
+                    SelectionKey clave = claves.next();
+                    claves.remove();
+                    atender(clave);
+                }
+            }
+        } catch (IOException e) {
+            Logger.logError("Error en el reactor de mesas", e);
+        } finally {
+            cerrarTodo();
+        }
+    }
+
+    private void registrarPendientes() {
+        SocketChannel canal;
+        while ((canal = pendientes.poll()) != null) {
+            try {
+                canal.configureBlocking(false);
+                canal.socket().setTcpNoDelay(true);
+                SelectionKey clave = canal.register(selector, SelectionKey.OP_READ);
+                clave.attach(new SesionRemota(canal, clave, reglas));
+                conexiones.incrementAndGet();
+            } catch (IOException e) {
+                cerrar(canal);
+            }
+        }
+    }
+
+    private void atender(SelectionKey clave) {
+        SesionRemota sesion = (SesionRemota) clave.attachment();
+        boolean abierta;
+
+        try {
+            abierta = true;
+            if (clave.isValid() && clave.isWritable()) {
+                abierta = sesion.escribir();
+            }
+            if (abierta && clave.isValid() && clave.isReadable()) {
+                abierta = sesion.leer();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Mensaje mal formado o conexión reiniciada: se descarta la sesión
+            abierta = false;
+        }
+
+        if (!abierta) {
+            clave.cancel();
+            cerrar((SocketChannel) clave.channel());
+            conexiones.decrementAndGet();
+        }
+    }
+
+    private void cerrarTodo() {
+        for (SelectionKey clave : selector.keys()) {
+            cerrar((SocketChannel) clave.channel());
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            Logger.logError("Error al cerrar el selector", e);
+        }
+    }
+
+    private void cerrar(SocketChannel canal) {
+        try {
+            canal.close();
+        } catch (IOException ignored) {
+            // La conexión ya estaba cerrada
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.blackjack.server;
+
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor TCP que expone las acciones de GameService con el protocolo binario
+ * de {@link Protocolo}. Un hilo acepta conexiones y las reparte entre varios
+ * reactores NIO no bloqueantes, uno por núcleo por defecto.
+ *
+ * Cada conexión ocupa un asiento con su propio GameService y su propio dealer,
+ * ya que el motor de juego modela un único jugador por mesa
+ */
+public class ServidorMesas implements AutoCloseable {
+
+    private final ServerSocketChannel servidor;
+    private final ReactorMesas[] reactores;
+    private final Thread[] hilos;
+    private final AtomicInteger conexiones = new AtomicInteger();
+    private volatile boolean activo = true;
+
+    public ServidorMesas(InetSocketAddress direccion, int numeroReactores, ReglasMesa reglas) throws IOException {
+        this.servidor = ServerSocketChannel.open();
+        servidor.bind(direccion, 4096);
+
+        this.reactores = new ReactorMesas[numeroReactores];
+        this.hilos = new Thread[numeroReactores];
+        for (int i = 0; i < numeroReactores; i++) {
+            reactores[i] = new ReactorMesas(conexiones, reglas);
+            hilos[i] = new Thread(reactores[i], "reactor-mesas-" + i);
+            hilos[i].setDaemon(true);
+            hilos[i].start();
+        }
+    }
+
+    /**
+     * Acepta conexiones en el hilo actual hasta que se cierre el servidor
+     */
+    public void aceptar() {
+        int siguiente = 0;
+
+        while (activo) {
+            try {
+                SocketChannel canal = servidor.accept();
+                reactores[siguiente].asignar(canal);
+                siguiente = (siguiente + 1) % reactores.length;
+            } catch (IOException e) {
+                if (activo) {
+                    Logger.logError("Error al aceptar conexión", e);
+                }
+            }
+        }
+    }
+
+    public int getPuerto() {
+        return servidor.socket().getLocalPort();
+    }
+
+    public int getConexiones() {
+        return conexiones.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        activo = false;
+        servidor.close();
+        for (ReactorMesas reactor : reactores) {
+            reactor.detener();
+        }
+    }
+}
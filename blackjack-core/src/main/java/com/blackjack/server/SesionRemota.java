@@ -0,0 +1,292 @@
+package com.blackjack.server;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.exceptions.GameException;
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Carta;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.services.PreparadorZapatos;
+import com.blackjack.utils.Dinero;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Estado de una conexión en el servidor: su asiento (un GameService propio),
+ * los buffers de entrada y salida y la última vista enviada al cliente.
+ * Los eventos de la mesa marcan qué destinos cambiaron, así cada ESTADO
+ * solo recorre y envía esas manos
+ */
+class SesionRemota implements ObservadorJuego {
+
+    private static final long SALDO_INICIAL = Dinero.desdeUnidades(1000);
+    private static final int MAX_DESTINOS = 16;
+    private static final int MAX_SALIDA_PENDIENTE = 64 * 1024;
+
+    private final SocketChannel canal;
+    private final SelectionKey clave;
+    private final ReglasMesa reglas;
+    private final ByteBuffer entrada = ByteBuffer.allocate(Protocolo.MAX_MENSAJE);
+    private ByteBuffer salida = ByteBuffer.allocate(Protocolo.MAX_MENSAJE);
+
+    private GameService mesa;
+
+    // Última vista enviada: cartas por destino (0 = dealer, 1..n = manos)
+    private final byte[][] cartasEnviadas = new byte[MAX_DESTINOS][];
+    private final int[] longitudEnviada = new int[MAX_DESTINOS];
+    private int destinosEnviados;
+    private int destinosSucios;
+    private boolean saldoSucio;
+
+    SesionRemota(SocketChannel canal, SelectionKey clave, ReglasMesa reglas) {
+        this.canal = canal;
+        this.clave = clave;
+        this.reglas = reglas;
+        for (int i = 0; i < MAX_DESTINOS; i++) {
+            cartasEnviadas[i] = new byte[Protocolo.MAX_MENSAJE / MAX_DESTINOS];
+        }
+    }
+
+    /**
+     * Lee del canal y procesa todos los mensajes completos recibidos
+     *
+     * @return false si el cliente cerró la conexión
+     */
+    boolean leer() throws IOException {
+        int leidos = canal.read(entrada);
+        if (leidos < 0) {
+            return false;
+        }
+
+        entrada.flip();
+        while (entrada.remaining() >= Protocolo.CABECERA) {
+            int longitud = entrada.getShort(entrada.position()) & 0xFFFF;
+            if (longitud == 0 || longitud > Protocolo.MAX_MENSAJE - Protocolo.CABECERA) {
+                throw new IOException("Mensaje con longitud inválida: " + longitud);
+            }
+            if (entrada.remaining() < Protocolo.CABECERA + longitud) {
+                break;
+            }
+
+            entrada.getShort();
+            int fin = entrada.position() + longitud;
+            byte tipo = entrada.get();
+            procesar(tipo, longitud - 1);
+            entrada.position(fin);
+        }
+        entrada.compact();
+
+        if (salida.position() > MAX_SALIDA_PENDIENTE) {
+            throw new IOException("El cliente no consume los mensajes enviados");
+        }
+        return escribir();
+    }
+
+    /**
+     * Vacía el buffer de salida; si el socket no admite todo, se espera a OP_WRITE
+     *
+     * @return false si la conexión ya no es válida
+     */
+    boolean escribir() throws IOException {
+        salida.flip();
+        canal.write(salida);
+        boolean pendiente = salida.hasRemaining();
+        salida.compact();
+
+        if (clave.isValid()) {
+            clave.interestOps(pendiente
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : SelectionKey.OP_READ);
+        }
+        return true;
+    }
+
+    /**
+     * @param carga bytes del mensaje tras el tipo; las lecturas no deben pasar de ahí
+     */
+    private void procesar(byte tipo, int carga) {
+        try {
+            if (tipo == Protocolo.HOLA) {
+                exigirCarga(carga, 2);
+                exigirCarga(carga, 2 + (entrada.getShort(entrada.position()) & 0xFFFF));
+                iniciar(Protocolo.leerTexto(entrada));
+                return;
+            }
+
+            if (mesa == null) {
+                throw new GameException("Debe enviar HOLA antes de jugar");
+            }
+
+            switch (tipo) {
+                case Protocolo.APOSTAR:
+                    exigirCarga(carga, 8);
+                    mesa.realizarApuesta(entrada.getLong());
+                    break;
+                case Protocolo.PEDIR:
+                    mesa.pedir();
+                    break;
+                case Protocolo.PLANTARSE:
+                    mesa.plantarse();
+                    break;
+                case Protocolo.DOBLAR:
+                    mesa.doblar();
+                    break;
+                case Protocolo.DIVIDIR:
+                    mesa.dividir();
+                    break;
+                case Protocolo.NUEVA_RONDA:
+                    mesa.nuevaRonda();
+                    break;
+                default:
+                    throw new GameException("Tipo de mensaje desconocido: " + tipo);
+            }
+
+            empujarEstado();
+
+        } catch (GameException | SaldoInsuficienteException | IllegalArgumentException e) {
+            enviarError(e.getMessage());
+        }
+    }
+
+    private static void exigirCarga(int carga, int necesaria) throws GameException {
+        if (carga < necesaria) {
+            throw new GameException("Mensaje incompleto: se esperaban " + necesaria + " bytes y llegaron " + carga);
+        }
+    }
+
+    @Override
+    public void alEvento(EventoJuego evento) {
+        if (evento instanceof EventoJuego.CartaRepartida e) {
+            marcar(e.mano());
+        } else if (evento instanceof EventoJuego.CartaDealerRevelada) {
+            marcar(EventoJuego.DEALER);
+        } else if (evento instanceof EventoJuego.ManoDividida e) {
+            // La nueva mano desplaza a las siguientes
+            destinosSucios |= -1 << (e.mano() + 1);
+        } else if (evento instanceof EventoJuego.SaldoCambiado) {
+            saldoSucio = true;
+        } else if (evento instanceof EventoJuego.EstadoCambiado e
+                && e.nuevo() != GameService.EstadoJuego.TURNO_DEALER
+                && e.nuevo() != GameService.EstadoJuego.FINALIZADO) {
+            // Nueva ronda o nueva apuesta: las manos se limpiaron
+            destinosSucios = -1;
+        }
+    }
+
+    private void marcar(int mano) {
+        destinosSucios |= 1 << (mano + 1);
+    }
+
+    private void iniciar(String nombre) {
+        Baraja baraja = new Baraja(reglas.getNumeroMazos(), new Random());
+        // Con muchas mesas el barajado compartido evita pausas al cambiar de zapato
+        baraja.usarPreparador(PreparadorZapatos.getInstance());
+        mesa = new GameService(baraja, null, reglas);
+        mesa.suscribir(this);
+        mesa.iniciarJugador(new Jugador(nombre, SALDO_INICIAL));
+        saldoSucio = true;
+
+        asegurarEspacio(16);
+        Protocolo.escribirMensajeDinero(salida, Protocolo.BIENVENIDA,
+                mesa.getJugador().getSaldo());
+        empujarEstado();
+    }
+
+    /**
+     * Envía un mensaje ESTADO con las cartas que cambiaron desde el último envío;
+     * solo se comparan los destinos marcados por los eventos
+     */
+    private void empujarEstado() {
+        asegurarEspacio(Protocolo.MAX_MENSAJE);
+        Jugador jugador = mesa.getJugador();
+        List<Mano> manos = jugador.getManos();
+
+        int inicio = Protocolo.empezarMensaje(salida, Protocolo.ESTADO);
+        salida.put((byte) mesa.getEstadoActual().ordinal());
+        salida.put((byte) jugador.getIndiceManoActual());
+
+        boolean finalizado = mesa.getEstadoActual() == GameService.EstadoJuego.FINALIZADO;
+        int flags = (saldoSucio ? Protocolo.FLAG_SALDO : 0)
+                | (finalizado ? Protocolo.FLAG_RESULTADO : 0);
+        salida.put((byte) flags);
+
+        if ((flags & Protocolo.FLAG_SALDO) != 0) {
+            salida.putLong(jugador.getSaldo());
+            saldoSucio = false;
+        }
+        if ((flags & Protocolo.FLAG_RESULTADO) != 0) {
+            salida.put((byte) mesa.getUltimoResultado().ordinal());
+        }
+
+        int posicionCambios = salida.position();
+        salida.put((byte) 0);
+        int cambios = 0;
+
+        int destinos = Math.min(manos.size() + 1, MAX_DESTINOS);
+        for (int destino = 0; destino < Math.max(destinos, destinosEnviados); destino++) {
+            if ((destinosSucios & (1 << destino)) == 0) {
+                continue;
+            }
+            List<Carta> cartas = destino >= destinos ? List.of()
+                    : destino == 0 ? mesa.getDealer().getMano().getCartas()
+                    : manos.get(destino - 1).getCartas();
+            if (escribirCambio(destino, cartas)) {
+                cambios++;
+            }
+        }
+        destinosEnviados = destinos;
+        destinosSucios = 0;
+
+        salida.put(posicionCambios, (byte) cambios);
+        Protocolo.terminarMensaje(salida, inicio);
+    }
+
+    private boolean escribirCambio(int destino, List<Carta> cartas) {
+        byte[] enviadas = cartasEnviadas[destino];
+        int anterior = longitudEnviada[destino];
+        int longitud = Math.min(cartas.size(), enviadas.length);
+
+        int desde = 0;
+        while (desde < longitud && desde < anterior && enviadas[desde] == Protocolo.ordinal(cartas.get(desde))) {
+            desde++;
+        }
+        if (desde == longitud && longitud == anterior) {
+            return false;
+        }
+
+        salida.put((byte) destino);
+        salida.put((byte) longitud);
+        salida.put((byte) desde);
+        for (int i = desde; i < longitud; i++) {
+            byte ordinal = Protocolo.ordinal(cartas.get(i));
+            enviadas[i] = ordinal;
+            salida.put(ordinal);
+        }
+        longitudEnviada[destino] = longitud;
+        return true;
+    }
+
+    private void enviarError(String mensaje) {
+        asegurarEspacio(Protocolo.MAX_MENSAJE);
+        int inicio = Protocolo.empezarMensaje(salida, Protocolo.ERROR);
+        Protocolo.escribirTexto(salida, mensaje == null ? "" : mensaje);
+        Protocolo.terminarMensaje(salida, inicio);
+    }
+
+    private void asegurarEspacio(int bytes) {
+        if (salida.remaining() < bytes) {
+            ByteBuffer mayor = ByteBuffer.allocate(Math.max(salida.capacity() * 2, salida.position() + bytes));
+            salida.flip();
+            mayor.put(salida);
+            salida = mayor;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.blackjack.services;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Árbol ordenado (treap) de jugadores por puntuación, de mayor a menor y
+ * por id a igual puntuación. Cada nodo guarda el tamaño de su subárbol, de
+ * modo que la posición de una clave se calcula bajando una sola vez:
+ * insertar, quitar y consultar la posición cuestan O(log n) esperado.
+ *
+ * No es seguro entre hilos; {@link ClasificacionJugadores} lo protege
+ */
+final class ArbolPosiciones {
+
+    private static final class Nodo {
+        final long puntuacion;
+        final long id;
+        final int prioridad;
+        int tamano = 1;
+        Nodo izquierdo;
+        Nodo derecho;
+
+        Nodo(long puntuacion, long id, int prioridad) {
+            this.puntuacion = puntuacion;
+            this.id = id;
+            this.prioridad = prioridad;
+        }
+    }
+
+    private final SplittableRandom prioridades = new SplittableRandom(0x5EED);
+    private Nodo raiz;
+
+    int tamano() {
+        return tamano(raiz);
+    }
+
+    void vaciar() {
+        raiz = null;
+    }
+
+    void insertar(long puntuacion, long id) {
+        raiz = insertar(raiz, new Nodo(puntuacion, id, prioridades.nextInt()));
+    }
+
+    void quitar(long puntuacion, long id) {
+        raiz = quitar(raiz, puntuacion, id);
+    }
+
+    /**
+     * Cuántas claves van antes que la dada; su posición empezando en 0
+     */
+    int anteriores(long puntuacion, long id) {
+        int anteriores = 0;
+        Nodo nodo = raiz;
+        while (nodo != null) {
+            int c = comparar(puntuacion, id, nodo);
+            if (c <= 0) {
+                nodo = nodo.izquierdo;
+            } else {
+                anteriores += tamano(nodo.izquierdo) + 1;
+                nodo = nodo.derecho;
+            }
+        }
+        return anteriores;
+    }
+
+    /**
+     * Entrega en orden los ids de las primeras {@code cantidad} claves,
+     * recorriendo solo la parte del árbol que las contiene
+     */
+    void primeros(int cantidad, LongConsumer consumidor) {
+        ArrayDeque<Nodo> pila = new ArrayDeque<>();
+        int entregados = 0;
+        Nodo nodo = raiz;
+        while ((nodo != null || !pila.isEmpty()) && entregados < cantidad) {
+            while (nodo != null) {
+                pila.push(nodo);
+                nodo = nodo.izquierdo;
+            }
+            nodo = pila.pop();
+            consumidor.accept(nodo.id);
+            entregados++;
+            nodo = nodo.derecho;
+        }
+    }
+
+    private static int tamano(Nodo nodo) {
+        return nodo == null ? 0 : nodo.tamano;
+    }
+
+    private static void recalcular(Nodo nodo) {
+        nodo.tamano = tamano(nodo.izquierdo) + tamano(nodo.derecho) + 1;
+    }
+
+    /**
+     * Negativo si la clave va antes que el nodo: más puntuación primero y,
+     * a igualdad, el id menor
+     */
+    private static int comparar(long puntuacion, long id, Nodo nodo) {
+        if (puntuacion != nodo.puntuacion) {
+            return puntuacion > nodo.puntuacion ? -1 : 1;
+        }
+        return Long.compare(id, nodo.id);
+    }
+
+    private static Nodo insertar(Nodo raiz, Nodo nuevo) {
+        if (raiz == null) {
+            return nuevo;
+        }
+        if (nuevo.prioridad > raiz.prioridad) {
+            // El nuevo sube a la raíz de este subárbol: se parte por su clave
+            Nodo[] partes = partir(raiz, nuevo.puntuacion, nuevo.id);
+            nuevo.izquierdo = partes[0];
+            nuevo.derecho = partes[1];
+            recalcular(nuevo);
+            return nuevo;
+        }
+        if (comparar(nuevo.puntuacion, nuevo.id, raiz) < 0) {
+            raiz.izquierdo = insertar(raiz.izquierdo, nuevo);
+        } else {
+            raiz.derecho = insertar(raiz.derecho, nuevo);
+        }
+        recalcular(raiz);
+        return raiz;
+    }
+
+    private static Nodo quitar(Nodo raiz, long puntuacion, long id) {
+        if (raiz == null) {
+            return null;
+        }
+        int c = comparar(puntuacion, id, raiz);
+        if (c == 0) {
+            return unir(raiz.izquierdo, raiz.derecho);
+        }
+        if (c < 0) {
+            raiz.izquierdo = quitar(raiz.izquierdo, puntuacion, id);
+        } else {
+            raiz.derecho = quitar(raiz.derecho, puntuacion, id);
+        }
+        recalcular(raiz);
+        return raiz;
+    }
+
+    /**
+     * Separa las claves anteriores a la dada de las demás
+     */
+    private static Nodo[] partir(Nodo raiz, long puntuacion, long id) {
+        if (raiz == null) {
+            return new Nodo[2];
+        }
+        if (comparar(puntuacion, id, raiz) <= 0) {
+            Nodo[] partes = partir(raiz.izquierdo, puntuacion, id);
+            raiz.izquierdo = partes[1];
+            recalcular(raiz);
+            partes[1] = raiz;
+            return partes;
+        }
+        Nodo[] partes = partir(raiz.derecho, puntuacion, id);
+        raiz.derecho = partes[0];
+        recalcular(raiz);
+        partes[0] = raiz;
+        return partes;
+    }
+
+    /**
+     * Une dos árboles en los que todas las claves de {@code a} van antes que
+     * las de {@code b}
+     */
+    private static Nodo unir(Nodo a, Nodo b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.prioridad > b.prioridad) {
+            a.derecho = unir(a.derecho, b);
+            recalcular(a);
+            return a;
+        }
+        b.izquierdo = unir(a, b.izquierdo);
+        recalcular(b);
+        return b;
+    }
+}
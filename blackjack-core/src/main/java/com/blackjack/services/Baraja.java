@@ -0,0 +1,268 @@
+package com.blackjack.services;
+
+import com.blackjack.models.Carta;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Servicio para gestionar la baraja de cartas
+ * Principio DIP: Depende de abstracciones, no de concreciones
+ *
+ * Cada zapato se baraja con su propia semilla, sacada del generador de la
+ * baraja al cambiar de zapato. Así la secuencia de cartas es la misma tanto
+ * si el zapato se baraja en el momento como si lo preparó antes un
+ * {@link PreparadorZapatos}.
+ *
+ * En modo de barajado continuo las cartas repartidas vuelven al zapato al
+ * empezar cada ronda, cada una a una posición al azar
+ */
+public class Baraja {
+
+    private List<Carta> cartas;
+    private Random random;
+    private final int numeroMazos;
+    private final RastreadorComposicion rastreador;
+    private long semilla;
+    private boolean semillaConocida;
+    private int cartasCorte;
+    private PreparadorZapatos preparador;
+    private CompletableFuture<List<Carta>> siguienteZapato;
+    private long semillaSiguiente;
+    private long semillaZapato;
+    private boolean continuo;
+    private final List<Carta> descartes = new ArrayList<>();
+    private SplittableRandom posiciones;
+    private Carta oculta;
+
+    public Baraja() {
+        this(new Random());
+    }
+
+    /**
+     * Permite inyectar el generador aleatorio, por ejemplo uno con semilla
+     * fija para simulaciones reproducibles
+     */
+    public Baraja(Random random) {
+        this(1, random);
+    }
+
+    /**
+     * Zapato de varios mazos, según las reglas de la mesa
+     */
+    public Baraja(int numeroMazos, Random random) {
+        this.numeroMazos = numeroMazos;
+        this.random = random;
+        this.rastreador = new RastreadorComposicion(numeroMazos);
+        inicializarBaraja();
+    }
+
+    /**
+     * Zapato con un generador de semilla conocida, de modo que la secuencia
+     * de cartas se puede reproducir
+     */
+    public Baraja(int numeroMazos, long semilla) {
+        this(numeroMazos, new Random(semilla));
+        this.semilla = semilla;
+        this.semillaConocida = true;
+    }
+
+    /**
+     * Zapato completo barajado con una semilla; puede llamarse desde
+     * cualquier hilo
+     */
+    static List<Carta> construirZapato(int numeroMazos, long semilla) {
+        List<Carta> zapato = new ArrayList<>(numeroMazos * 52);
+
+        for (int mazo = 0; mazo < numeroMazos; mazo++) {
+            for (Carta.Palo palo : Carta.Palo.values()) {
+                for (Carta.Valor valor : Carta.Valor.values()) {
+                    zapato.add(new Carta(palo, valor));
+                }
+            }
+        }
+
+        Collections.shuffle(zapato, new Random(semilla));
+        return zapato;
+    }
+
+    private void inicializarBaraja() {
+        if (siguienteZapato != null) {
+            if (!siguienteZapato.isDone()) {
+                preparador.registrarEspera();
+            }
+            cartas = siguienteZapato.join();
+            semillaZapato = semillaSiguiente;
+            siguienteZapato = null;
+        } else {
+            semillaZapato = random.nextLong();
+            cartas = construirZapato(numeroMazos, semillaZapato);
+        }
+
+        if (preparador != null) {
+            encargarSiguiente();
+        }
+        if (continuo) {
+            posiciones = new SplittableRandom(semillaZapato);
+        }
+        descartes.clear();
+        oculta = null;
+        rastreador.reiniciar();
+    }
+
+    private void encargarSiguiente() {
+        semillaSiguiente = random.nextLong();
+        siguienteZapato = preparador.preparar(numeroMazos, semillaSiguiente);
+    }
+
+    /**
+     * Baraja en segundo plano el siguiente zapato mientras se reparte el
+     * actual. No cambia las cartas que se reparten, solo cuándo se barajan
+     */
+    public void usarPreparador(PreparadorZapatos preparador) {
+        this.preparador = preparador;
+        if (siguienteZapato == null) {
+            encargarSiguiente();
+        }
+    }
+
+    /**
+     * Activa el barajado continuo, como en las mesas con máquina barajadora.
+     * Debe fijarse antes de repartir la primera carta. Las posiciones de
+     * reinserción salen de un generador propio sembrado con la semilla del
+     * zapato, así que el modo no altera las semillas de los zapatos
+     */
+    public void setBarajadoContinuo(boolean continuo) {
+        this.continuo = continuo;
+        this.posiciones = continuo ? new SplittableRandom(semillaZapato) : null;
+    }
+
+    public boolean isBarajadoContinuo() {
+        return continuo;
+    }
+
+    /**
+     * Fija la carta de corte: al empezar una ronda con menos cartas de las
+     * que deja la penetración se pasa al siguiente zapato. Con 1 el zapato
+     * se reparte hasta agotarse, aunque sea en mitad de una mano
+     */
+    public void setPenetracion(double penetracion) {
+        this.cartasCorte = (int) Math.round(numeroMazos * 52 * (1 - penetracion));
+    }
+
+    /**
+     * Vuelve a mezclar las cartas que quedan en el zapato
+     */
+    public void barajar() {
+        Collections.shuffle(cartas, random);
+    }
+
+    /**
+     * Llamado al empezar cada ronda: con barajado continuo devuelve los
+     * descartes al zapato; si no, cambia de zapato si se pasó el corte
+     */
+    public void nuevaRonda() {
+        if (continuo) {
+            devolverDescartes();
+        } else if (cartas.size() <= cartasCorte) {
+            inicializarBaraja();
+        }
+    }
+
+    /**
+     * Cada carta se añade al final y se intercambia con una posición al azar
+     * del zapato (un paso de Fisher-Yates hacia dentro). El zapato sigue
+     * siendo una permutación uniforme y el coste es O(1) por carta, sin
+     * importar cuántos mazos tenga
+     */
+    private void devolverDescartes() {
+        for (int i = 0; i < descartes.size(); i++) {
+            Carta carta = descartes.get(i);
+            int ultima = cartas.size();
+            cartas.add(carta);
+            int posicion = posiciones.nextInt(ultima + 1);
+            cartas.set(ultima, cartas.get(posicion));
+            cartas.set(posicion, carta);
+        }
+        descartes.clear();
+        oculta = null;
+        rastreador.reiniciar();
+    }
+
+    public Carta sacarCarta() {
+        Carta carta = extraer();
+        rastreador.registrar(carta);
+        return carta;
+    }
+
+    /**
+     * Saca la carta tapada del dealer. No entra en la composición ni en las
+     * cuentas hasta que se llame a {@link #descubrirOculta()}: quien cuenta
+     * cartas no la ve mientras el jugador decide
+     */
+    public Carta sacarCartaOculta() {
+        Carta carta = extraer();
+        oculta = carta;
+        return carta;
+    }
+
+    /**
+     * Cuenta la carta tapada pendiente, si la hay. Si el zapato se cambió
+     * desde que se repartió, la carta era del anterior y no se cuenta
+     */
+    public void descubrirOculta() {
+        if (oculta != null) {
+            rastreador.registrar(oculta);
+            oculta = null;
+        }
+    }
+
+    private Carta extraer() {
+        if (cartas.isEmpty()) {
+            inicializarBaraja();
+        }
+        Carta carta = cartas.remove(cartas.size() - 1);
+        if (continuo) {
+            descartes.add(carta);
+        }
+        return carta;
+    }
+
+    public int cartasRestantes() {
+        return cartas.size();
+    }
+
+    /**
+     * Composición y conteo del zapato, legible desde otros hilos
+     */
+    public RastreadorComposicion getRastreador() {
+        return rastreador;
+    }
+
+    public long getSemilla() {
+        if (!semillaConocida) {
+            throw new IllegalStateException("La baraja se creó sin semilla conocida");
+        }
+        return semilla;
+    }
+
+    public int getNumeroMazos() {
+        return numeroMazos;
+    }
+
+    public void reiniciar() {
+        inicializarBaraja();
+    }
+
+    /**
+     * Reconstruye y baraja el mazo completo a partir de una semilla, de modo
+     * que distintas mesas con la misma semilla reciben las mismas cartas
+     */
+    public void reiniciar(long semilla) {
+        random.setSeed(semilla);
+        this.semilla = semilla;
+        this.semillaConocida = true;
+        // El zapato encargado se barajó con la semilla anterior
+        siguienteZapato = null;
+        inicializarBaraja();
+    }
+}
@@ -0,0 +1,166 @@
+package com.blackjack.services;
+
+import com.blackjack.database.DatabaseManager;
+import com.blackjack.utils.Logger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Clasificación en vivo de todos los jugadores por saldo y por ganancia
+ * neta. Se mantiene en memoria en dos {@link ArbolPosiciones} que la mesa
+ * actualiza cada vez que guarda un saldo; los mejores K y la posición de un
+ * jugador se responden en O(log n) (más K) sin consultar SQLite.
+ *
+ * Al arrancar se reconstruye desde la base de datos en una sola pasada.
+ * Varias lecturas pueden ir a la vez; las actualizaciones son exclusivas
+ */
+public class ClasificacionJugadores {
+
+    private static ClasificacionJugadores instance;
+
+    public enum Criterio {
+        SALDO, NETO
+    }
+
+    /**
+     * Posición empezando en 1
+     */
+    public record Puesto(int posicion, long jugadorId, String nombre, long puntuacion) {
+    }
+
+    private static final class Registro {
+        final String nombre;
+        long saldo;
+        long neto;
+
+        Registro(String nombre, long saldo, long neto) {
+            this.nombre = nombre;
+            this.saldo = saldo;
+            this.neto = neto;
+        }
+
+        long puntuacion(Criterio criterio) {
+            return criterio == Criterio.SALDO ? saldo : neto;
+        }
+    }
+
+    private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+    private final Map<Long, Registro> registros = new HashMap<>();
+    private final ArbolPosiciones porSaldo = new ArbolPosiciones();
+    private final ArbolPosiciones porNeto = new ArbolPosiciones();
+
+    /**
+     * Clasificación independiente de la compartida, vacía
+     */
+    public ClasificacionJugadores() {
+    }
+
+    public static synchronized ClasificacionJugadores getInstance() {
+        if (instance == null) {
+            instance = new ClasificacionJugadores();
+        }
+        return instance;
+    }
+
+    /**
+     * Vacía la clasificación y la vuelve a llenar con todos los jugadores
+     * guardados, leyéndolos una sola vez
+     */
+    public void reconstruir(DatabaseManager dbManager) {
+        cerrojo.writeLock().lock();
+        try {
+            registros.clear();
+            porSaldo.vaciar();
+            porNeto.vaciar();
+            long inicio = System.nanoTime();
+            dbManager.recorrerJugadores(this::insertar);
+            Logger.log(String.format("Clasificación reconstruida: %d jugadores en %.1f ms",
+                    registros.size(), (System.nanoTime() - inicio) / 1e6));
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Coloca al jugador según su saldo y neto actuales, dándolo de alta si
+     * no estaba
+     */
+    public void actualizar(long jugadorId, String nombre, long saldo, long neto) {
+        cerrojo.writeLock().lock();
+        try {
+            Registro registro = registros.get(jugadorId);
+            if (registro == null) {
+                insertar(jugadorId, nombre, saldo, neto);
+                return;
+            }
+            if (registro.saldo != saldo) {
+                porSaldo.quitar(registro.saldo, jugadorId);
+                porSaldo.insertar(saldo, jugadorId);
+                registro.saldo = saldo;
+            }
+            if (registro.neto != neto) {
+                porNeto.quitar(registro.neto, jugadorId);
+                porNeto.insertar(neto, jugadorId);
+                registro.neto = neto;
+            }
+        } finally {
+            cerrojo.writeLock().unlock();
+        }
+    }
+
+    private void insertar(long jugadorId, String nombre, long saldo, long neto) {
+        registros.put(jugadorId, new Registro(nombre, saldo, neto));
+        porSaldo.insertar(saldo, jugadorId);
+        porNeto.insertar(neto, jugadorId);
+    }
+
+    /**
+     * Los {@code cantidad} primeros según el criterio, de mejor a peor. A
+     * igual puntuación va antes el jugador más antiguo (id menor)
+     */
+    public List<Puesto> mejores(Criterio criterio, int cantidad) {
+        cerrojo.readLock().lock();
+        try {
+            List<Puesto> puestos = new ArrayList<>(Math.min(cantidad, registros.size()));
+            arbol(criterio).primeros(cantidad, id -> {
+                Registro registro = registros.get(id);
+                puestos.add(new Puesto(puestos.size() + 1, id, registro.nombre, registro.puntuacion(criterio)));
+            });
+            return puestos;
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public Optional<Puesto> posicion(Criterio criterio, long jugadorId) {
+        cerrojo.readLock().lock();
+        try {
+            Registro registro = registros.get(jugadorId);
+            if (registro == null) {
+                return Optional.empty();
+            }
+            long puntuacion = registro.puntuacion(criterio);
+            int anteriores = arbol(criterio).anteriores(puntuacion, jugadorId);
+            return Optional.of(new Puesto(anteriores + 1, jugadorId, registro.nombre, puntuacion));
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    public int getJugadores() {
+        cerrojo.readLock().lock();
+        try {
+            return registros.size();
+        } finally {
+            cerrojo.readLock().unlock();
+        }
+    }
+
+    private ArbolPosiciones arbol(Criterio criterio) {
+        return criterio == Criterio.SALDO ? porSaldo : porNeto;
+    }
+}
@@ -0,0 +1,861 @@
+package com.blackjack.services;
+
+import com.blackjack.models.*;
+import com.blackjack.exceptions.*;
+import com.blackjack.database.DatabaseManager;
+import com.blackjack.events.DespachadorEventos;
+import com.blackjack.events.EventoJuego;
+import com.blackjack.events.ObservadorJuego;
+import com.blackjack.rules.ReglasCompiladas;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.sidebets.EvaluadorLaterales;
+import com.blackjack.sidebets.ResultadoLateral;
+import com.blackjack.strategies.Accion;
+import com.blackjack.utils.Dinero;
+import com.blackjack.utils.Logger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Servicio principal que gestiona la lógica del juego
+ * Implementa el patrón Facade para simplificar la interacción
+ */
+public class GameService {
+
+    private static GameService instance;
+
+    // Se recorren los tipos en lugar de entrySet(), que en un EnumMap crea una entrada por elemento
+    private static final ApuestaLateral[] TIPOS_LATERALES = ApuestaLateral.values();
+
+    // Rondas que se acumulan en memoria antes de guardar las estadísticas
+    private static final int LOTE_ESTADISTICAS = 50;
+    // Rondas de una ráfaga que se acumulan antes de guardar saldo, historial y estadísticas
+    private static final int LOTE_RAFAGA = 500;
+    // Apuestas que se descuentan juntas en la base de datos durante una ráfaga
+    private static final int RESERVA_RAFAGA = 100;
+
+    private Jugador jugador;
+    private Dealer dealer;
+    private Baraja baraja;
+    private EstadoJuego estadoActual;
+    private DatabaseManager dbManager;
+    private final ReglasCompiladas reglas;
+    private ResultadoRonda ultimoResultado;
+    private long saldoInicioRonda;
+    private EstadisticasJugador estadisticas = new EstadisticasJugador();
+    // Copia de las estadísticas tal como se guardaron por última vez
+    private EstadisticasJugador estadisticasGuardadas = new EstadisticasJugador();
+    private int rondasSinGuardar;
+    private boolean enRafaga;
+    // Dinero ya descontado en la base de datos que todavía no se apostó
+    private long fondoRafaga;
+    private final List<DatabaseManager.Partida> partidasPendientes = new ArrayList<>();
+    private int dobladasRonda;
+    private int divisionesRonda;
+    private final DespachadorEventos eventos = new DespachadorEventos();
+    private final Map<ApuestaLateral, Long> lateralesPendientes = new EnumMap<>(ApuestaLateral.class);
+    private final List<ResultadoLateral> resultadosLaterales = new ArrayList<>();
+
+    public enum EstadoJuego {
+        ESPERANDO_APUESTA,
+        JUGANDO,
+        TURNO_DEALER,
+        FINALIZADO
+    }
+
+    /**
+     * Crea una mesa independiente de la instancia compartida por la interfaz.
+     * Con dbManager nulo la mesa no persiste nada (simulaciones, CLI)
+     */
+    public GameService(Baraja baraja, DatabaseManager dbManager) {
+        this(baraja, dbManager, ReglasMesa.porDefecto());
+    }
+
+    /**
+     * Mesa con reglas propias; la baraja debe tener el número de mazos que
+     * indican las reglas
+     */
+    public GameService(Baraja baraja, DatabaseManager dbManager, ReglasMesa reglas) {
+        this.reglas = reglas.compilar();
+        this.baraja = baraja;
+        this.baraja.setPenetracion(reglas.getPenetracion());
+        this.baraja.setBarajadoContinuo(reglas.isBarajadoContinuo());
+        this.dealer = new Dealer();
+        this.dbManager = dbManager;
+        this.estadoActual = EstadoJuego.ESPERANDO_APUESTA;
+    }
+
+    public static GameService getInstance() {
+        if (instance == null) {
+            // Semilla conocida para poder reproducir la sesión desde su diario
+            Baraja baraja = new Baraja(1, new Random().nextLong());
+            baraja.usarPreparador(PreparadorZapatos.getInstance());
+            instance = new GameService(baraja, DatabaseManager.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * Suscribe un observador a los eventos de esta mesa
+     */
+    public void suscribir(ObservadorJuego observador) {
+        eventos.suscribir(observador);
+    }
+
+    public void desuscribir(ObservadorJuego observador) {
+        eventos.desuscribir(observador);
+    }
+
+    public void iniciarJugador(String nombre) throws GameException {
+        try {
+            // Lo pendiente del jugador anterior se guarda antes de cambiar
+            terminarRafaga();
+            guardarEstadisticas();
+
+            // Buscar jugador en la base de datos o crear uno nuevo
+            jugador = dbManager.obtenerJugador(nombre);
+
+            if (jugador == null) {
+                jugador = new Jugador(nombre, Dinero.desdeUnidades(1000)); // Saldo inicial
+                dbManager.guardarJugador(jugador);
+            }
+            estadisticas = new EstadisticasJugador();
+            if (jugador.getId() != null) {
+                estadisticas = dbManager.obtenerEstadisticas(jugador.getId());
+                estadisticasGuardadas = estadisticas.copiar();
+                ClasificacionJugadores.getInstance().actualizar(jugador.getId(), jugador.getNombre(),
+                        jugador.getSaldo(), estadisticas.getNeto());
+            }
+
+            Logger.log("Jugador iniciado: " + nombre + " - Saldo: $" + Dinero.formatear(jugador.getSaldo()));
+            publicarJugadorIniciado();
+
+        } catch (Exception e) {
+            Logger.logError("Error al iniciar jugador", e);
+            throw new GameException("Error al cargar datos del jugador", e);
+        }
+    }
+
+    /**
+     * Sienta a un jugador ya construido sin pasar por la base de datos
+     */
+    public void iniciarJugador(Jugador jugador) {
+        terminarRafaga();
+        guardarEstadisticas();
+        this.jugador = jugador;
+        this.estadisticas = new EstadisticasJugador();
+        this.estadisticasGuardadas = new EstadisticasJugador();
+        cambiarEstado(EstadoJuego.ESPERANDO_APUESTA);
+        publicarJugadorIniciado();
+        Logger.log("Jugador iniciado: " + jugador.getNombre() + " - Saldo: $" + Dinero.formatear(jugador.getSaldo()));
+    }
+
+    public void realizarApuesta(long cantidad) throws SaldoInsuficienteException, GameException {
+        realizarApuesta(cantidad, Collections.emptyMap());
+    }
+
+    /**
+     * Apuesta principal más apuestas laterales, que se resuelven con las
+     * primeras cartas. Cada lateral debe ser positiva y no superar la
+     * apuesta principal
+     */
+    public void realizarApuesta(long cantidad, Map<ApuestaLateral, Long> laterales)
+            throws SaldoInsuficienteException, GameException {
+        if (estadoActual != EstadoJuego.ESPERANDO_APUESTA) {
+            throw new GameException("No es momento de apostar");
+        }
+
+        if (cantidad < reglas.getApuestaMinima() || cantidad > reglas.getApuestaMaxima()) {
+            throw new GameException("La apuesta debe estar entre $" + Dinero.formatear(reglas.getApuestaMinima())
+                    + " y $" + Dinero.formatear(reglas.getApuestaMaxima()));
+        }
+
+        long total = cantidad;
+        for (ApuestaLateral tipo : TIPOS_LATERALES) {
+            Long lateral = laterales.get(tipo);
+            if (lateral == null) {
+                continue;
+            }
+            if (lateral <= 0 || lateral > cantidad) {
+                throw new GameException("La apuesta lateral " + tipo.getCodigo()
+                        + " debe ser positiva y no superar la apuesta principal");
+            }
+            total += lateral;
+        }
+        if (total > jugador.getSaldo()) {
+            throw new SaldoInsuficienteException("Saldo insuficiente. Saldo actual: $" + Dinero.formatear(jugador.getSaldo()));
+        }
+
+        reservar(total);
+
+        // Limpiar manos anteriores antes de apostar, para que la apuesta
+        // quede en la mano que se va a jugar
+        jugador.reiniciarManos();
+        dealer.reiniciarMano();
+
+        saldoInicioRonda = jugador.getSaldo();
+        dobladasRonda = 0;
+        divisionesRonda = 0;
+        jugador.apostar(cantidad);
+        resultadosLaterales.clear();
+        lateralesPendientes.clear();
+        for (ApuestaLateral tipo : TIPOS_LATERALES) {
+            Long lateral = laterales.get(tipo);
+            if (lateral != null) {
+                jugador.apostarLateral(lateral);
+                lateralesPendientes.put(tipo, lateral);
+            }
+        }
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.ApuestaRealizada(cantidad,
+                    laterales.isEmpty() ? Map.of()
+                            : Collections.unmodifiableMap(new EnumMap<>(lateralesPendientes)), saldoInicioRonda));
+        }
+        publicarSaldo(saldoInicioRonda);
+        cambiarEstado(EstadoJuego.JUGANDO);
+
+        // Repartir cartas iniciales
+        repartirCartasIniciales();
+
+        // Con el log desactivado no se construye el mensaje
+        if (Logger.isActivo()) {
+            Logger.log("Apuesta realizada: $" + Dinero.formatear(cantidad));
+        }
+    }
+
+    private void repartirCartasIniciales() {
+        // Repartir 2 cartas al jugador
+        repartir(jugador.getManoActual(), 0, false);
+        repartir(jugador.getManoActual(), 0, false);
+
+        // Repartir 2 cartas al dealer (una boca abajo)
+        repartir(dealer.getMano(), EventoJuego.DEALER, false);
+        repartir(dealer.getMano(), EventoJuego.DEALER, true);
+
+        if (!lateralesPendientes.isEmpty()) {
+            liquidarLaterales();
+        }
+
+        // Verificar blackjack inmediato
+        verificarBlackjackInicial();
+    }
+
+    private void liquidarLaterales() {
+        Mano mano = jugador.getManoActual();
+        Carta visible = dealer.getCartaVisible();
+        boolean dealerBlackjack = dealer.getMano().esBlackjack();
+
+        for (ApuestaLateral tipo : TIPOS_LATERALES) {
+            Long lateral = lateralesPendientes.get(tipo);
+            if (lateral == null) {
+                continue;
+            }
+            int pago = EvaluadorLaterales.pago(tipo, mano.getCarta(0), mano.getCarta(1),
+                    visible, dealerBlackjack);
+            resultadosLaterales.add(new ResultadoLateral(tipo, lateral, pago));
+            if (pago > 0) {
+                pagar(EvaluadorLaterales.retorno(lateral, pago));
+            }
+        }
+        lateralesPendientes.clear();
+    }
+
+    private void verificarBlackjackInicial() {
+        boolean jugadorBlackjack = jugador.getManoActual().esBlackjack();
+        boolean dealerBlackjack = dealer.getMano().esBlackjack();
+
+        if (jugadorBlackjack && dealerBlackjack) {
+            // Empate: se devuelve la apuesta
+            revelarCartaDealer();
+            pagar(jugador.getManoActual().getApuesta());
+            finalizarRonda(ResultadoRonda.EMPATE);
+        } else if (jugadorBlackjack) {
+            // Jugador gana con blackjack (3:2 o lo que indique la mesa)
+            revelarCartaDealer();
+            pagar(reglas.retornoBlackjack(jugador.getManoActual().getApuesta()));
+            finalizarRonda(ResultadoRonda.BLACKJACK);
+        } else if (dealerBlackjack) {
+            // Dealer gana con blackjack
+            revelarCartaDealer();
+            finalizarRonda(ResultadoRonda.PIERDE);
+        }
+    }
+
+    public void pedir() throws GameException {
+        if (estadoActual != EstadoJuego.JUGANDO) {
+            throw new GameException("No puedes pedir carta en este momento");
+        }
+
+        Mano manoActual = jugador.getManoActual();
+
+        if (manoActual.isPlantado()) {
+            throw new GameException("Esta mano ya está plantada");
+        }
+
+        int indiceMano = jugador.getIndiceManoActual();
+        publicarAccion(indiceMano, Accion.PEDIR);
+        repartir(manoActual, indiceMano, false);
+
+        if (manoActual.esBusted()) {
+            manoActual.setPlantado(true);
+            publicarManoPasada(manoActual, indiceMano);
+
+            if (jugador.tieneSiguienteMano()) {
+                jugador.siguienteMano();
+            } else {
+                // Todas las manos del jugador terminadas
+                if (todasLasManoBusted()) {
+                    finalizarRonda(ResultadoRonda.PIERDE);
+                } else {
+                    turnoDealer();
+                }
+            }
+        }
+
+        if (Logger.isActivo()) {
+            Logger.log("Carta pedida. Valor actual: " + manoActual.calcularValor());
+        }
+    }
+
+    public void plantarse() throws GameException {
+        if (estadoActual != EstadoJuego.JUGANDO) {
+            throw new GameException("No puedes plantarte en este momento");
+        }
+
+        Mano manoActual = jugador.getManoActual();
+        publicarAccion(jugador.getIndiceManoActual(), Accion.PLANTARSE);
+        manoActual.setPlantado(true);
+
+        if (jugador.tieneSiguienteMano()) {
+            jugador.siguienteMano();
+        } else {
+            turnoDealer();
+        }
+
+        if (Logger.isActivo()) {
+            Logger.log("Jugador se planta con: " + manoActual.calcularValor());
+        }
+    }
+
+    public void doblar() throws SaldoInsuficienteException, GameException {
+        if (estadoActual != EstadoJuego.JUGANDO) {
+            throw new GameException("No puedes doblar en este momento");
+        }
+
+        Mano manoActual = jugador.getManoActual();
+
+        if (!reglas.puedeDoblar(manoActual)) {
+            throw new GameException("Las reglas de la mesa no permiten doblar esta mano");
+        }
+
+        reservar(manoActual.getApuesta());
+        long saldoAnterior = jugador.getSaldo();
+        jugador.doblarApuesta();
+        dobladasRonda++;
+        int indiceMano = jugador.getIndiceManoActual();
+        publicarAccion(indiceMano, Accion.DOBLAR);
+        publicarSaldo(saldoAnterior);
+
+        repartir(manoActual, indiceMano, false);
+        manoActual.setPlantado(true);
+
+        if (manoActual.esBusted()) {
+            publicarManoPasada(manoActual, indiceMano);
+            if (jugador.tieneSiguienteMano()) {
+                jugador.siguienteMano();
+            } else if (todasLasManoBusted()) {
+                finalizarRonda(ResultadoRonda.PIERDE);
+            } else {
+                turnoDealer();
+            }
+        } else {
+            if (jugador.tieneSiguienteMano()) {
+                jugador.siguienteMano();
+            } else {
+                turnoDealer();
+            }
+        }
+
+        if (Logger.isActivo()) {
+            Logger.log("Apuesta doblada. Nueva apuesta: $" + Dinero.formatear(manoActual.getApuesta()));
+        }
+    }
+
+    public void dividir() throws SaldoInsuficienteException, GameException {
+        if (estadoActual != EstadoJuego.JUGANDO) {
+            throw new GameException("No puedes dividir en este momento");
+        }
+
+        Mano manoActual = jugador.getManoActual();
+
+        if (!reglas.puedeDividir(manoActual, jugador.getManos().size())) {
+            throw new GameException("No puedes dividir esta mano");
+        }
+
+        reservar(manoActual.getApuesta());
+        long saldoAnterior = jugador.getSaldo();
+        jugador.dividirMano();
+        divisionesRonda++;
+        int indiceMano = jugador.getIndiceManoActual();
+        publicarAccion(indiceMano, Accion.DIVIDIR);
+        publicarSaldo(saldoAnterior);
+
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.ManoDividida(indiceMano));
+        }
+
+        // Dar una carta adicional a cada mano dividida
+        repartir(jugador.getManoActual(), indiceMano, false);
+        repartir(jugador.getManos().get(indiceMano + 1), indiceMano + 1, false);
+
+        Logger.log("Mano dividida");
+    }
+
+    private void turnoDealer() {
+        cambiarEstado(EstadoJuego.TURNO_DEALER);
+        revelarCartaDealer();
+
+        // El dealer pide hasta 17 (o 17 suave, según la mesa)
+        while (dealer.debeTomarCarta(reglas)) {
+            repartir(dealer.getMano(), EventoJuego.DEALER, false);
+        }
+
+        evaluarResultados();
+    }
+
+    private void revelarCartaDealer() {
+        baraja.descubrirOculta();
+        List<Carta> cartas = dealer.getMano().getCartas();
+        for (int i = 0; i < cartas.size(); i++) {
+            Carta carta = cartas.get(i);
+            if (carta.isBocaAbajo()) {
+                carta.setBocaAbajo(false);
+                if (eventos.hayObservadores()) {
+                    eventos.publicar(new EventoJuego.CartaDealerRevelada(i, carta));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saca una carta de la baraja, la agrega a la mano y publica el evento
+     */
+    private void repartir(Mano mano, int indiceMano, boolean bocaAbajo) {
+        Carta carta = bocaAbajo ? baraja.sacarCartaOculta() : baraja.sacarCarta();
+        carta.setBocaAbajo(bocaAbajo);
+        mano.agregarCarta(carta);
+
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.CartaRepartida(indiceMano, mano.getCantidadCartas() - 1, carta));
+        }
+    }
+
+    private void pagar(long cantidad) {
+        long saldoAnterior = jugador.getSaldo();
+        jugador.recibirGanancia(cantidad);
+        publicarSaldo(saldoAnterior);
+    }
+
+    private void publicarSaldo(long saldoAnterior) {
+        if (eventos.hayObservadores() && saldoAnterior != jugador.getSaldo()) {
+            eventos.publicar(new EventoJuego.SaldoCambiado(saldoAnterior, jugador.getSaldo()));
+        }
+    }
+
+    private void publicarJugadorIniciado() {
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.JugadorIniciado(jugador.getNombre(), jugador.getSaldo()));
+        }
+    }
+
+    private void publicarAccion(int indiceMano, Accion accion) {
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.AccionJugador(indiceMano, accion));
+        }
+    }
+
+    private void publicarManoPasada(Mano mano, int indiceMano) {
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.ManoPasada(indiceMano, mano.calcularValor()));
+        }
+    }
+
+    private void cambiarEstado(EstadoJuego nuevo) {
+        EstadoJuego anterior = estadoActual;
+        estadoActual = nuevo;
+
+        if (anterior != nuevo && eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.EstadoCambiado(anterior, nuevo));
+        }
+    }
+
+    private void evaluarResultados() {
+        int valorDealer = dealer.getMano().calcularValor();
+        boolean dealerBusted = dealer.getMano().esBusted();
+
+        long gananciasTotal = 0;
+
+        for (Mano mano : jugador.getManos()) {
+            if (mano.esBusted()) {
+                // Jugador pierde esta mano
+                continue;
+            }
+
+            int valorJugador = mano.calcularValor();
+            long apuesta = mano.getApuesta();
+
+            if (dealerBusted || valorJugador > valorDealer) {
+                // Jugador gana
+                if (mano.esBlackjack()) {
+                    gananciasTotal += reglas.retornoBlackjack(apuesta);
+                } else {
+                    gananciasTotal += apuesta * 2; // Pago 1:1 normal
+                }
+            } else if (valorJugador == valorDealer) {
+                // Empate
+                gananciasTotal += apuesta; // Devolver apuesta
+            }
+            // Si pierde, no recibe nada
+        }
+
+        if (gananciasTotal > 0) {
+            pagar(gananciasTotal);
+
+            long gananciaLimpia = gananciasTotal - getTotalApostado();
+            if (gananciaLimpia > 0) {
+                finalizarRonda(ResultadoRonda.GANA);
+            } else if (gananciaLimpia == 0) {
+                finalizarRonda(ResultadoRonda.EMPATE);
+            } else {
+                finalizarRonda(ResultadoRonda.PIERDE);
+            }
+        } else {
+            finalizarRonda(ResultadoRonda.PIERDE);
+        }
+    }
+
+    /**
+     * Descuenta la cantidad en la base de datos antes de apostarla, para
+     * que otra sesión del mismo jugador no pueda gastar ese mismo dinero. El
+     * descuento en el modelo lo hace después la propia apuesta. Si otra
+     * sesión cambió el saldo, el jugador se queda con el de la base de
+     * datos; si allí no alcanza, o no se pudo guardar, la apuesta no se hace.
+     *
+     * En una ráfaga se descuentan {@link #RESERVA_RAFAGA} apuestas de una
+     * vez y las siguientes salen de ese fondo sin tocar la base de datos
+     */
+    private void reservar(long cantidad) throws SaldoInsuficienteException, GameException {
+        // Sin saldo local la propia apuesta rechaza la jugada
+        if (dbManager == null || jugador.getId() == null || cantidad > jugador.getSaldo()) {
+            return;
+        }
+        if (cantidad <= fondoRafaga) {
+            fondoRafaga -= cantidad;
+            return;
+        }
+        long reserva = enRafaga ? Math.min(jugador.getSaldo(), cantidad * RESERVA_RAFAGA) : cantidad;
+        DatabaseManager.ResultadoSaldo resultado = guardarReservando(reserva);
+        if (resultado == DatabaseManager.ResultadoSaldo.RECHAZADO && reserva > cantidad
+                && cantidad <= jugador.getSaldo()) {
+            // Otra sesión gastó parte del saldo: el fondo no cabe, pero la apuesta quizá sí
+            resultado = guardarReservando(cantidad);
+        }
+        if (resultado == DatabaseManager.ResultadoSaldo.ERROR) {
+            throw new GameException("No se pudo reservar la apuesta en la base de datos");
+        }
+        if (resultado == DatabaseManager.ResultadoSaldo.RECHAZADO) {
+            throw new SaldoInsuficienteException("Saldo insuficiente: el saldo cambió en otra sesión. Saldo actual: $"
+                    + Dinero.formatear(jugador.getSaldo()));
+        }
+        fondoRafaga -= cantidad;
+    }
+
+    /**
+     * Guarda el saldo tras liquidar la ronda; las ganancias ya están en el
+     * jugador, así que solo puede sumar. En una ráfaga el fondo reservado
+     * sigue descontado en la base de datos
+     */
+    private void guardarSaldo() {
+        long saldo = jugador.getSaldo();
+        DatabaseManager.ResultadoSaldo resultado = guardarReservando(fondoRafaga);
+        if (resultado == DatabaseManager.ResultadoSaldo.ERROR) {
+            Logger.log("Saldo de " + jugador.getNombre() + " sin guardar; se enviará con el siguiente cambio");
+            if (eventos.hayObservadores()) {
+                eventos.publicar(new EventoJuego.SaldoNoGuardado(saldo));
+            }
+        }
+    }
+
+    /**
+     * Guarda el saldo dejando descontada en la base de datos la cantidad
+     * indicada, que pasa a ser el fondo reservado. Si la suma se rechaza,
+     * sigue descontado el fondo anterior
+     */
+    private DatabaseManager.ResultadoSaldo guardarReservando(long reserva) {
+        long saldo = jugador.getSaldo();
+        jugador.setSaldo(saldo - reserva);
+        DatabaseManager.ResultadoSaldo resultado = dbManager.actualizarSaldo(jugador);
+        if (resultado == DatabaseManager.ResultadoSaldo.ERROR) {
+            jugador.setSaldo(saldo);
+        } else if (resultado == DatabaseManager.ResultadoSaldo.RECHAZADO) {
+            jugador.setSaldo(jugador.getSaldo() + fondoRafaga);
+        } else {
+            jugador.setSaldo(jugador.getSaldo() + reserva);
+            fondoRafaga = reserva;
+        }
+        if (resultado != DatabaseManager.ResultadoSaldo.GUARDADO) {
+            aplicarSaldoExterno(saldo);
+        }
+        return resultado;
+    }
+
+    /**
+     * El saldo cambió desde otra sesión: el cambio no cuenta como ganancia
+     * de la ronda, así que se traslada también al saldo de inicio
+     */
+    private void aplicarSaldoExterno(long saldoAnterior) {
+        long diferencia = jugador.getSaldo() - saldoAnterior;
+        if (diferencia == 0) {
+            return;
+        }
+        saldoInicioRonda += diferencia;
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.SaldoExterno(saldoAnterior, jugador.getSaldo()));
+        }
+    }
+
+    private long getTotalApostado() {
+        long total = 0;
+        for (Mano mano : jugador.getManos()) {
+            total += mano.getApuesta();
+        }
+        return total;
+    }
+
+    /**
+     * Total apostado en laterales esta ronda. Se suma de los resultados:
+     * las pendientes se vacían al resolverse, justo tras el reparto inicial
+     */
+    private long getTotalLaterales() {
+        long total = 0;
+        for (int i = 0; i < resultadosLaterales.size(); i++) {
+            total += resultadosLaterales.get(i).apuesta();
+        }
+        return total;
+    }
+
+    private boolean todasLasManoBusted() {
+        for (Mano mano : jugador.getManos()) {
+            if (!mano.esBusted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void finalizarRonda(ResultadoRonda resultado) {
+        // Si el jugador se pasó la carta tapada no se llega a mostrar, pero
+        // se ve al recoger la mesa
+        baraja.descubrirOculta();
+        cambiarEstado(EstadoJuego.FINALIZADO);
+        ultimoResultado = resultado;
+
+        long apostado = getTotalApostado();
+        long ganancia = getGananciaUltimaRonda();
+        estadisticas.registrarRonda(resultado == ResultadoRonda.GANA || resultado == ResultadoRonda.BLACKJACK,
+                resultado == ResultadoRonda.EMPATE, resultado == ResultadoRonda.BLACKJACK,
+                dobladasRonda, divisionesRonda, apostado + getTotalLaterales(), ganancia, jugador.getSaldo());
+
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.RondaLiquidada(resultado, ganancia, jugador.getSaldo()));
+        }
+
+        if (dbManager == null) {
+            return;
+        }
+        if (enRafaga) {
+            rondasSinGuardar++;
+            partidasPendientes.add(new DatabaseManager.Partida(apostado, resultado.name(), ganancia,
+                    jugador.getSaldo()));
+            if (partidasPendientes.size() >= LOTE_RAFAGA) {
+                volcarRafaga();
+            }
+            return;
+        }
+
+        // Actualizar saldo en base de datos
+        try {
+            guardarSaldo();
+            ClasificacionJugadores.getInstance().actualizar(jugador.getId(), jugador.getNombre(),
+                    jugador.getSaldo(), estadisticas.getNeto());
+            dbManager.registrarPartida(jugador.getId(), apostado, resultado.name(), ganancia, jugador.getSaldo());
+            Logger.log("Ronda finalizada: " + resultado + " - Nuevo saldo: $" + Dinero.formatear(jugador.getSaldo()));
+        } catch (Exception e) {
+            Logger.logError("Error al actualizar saldo en BD", e);
+        }
+
+        if (++rondasSinGuardar >= LOTE_ESTADISTICAS) {
+            guardarEstadisticas();
+        }
+    }
+
+    /**
+     * Empieza una ráfaga de rondas seguidas, como el autojuego. En lugar de
+     * guardar saldo e historial en cada ronda, se guardan juntos con las
+     * estadísticas cada {@link #LOTE_RAFAGA} rondas y al terminar la ráfaga.
+     * Si el proceso muere a mitad, a la base de datos le faltan como mucho
+     * esas rondas y el fondo reservado; el diario de la mesa tiene las rondas
+     */
+    public void iniciarRafaga() {
+        if (enRafaga) {
+            return;
+        }
+        enRafaga = true;
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.Rafaga(true));
+        }
+    }
+
+    /**
+     * Guarda lo pendiente de la ráfaga y vuelve a guardar ronda a ronda
+     */
+    public void terminarRafaga() {
+        if (!enRafaga) {
+            return;
+        }
+        // Al guardar sin fondo se devuelve a la base de datos lo no apostado
+        enRafaga = false;
+        fondoRafaga = 0;
+        volcarRafaga();
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.Rafaga(false));
+        }
+    }
+
+    private void volcarRafaga() {
+        if (dbManager == null || jugador == null || jugador.getId() == null) {
+            return;
+        }
+        guardarSaldo();
+        if (!partidasPendientes.isEmpty() && dbManager.registrarPartidas(jugador.getId(), partidasPendientes)) {
+            partidasPendientes.clear();
+        }
+        guardarEstadisticas();
+        ClasificacionJugadores.getInstance().actualizar(jugador.getId(), jugador.getNombre(),
+                jugador.getSaldo(), estadisticas.getNeto());
+    }
+
+    /**
+     * Guarda en la base de datos las estadísticas acumuladas desde el último
+     * lote. Se llama sola cada {@link #LOTE_ESTADISTICAS} rondas; la interfaz
+     * la llama también al salir de la mesa para no perder las últimas
+     */
+    public void guardarEstadisticas() {
+        if (dbManager == null || rondasSinGuardar == 0 || jugador == null || jugador.getId() == null) {
+            return;
+        }
+        if (dbManager.guardarEstadisticas(jugador.getId(), estadisticas.diferencia(estadisticasGuardadas))) {
+            estadisticasGuardadas = estadisticas.copiar();
+            rondasSinGuardar = 0;
+        }
+    }
+
+    public void nuevaRonda() {
+        baraja.nuevaRonda();
+        jugador.reiniciarManos();
+        dealer.reiniciarMano();
+        if (eventos.hayObservadores()) {
+            eventos.publicar(new EventoJuego.NuevaRonda());
+        }
+        cambiarEstado(EstadoJuego.ESPERANDO_APUESTA);
+    }
+
+    public enum ResultadoRonda {
+        GANA, PIERDE, EMPATE, BLACKJACK
+    }
+
+    // Getters
+    public Jugador getJugador() {
+        return jugador;
+    }
+
+    public Dealer getDealer() {
+        return dealer;
+    }
+
+    public EstadoJuego getEstadoActual() {
+        return estadoActual;
+    }
+
+    /**
+     * Estadísticas del jugador sentado, al día con la última ronda liquidada.
+     * Las modifica el hilo que juega, así que solo deben leerse desde él o
+     * mientras no hay ninguna ronda en curso
+     */
+    public EstadisticasJugador getEstadisticas() {
+        return estadisticas;
+    }
+
+    public ResultadoRonda getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    /**
+     * Ganancia neta de la última ronda finalizada (negativa si se perdió)
+     */
+    public long getGananciaUltimaRonda() {
+        return jugador.getSaldo() - saldoInicioRonda;
+    }
+
+    public long getApuestaMinima() {
+        return reglas.getApuestaMinima();
+    }
+
+    public long getApuestaMaxima() {
+        return reglas.getApuestaMaxima();
+    }
+
+    /**
+     * Semilla del generador de la baraja, necesaria para reproducir la mesa
+     *
+     * @throws IllegalStateException si la baraja se creó con un generador ajeno
+     */
+    public long getSemilla() {
+        return baraja.getSemilla();
+    }
+
+    /**
+     * Composición y conteo del zapato de esta mesa
+     */
+    public RastreadorComposicion getRastreador() {
+        return baraja.getRastreador();
+    }
+
+    /**
+     * Apuestas laterales resueltas en la ronda actual
+     */
+    public List<ResultadoLateral> getResultadosLaterales() {
+        return Collections.unmodifiableList(resultadosLaterales);
+    }
+
+    public ReglasMesa getReglas() {
+        return reglas.getReglas();
+    }
+
+    /**
+     * Indica si la mano actual se puede doblar según la mano y la mesa
+     */
+    public boolean puedeDoblar() {
+        return estadoActual == EstadoJuego.JUGANDO && reglas.puedeDoblar(jugador.getManoActual());
+    }
+
+    public boolean puedeDividir() {
+        return estadoActual == EstadoJuego.JUGANDO
+                && reglas.puedeDividir(jugador.getManoActual(), jugador.getManos().size());
+    }
+}
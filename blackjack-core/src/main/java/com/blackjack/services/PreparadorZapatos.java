@@ -0,0 +1,88 @@
+package com.blackjack.services;
+
+import com.blackjack.models.Carta;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Baraja zapatos en segundo plano para las mesas que lo piden con
+ * {@link Baraja#usarPreparador}. Cada mesa encarga su siguiente zapato al
+ * cambiar de zapato y lo recoge al llegar a la carta de corte, de modo que
+ * el barajado no ocurre en medio de la ronda.
+ *
+ * Todas las mesas comparten los mismos hilos y una cola acotada de encargos.
+ * Si la cola está llena, o el preparador ya se cerró, el zapato se baraja
+ * en el hilo de la mesa que lo encarga: una avalancha de mesas no acumula
+ * trabajo sin límite. Cerrarlo no descarta los encargos en cola, así que
+ * ningún encargo queda sin cumplir
+ */
+public class PreparadorZapatos implements AutoCloseable {
+
+    private static PreparadorZapatos instance;
+
+    private final ThreadPoolExecutor ejecutor;
+    private final AtomicLong preparados = new AtomicLong();
+    private final AtomicLong esperas = new AtomicLong();
+
+    public PreparadorZapatos(int hilos, int capacidadCola) {
+        AtomicInteger numero = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), tarea -> {
+                    Thread hilo = new Thread(tarea, "preparador-zapatos-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, (tarea, rechazado) -> tarea.run());
+    }
+
+    /**
+     * Preparador compartido por todas las mesas del proceso, con la mitad
+     * de los núcleos y hasta 64 zapatos encargados
+     */
+    public static synchronized PreparadorZapatos getInstance() {
+        if (instance == null) {
+            instance = new PreparadorZapatos(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 64);
+        }
+        return instance;
+    }
+
+    /**
+     * Encarga un zapato barajado con su propia semilla; el resultado es el
+     * mismo que daría {@link Baraja#construirZapato} en el hilo de la mesa
+     */
+    CompletableFuture<List<Carta>> preparar(int numeroMazos, long semilla) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Carta> zapato = Baraja.construirZapato(numeroMazos, semilla);
+            preparados.incrementAndGet();
+            return zapato;
+        }, ejecutor);
+    }
+
+    /**
+     * Una mesa llegó al corte antes de que su zapato estuviera listo
+     */
+    void registrarEspera() {
+        esperas.incrementAndGet();
+    }
+
+    public long getPreparados() {
+        return preparados.get();
+    }
+
+    public long getEsperas() {
+        return esperas.get();
+    }
+
+    /**
+     * Deja de aceptar encargos en segundo plano; los que ya estaban en cola
+     * se terminan de barajar, así ninguna mesa se queda esperando su zapato
+     */
+    @Override
+    public void close() {
+        ejecutor.shutdown();
+    }
+}
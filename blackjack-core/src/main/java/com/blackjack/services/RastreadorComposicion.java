@@ -0,0 +1,148 @@
+package com.blackjack.services;
+
+import com.blackjack.models.Carta;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lleva la composición del zapato y las cuentas de todos los sistemas de
+ * conteo a medida que se reparten cartas, en O(1) por carta.
+ *
+ * Escribe un solo hilo (el que reparte) y puede leer cualquiera sin
+ * bloquearse: las escrituras se protegen con un seqlock. La secuencia es impar
+ * mientras se actualiza; el lector copia los datos y reintenta si la
+ * secuencia cambió entre medias
+ */
+public class RastreadorComposicion {
+
+    public static final int RANGOS = 10;
+
+    private static final SistemaConteo[] SISTEMAS = SistemaConteo.values();
+
+    private volatile long secuencia;
+
+    private final int mazos;
+    private final int[] cuentas = new int[RANGOS];
+    private final int[] cuentasCorrientes = new int[SISTEMAS.length];
+    private int restantes;
+
+    public RastreadorComposicion(int mazos) {
+        this.mazos = mazos;
+        llenar();
+    }
+
+    /**
+     * Rango 0..9 de una carta (A, 2..9, 10), el mismo orden que usan los
+     * cálculos de análisis
+     */
+    public static int rango(Carta carta) {
+        return Math.min(carta.getValor().getValorMinimo(), 10) - 1;
+    }
+
+    /**
+     * Zapato completo recién barajado
+     */
+    public void reiniciar() {
+        empezarEscritura();
+        llenar();
+        terminarEscritura();
+    }
+
+    private void llenar() {
+        for (int r = 0; r < RANGOS - 1; r++) {
+            cuentas[r] = 4 * mazos;
+        }
+        cuentas[RANGOS - 1] = 16 * mazos;
+        for (SistemaConteo sistema : SISTEMAS) {
+            cuentasCorrientes[sistema.ordinal()] = sistema.cuentaInicial(mazos);
+        }
+        restantes = 52 * mazos;
+    }
+
+    public void registrar(Carta carta) {
+        int rango = rango(carta);
+        empezarEscritura();
+        cuentas[rango]--;
+        restantes--;
+        for (int i = 0; i < SISTEMAS.length; i++) {
+            cuentasCorrientes[i] += SISTEMAS[i].peso(rango);
+        }
+        terminarEscritura();
+    }
+
+    private void empezarEscritura() {
+        secuencia = secuencia + 1;
+        VarHandle.storeStoreFence();
+    }
+
+    private void terminarEscritura() {
+        secuencia = secuencia + 1;
+    }
+
+    /**
+     * Copia coherente del estado actual, sin bloquear al hilo que reparte
+     */
+    public Lectura leer() {
+        int[] copiaCuentas = new int[RANGOS];
+        int[] copiaCorrientes = new int[SISTEMAS.length];
+        while (true) {
+            long inicio = secuencia;
+            if ((inicio & 1) == 0) {
+                System.arraycopy(cuentas, 0, copiaCuentas, 0, RANGOS);
+                System.arraycopy(cuentasCorrientes, 0, copiaCorrientes, 0, SISTEMAS.length);
+                int copiaRestantes = restantes;
+                VarHandle.loadLoadFence();
+                if (secuencia == inicio) {
+                    return new Lectura(mazos, copiaCuentas, copiaCorrientes, copiaRestantes);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Cuenta corriente de un sistema, leída sin copiar el resto del estado
+     */
+    public int getCuentaCorriente(SistemaConteo sistema) {
+        while (true) {
+            long inicio = secuencia;
+            if ((inicio & 1) == 0) {
+                int cuenta = cuentasCorrientes[sistema.ordinal()];
+                VarHandle.loadLoadFence();
+                if (secuencia == inicio) {
+                    return cuenta;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public int getMazos() {
+        return mazos;
+    }
+
+    /**
+     * Estado del zapato en un instante
+     */
+    public record Lectura(int mazos, int[] cuentas, int[] cuentasCorrientes, int restantes) {
+
+        public int cuentaCorriente(SistemaConteo sistema) {
+            return cuentasCorrientes[sistema.ordinal()];
+        }
+
+        /**
+         * Cuenta corriente dividida por los mazos que quedan. En los sistemas
+         * desbalanceados se devuelve la corriente, que es la que se usa
+         */
+        public double cuentaReal(SistemaConteo sistema) {
+            if (!sistema.isBalanceado()) {
+                return cuentaCorriente(sistema);
+            }
+            double mazosRestantes = Math.max(restantes / 52.0, 0.25);
+            return cuentaCorriente(sistema) / mazosRestantes;
+        }
+
+        public double penetracion() {
+            return 1 - restantes / (52.0 * mazos);
+        }
+    }
+}
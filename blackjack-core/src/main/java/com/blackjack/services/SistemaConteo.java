@@ -0,0 +1,38 @@
+package com.blackjack.services;
+
+/**
+ * Sistemas de conteo de cartas. Los pesos van por rango: A, 2..9, 10
+ */
+public enum SistemaConteo {
+    HI_LO(true, -1, 1, 1, 1, 1, 1, 0, 0, 0, -1),
+    KO(false, -1, 1, 1, 1, 1, 1, 1, 0, 0, -1),
+    OMEGA_II(true, 0, 1, 1, 2, 2, 2, 1, 0, -1, -2);
+
+    private final boolean balanceado;
+    private final int[] pesos;
+
+    SistemaConteo(boolean balanceado, int... pesos) {
+        this.balanceado = balanceado;
+        this.pesos = pesos;
+    }
+
+    public int peso(int rango) {
+        return pesos[rango];
+    }
+
+    public boolean isBalanceado() {
+        return balanceado;
+    }
+
+    /**
+     * Cuenta con la que empieza un zapato nuevo. Los sistemas desbalanceados
+     * como KO arrancan en 4 - 4 * mazos para que el punto clave sea fijo
+     */
+    public int cuentaInicial(int mazos) {
+        return balanceado ? 0 : 4 - 4 * mazos;
+    }
+
+    public static SistemaConteo desdeTexto(String texto) {
+        return valueOf(texto.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,32 @@
+package com.blackjack.sidebets;
+
+/**
+ * Apuestas laterales que se resuelven con las primeras cartas de la ronda
+ */
+public enum ApuestaLateral {
+    /** Pareja con las dos primeras cartas del jugador */
+    PAREJA_PERFECTA("pp"),
+    /** Póker de tres cartas con las dos del jugador y la visible del dealer */
+    VEINTIUNO_MAS_TRES("21+3"),
+    /** Las dos primeras cartas del jugador suman 20 */
+    LUCKY_LADIES("ll");
+
+    private final String codigo;
+
+    ApuestaLateral(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public static ApuestaLateral desdeCodigo(String codigo) {
+        for (ApuestaLateral apuesta : values()) {
+            if (apuesta.codigo.equalsIgnoreCase(codigo.trim())) {
+                return apuesta;
+            }
+        }
+        throw new IllegalArgumentException("Apuesta lateral desconocida: " + codigo);
+    }
+}
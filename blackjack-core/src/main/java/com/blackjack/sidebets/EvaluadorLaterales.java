@@ -0,0 +1,41 @@
+package com.blackjack.sidebets;
+
+import com.blackjack.models.Carta;
+
+/**
+ * Resuelve apuestas laterales leyendo {@link TablasPago}
+ */
+public final class EvaluadorLaterales {
+
+    private static final int CARTAS = TablasPago.CARTAS;
+
+    private EvaluadorLaterales() {
+    }
+
+    /**
+     * Pago "X a 1" a partir de los ordinales de las dos primeras cartas del
+     * jugador y de la carta visible del dealer; 0 si la apuesta pierde
+     */
+    public static int pago(ApuestaLateral apuesta, int jugador1, int jugador2, int dealer, boolean dealerBlackjack) {
+        switch (apuesta) {
+            case PAREJA_PERFECTA:
+                return TablasPago.PAREJAS[jugador1 * CARTAS + jugador2];
+            case VEINTIUNO_MAS_TRES:
+                return TablasPago.VEINTIUNO_MAS_TRES[(jugador1 * CARTAS + jugador2) * CARTAS + dealer];
+            default:
+                return TablasPago.LUCKY_LADIES[(dealerBlackjack ? CARTAS * CARTAS : 0) + jugador1 * CARTAS + jugador2];
+        }
+    }
+
+    public static int pago(ApuestaLateral apuesta, Carta jugador1, Carta jugador2, Carta dealer, boolean dealerBlackjack) {
+        return pago(apuesta, TablasPago.ordinal(jugador1), TablasPago.ordinal(jugador2),
+                TablasPago.ordinal(dealer), dealerBlackjack);
+    }
+
+    /**
+     * Cantidad que se devuelve al jugador: la apuesta más el premio, o 0
+     */
+    public static long retorno(long apuesta, int pago) {
+        return pago > 0 ? apuesta * (pago + 1) : 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.blackjack.sidebets;
+
+/**
+ * Resolución de una apuesta lateral en la ronda actual
+ *
+ * @param pago premio "X a 1", o 0 si se perdió
+ */
+public record ResultadoLateral(ApuestaLateral tipo, long apuesta, int pago) {
+
+    public boolean gana() {
+        return pago > 0;
+    }
+
+    /**
+     * Ganancia neta: el premio si gana, la apuesta en negativo si pierde
+     */
+    public long ganancia() {
+        return pago > 0 ? apuesta * pago : -apuesta;
+    }
+}
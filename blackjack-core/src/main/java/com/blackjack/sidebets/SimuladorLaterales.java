@@ -0,0 +1,115 @@
+package com.blackjack.sidebets;
+
+import com.blackjack.models.Carta;
+import com.blackjack.services.Baraja;
+import com.blackjack.simulation.EstadisticaStreaming;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Comprueba la ventaja de la casa de las apuestas laterales de dos formas:
+ * enumerando exactamente todas las combinaciones de cartas de un zapato
+ * completo y simulando repartos con {@link Baraja}
+ */
+public class SimuladorLaterales {
+
+    private static final double PENETRACION = 0.75;
+
+    private final int mazos;
+
+    public SimuladorLaterales(int mazos) {
+        this.mazos = mazos;
+    }
+
+    /**
+     * Ganancia esperada por unidad apostada con un zapato recién barajado
+     * (negativa: ventaja de la casa)
+     */
+    public double evExacto(ApuestaLateral apuesta) {
+        int cartas = TablasPago.CARTAS;
+        double total = cartas * mazos;
+        double ev = 0;
+
+        for (int a = 0; a < cartas; a++) {
+            double pa = mazos / total;
+            for (int b = 0; b < cartas; b++) {
+                double pb = pa * (mazos - (b == a ? 1 : 0)) / (total - 1);
+                if (pb == 0) {
+                    continue;
+                }
+                if (apuesta == ApuestaLateral.VEINTIUNO_MAS_TRES) {
+                    for (int c = 0; c < cartas; c++) {
+                        double pc = pb * (mazos - (c == a ? 1 : 0) - (c == b ? 1 : 0)) / (total - 2);
+                        ev += pc * ganancia(EvaluadorLaterales.pago(apuesta, a, b, c, false));
+                    }
+                } else if (apuesta == ApuestaLateral.LUCKY_LADIES) {
+                    double pBlackjack = probabilidadBlackjackDealer(a, b, total - 2);
+                    ev += pb * (pBlackjack * ganancia(EvaluadorLaterales.pago(apuesta, a, b, 0, true))
+                            + (1 - pBlackjack) * ganancia(EvaluadorLaterales.pago(apuesta, a, b, 0, false)));
+                } else {
+                    ev += pb * ganancia(EvaluadorLaterales.pago(apuesta, a, b, 0, false));
+                }
+            }
+        }
+        return ev;
+    }
+
+    private static double ganancia(int pago) {
+        return pago > 0 ? pago : -1;
+    }
+
+    /**
+     * Probabilidad de que el dealer tenga blackjack con las dos cartas del
+     * jugador ya retiradas
+     */
+    private double probabilidadBlackjackDealer(int a, int b, double restantes) {
+        double ases = 4.0 * mazos;
+        double dieces = 16.0 * mazos;
+        for (int carta : new int[]{a, b}) {
+            int valor = carta % 13;
+            if (valor == Carta.Valor.AS.ordinal()) {
+                ases--;
+            } else if (valor >= Carta.Valor.DIEZ.ordinal()) {
+                dieces--;
+            }
+        }
+        return 2 * (ases / restantes) * (dieces / (restantes - 1));
+    }
+
+    /**
+     * Reparte rondas (dos cartas al jugador y dos al dealer) con penetración
+     * fija y acumula la ganancia por unidad de cada apuesta
+     */
+    public Map<ApuestaLateral, EstadisticaStreaming> simular(long rondas, long semilla) {
+        Baraja baraja = new Baraja(mazos, new Random(semilla));
+        int corte = (int) (52 * mazos * (1 - PENETRACION));
+        ApuestaLateral[] apuestas = ApuestaLateral.values();
+        Map<ApuestaLateral, EstadisticaStreaming> resultado = new EnumMap<>(ApuestaLateral.class);
+        for (ApuestaLateral apuesta : apuestas) {
+            resultado.put(apuesta, new EstadisticaStreaming());
+        }
+
+        for (long i = 0; i < rondas; i++) {
+            if (baraja.cartasRestantes() < corte) {
+                baraja.reiniciar();
+            }
+            int j1 = TablasPago.ordinal(baraja.sacarCarta());
+            int j2 = TablasPago.ordinal(baraja.sacarCarta());
+            Carta visible = baraja.sacarCarta();
+            Carta oculta = baraja.sacarCarta();
+            boolean blackjack = esBlackjack(visible, oculta);
+            int d = TablasPago.ordinal(visible);
+
+            for (ApuestaLateral apuesta : apuestas) {
+                resultado.get(apuesta).agregar(ganancia(EvaluadorLaterales.pago(apuesta, j1, j2, d, blackjack)));
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean esBlackjack(Carta a, Carta b) {
+        int suma = Math.min(a.getValor().getValorMaximo(), 11) + Math.min(b.getValor().getValorMaximo(), 11);
+        return suma == 21;
+    }
+}
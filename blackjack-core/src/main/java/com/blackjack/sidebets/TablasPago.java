@@ -0,0 +1,138 @@
+package com.blackjack.sidebets;
+
+import com.blackjack.models.Carta;
+
+/**
+ * Tablas de pago precalculadas de las apuestas laterales, indexadas por el
+ * ordinal de cada carta (palo * 13 + valor, el mismo que usa el protocolo
+ * de red). Toda la lógica de clasificación se ejecuta una vez al cargar la
+ * clase; evaluar una apuesta es leer una posición del arreglo.
+ *
+ * Los pagos son "X a 1"; 0 significa que la apuesta se pierde
+ */
+public final class TablasPago {
+
+    public static final int CARTAS = 52;
+
+    // Pareja perfecta: perfecta, mismo color, mixta
+    public static final int PAGO_PAREJA_PERFECTA = 25;
+    public static final int PAGO_PAREJA_COLOR = 12;
+    public static final int PAGO_PAREJA_MIXTA = 6;
+
+    // 21+3: trío del mismo palo, escalera de color, trío, escalera, color
+    public static final int PAGO_TRIO_PALO = 100;
+    public static final int PAGO_ESCALERA_COLOR = 40;
+    public static final int PAGO_TRIO = 30;
+    public static final int PAGO_ESCALERA = 10;
+    public static final int PAGO_COLOR = 5;
+
+    // Lucky Ladies: dos damas de corazones con blackjack del dealer, dos
+    // damas de corazones, 20 idéntico, 20 del mismo palo, cualquier 20
+    public static final int PAGO_DAMAS_CON_BLACKJACK = 1000;
+    public static final int PAGO_DAMAS_CORAZONES = 200;
+    public static final int PAGO_VEINTE_IDENTICO = 25;
+    public static final int PAGO_VEINTE_PALO = 10;
+    public static final int PAGO_VEINTE = 4;
+
+    static final byte[] PAREJAS = new byte[CARTAS * CARTAS];
+    static final byte[] VEINTIUNO_MAS_TRES = new byte[CARTAS * CARTAS * CARTAS];
+    // [blackjack del dealer][carta1 * 52 + carta2]
+    static final short[] LUCKY_LADIES = new short[2 * CARTAS * CARTAS];
+
+    static {
+        for (int a = 0; a < CARTAS; a++) {
+            for (int b = 0; b < CARTAS; b++) {
+                PAREJAS[a * CARTAS + b] = (byte) pagoPareja(a, b);
+                LUCKY_LADIES[a * CARTAS + b] = (short) pagoLuckyLadies(a, b, false);
+                LUCKY_LADIES[CARTAS * CARTAS + a * CARTAS + b] = (short) pagoLuckyLadies(a, b, true);
+                for (int c = 0; c < CARTAS; c++) {
+                    VEINTIUNO_MAS_TRES[(a * CARTAS + b) * CARTAS + c] = (byte) pagoVeintiunoMasTres(a, b, c);
+                }
+            }
+        }
+    }
+
+    private TablasPago() {
+    }
+
+    public static int ordinal(Carta carta) {
+        return carta.getOrdinal();
+    }
+
+    private static int palo(int ordinal) {
+        return ordinal / 13;
+    }
+
+    private static int valor(int ordinal) {
+        return ordinal % 13;
+    }
+
+    private static boolean rojo(int ordinal) {
+        Carta.Palo palo = Carta.Palo.values()[palo(ordinal)];
+        return palo == Carta.Palo.CORAZONES || palo == Carta.Palo.DIAMANTES;
+    }
+
+    private static int puntos(int ordinal) {
+        int v = Carta.Valor.values()[valor(ordinal)].getValorMaximo();
+        return Math.min(v, 11);
+    }
+
+    private static int pagoPareja(int a, int b) {
+        if (valor(a) != valor(b)) {
+            return 0;
+        }
+        if (palo(a) == palo(b)) {
+            return PAGO_PAREJA_PERFECTA;
+        }
+        return rojo(a) == rojo(b) ? PAGO_PAREJA_COLOR : PAGO_PAREJA_MIXTA;
+    }
+
+    private static int pagoVeintiunoMasTres(int a, int b, int c) {
+        boolean mismoPalo = palo(a) == palo(b) && palo(b) == palo(c);
+        boolean trio = valor(a) == valor(b) && valor(b) == valor(c);
+        boolean escalera = esEscalera(valor(a), valor(b), valor(c));
+
+        if (trio && mismoPalo) {
+            return PAGO_TRIO_PALO;
+        }
+        if (escalera && mismoPalo) {
+            return PAGO_ESCALERA_COLOR;
+        }
+        if (trio) {
+            return PAGO_TRIO;
+        }
+        if (escalera) {
+            return PAGO_ESCALERA;
+        }
+        return mismoPalo ? PAGO_COLOR : 0;
+    }
+
+    /**
+     * Valores 0..12 (A, 2..10, J, Q, K); el as puede ir abajo (A-2-3) o
+     * arriba (Q-K-A)
+     */
+    private static boolean esEscalera(int x, int y, int z) {
+        int menor = Math.min(x, Math.min(y, z));
+        int mayor = Math.max(x, Math.max(y, z));
+        int medio = x + y + z - menor - mayor;
+        if (menor + 1 == medio && medio + 1 == mayor) {
+            return true;
+        }
+        // Q-K-A
+        return menor == 0 && medio == 11 && mayor == 12;
+    }
+
+    private static int pagoLuckyLadies(int a, int b, boolean dealerBlackjack) {
+        if (puntos(a) + puntos(b) != 20) {
+            return 0;
+        }
+        int damaCorazones = Carta.Palo.CORAZONES.ordinal() * 13 + Carta.Valor.REINA.ordinal();
+        if (a == damaCorazones && b == damaCorazones) {
+            return dealerBlackjack ? PAGO_DAMAS_CON_BLACKJACK : PAGO_DAMAS_CORAZONES;
+        }
+        if (a == b) {
+            return PAGO_VEINTE_IDENTICO;
+        }
+        return palo(a) == palo(b) ? PAGO_VEINTE_PALO : PAGO_VEINTE;
+    }
+}
@@ -0,0 +1,124 @@
+package com.blackjack.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Boceto de cuantiles con error relativo acotado (estilo DDSketch).
+ *
+ * Cada valor positivo cae en la cubeta ceil(log(x) / log(gamma)), con
+ * gamma = (1 + alfa) / (1 - alfa), así que cualquier cuantil se devuelve con
+ * error relativo menor que alfa. Los valores por debajo de {@link #MINIMO},
+ * incluido el cero, se cuentan aparte. La memoria es fija y dos bocetos con
+ * la misma precisión se combinan sumando cubetas.
+ *
+ * También se guardan el mínimo y el máximo exactos, y los cuantiles se
+ * recortan a ese intervalo: el punto medio de la cubeta extrema puede caer
+ * por encima del mayor valor visto (un p99 de manos hasta la ruina mayor que
+ * el tope de manos), y recortarlo solo reduce el error
+ */
+public class BocetoCuantiles {
+
+    public static final double MINIMO = 1e-3;
+    private static final double MAXIMO = 1e15;
+
+    private final double alfa;
+    private final double logGamma;
+    private final int desplazamiento;
+    private final long[] cubetas;
+    private long ceros;
+    private long n;
+    private double minimo = Double.POSITIVE_INFINITY;
+    private double maximo = Double.NEGATIVE_INFINITY;
+
+    public BocetoCuantiles() {
+        this(0.01);
+    }
+
+    public BocetoCuantiles(double alfa) {
+        this.alfa = alfa;
+        this.logGamma = Math.log((1 + alfa) / (1 - alfa));
+        this.desplazamiento = -indiceSinDesplazar(MINIMO);
+        this.cubetas = new long[indiceSinDesplazar(MAXIMO) + desplazamiento + 1];
+    }
+
+    private int indiceSinDesplazar(double x) {
+        return (int) Math.ceil(Math.log(x) / logGamma);
+    }
+
+    /**
+     * Agrega un valor; los negativos se tratan como cero
+     */
+    public void agregar(double x) {
+        n++;
+        double valor = Math.max(x, 0);
+        minimo = Math.min(minimo, valor);
+        maximo = Math.max(maximo, valor);
+        if (x < MINIMO) {
+            ceros++;
+            return;
+        }
+        int indice = Math.min(indiceSinDesplazar(x) + desplazamiento, cubetas.length - 1);
+        cubetas[indice]++;
+    }
+
+    public void combinar(BocetoCuantiles otro) {
+        if (otro.alfa != alfa) {
+            throw new IllegalArgumentException("Solo se combinan bocetos con la misma precisión");
+        }
+        for (int i = 0; i < cubetas.length; i++) {
+            cubetas[i] += otro.cubetas[i];
+        }
+        ceros += otro.ceros;
+        n += otro.n;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Cuantil q entre 0 y 1, o NaN si el boceto está vacío
+     */
+    public double cuantil(double q) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        long rango = (long) Math.floor(q * (n - 1));
+        if (rango < ceros) {
+            return 0;
+        }
+
+        long acumulado = ceros;
+        for (int i = 0; i < cubetas.length; i++) {
+            acumulado += cubetas[i];
+            if (acumulado > rango) {
+                // Punto medio de la cubeta en escala logarítmica
+                double gamma = Math.exp(logGamma);
+                return recortar(2 * Math.pow(gamma, i - desplazamiento) / (gamma + 1));
+            }
+        }
+        return maximo;
+    }
+
+    private double recortar(double valor) {
+        return Math.max(minimo, Math.min(maximo, valor));
+    }
+
+    public double getMinimo() {
+        return n == 0 ? Double.NaN : minimo;
+    }
+
+    public double getMaximo() {
+        return n == 0 ? Double.NaN : maximo;
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    public void limpiar() {
+        Arrays.fill(cubetas, 0);
+        ceros = 0;
+        n = 0;
+        minimo = Double.POSITIVE_INFINITY;
+        maximo = Double.NEGATIVE_INFINITY;
+    }
+}
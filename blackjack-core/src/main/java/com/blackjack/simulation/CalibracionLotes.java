@@ -0,0 +1,88 @@
+package com.blackjack.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decide una vez por proceso si el evaluador vectorial compensa en esta
+ * máquina. Que el módulo jdk.incubator.vector esté cargado no basta: si el
+ * JIT no convierte las operaciones en instrucciones vectoriales (por
+ * ejemplo con -XX:UseAVX=0 en x86) el camino vectorial es varias veces más
+ * lento que el escalar.
+ *
+ * Se alternan rondas de los dos evaluadores sobre un lote pequeño. Antes de
+ * que C2 compile el código vectorial este no puede ganar al escalar, así que
+ * en cuanto gana varias rondas seguidas se elige. Si no lo consigue dentro
+ * del presupuesto de tiempo se queda el escalar
+ */
+final class CalibracionLotes {
+
+    private static final int TAMANO = 1 << 12;
+    private static final int MAX_ROBOS = 12;
+    private static final long PRESUPUESTO_NANOS = 1_500_000_000L;
+    private static final int VICTORIAS = 5;
+    /** El vectorial debe ganar al menos por este margen */
+    private static final double MARGEN = 0.8;
+
+    private static final boolean VECTORIAL_COMPENSA = calibrar();
+
+    private CalibracionLotes() {
+    }
+
+    static boolean vectorialCompensa() {
+        return VECTORIAL_COMPENSA;
+    }
+
+    private static boolean calibrar() {
+        EvaluadorLotes vectorial = EvaluadorLotes.crearVectorial();
+        if (vectorial == null) {
+            return false;
+        }
+        EvaluadorLotes escalar = new EvaluadorLotesEscalar();
+
+        SplittableRandom random = new SplittableRandom(17);
+        int[] primeras = new int[2 * TAMANO];
+        int[] robos = new int[MAX_ROBOS * TAMANO];
+        for (int i = 0; i < primeras.length; i++) {
+            primeras[i] = Math.min(random.nextInt(13) + 1, 10);
+        }
+        for (int i = 0; i < robos.length; i++) {
+            robos[i] = Math.min(random.nextInt(13) + 1, 10);
+        }
+        LoteManos lote = new LoteManos(TAMANO);
+
+        long limite = System.nanoTime() + PRESUPUESTO_NANOS;
+        long mejorEscalar = Long.MAX_VALUE;
+        int victorias = 0;
+        while (System.nanoTime() < limite) {
+            mejorEscalar = Math.min(mejorEscalar, medir(escalar, lote, primeras, robos));
+            long tiempoVectorial = medir(vectorial, lote, primeras, robos);
+            victorias = tiempoVectorial < mejorEscalar * MARGEN ? victorias + 1 : 0;
+            if (victorias == VICTORIAS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long medir(EvaluadorLotes evaluador, LoteManos lote, int[] primeras, int[] robos) {
+        cargar(lote, primeras);
+        long inicio = System.nanoTime();
+        evaluador.evaluar(lote);
+        long evaluacion = System.nanoTime() - inicio;
+
+        cargar(lote, primeras);
+        inicio = System.nanoTime();
+        evaluador.jugarDealer(lote, robos, MAX_ROBOS, false);
+        return evaluacion + System.nanoTime() - inicio;
+    }
+
+    private static void cargar(LoteManos lote, int[] primeras) {
+        for (int i = 0; i < TAMANO; i++) {
+            int a = primeras[2 * i];
+            int b = primeras[2 * i + 1];
+            lote.duro[i] = a + b;
+            lote.ases[i] = (a == 1 ? 1 : 0) + (b == 1 ? 1 : 0);
+            lote.cartas[i] = 2;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.blackjack.simulation;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compara la evaluación por lotes (escalar y vectorial) con la evaluación
+ * mano a mano de {@link Mano#calcularValor()}, sobre las mismas manos
+ * aleatorias, y verifica que todas den el mismo resultado
+ */
+public class ComparadorLotes {
+
+    private static final int MAX_ROBOS = 12;
+    private static final Carta.Valor[] VALOR_POR_PUNTOS = {
+            null, Carta.Valor.AS, Carta.Valor.DOS, Carta.Valor.TRES, Carta.Valor.CUATRO, Carta.Valor.CINCO,
+            Carta.Valor.SEIS, Carta.Valor.SIETE, Carta.Valor.OCHO, Carta.Valor.NUEVE, Carta.Valor.DIEZ};
+
+    private final int tamano;
+    private final int[] jugador1;
+    private final int[] jugador2;
+    private final int[] robos;
+
+    public ComparadorLotes(int tamano, long semilla) {
+        this.tamano = tamano;
+        SplittableRandom random = new SplittableRandom(semilla);
+        jugador1 = new int[tamano];
+        jugador2 = new int[tamano];
+        robos = new int[MAX_ROBOS * tamano];
+        for (int i = 0; i < tamano; i++) {
+            jugador1[i] = puntos(random);
+            jugador2[i] = puntos(random);
+        }
+        for (int i = 0; i < robos.length; i++) {
+            robos[i] = puntos(random);
+        }
+    }
+
+    /**
+     * Puntos de una carta al azar de un mazo infinito
+     */
+    private static int puntos(SplittableRandom random) {
+        return Math.min(random.nextInt(13) + 1, 10);
+    }
+
+    public void ejecutar(int repeticiones, PrintStream salida) {
+        List<EvaluadorLotes> evaluadores = new ArrayList<>();
+        evaluadores.add(new EvaluadorLotesEscalar());
+        EvaluadorLotes vectorial = EvaluadorLotes.crearVectorial();
+        if (vectorial != null) {
+            evaluadores.add(vectorial);
+        } else {
+            salida.println("jdk.incubator.vector no está cargado; solo se mide el camino escalar");
+        }
+
+        int[] totalesReferencia = new int[tamano];
+        int[] dealerReferencia = new int[tamano];
+        double nsMano = medirManos(repeticiones, totalesReferencia);
+        double nsManoDealer = medirManosDealer(repeticiones, dealerReferencia);
+        salida.printf("%-28s manos %7.2f ns/mano   dealer %7.2f ns/mano%n", "Mano.calcularValor", nsMano, nsManoDealer);
+
+        LoteManos lote = new LoteManos(tamano);
+        for (EvaluadorLotes evaluador : evaluadores) {
+            double ns = medirLote(evaluador, lote, repeticiones, false);
+            verificar(evaluador, lote, totalesReferencia, "manos");
+            double nsDealer = medirLote(evaluador, lote, repeticiones, true);
+            verificar(evaluador, lote, dealerReferencia, "dealer");
+            salida.printf("%-28s manos %7.2f ns/mano   dealer %7.2f ns/mano%n",
+                    evaluador.getNombre(), ns, nsDealer);
+        }
+        if (vectorial != null) {
+            salida.println("EvaluadorLotes.crear() elige en esta máquina: " + EvaluadorLotes.crear().getNombre());
+        }
+    }
+
+    private double medirManos(int repeticiones, int[] totales) {
+        List<Mano> manos = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            Mano mano = new Mano();
+            mano.agregarCarta(carta(jugador1[i]));
+            mano.agregarCarta(carta(jugador2[i]));
+            manos.add(mano);
+        }
+
+        long mejor = Long.MAX_VALUE;
+        long control = 0;
+        for (int r = 0; r < repeticiones; r++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < tamano; i++) {
+                Mano mano = manos.get(i);
+                int total = mano.calcularValor();
+                totales[i] = total;
+                control += (mano.esSuave() ? 1 : 0) + (mano.esBusted() ? 2 : 0) + (mano.esBlackjack() ? 4 : 0);
+            }
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        consumir(control);
+        return (double) mejor / tamano;
+    }
+
+    /**
+     * El dealer empieza con las dos cartas del jugador como carta visible y
+     * oculta, y pide con S17
+     */
+    private double medirManosDealer(int repeticiones, int[] totales) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < repeticiones; r++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < tamano; i++) {
+                Mano mano = new Mano();
+                mano.agregarCarta(carta(jugador1[i]));
+                mano.agregarCarta(carta(jugador2[i]));
+                for (int k = 0; k < MAX_ROBOS && mano.calcularValor() < 17; k++) {
+                    mano.agregarCarta(carta(robos[k * tamano + i]));
+                }
+                totales[i] = mano.calcularValor();
+            }
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        return (double) mejor / tamano;
+    }
+
+    private double medirLote(EvaluadorLotes evaluador, LoteManos lote, int repeticiones, boolean dealer) {
+        long mejor = Long.MAX_VALUE;
+        for (int r = 0; r < repeticiones; r++) {
+            long inicio = System.nanoTime();
+            cargar(lote);
+            if (dealer) {
+                evaluador.jugarDealer(lote, robos, MAX_ROBOS, false);
+            } else {
+                evaluador.evaluar(lote);
+            }
+            mejor = Math.min(mejor, System.nanoTime() - inicio);
+        }
+        return (double) mejor / tamano;
+    }
+
+    private void cargar(LoteManos lote) {
+        for (int i = 0; i < tamano; i++) {
+            int a = jugador1[i];
+            int b = jugador2[i];
+            lote.duro[i] = a + b;
+            lote.ases[i] = (a == 1 ? 1 : 0) + (b == 1 ? 1 : 0);
+            lote.cartas[i] = 2;
+        }
+    }
+
+    private void verificar(EvaluadorLotes evaluador, LoteManos lote, int[] referencia, String caso) {
+        for (int i = 0; i < tamano; i++) {
+            if (lote.total[i] != referencia[i]) {
+                throw new IllegalStateException(String.format("%s (%s): la mano %d vale %d y debería valer %d",
+                        evaluador.getNombre(), caso, i, lote.total[i], referencia[i]));
+            }
+        }
+    }
+
+    private static Carta carta(int puntos) {
+        return new Carta(Carta.Palo.PICAS, VALOR_POR_PUNTOS[puntos]);
+    }
+
+    private static volatile long sumidero;
+
+    private static void consumir(long valor) {
+        sumidero = valor;
+    }
+}
@@ -0,0 +1,119 @@
+package com.blackjack.simulation;
+
+import com.blackjack.exceptions.GameException;
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.strategies.Estrategia;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Distribución del resultado neto de una mano, en unidades de la apuesta
+ * inicial (-1, +1, +1.5, -2 al doblar, etc.), medida jugando manos reales
+ * con una estrategia.
+ *
+ * Se muestrea con el método alias de Walker, en O(1) por muestra, lo que
+ * permite simular millones de sesiones sin pasar por GameService en cada mano
+ */
+public class DistribucionResultados {
+
+    private static final long SALDO_INICIAL = Long.MAX_VALUE / 4;
+
+    private final double[] valores;
+    private final double[] probabilidades;
+    private final double[] umbral;
+    private final int[] alias;
+    private final double media;
+
+    public DistribucionResultados(Map<Double, Long> frecuencias) {
+        int k = frecuencias.size();
+        valores = new double[k];
+        probabilidades = new double[k];
+        umbral = new double[k];
+        alias = new int[k];
+
+        long total = 0;
+        for (long f : frecuencias.values()) {
+            total += f;
+        }
+
+        int i = 0;
+        double suma = 0;
+        for (Map.Entry<Double, Long> e : frecuencias.entrySet()) {
+            valores[i] = e.getKey();
+            probabilidades[i] = (double) e.getValue() / total;
+            suma += valores[i] * probabilidades[i];
+            i++;
+        }
+        media = suma;
+        construirAlias();
+    }
+
+    /**
+     * Mide la distribución jugando manos con la estrategia en una mesa
+     * con las reglas dadas
+     */
+    public static DistribucionResultados medir(ReglasMesa reglas, Estrategia estrategia,
+                                               long manos, long semilla) throws GameException {
+        GameService mesa = new GameService(new Baraja(reglas.getNumeroMazos(), new Random(semilla)), null, reglas);
+        mesa.iniciarJugador(new Jugador(estrategia.getNombre(), SALDO_INICIAL));
+        long apuesta = reglas.getApuestaMinima();
+        Simulador simulador = new Simulador(mesa, estrategia, apuesta);
+
+        Map<Double, Long> frecuencias = new TreeMap<>();
+        for (long i = 0; i < manos; i++) {
+            simulador.jugarRonda();
+            frecuencias.merge((double) mesa.getGananciaUltimaRonda() / apuesta, 1L, Long::sum);
+        }
+        return new DistribucionResultados(frecuencias);
+    }
+
+    private void construirAlias() {
+        int k = valores.length;
+        Deque<Integer> pequenas = new ArrayDeque<>();
+        Deque<Integer> grandes = new ArrayDeque<>();
+        double[] escaladas = new double[k];
+
+        for (int i = 0; i < k; i++) {
+            escaladas[i] = probabilidades[i] * k;
+            (escaladas[i] < 1 ? pequenas : grandes).push(i);
+        }
+
+        while (!pequenas.isEmpty() && !grandes.isEmpty()) {
+            int p = pequenas.pop();
+            int g = grandes.pop();
+            umbral[p] = escaladas[p];
+            alias[p] = g;
+            escaladas[g] -= 1 - escaladas[p];
+            (escaladas[g] < 1 ? pequenas : grandes).push(g);
+        }
+        while (!grandes.isEmpty()) {
+            umbral[grandes.pop()] = 1;
+        }
+        while (!pequenas.isEmpty()) {
+            umbral[pequenas.pop()] = 1;
+        }
+    }
+
+    public double muestrear(SplittableRandom random) {
+        int i = random.nextInt(valores.length);
+        return random.nextDouble() < umbral[i] ? valores[i] : valores[alias[i]];
+    }
+
+    /**
+     * Valor esperado por unidad apostada
+     */
+    public double getMedia() {
+        return media;
+    }
+
+    public int getCantidadValores() {
+        return valores.length;
+    }
+}
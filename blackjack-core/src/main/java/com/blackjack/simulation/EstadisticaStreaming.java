@@ -0,0 +1,61 @@
+package com.blackjack.simulation;
+
+/**
+ * Media y varianza en una sola pasada (algoritmo de Welford).
+ * Dos acumuladores se pueden combinar, lo que permite calcular por hilos
+ * y unir al final sin guardar las muestras
+ */
+public class EstadisticaStreaming {
+
+    private long n;
+    private double media;
+    private double m2;
+
+    public void agregar(double x) {
+        n++;
+        double delta = x - media;
+        media += delta / n;
+        m2 += delta * (x - media);
+    }
+
+    /**
+     * Une otro acumulador a este (fórmula de Chan et al.)
+     */
+    public void combinar(EstadisticaStreaming otra) {
+        if (otra.n == 0) {
+            return;
+        }
+        if (n == 0) {
+            n = otra.n;
+            media = otra.media;
+            m2 = otra.m2;
+            return;
+        }
+
+        long total = n + otra.n;
+        double delta = otra.media - media;
+        media += delta * otra.n / total;
+        m2 += otra.m2 + delta * delta * ((double) n * otra.n / total);
+        n = total;
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public double getVarianza() {
+        return n > 1 ? m2 / (n - 1) : 0;
+    }
+
+    public double getDesviacion() {
+        return Math.sqrt(getVarianza());
+    }
+
+    public double getErrorEstandar() {
+        return n > 0 ? Math.sqrt(getVarianza() / n) : 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.blackjack.simulation;
+
+import com.blackjack.utils.Logger;
+
+/**
+ * Evalúa lotes de manos en bloque. Hay una implementación escalar y otra
+ * con la Vector API de la JDK. La vectorial necesita el módulo
+ * jdk.incubator.vector (java --add-modules jdk.incubator.vector) y se carga
+ * por reflexión para que la escalar no dependa de él
+ */
+public interface EvaluadorLotes {
+
+    String getNombre();
+
+    /**
+     * Calcula total y banderas de todas las manos del lote
+     */
+    void evaluar(LoteManos lote);
+
+    /**
+     * Juega las manos del lote como dealer: cada mano que deba pedir toma su
+     * siguiente carta de robos, organizado como [robo][mano] con
+     * lote.getTamano() manos por robo. Al terminar el lote queda evaluado
+     */
+    void jugarDealer(LoteManos lote, int[] robos, int maxRobos, boolean pideSuave17);
+
+    /**
+     * El evaluador más rápido en esta máquina: el vectorial solo si el
+     * módulo está cargado y una calibración corta lo mide más rápido que el
+     * escalar. La calibración se hace la primera vez y cuesta unos
+     * milisegundos
+     */
+    static EvaluadorLotes crear() {
+        if (CalibracionLotes.vectorialCompensa()) {
+            EvaluadorLotes vectorial = crearVectorial();
+            if (vectorial != null) {
+                return vectorial;
+            }
+        }
+        return new EvaluadorLotesEscalar();
+    }
+
+    /**
+     * El evaluador vectorial aunque no sea el más rápido, o null si el
+     * módulo jdk.incubator.vector no está cargado
+     */
+    static EvaluadorLotes crearVectorial() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (EvaluadorLotes) Class.forName("com.blackjack.simulation.EvaluadorLotesVectorial")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                Logger.logError("No se pudo cargar el evaluador vectorial", e);
+            }
+        }
+        return null;
+    }
+}
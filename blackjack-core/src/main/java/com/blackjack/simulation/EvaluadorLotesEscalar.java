@@ -0,0 +1,65 @@
+package com.blackjack.simulation;
+
+/**
+ * Evaluación mano a mano sobre los arreglos del lote
+ */
+public class EvaluadorLotesEscalar implements EvaluadorLotes {
+
+    @Override
+    public String getNombre() {
+        return "escalar";
+    }
+
+    @Override
+    public void evaluar(LoteManos lote) {
+        evaluar(lote, 0, lote.tamano);
+    }
+
+    /**
+     * Evalúa solo las manos [desde, hasta), para la cola del camino vectorial
+     */
+    void evaluar(LoteManos lote, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            evaluar(lote, i);
+        }
+    }
+
+    private static void evaluar(LoteManos lote, int i) {
+        int duro = lote.duro[i];
+        boolean suave = lote.ases[i] > 0 && duro + 10 <= 21;
+        int total = suave ? duro + 10 : duro;
+
+        int banderas = 0;
+        if (suave) {
+            banderas |= LoteManos.SUAVE;
+        }
+        if (total > 21) {
+            banderas |= LoteManos.PASADO;
+        }
+        if (total == 21 && lote.cartas[i] == 2) {
+            banderas |= LoteManos.BLACKJACK;
+        }
+        lote.total[i] = total;
+        lote.banderas[i] = banderas;
+    }
+
+    @Override
+    public void jugarDealer(LoteManos lote, int[] robos, int maxRobos, boolean pideSuave17) {
+        jugarDealer(lote, robos, maxRobos, pideSuave17, 0, lote.tamano);
+    }
+
+    void jugarDealer(LoteManos lote, int[] robos, int maxRobos, boolean pideSuave17, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            evaluar(lote, i);
+            for (int k = 0; k < maxRobos && debePedir(lote, i, pideSuave17); k++) {
+                lote.agregarCarta(i, robos[k * lote.tamano + i]);
+                evaluar(lote, i);
+            }
+        }
+    }
+
+    private static boolean debePedir(LoteManos lote, int i, boolean pideSuave17) {
+        int total = lote.total[i];
+        return total < 17 || (pideSuave17 && total == 17 && (lote.banderas[i] & LoteManos.SUAVE) != 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.blackjack.simulation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluación con la Vector API: procesa tantas manos por instrucción como
+ * enteros caben en el registro vectorial preferido de la máquina, y la cola
+ * del lote con el camino escalar.
+ *
+ * El dealer se juega en pasos sincronizados: en cada paso todas las manos
+ * del bloque que aún deben pedir toman su siguiente robo bajo una máscara,
+ * hasta que ninguna necesita más cartas
+ */
+public class EvaluadorLotesVectorial implements EvaluadorLotes {
+
+    private static final VectorSpecies<Integer> ESPECIE = IntVector.SPECIES_PREFERRED;
+
+    private final EvaluadorLotesEscalar escalar = new EvaluadorLotesEscalar();
+
+    @Override
+    public String getNombre() {
+        return "vectorial (" + ESPECIE.length() + " carriles)";
+    }
+
+    @Override
+    public void evaluar(LoteManos lote) {
+        int limite = ESPECIE.loopBound(lote.tamano);
+        for (int i = 0; i < limite; i += ESPECIE.length()) {
+            IntVector duro = IntVector.fromArray(ESPECIE, lote.duro, i);
+            IntVector ases = IntVector.fromArray(ESPECIE, lote.ases, i);
+            IntVector cartas = IntVector.fromArray(ESPECIE, lote.cartas, i);
+
+            VectorMask<Integer> suave = esSuave(duro, ases);
+            IntVector total = duro.add(10, suave);
+            total.intoArray(lote.total, i);
+            banderas(total, suave, cartas).intoArray(lote.banderas, i);
+        }
+        escalar.evaluar(lote, limite, lote.tamano);
+    }
+
+    @Override
+    public void jugarDealer(LoteManos lote, int[] robos, int maxRobos, boolean pideSuave17) {
+        int limite = ESPECIE.loopBound(lote.tamano);
+        for (int i = 0; i < limite; i += ESPECIE.length()) {
+            IntVector duro = IntVector.fromArray(ESPECIE, lote.duro, i);
+            IntVector ases = IntVector.fromArray(ESPECIE, lote.ases, i);
+            IntVector cartas = IntVector.fromArray(ESPECIE, lote.cartas, i);
+
+            for (int k = 0; k < maxRobos; k++) {
+                VectorMask<Integer> suave = esSuave(duro, ases);
+                IntVector total = duro.add(10, suave);
+                VectorMask<Integer> pide = total.compare(VectorOperators.LT, 17);
+                if (pideSuave17) {
+                    pide = pide.or(total.compare(VectorOperators.EQ, 17).and(suave));
+                }
+                if (!pide.anyTrue()) {
+                    break;
+                }
+
+                IntVector carta = IntVector.fromArray(ESPECIE, robos, k * lote.tamano + i);
+                duro = duro.add(carta, pide);
+                ases = ases.add(1, pide.and(carta.compare(VectorOperators.EQ, 1)));
+                cartas = cartas.add(1, pide);
+            }
+
+            duro.intoArray(lote.duro, i);
+            ases.intoArray(lote.ases, i);
+            cartas.intoArray(lote.cartas, i);
+
+            VectorMask<Integer> suave = esSuave(duro, ases);
+            IntVector total = duro.add(10, suave);
+            total.intoArray(lote.total, i);
+            banderas(total, suave, cartas).intoArray(lote.banderas, i);
+        }
+        escalar.jugarDealer(lote, robos, maxRobos, pideSuave17, limite, lote.tamano);
+    }
+
+    private static VectorMask<Integer> esSuave(IntVector duro, IntVector ases) {
+        return ases.compare(VectorOperators.GT, 0).and(duro.compare(VectorOperators.LE, 11));
+    }
+
+    private static IntVector banderas(IntVector total, VectorMask<Integer> suave, IntVector cartas) {
+        IntVector cero = IntVector.zero(ESPECIE);
+        VectorMask<Integer> blackjack = total.compare(VectorOperators.EQ, 21)
+                .and(cartas.compare(VectorOperators.EQ, 2));
+        return cero.add(LoteManos.SUAVE, suave)
+                .add(LoteManos.PASADO, total.compare(VectorOperators.GT, 21))
+                .add(LoteManos.BLACKJACK, blackjack);
+    }
+}
@@ -0,0 +1,65 @@
+package com.blackjack.simulation;
+
+/**
+ * Lote de manos independientes guardadas como estructura de arreglos: cada
+ * campo es un arreglo con una posición por mano, así los evaluadores recorren
+ * memoria contigua y pueden procesar varias manos por instrucción.
+ *
+ * Las cartas se guardan por puntos (as = 1, figuras = 10). Tras
+ * {@link EvaluadorLotes#evaluar} quedan en {@link #total} el valor de cada
+ * mano y en {@link #banderas} los bits SUAVE, PASADO y BLACKJACK
+ */
+public class LoteManos {
+
+    public static final int SUAVE = 1;
+    public static final int PASADO = 2;
+    public static final int BLACKJACK = 4;
+
+    final int tamano;
+    final int[] duro;
+    final int[] ases;
+    final int[] cartas;
+    final int[] total;
+    final int[] banderas;
+
+    public LoteManos(int tamano) {
+        this.tamano = tamano;
+        this.duro = new int[tamano];
+        this.ases = new int[tamano];
+        this.cartas = new int[tamano];
+        this.total = new int[tamano];
+        this.banderas = new int[tamano];
+    }
+
+    public void agregarCarta(int mano, int puntos) {
+        duro[mano] += puntos;
+        ases[mano] += puntos == 1 ? 1 : 0;
+        cartas[mano]++;
+    }
+
+    public void limpiar() {
+        java.util.Arrays.fill(duro, 0);
+        java.util.Arrays.fill(ases, 0);
+        java.util.Arrays.fill(cartas, 0);
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public int getTotal(int mano) {
+        return total[mano];
+    }
+
+    public boolean esSuave(int mano) {
+        return (banderas[mano] & SUAVE) != 0;
+    }
+
+    public boolean esPasado(int mano) {
+        return (banderas[mano] & PASADO) != 0;
+    }
+
+    public boolean esBlackjack(int mano) {
+        return (banderas[mano] & BLACKJACK) != 0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.blackjack.simulation;
+
+import com.blackjack.events.EventoJuego;
+import com.blackjack.exceptions.GameException;
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Mide los bytes que asigna el bucle de juego por ronda en el hilo que
+ * juega, con GameService sin base de datos y, en su caso, un observador
+ * vacío en lugar de la interfaz. Cada escenario se calienta antes de medir
+ * para que el JIT ya haya compilado el bucle.
+ *
+ * Los presupuestos de cada escenario están en {@link #PRESUPUESTOS}; si
+ * una medición los supera, falla MedidorAsignacionesTest (y con él
+ * {@code mvn test}) y el comando asignaciones de la CLI termina con error
+ */
+public class MedidorAsignaciones {
+
+    public static final String PRESUPUESTOS = "/presupuestos/asignaciones.properties";
+
+    private static final long SALDO_INICIAL = Long.MAX_VALUE / 4;
+
+    public enum Escenario {
+        MESA("mesa"), OBSERVADA("observada"), LATERALES("laterales"), CONTINUO("continuo");
+
+        private final String codigo;
+
+        Escenario(String codigo) {
+            this.codigo = codigo;
+        }
+
+        public String getCodigo() {
+            return codigo;
+        }
+    }
+
+    public record Medicion(Escenario escenario, long rondas, double bytesPorRonda, long presupuesto) {
+        public boolean cumple() {
+            return bytesPorRonda <= presupuesto;
+        }
+    }
+
+    private final com.sun.management.ThreadMXBean hilos;
+    private final long semilla;
+
+    public MedidorAsignaciones(long semilla) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx)
+                || !mx.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Esta JVM no mide las asignaciones por hilo");
+        }
+        mx.setThreadAllocatedMemoryEnabled(true);
+        this.hilos = mx;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Presupuestos incluidos en el jar
+     */
+    public static Properties presupuestosIncluidos() throws IOException {
+        try (InputStream entrada = MedidorAsignaciones.class.getResourceAsStream(PRESUPUESTOS)) {
+            if (entrada == null) {
+                throw new IOException("No se encontró el recurso de presupuestos: " + PRESUPUESTOS);
+            }
+            Properties presupuestos = new Properties();
+            presupuestos.load(entrada);
+            return presupuestos;
+        }
+    }
+
+    /**
+     * Mide el escenario con el Logger apagado, como en las simulaciones por
+     * lotes: escribir el archivo de log asignaría mucho más que la propia
+     * ronda. Al terminar lo deja como estaba
+     */
+    public Medicion medir(Escenario escenario, long calentamiento, long rondas, long presupuesto)
+            throws GameException {
+        boolean logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        try {
+            Simulador simulador = crearSimulador(escenario);
+            simulador.simular(calentamiento);
+
+            long antes = hilos.getCurrentThreadAllocatedBytes();
+            ResultadoSimulacion resultado = simulador.simular(rondas);
+            long bytes = hilos.getCurrentThreadAllocatedBytes() - antes;
+
+            return new Medicion(escenario, resultado.getRondas(), (double) bytes / resultado.getRondas(), presupuesto);
+        } finally {
+            Logger.setActivo(logActivo);
+        }
+    }
+
+    private Simulador crearSimulador(Escenario escenario) {
+        ReglasMesa reglas = new ReglasMesa.Builder()
+                .numeroMazos(6)
+                .penetracion(0.75)
+                .barajadoContinuo(escenario == Escenario.CONTINUO)
+                .build();
+
+        GameService mesa = new GameService(new Baraja(reglas.getNumeroMazos(), semilla), null, reglas);
+        if (escenario == Escenario.OBSERVADA) {
+            mesa.suscribir(MedidorAsignaciones::descartar);
+        }
+        mesa.iniciarJugador(new Jugador("asignaciones", SALDO_INICIAL));
+
+        Simulador simulador = new Simulador(mesa, RegistroEstrategias.crear("basica"), reglas.getApuestaMinima());
+        if (escenario == Escenario.LATERALES) {
+            Map<ApuestaLateral, Long> laterales = new EnumMap<>(ApuestaLateral.class);
+            for (ApuestaLateral lateral : ApuestaLateral.values()) {
+                laterales.put(lateral, reglas.getApuestaMinima());
+            }
+            simulador.setLaterales(laterales);
+        }
+        return simulador;
+    }
+
+    /**
+     * Hace de interfaz: recibe los eventos sin hacer nada con ellos
+     */
+    private static void descartar(EventoJuego evento) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.blackjack.simulation;
+
+/**
+ * Decide cuánto apostar en cada mano de una sesión. Las implementaciones
+ * guardan estado por sesión, así que cada hilo usa su propia instancia
+ */
+public interface PoliticaApuesta {
+
+    String getNombre();
+
+    /**
+     * Apuesta deseada; el simulador la ajusta a los límites de la mesa y al
+     * saldo disponible
+     */
+    double apuesta(double saldo);
+
+    /**
+     * Resultado neto de la última mano
+     */
+    default void resultado(double apuesta, double ganancia) {
+    }
+
+    default void reiniciar() {
+    }
+
+    /**
+     * plana, martingala o proporcional:F (fracción del saldo)
+     */
+    static PoliticaApuesta desdeTexto(String texto, double unidad) {
+        String[] partes = texto.trim().toLowerCase().split(":");
+        switch (partes[0]) {
+            case "plana":
+                return new PoliticaPlana(unidad);
+            case "martingala":
+                return new PoliticaMartingala(unidad);
+            case "proporcional":
+                return new PoliticaProporcional(partes.length > 1 ? Double.parseDouble(partes[1]) : 0.01);
+            default:
+                throw new IllegalArgumentException("Política de apuesta desconocida: " + texto);
+        }
+    }
+}
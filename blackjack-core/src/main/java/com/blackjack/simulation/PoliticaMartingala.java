@@ -0,0 +1,40 @@
+package com.blackjack.simulation;
+
+/**
+ * Duplica la apuesta tras cada pérdida y vuelve a la unidad al ganar.
+ * El máximo de la mesa corta la progresión
+ */
+public class PoliticaMartingala implements PoliticaApuesta {
+
+    private final double unidad;
+    private double siguiente;
+
+    public PoliticaMartingala(double unidad) {
+        this.unidad = unidad;
+        this.siguiente = unidad;
+    }
+
+    @Override
+    public String getNombre() {
+        return "martingala";
+    }
+
+    @Override
+    public double apuesta(double saldo) {
+        return siguiente;
+    }
+
+    @Override
+    public void resultado(double apuesta, double ganancia) {
+        if (ganancia < 0) {
+            siguiente = apuesta * 2;
+        } else if (ganancia > 0) {
+            siguiente = unidad;
+        }
+    }
+
+    @Override
+    public void reiniciar() {
+        siguiente = unidad;
+    }
+}
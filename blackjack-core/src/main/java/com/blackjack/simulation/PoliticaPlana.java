@@ -0,0 +1,23 @@
+package com.blackjack.simulation;
+
+/**
+ * Siempre la misma apuesta
+ */
+public class PoliticaPlana implements PoliticaApuesta {
+
+    private final double unidad;
+
+    public PoliticaPlana(double unidad) {
+        this.unidad = unidad;
+    }
+
+    @Override
+    public String getNombre() {
+        return "plana";
+    }
+
+    @Override
+    public double apuesta(double saldo) {
+        return unidad;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blackjack.simulation;
+
+/**
+ * Apuesta una fracción fija del saldo actual (Kelly fraccional)
+ */
+public class PoliticaProporcional implements PoliticaApuesta {
+
+    private final double fraccion;
+
+    public PoliticaProporcional(double fraccion) {
+        if (fraccion <= 0 || fraccion > 1) {
+            throw new IllegalArgumentException("La fracción debe estar entre 0 y 1");
+        }
+        this.fraccion = fraccion;
+    }
+
+    @Override
+    public String getNombre() {
+        return "proporcional:" + fraccion;
+    }
+
+    @Override
+    public double apuesta(double saldo) {
+        return saldo * fraccion;
+    }
+}
@@ -0,0 +1,111 @@
+package com.blackjack.simulation;
+
+import java.io.PrintStream;
+
+/**
+ * Estadísticas combinables de un conjunto de sesiones: probabilidad de
+ * ruina, caída máxima, manos hasta la ruina y saldo final
+ */
+public class ResultadoRiesgo {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final String politica;
+    private final double saldoInicial;
+    private final long maxManos;
+
+    private long sesiones;
+    private long ruinas;
+    private final EstadisticaStreaming saldoFinal = new EstadisticaStreaming();
+    private final EstadisticaStreaming caida = new EstadisticaStreaming();
+    private final EstadisticaStreaming manosHastaRuina = new EstadisticaStreaming();
+    private final BocetoCuantiles cuantilesCaida = new BocetoCuantiles();
+    private final BocetoCuantiles cuantilesRuina = new BocetoCuantiles();
+    private final BocetoCuantiles cuantilesSaldo = new BocetoCuantiles();
+
+    ResultadoRiesgo(String politica, double saldoInicial, long maxManos) {
+        this.politica = politica;
+        this.saldoInicial = saldoInicial;
+        this.maxManos = maxManos;
+    }
+
+    void registrar(double saldo, double caidaMaxima, boolean ruina, long manos) {
+        sesiones++;
+        saldoFinal.agregar(saldo);
+        cuantilesSaldo.agregar(saldo);
+        caida.agregar(caidaMaxima);
+        cuantilesCaida.agregar(caidaMaxima);
+        if (ruina) {
+            ruinas++;
+            manosHastaRuina.agregar(manos);
+            cuantilesRuina.agregar(manos);
+        }
+    }
+
+    void combinar(ResultadoRiesgo otro) {
+        sesiones += otro.sesiones;
+        ruinas += otro.ruinas;
+        saldoFinal.combinar(otro.saldoFinal);
+        caida.combinar(otro.caida);
+        manosHastaRuina.combinar(otro.manosHastaRuina);
+        cuantilesCaida.combinar(otro.cuantilesCaida);
+        cuantilesRuina.combinar(otro.cuantilesRuina);
+        cuantilesSaldo.combinar(otro.cuantilesSaldo);
+    }
+
+    public long getSesiones() {
+        return sesiones;
+    }
+
+    public double getProbabilidadRuina() {
+        return sesiones == 0 ? 0 : (double) ruinas / sesiones;
+    }
+
+    /**
+     * Error estándar de la probabilidad de ruina (binomial)
+     */
+    public double getErrorRuina() {
+        double p = getProbabilidadRuina();
+        return sesiones == 0 ? 0 : Math.sqrt(p * (1 - p) / sesiones);
+    }
+
+    public double getCaidaPercentil(double q) {
+        return cuantilesCaida.cuantil(q);
+    }
+
+    public double getManosHastaRuinaPercentil(double q) {
+        return cuantilesRuina.cuantil(q);
+    }
+
+    public double getMediaManosHastaRuina() {
+        return manosHastaRuina.getMedia();
+    }
+
+    public double getSaldoFinalMedio() {
+        return saldoFinal.getMedia();
+    }
+
+    public void imprimir(PrintStream salida) {
+        salida.printf("Política: %s | Saldo inicial: %.2f | Manos por sesión: %d | Sesiones: %d%n",
+                politica, saldoInicial, maxManos, sesiones);
+        salida.printf("Probabilidad de ruina: %.4f%% ± %.4f%%%n",
+                getProbabilidadRuina() * 100, getErrorRuina() * 100);
+        salida.printf("Saldo final: media %.2f, desviación %.2f%n",
+                saldoFinal.getMedia(), saldoFinal.getDesviacion());
+        imprimirPercentiles(salida, "Saldo final", cuantilesSaldo);
+        salida.printf("Caída máxima: media %.2f%n", caida.getMedia());
+        imprimirPercentiles(salida, "Caída máxima", cuantilesCaida);
+        if (ruinas > 0) {
+            salida.printf("Manos hasta la ruina: media %.1f%n", manosHastaRuina.getMedia());
+            imprimirPercentiles(salida, "Manos hasta la ruina", cuantilesRuina);
+        }
+    }
+
+    private static void imprimirPercentiles(PrintStream salida, String titulo, BocetoCuantiles boceto) {
+        StringBuilder sb = new StringBuilder("  ").append(titulo).append(':');
+        for (double q : PERCENTILES) {
+            sb.append(String.format(" p%.0f=%.2f", q * 100, boceto.cuantil(q)));
+        }
+        salida.println(sb);
+    }
+}
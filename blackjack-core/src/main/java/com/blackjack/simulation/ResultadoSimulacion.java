@@ -0,0 +1,93 @@
+package com.blackjack.simulation;
+
+import com.blackjack.services.GameService.ResultadoRonda;
+
+/**
+ * Acumula los resultados de una simulación por lotes. Las cantidades van
+ * en centavos
+ */
+public class ResultadoSimulacion {
+
+    private final String estrategia;
+    private final long apuestaBase;
+    private long rondas;
+    private long ganadas;
+    private long perdidas;
+    private long empates;
+    private long blackjacks;
+    private long totalApostado;
+    private long gananciaNeta;
+    private boolean sinSaldo;
+
+    public ResultadoSimulacion(String estrategia, long apuestaBase) {
+        this.estrategia = estrategia;
+        this.apuestaBase = apuestaBase;
+    }
+
+    public void registrar(ResultadoRonda resultado, long apostado, long ganancia) {
+        rondas++;
+        totalApostado += apostado;
+        gananciaNeta += ganancia;
+
+        switch (resultado) {
+            case GANA: ganadas++; break;
+            case PIERDE: perdidas++; break;
+            case EMPATE: empates++; break;
+            case BLACKJACK: blackjacks++; break;
+        }
+    }
+
+    /**
+     * Ganancia esperada por ronda en unidades de la apuesta base
+     */
+    public double getVentajaPorRonda() {
+        if (rondas == 0) {
+            return 0;
+        }
+        return (double) gananciaNeta / ((double) rondas * apuestaBase);
+    }
+
+    public String getEstrategia() {
+        return estrategia;
+    }
+
+    public long getApuestaBase() {
+        return apuestaBase;
+    }
+
+    public long getRondas() {
+        return rondas;
+    }
+
+    public long getGanadas() {
+        return ganadas;
+    }
+
+    public long getPerdidas() {
+        return perdidas;
+    }
+
+    public long getEmpates() {
+        return empates;
+    }
+
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    public long getTotalApostado() {
+        return totalApostado;
+    }
+
+    public long getGananciaNeta() {
+        return gananciaNeta;
+    }
+
+    public boolean isSinSaldo() {
+        return sinSaldo;
+    }
+
+    void setSinSaldo(boolean sinSaldo) {
+        this.sinSaldo = sinSaldo;
+    }
+}
@@ -0,0 +1,56 @@
+package com.blackjack.simulation;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Resultado de un torneo de estrategias. Los valores esperados están en
+ * unidades de apuesta por mano y las diferencias son respecto a la primera
+ * estrategia (la referencia)
+ */
+public class ResultadoTorneo {
+
+    public record Resumen(String estrategia, long manos, double ev, double errorEstandar,
+                          double tasaGana, double tasaEmpate, double tasaPierde, double tasaBlackjack,
+                          double diferencia, double errorDiferencia,
+                          double diferenciaMin95, double diferenciaMax95,
+                          double errorDiferenciaIndependiente) {
+    }
+
+    private final String referencia;
+    private final List<Resumen> resumenes;
+
+    public ResultadoTorneo(String referencia, List<Resumen> resumenes) {
+        this.referencia = referencia;
+        this.resumenes = resumenes;
+    }
+
+    public String getReferencia() {
+        return referencia;
+    }
+
+    public List<Resumen> getResumenes() {
+        return resumenes;
+    }
+
+    public void imprimir(PrintStream salida) {
+        salida.printf("%-16s %10s %9s %8s %7s %7s %7s %7s%n",
+                "Estrategia", "Manos", "EV", "Error", "Gana", "Empata", "Pierde", "BJ");
+        for (Resumen r : resumenes) {
+            salida.printf("%-16s %10d %+9.5f %8.5f %6.2f%% %6.2f%% %6.2f%% %6.2f%%%n",
+                    r.estrategia(), r.manos(), r.ev(), r.errorEstandar(),
+                    r.tasaGana() * 100, r.tasaEmpate() * 100, r.tasaPierde() * 100,
+                    r.tasaBlackjack() * 100);
+        }
+
+        salida.println();
+        salida.printf("Diferencias frente a '%s' (IC 95%%, error con mazos comunes vs independientes):%n", referencia);
+        for (Resumen r : resumenes.subList(1, resumenes.size())) {
+            double reduccion = r.errorDiferencia() > 0
+                    ? Math.pow(r.errorDiferenciaIndependiente() / r.errorDiferencia(), 2) : 0;
+            salida.printf("%-16s %+9.5f [%+9.5f, %+9.5f]  error %.5f vs %.5f (%.1fx menos manos)%n",
+                    r.estrategia(), r.diferencia(), r.diferenciaMin95(), r.diferenciaMax95(),
+                    r.errorDiferencia(), r.errorDiferenciaIndependiente(), reduccion);
+        }
+    }
+}
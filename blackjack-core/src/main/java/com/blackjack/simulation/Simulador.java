@@ -0,0 +1,147 @@
+package com.blackjack.simulation;
+
+import com.blackjack.exceptions.GameException;
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Carta;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+import com.blackjack.services.GameService;
+import com.blackjack.services.GameService.EstadoJuego;
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.sidebets.ApuestaLateral;
+import com.blackjack.strategies.Accion;
+import com.blackjack.strategies.Estrategia;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Juega rondas completas sobre un GameService aplicando una estrategia,
+ * sin interfaz gráfica ni persistencia
+ */
+public class Simulador {
+
+    /**
+     * Recibe cada ronda jugada, por ejemplo para exportarla
+     */
+    public interface ObservadorRondas {
+        void rondaJugada(long numero, ResultadoRonda resultado, long apostado,
+                         long ganancia, long saldo);
+    }
+
+    private final GameService gameService;
+    private final Estrategia estrategia;
+    private final long apuesta;
+    private Map<ApuestaLateral, Long> laterales = Collections.emptyMap();
+    private ObservadorRondas observador;
+
+    public Simulador(GameService gameService, Estrategia estrategia, long apuesta) {
+        this.gameService = gameService;
+        this.estrategia = estrategia;
+        this.apuesta = apuesta;
+    }
+
+    public void setObservador(ObservadorRondas observador) {
+        this.observador = observador;
+    }
+
+    /**
+     * Apuestas laterales que se añaden a la principal en cada ronda
+     */
+    public void setLaterales(Map<ApuestaLateral, Long> laterales) {
+        this.laterales = laterales;
+    }
+
+    /**
+     * Juega hasta completar las rondas pedidas o hasta que el jugador
+     * no pueda cubrir la apuesta
+     */
+    public ResultadoSimulacion simular(long rondas) throws GameException {
+        ResultadoSimulacion resultado = new ResultadoSimulacion(estrategia.getNombre(), apuesta);
+        Jugador jugador = gameService.getJugador();
+
+        for (long i = 1; i <= rondas; i++) {
+            if (jugador.getSaldo() < apuesta) {
+                resultado.setSinSaldo(true);
+                break;
+            }
+
+            ResultadoRonda resultadoRonda = jugarRonda();
+            long apostado = totalApostado(jugador);
+            long ganancia = gameService.getGananciaUltimaRonda();
+            resultado.registrar(resultadoRonda, apostado, ganancia);
+
+            if (observador != null) {
+                observador.rondaJugada(i, resultadoRonda, apostado, ganancia, jugador.getSaldo());
+            }
+        }
+
+        return resultado;
+    }
+
+    public ResultadoRonda jugarRonda() throws GameException {
+        if (gameService.getEstadoActual() == EstadoJuego.FINALIZADO) {
+            gameService.nuevaRonda();
+        }
+
+        try {
+            gameService.realizarApuesta(apuesta, laterales);
+
+            while (gameService.getEstadoActual() == EstadoJuego.JUGANDO) {
+                Mano mano = gameService.getJugador().getManoActual();
+                boolean cubre = mano.getApuesta() <= gameService.getJugador().getSaldo();
+                ejecutar(decidir(mano, gameService.puedeDoblar() && cubre, gameService.puedeDividir() && cubre));
+            }
+        } catch (SaldoInsuficienteException e) {
+            throw new GameException("Saldo insuficiente durante la simulación", e);
+        }
+
+        return gameService.getUltimoResultado();
+    }
+
+    /**
+     * Acción legal para la mano actual. Si la estrategia pide doblar o
+     * dividir cuando no se puede, se le vuelve a preguntar sin esa opción:
+     * un doblar se convierte en pedir o plantarse según la tabla, y una
+     * pareja que no se puede dividir se juega por su total duro o suave.
+     * Solo si aun así devuelve algo ilegal se juega pedir
+     */
+    private Accion decidir(Mano mano, boolean puedeDoblar, boolean puedeDividir) {
+        Carta visible = gameService.getDealer().getCartaVisible();
+        Accion accion = estrategia.decidir(mano, visible, puedeDoblar, puedeDividir);
+        if (accion == Accion.DIVIDIR && !puedeDividir) {
+            accion = estrategia.decidir(mano, visible, puedeDoblar, false);
+        }
+        if (accion == Accion.DOBLAR && !puedeDoblar) {
+            accion = estrategia.decidir(mano, visible, false, puedeDividir);
+        }
+        if ((accion == Accion.DOBLAR && !puedeDoblar) || (accion == Accion.DIVIDIR && !puedeDividir)) {
+            return Accion.PEDIR;
+        }
+        return accion;
+    }
+
+    private void ejecutar(Accion accion) throws GameException, SaldoInsuficienteException {
+        switch (accion) {
+            case PLANTARSE:
+                gameService.plantarse();
+                break;
+            case DOBLAR:
+                gameService.doblar();
+                break;
+            case DIVIDIR:
+                gameService.dividir();
+                break;
+            default:
+                gameService.pedir();
+                break;
+        }
+    }
+
+    private long totalApostado(Jugador jugador) {
+        long total = 0;
+        for (Mano mano : jugador.getManos()) {
+            total += mano.getApuesta();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,113 @@
+package com.blackjack.simulation;
+
+import com.blackjack.exceptions.GameException;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.utils.Dinero;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Riesgo de ruina de un saldo bajo una política de apuestas.
+ *
+ * Cada sesión empieza con el mismo saldo y juega hasta un máximo de manos o
+ * hasta que el saldo no cubre la apuesta mínima de la mesa. El resultado de
+ * cada mano se muestrea de una {@link DistribucionResultados} medida con la
+ * estrategia, por lo que se ignora la correlación entre manos del mismo
+ * zapato. Las sesiones se reparten en bloques paralelos que solo acumulan
+ * estadísticas en una pasada y bocetos de cuantiles, así que la memoria no
+ * depende del número de sesiones
+ */
+public class SimuladorRiesgo {
+
+    private static final int SESIONES_POR_BLOQUE = 10_000;
+
+    private final DistribucionResultados distribucion;
+    private final Supplier<PoliticaApuesta> politicas;
+    private final double apuestaMinima;
+    private final double apuestaMaxima;
+    private final double saldoInicial;
+    private final long maxManos;
+    private final long semilla;
+    private final int hilos;
+
+    public SimuladorRiesgo(DistribucionResultados distribucion, Supplier<PoliticaApuesta> politicas,
+                           ReglasMesa reglas, double saldoInicial, long maxManos, long semilla, int hilos) {
+        this.distribucion = distribucion;
+        this.politicas = politicas;
+        // Modelo estadístico: trabaja en unidades decimales, no en el libro de saldos
+        this.apuestaMinima = Dinero.aDecimal(reglas.getApuestaMinima());
+        this.apuestaMaxima = Dinero.aDecimal(reglas.getApuestaMaxima());
+        this.saldoInicial = saldoInicial;
+        this.maxManos = maxManos;
+        this.semilla = semilla;
+        this.hilos = hilos;
+    }
+
+    public ResultadoRiesgo ejecutar(long sesiones) throws GameException {
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<ResultadoRiesgo>> bloques = new ArrayList<>();
+            for (long inicio = 0; inicio < sesiones; inicio += SESIONES_POR_BLOQUE) {
+                long desde = inicio;
+                long hasta = Math.min(sesiones, inicio + SESIONES_POR_BLOQUE);
+                bloques.add(executor.submit(() -> simularBloque(desde, hasta)));
+            }
+
+            ResultadoRiesgo total = new ResultadoRiesgo(politicas.get().getNombre(), saldoInicial, maxManos);
+            for (Future<ResultadoRiesgo> bloque : bloques) {
+                total.combinar(bloque.get());
+            }
+            return total;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameException("Simulación de riesgo interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new GameException("Error durante la simulación de riesgo", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResultadoRiesgo simularBloque(long desde, long hasta) {
+        PoliticaApuesta politica = politicas.get();
+        ResultadoRiesgo acumulado = new ResultadoRiesgo(politica.getNombre(), saldoInicial, maxManos);
+        // Semilla propia por bloque: el resultado no depende del número de hilos
+        SplittableRandom random = new SplittableRandom(Torneo.mezclar(semilla + desde));
+
+        for (long sesion = desde; sesion < hasta; sesion++) {
+            politica.reiniciar();
+            double saldo = saldoInicial;
+            double maximo = saldo;
+            double caidaMaxima = 0;
+            long manos = 0;
+
+            while (manos < maxManos && saldo >= apuestaMinima) {
+                double apuesta = Math.max(apuestaMinima, Math.min(apuestaMaxima,
+                        Math.min(saldo, politica.apuesta(saldo))));
+                double ganancia = apuesta * distribucion.muestrear(random);
+
+                // Dobladas y divisiones pueden pedir más de lo que queda;
+                // el saldo nunca baja de cero
+                saldo = Math.max(0, saldo + ganancia);
+                politica.resultado(apuesta, ganancia);
+                manos++;
+
+                if (saldo > maximo) {
+                    maximo = saldo;
+                } else if (maximo - saldo > caidaMaxima) {
+                    caidaMaxima = maximo - saldo;
+                }
+            }
+
+            acumulado.registrar(saldo, caidaMaxima, saldo < apuestaMinima, manos);
+        }
+        return acumulado;
+    }
+}
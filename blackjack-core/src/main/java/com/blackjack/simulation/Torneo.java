@@ -0,0 +1,181 @@
+package com.blackjack.simulation;
+
+import com.blackjack.exceptions.GameException;
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.services.GameService.ResultadoRonda;
+import com.blackjack.strategies.Estrategia;
+import com.blackjack.strategies.RegistroEstrategias;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compara estrategias con números aleatorios comunes: la mano i de todas las
+ * estrategias se juega con un mazo barajado con la misma semilla, así las
+ * diferencias entre estrategias no arrastran la varianza del reparto.
+ *
+ * Las manos se reparten en bloques que se ejecutan en paralelo; cada bloque
+ * juega todas las estrategias y acumula estadísticas combinables
+ */
+public class Torneo {
+
+    private static final long SALDO_INICIAL = Long.MAX_VALUE / 4;
+    private static final int MANOS_POR_BLOQUE = 50_000;
+    private static final double Z_95 = 1.959964;
+
+    private final List<String> estrategias;
+    private final ReglasMesa reglas;
+    private final long semilla;
+    private final int hilos;
+
+    public Torneo(List<String> estrategias, ReglasMesa reglas, long semilla, int hilos) {
+        if (estrategias.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una estrategia");
+        }
+        this.estrategias = new ArrayList<>(estrategias);
+        this.reglas = reglas;
+        this.semilla = semilla;
+        this.hilos = hilos;
+    }
+
+    public ResultadoTorneo ejecutar(long manos) throws GameException {
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Acumulado>> bloques = new ArrayList<>();
+            for (long inicio = 0; inicio < manos; inicio += MANOS_POR_BLOQUE) {
+                long desde = inicio;
+                long hasta = Math.min(manos, inicio + MANOS_POR_BLOQUE);
+                bloques.add(executor.submit(() -> jugarBloque(desde, hasta)));
+            }
+
+            Acumulado total = new Acumulado(estrategias.size());
+            for (Future<Acumulado> bloque : bloques) {
+                total.combinar(bloque.get());
+            }
+            return construirResultado(total);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GameException("Torneo interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new GameException("Error durante el torneo", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Acumulado jugarBloque(long desde, long hasta) throws GameException {
+        int cantidad = estrategias.size();
+        Baraja[] barajas = new Baraja[cantidad];
+        GameService[] mesas = new GameService[cantidad];
+        Simulador[] simuladores = new Simulador[cantidad];
+
+        for (int s = 0; s < cantidad; s++) {
+            Estrategia estrategia = RegistroEstrategias.crear(estrategias.get(s));
+            barajas[s] = new Baraja(reglas.getNumeroMazos(), new Random());
+            mesas[s] = new GameService(barajas[s], null, reglas);
+            mesas[s].iniciarJugador(new Jugador(estrategia.getNombre(), SALDO_INICIAL));
+            simuladores[s] = new Simulador(mesas[s], estrategia, reglas.getApuestaMinima());
+        }
+
+        long apuesta = reglas.getApuestaMinima();
+        Acumulado acumulado = new Acumulado(cantidad);
+        double[] netos = new double[cantidad];
+
+        for (long mano = desde; mano < hasta; mano++) {
+            long semillaMano = mezclar(semilla + mano);
+
+            for (int s = 0; s < cantidad; s++) {
+                if (mesas[s].getEstadoActual() == GameService.EstadoJuego.FINALIZADO) {
+                    mesas[s].nuevaRonda();
+                }
+                barajas[s].reiniciar(semillaMano);
+
+                ResultadoRonda resultado = simuladores[s].jugarRonda();
+                netos[s] = (double) mesas[s].getGananciaUltimaRonda() / apuesta;
+                acumulado.registrar(s, resultado, netos[s]);
+            }
+
+            for (int s = 1; s < cantidad; s++) {
+                acumulado.diferencias[s].agregar(netos[s] - netos[0]);
+            }
+        }
+
+        return acumulado;
+    }
+
+    private ResultadoTorneo construirResultado(Acumulado total) {
+        List<ResultadoTorneo.Resumen> resumenes = new ArrayList<>();
+        for (int s = 0; s < estrategias.size(); s++) {
+            EstadisticaStreaming ev = total.ev[s];
+            double n = Math.max(1, ev.getN());
+            EstadisticaStreaming dif = total.diferencias[s];
+
+            double errorIndependiente = Math.hypot(ev.getErrorEstandar(), total.ev[0].getErrorEstandar());
+            resumenes.add(new ResultadoTorneo.Resumen(
+                    estrategias.get(s), ev.getN(), ev.getMedia(), ev.getErrorEstandar(),
+                    total.conteos[s][ResultadoRonda.GANA.ordinal()] / n,
+                    total.conteos[s][ResultadoRonda.EMPATE.ordinal()] / n,
+                    total.conteos[s][ResultadoRonda.PIERDE.ordinal()] / n,
+                    total.conteos[s][ResultadoRonda.BLACKJACK.ordinal()] / n,
+                    dif.getMedia(), dif.getErrorEstandar(),
+                    dif.getMedia() - Z_95 * dif.getErrorEstandar(),
+                    dif.getMedia() + Z_95 * dif.getErrorEstandar(),
+                    errorIndependiente));
+        }
+        return new ResultadoTorneo(estrategias.get(0), resumenes);
+    }
+
+    /**
+     * Dispersa semillas consecutivas (finalizador de MurmurHash3)
+     */
+    static long mezclar(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    /**
+     * Estadísticas de un bloque, combinables con las de otros bloques
+     */
+    private static class Acumulado {
+        final EstadisticaStreaming[] ev;
+        final EstadisticaStreaming[] diferencias;
+        final long[][] conteos;
+
+        Acumulado(int estrategias) {
+            ev = new EstadisticaStreaming[estrategias];
+            diferencias = new EstadisticaStreaming[estrategias];
+            conteos = new long[estrategias][ResultadoRonda.values().length];
+            for (int s = 0; s < estrategias; s++) {
+                ev[s] = new EstadisticaStreaming();
+                diferencias[s] = new EstadisticaStreaming();
+            }
+        }
+
+        void registrar(int estrategia, ResultadoRonda resultado, double neto) {
+            ev[estrategia].agregar(neto);
+            conteos[estrategia][resultado.ordinal()]++;
+        }
+
+        void combinar(Acumulado otro) {
+            for (int s = 0; s < ev.length; s++) {
+                ev[s].combinar(otro.ev[s]);
+                diferencias[s].combinar(otro.diferencias[s]);
+                for (int r = 0; r < conteos[s].length; r++) {
+                    conteos[s][r] += otro.conteos[s][r];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.blackjack.strategies;
+
+/**
+ * Acciones que un jugador puede tomar sobre su mano actual
+ */
+public enum Accion {
+    PEDIR, PLANTARSE, DOBLAR, DIVIDIR
+}
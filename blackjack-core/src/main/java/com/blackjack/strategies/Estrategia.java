@@ -0,0 +1,21 @@
+package com.blackjack.strategies;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+
+/**
+ * Política de juego automática para simulaciones
+ * Patrón Strategy: cada implementación decide la acción para una mano
+ */
+public interface Estrategia {
+
+    String getNombre();
+
+    /**
+     * Decide la acción para la mano actual frente a la carta visible del dealer.
+     * puedeDoblar y puedeDividir ya tienen en cuenta las reglas de la mesa; si
+     * la acción devuelta no es legal el simulador vuelve a preguntar con esa
+     * opción desactivada, y solo juega PEDIR si sigue sin serlo
+     */
+    Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir);
+}
@@ -0,0 +1,109 @@
+package com.blackjack.strategies;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+import java.util.List;
+
+/**
+ * Estrategia básica para zapato de varios mazos, dealer se planta en 17 suave
+ * y doblar después de dividir permitido.
+ *
+ * Cada tabla tiene una columna por carta del dealer (2..10, A):
+ * H pedir, S plantarse, D doblar o pedir, X doblar o plantarse, P dividir
+ */
+public class EstrategiaBasica implements Estrategia {
+
+    // Totales duros 4..21
+    private static final String[] DURAS = {
+            "HHHHHHHHHH", // 4
+            "HHHHHHHHHH", // 5
+            "HHHHHHHHHH", // 6
+            "HHHHHHHHHH", // 7
+            "HHHHHHHHHH", // 8
+            "HDDDDHHHHH", // 9
+            "DDDDDDDDHH", // 10
+            "DDDDDDDDDH", // 11
+            "HHSSSHHHHH", // 12
+            "SSSSSHHHHH", // 13
+            "SSSSSHHHHH", // 14
+            "SSSSSHHHHH", // 15
+            "SSSSSHHHHH", // 16
+            "SSSSSSSSSS", // 17
+            "SSSSSSSSSS", // 18
+            "SSSSSSSSSS", // 19
+            "SSSSSSSSSS", // 20
+            "SSSSSSSSSS"  // 21
+    };
+
+    // Totales suaves 12..21 (A+A .. A+10)
+    private static final String[] SUAVES = {
+            "HHHHHHHHHH", // 12
+            "HHHDDHHHHH", // 13
+            "HHHDDHHHHH", // 14
+            "HHDDDHHHHH", // 15
+            "HHDDDHHHHH", // 16
+            "HDDDDHHHHH", // 17
+            "SXXXXSSHHH", // 18
+            "SSSSSSSSSS", // 19
+            "SSSSSSSSSS", // 20
+            "SSSSSSSSSS"  // 21
+    };
+
+    // Parejas por valor de carta (A=1 .. 10)
+    private static final String[] PAREJAS = {
+            "PPPPPPPPPP", // A,A
+            "PPPPPPHHHH", // 2,2
+            "PPPPPPHHHH", // 3,3
+            "HHHPPHHHHH", // 4,4
+            "DDDDDDDDHH", // 5,5
+            "PPPPPHHHHH", // 6,6
+            "PPPPPPHHHH", // 7,7
+            "PPPPPPPPPP", // 8,8
+            "PPPPPSPPSS", // 9,9
+            "SSSSSSSSSS"  // 10,10
+    };
+
+    @Override
+    public String getNombre() {
+        return "basica";
+    }
+
+    @Override
+    public Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+        int columna = columnaDealer(cartaDealer);
+        int valor = mano.calcularValor();
+        char codigo;
+
+        if (puedeDividir) {
+            List<Carta> cartas = mano.getCartas();
+            codigo = PAREJAS[cartas.get(0).getValor().getValorMinimo() - 1].charAt(columna);
+        } else if (mano.esSuave()) {
+            codigo = SUAVES[valor - 12].charAt(columna);
+        } else {
+            codigo = DURAS[Math.max(valor, 4) - 4].charAt(columna);
+        }
+
+        switch (codigo) {
+            case 'P':
+                return Accion.DIVIDIR;
+            case 'D':
+                return puedeDoblar ? Accion.DOBLAR : Accion.PEDIR;
+            case 'X':
+                return puedeDoblar ? Accion.DOBLAR : Accion.PLANTARSE;
+            case 'S':
+                return Accion.PLANTARSE;
+            default:
+                return Accion.PEDIR;
+        }
+    }
+
+    /**
+     * Columna 0..9 para la carta visible del dealer (2..10, A)
+     */
+    static int columnaDealer(Carta cartaDealer) {
+        if (cartaDealer.getValor() == Carta.Valor.AS) {
+            return 9;
+        }
+        return cartaDealer.getValor().getValorMinimo() - 2;
+    }
+}
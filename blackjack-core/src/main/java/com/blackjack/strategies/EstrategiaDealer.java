@@ -0,0 +1,20 @@
+package com.blackjack.strategies;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+
+/**
+ * Imita al dealer: pide hasta llegar a 17 y nunca dobla ni divide
+ */
+public class EstrategiaDealer implements Estrategia {
+
+    @Override
+    public String getNombre() {
+        return "dealer";
+    }
+
+    @Override
+    public Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+        return mano.calcularValor() < 17 ? Accion.PEDIR : Accion.PLANTARSE;
+    }
+}
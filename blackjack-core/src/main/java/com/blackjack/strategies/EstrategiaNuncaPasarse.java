@@ -0,0 +1,25 @@
+package com.blackjack.strategies;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+
+/**
+ * Nunca se arriesga a pasarse: pide solo con totales duros de 11 o menos
+ * y con manos suaves por debajo de 18
+ */
+public class EstrategiaNuncaPasarse implements Estrategia {
+
+    @Override
+    public String getNombre() {
+        return "nunca-pasarse";
+    }
+
+    @Override
+    public Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+        int valor = mano.calcularValor();
+        if (mano.esSuave()) {
+            return valor < 18 ? Accion.PEDIR : Accion.PLANTARSE;
+        }
+        return valor <= 11 ? Accion.PEDIR : Accion.PLANTARSE;
+    }
+}
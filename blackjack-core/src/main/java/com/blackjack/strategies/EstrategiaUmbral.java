@@ -0,0 +1,30 @@
+package com.blackjack.strategies;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+
+/**
+ * Estrategia personalizada por umbrales: se planta al alcanzar un total duro
+ * o suave dado, sin doblar ni dividir
+ */
+public class EstrategiaUmbral implements Estrategia {
+
+    private final int umbralDuro;
+    private final int umbralSuave;
+
+    public EstrategiaUmbral(int umbralDuro, int umbralSuave) {
+        this.umbralDuro = umbralDuro;
+        this.umbralSuave = umbralSuave;
+    }
+
+    @Override
+    public String getNombre() {
+        return "umbral:" + umbralDuro + ":" + umbralSuave;
+    }
+
+    @Override
+    public Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+        int umbral = mano.esSuave() ? umbralSuave : umbralDuro;
+        return mano.calcularValor() < umbral ? Accion.PEDIR : Accion.PLANTARSE;
+    }
+}
@@ -0,0 +1,50 @@
+package com.blackjack.strategies;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registro de estrategias por nombre. Se crean nuevas instancias en cada
+ * consulta para que cada hilo de simulación tenga la suya.
+ * Además de las registradas acepta "umbral:D" y "umbral:D:S"
+ */
+public class RegistroEstrategias {
+
+    private static final Map<String, Supplier<Estrategia>> estrategias = new LinkedHashMap<>();
+
+    static {
+        registrar("basica", EstrategiaBasica::new);
+        registrar("dealer", EstrategiaDealer::new);
+        registrar("nunca-pasarse", EstrategiaNuncaPasarse::new);
+    }
+
+    private RegistroEstrategias() {
+    }
+
+    public static synchronized void registrar(String nombre, Supplier<Estrategia> fabrica) {
+        estrategias.put(nombre, fabrica);
+    }
+
+    public static synchronized Estrategia crear(String nombre) {
+        Supplier<Estrategia> fabrica = estrategias.get(nombre);
+        if (fabrica != null) {
+            return fabrica.get();
+        }
+
+        if (nombre.startsWith("umbral:")) {
+            String[] partes = nombre.split(":");
+            int duro = Integer.parseInt(partes[1]);
+            int suave = partes.length > 2 ? Integer.parseInt(partes[2]) : duro;
+            return new EstrategiaUmbral(duro, suave);
+        }
+
+        throw new IllegalArgumentException("Estrategia desconocida: " + nombre);
+    }
+
+    public static synchronized List<String> nombres() {
+        return new ArrayList<>(estrategias.keySet());
+    }
+}
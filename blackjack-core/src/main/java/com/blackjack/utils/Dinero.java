@@ -0,0 +1,115 @@
+package com.blackjack.utils;
+
+/**
+ * Cantidades de dinero como long en centavos. Sumar, restar y comparar es
+ * exacto; solo se convierte a texto o a decimal en los bordes: lo que escribe
+ * el usuario, lo que se muestra y las estadísticas
+ */
+public final class Dinero {
+
+    public static final long CENTAVOS_POR_UNIDAD = 100;
+
+    private Dinero() {
+    }
+
+    public static long desdeUnidades(long unidades) {
+        return Math.multiplyExact(unidades, CENTAVOS_POR_UNIDAD);
+    }
+
+    /**
+     * Redondea al centavo más cercano; solo para cantidades que ya vienen en
+     * decimal, como las de una política de apuesta proporcional
+     */
+    public static long desdeDecimal(double cantidad) {
+        return Math.round(cantidad * CENTAVOS_POR_UNIDAD);
+    }
+
+    public static double aDecimal(long centavos) {
+        return (double) centavos / CENTAVOS_POR_UNIDAD;
+    }
+
+    /**
+     * Lee "12", "12.5", "12.50" o "12,50" sin pasar por double
+     *
+     * @throws NumberFormatException si no es una cantidad con dos decimales como mucho
+     */
+    public static long parsear(String texto) {
+        String s = texto.trim();
+        int i = 0;
+        boolean negativo = false;
+        if (!s.isEmpty() && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+            negativo = s.charAt(0) == '-';
+            i++;
+        }
+
+        long unidades = 0;
+        int digitos = 0;
+        for (; i < s.length() && Character.isDigit(s.charAt(i)); i++, digitos++) {
+            unidades = Math.addExact(Math.multiplyExact(unidades, 10), s.charAt(i) - '0');
+        }
+
+        long centavos = 0;
+        int decimales = 0;
+        if (i < s.length() && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+            for (i++; i < s.length() && Character.isDigit(s.charAt(i)); i++, decimales++) {
+                if (decimales == 2) {
+                    throw new NumberFormatException("Más de dos decimales: " + texto);
+                }
+                centavos = centavos * 10 + (s.charAt(i) - '0');
+            }
+            if (decimales == 1) {
+                centavos *= 10;
+            }
+        }
+
+        if (i != s.length() || digitos + decimales == 0) {
+            throw new NumberFormatException("Cantidad inválida: " + texto);
+        }
+        long total = Math.addExact(desdeUnidades(unidades), centavos);
+        return negativo ? -total : total;
+    }
+
+    /**
+     * Fracción de una cantidad redondeada hacia abajo al centavo, como se
+     * pagan 3:2 o 6:5 sobre apuestas que no dividen exacto
+     */
+    public static long fraccion(long centavos, int numerador, int denominador) {
+        return Math.floorDiv(Math.multiplyExact(centavos, numerador), denominador);
+    }
+
+    public static String formatear(long centavos) {
+        return agregar(new StringBuilder(20), centavos).toString();
+    }
+
+    public static String formatearConSigno(long centavos) {
+        return agregarConSigno(new StringBuilder(20), centavos).toString();
+    }
+
+    /**
+     * Añade la cantidad con dos decimales, igual que "%.2f", sin objetos
+     * intermedios: las etiquetas que se redibujan a menudo reutilizan su
+     * StringBuilder
+     */
+    public static StringBuilder agregar(StringBuilder sb, long centavos) {
+        long unidades = centavos / CENTAVOS_POR_UNIDAD;
+        long resto = Math.abs(centavos % CENTAVOS_POR_UNIDAD);
+        if (centavos < 0 && unidades == 0) {
+            sb.append('-');
+        }
+        sb.append(unidades).append('.');
+        if (resto < 10) {
+            sb.append('0');
+        }
+        return sb.append(resto);
+    }
+
+    /**
+     * Como {@link #agregar}, con signo también en las positivas ("%+.2f")
+     */
+    public static StringBuilder agregarConSigno(StringBuilder sb, long centavos) {
+        if (centavos >= 0) {
+            sb.append('+');
+        }
+        return agregar(sb, centavos);
+    }
+}
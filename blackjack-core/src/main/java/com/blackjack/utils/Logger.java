@@ -14,11 +14,35 @@ public class Logger {
 
     private static final String LOG_FILE = "blackjack.log";
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static volatile boolean activo = true;
+
+    /**
+     * Permite desactivar el log en ejecuciones por lotes, donde abrir el
+     * archivo en cada mensaje dominaría el tiempo de ejecución
+     */
+    public static void setActivo(boolean activo) {
+        Logger.activo = activo;
+    }
+
+    public static boolean isActivo() {
+        return activo;
+    }
 
     public static void log(String mensaje) {
+        if (!activo) {
+            return;
+        }
         escribirLog("INFO", mensaje);
     }
 
+    /**
+     * Situaciones anómalas que no son un fallo: se escriben aunque el log
+     * esté desactivado, como los errores, pero sin traza
+     */
+    public static void logAdvertencia(String mensaje) {
+        escribirLog("WARN", mensaje);
+    }
+
     public static void logError(String mensaje, Exception e) {
         escribirLog("ERROR", mensaje + " - " + e.getMessage());
         e.printStackTrace();
@@ -26,8 +50,11 @@ public class Logger {
 
     private static void escribirLog(String nivel, String mensaje) {
         try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_FILE, true))) {
-            String timestamp = LocalDateTime.now().format(formatter);
-            writer.println(String.format("[%s] [%s] %s", timestamp, nivel, mensaje));
+            StringBuilder linea = new StringBuilder(mensaje.length() + 32);
+            linea.append('[');
+            formatter.formatTo(LocalDateTime.now(), linea);
+            linea.append("] [").append(nivel).append("] ").append(mensaje);
+            writer.println(linea);
         } catch (IOException e) {
             System.err.println("Error al escribir en log: " + e.getMessage());
         }
@@ -20,7 +20,7 @@ public class Validator {
         return nombre.matches("^[a-zA-Z0-9áéíóúÁÉÍÓÚñÑ ]+$");
     }
 
-    public static boolean esApuestaValida(double apuesta, double saldo, double minimo, double maximo) {
+    public static boolean esApuestaValida(long apuesta, long saldo, long minimo, long maximo) {
         if (apuesta <= 0) {
             return false;
         }
@@ -36,7 +36,7 @@ public class Validator {
         return true;
     }
 
-    public static boolean esSaldoValido(double saldo) {
+    public static boolean esSaldoValido(long saldo) {
         return saldo >= 0;
     }
 }
@@ -0,0 +1,26 @@
+module blackjack.core {
+    requires java.sql;
+    // Driver JDBC de SQLite, cargado por DriverManager
+    requires org.xerial.sqlitejdbc;
+    requires java.logging;
+    requires java.management;
+    // ThreadMXBean con bytes asignados por hilo, para MedidorAsignaciones
+    requires jdk.management;
+    // Opcional: sin el módulo se usa la evaluación por lotes escalar
+    requires static jdk.incubator.vector;
+
+    exports com.blackjack.models;
+    exports com.blackjack.services;
+    exports com.blackjack.database;
+    exports com.blackjack.exceptions;
+    exports com.blackjack.utils;
+    exports com.blackjack.strategies;
+    exports com.blackjack.simulation;
+    exports com.blackjack.cli;
+    exports com.blackjack.server;
+    exports com.blackjack.events;
+    exports com.blackjack.rules;
+    exports com.blackjack.analysis;
+    exports com.blackjack.sidebets;
+    exports com.blackjack.history;
+}
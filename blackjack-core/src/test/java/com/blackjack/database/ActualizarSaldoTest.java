@@ -0,0 +1,151 @@
+package com.blackjack.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.blackjack.exceptions.SaldoInsuficienteException;
+import com.blackjack.models.Jugador;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.utils.Logger;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Dos sesiones sobre la misma base de datos: cada cambio de saldo se suma
+ * sin pisar el de la otra, nunca deja el saldo en negativo y el resultado
+ * dice qué pasó
+ */
+class ActualizarSaldoTest {
+
+    @TempDir
+    Path directorio;
+
+    private boolean logActivo;
+    private DatabaseManager sesionA;
+    private DatabaseManager sesionB;
+
+    @BeforeEach
+    void abrirSesiones() {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        sesionA = abrir();
+        sesionB = abrir();
+        sesionA.guardarJugador(new Jugador("saldo", 100_00));
+    }
+
+    @AfterEach
+    void cerrar() {
+        sesionA.cerrarConexion();
+        sesionB.cerrarConexion();
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void sinOtraSesionSeGuarda() {
+        Jugador jugador = sesionA.obtenerJugador("saldo");
+        jugador.setSaldo(jugador.getSaldo() + 25_00);
+
+        assertEquals(DatabaseManager.ResultadoSaldo.GUARDADO, sesionA.actualizarSaldo(jugador));
+        assertEquals(125_00, jugador.getSaldo());
+        assertEquals(125_00, jugador.getSaldoGuardado());
+        assertEquals(125_00, sesionB.obtenerJugador("saldo").getSaldo());
+        // Sin cambios no hay nada que sumar, pero la versión avanza igual
+        assertEquals(DatabaseManager.ResultadoSaldo.GUARDADO, sesionA.actualizarSaldo(jugador));
+    }
+
+    @Test
+    void losCambiosDeLasDosSesionesSeSuman() {
+        Jugador enA = sesionA.obtenerJugador("saldo");
+        Jugador enB = sesionB.obtenerJugador("saldo");
+
+        enB.setSaldo(enB.getSaldo() + 50_00);
+        assertEquals(DatabaseManager.ResultadoSaldo.GUARDADO, sesionB.actualizarSaldo(enB));
+
+        enA.setSaldo(enA.getSaldo() - 10_00);
+        assertEquals(DatabaseManager.ResultadoSaldo.CAMBIADO_EN_OTRA_SESION, sesionA.actualizarSaldo(enA));
+        assertEquals(140_00, enA.getSaldo());
+        assertEquals(140_00, sesionB.obtenerJugador("saldo").getSaldo());
+    }
+
+    @Test
+    void unaRestaQueDejariaNegativoSeRechaza() {
+        Jugador enA = sesionA.obtenerJugador("saldo");
+        Jugador enB = sesionB.obtenerJugador("saldo");
+
+        enB.setSaldo(enB.getSaldo() - 95_00);
+        assertEquals(DatabaseManager.ResultadoSaldo.GUARDADO, sesionB.actualizarSaldo(enB));
+
+        // A todavía cree que tiene 100.00
+        enA.setSaldo(enA.getSaldo() - 10_00);
+        assertEquals(DatabaseManager.ResultadoSaldo.RECHAZADO, sesionA.actualizarSaldo(enA));
+        // Se queda con el saldo real y sin nada pendiente
+        assertEquals(5_00, enA.getSaldo());
+        assertEquals(5_00, enA.getSaldoGuardado());
+        assertEquals(5_00, sesionB.obtenerJugador("saldo").getSaldo());
+    }
+
+    @Test
+    void unErrorDejaElCambioPendiente() {
+        Jugador fantasma = new Jugador("fantasma", 10_00);
+        fantasma.setId(9_999L);
+        fantasma.setSaldo(30_00);
+
+        assertEquals(DatabaseManager.ResultadoSaldo.ERROR, sesionA.actualizarSaldo(fantasma));
+        assertEquals(30_00, fantasma.getSaldo());
+        assertEquals(10_00, fantasma.getSaldoGuardado());
+    }
+
+    @Test
+    void laMesaNoApuestaDineroQueOtraSesionGasto() throws Exception {
+        GameService mesa = new GameService(new Baraja(1, 3L), sesionA);
+        mesa.iniciarJugador("saldo");
+
+        Jugador enB = sesionB.obtenerJugador("saldo");
+        enB.setSaldo(enB.getSaldo() - 95_00);
+        sesionB.actualizarSaldo(enB);
+
+        assertThrows(SaldoInsuficienteException.class, () -> mesa.realizarApuesta(10_00));
+        assertEquals(5_00, mesa.getJugador().getSaldo());
+        assertEquals(5_00, sesionB.obtenerJugador("saldo").getSaldo());
+        assertEquals(GameService.EstadoJuego.ESPERANDO_APUESTA, mesa.getEstadoActual());
+    }
+
+    @Test
+    void sumasConcurrentesNoSePierden() throws Exception {
+        int sumas = 20;
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = hilos.submit(() -> sumar(sesionA, sumas));
+            Future<?> b = hilos.submit(() -> sumar(sesionB, sumas));
+            a.get();
+            b.get();
+        } finally {
+            hilos.shutdown();
+        }
+        assertEquals(100_00 + 2 * sumas, sesionA.obtenerJugador("saldo").getSaldo());
+    }
+
+    private static void sumar(DatabaseManager sesion, int sumas) {
+        Jugador jugador = sesion.obtenerJugador("saldo");
+        for (int i = 0; i < sumas; i++) {
+            jugador.setSaldo(jugador.getSaldo() + 1);
+            if (sesion.actualizarSaldo(jugador) == DatabaseManager.ResultadoSaldo.ERROR) {
+                throw new IllegalStateException("No se pudo guardar la suma " + i);
+            }
+        }
+    }
+
+    private DatabaseManager abrir() {
+        DatabaseManager manager = new DatabaseManager("jdbc:sqlite:" + directorio.resolve("saldos.db"),
+                directorio.resolve("historial"));
+        manager.inicializarBaseDatos();
+        return manager;
+    }
+}
@@ -0,0 +1,143 @@
+package com.blackjack.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.blackjack.history.FuenteSaldos;
+import com.blackjack.models.Jugador;
+import com.blackjack.utils.Logger;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Archivar el historial mueve los días cerrados a segmentos sin perder ni
+ * repetir filas, y termina aunque haya fechas que SQLite no entiende
+ */
+class ArchivoHistorialTest {
+
+    @TempDir
+    Path directorio;
+
+    private boolean logActivo;
+    private String url;
+    private DatabaseManager db;
+    private long jugadorId;
+    private final List<String> esperadas = new ArrayList<>();
+
+    @BeforeEach
+    void crearBaseDatos() throws SQLException {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        url = "jdbc:sqlite:" + directorio.resolve("prueba.db");
+        db = abrir();
+        Jugador jugador = new Jugador("archivo", 100_00);
+        db.guardarJugador(jugador);
+        jugadorId = jugador.getId();
+
+        try (Connection conexion = DriverManager.getConnection(url)) {
+            insertar(conexion, "2024-03-01 10:00:00", 101_00);
+            insertar(conexion, "2024-03-01 23:59:59", 102_00);
+            // Otro formato que date() entiende pero que no se compara bien como texto
+            insertar(conexion, "2024-03-02T08:30:00", 99_50);
+            // Número de día juliano (2024-03-03 00:00 UTC): como número es menor que cualquier texto
+            insertar(conexion, 2460372.5, 98_00);
+            // date() devuelve NULL: no se puede archivar y debe quedarse en la tabla
+            insertar(conexion, "03/04/2024", 97_00);
+        }
+        // Fila de hoy con la fecha por defecto: todavía no se archiva
+        db.registrarPartida(jugadorId, 10_00, "GANA", 10_00, 107_00);
+        esperadas.add(ultimoId() + ":" + 107_00);
+    }
+
+    @AfterEach
+    void cerrar() {
+        db.cerrarConexion();
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void archivaLosDiasCerradosYDejaLasFechasInvalidas() throws Exception {
+        int escritos = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> db.archivarHistorial(0));
+
+        assertEquals(3, escritos);
+        assertEquals(3, db.getArchivo().getSegmentos().size());
+        assertEquals(2, filasVivas());
+        assertEquals(esperadas, leerSaldos(db));
+
+        // Lo que queda no se vuelve a archivar y la llamada termina
+        assertEquals(0, (int) assertTimeoutPreemptively(Duration.ofSeconds(30), () -> db.archivarHistorial(0)));
+        assertEquals(2, filasVivas());
+    }
+
+    @Test
+    void losSegmentosSeLeenIgualAlReabrir() throws Exception {
+        db.archivarHistorial(0);
+        db.cerrarConexion();
+
+        db = abrir();
+        assertEquals(3, db.getArchivo().getSegmentos().size());
+        assertEquals(esperadas.size(), db.fuenteSaldos(jugadorId).contar());
+        assertEquals(esperadas, leerSaldos(db));
+    }
+
+    private DatabaseManager abrir() {
+        DatabaseManager manager = new DatabaseManager(url, directorio.resolve("historial"));
+        manager.inicializarBaseDatos();
+        return manager;
+    }
+
+    private void insertar(Connection conexion, Object fecha, long saldo) throws SQLException {
+        try (PreparedStatement pstmt = conexion.prepareStatement(
+                "INSERT INTO historial_partidas (jugador_id, apuesta, resultado, ganancia, saldo, fecha)" +
+                        " VALUES (?, 1000, 'GANA', 1000, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setLong(1, jugadorId);
+            pstmt.setLong(2, saldo);
+            pstmt.setObject(3, fecha);
+            pstmt.executeUpdate();
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                rs.next();
+                esperadas.add(rs.getLong(1) + ":" + saldo);
+            }
+        }
+    }
+
+    private long ultimoId() throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(url);
+             Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(id) FROM historial_partidas")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long filasVivas() throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(url);
+             Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM historial_partidas")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Pares id:saldo en el orden en que los entrega la fuente
+     */
+    private List<String> leerSaldos(DatabaseManager manager) throws Exception {
+        List<String> leidas = new ArrayList<>();
+        FuenteSaldos fuente = manager.fuenteSaldos(jugadorId);
+        fuente.leer(0, 100, (id, saldo) -> leidas.add(id + ":" + saldo));
+        return leidas;
+    }
+}
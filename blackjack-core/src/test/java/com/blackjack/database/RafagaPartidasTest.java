@@ -0,0 +1,87 @@
+package com.blackjack.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Jugador;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.utils.Logger;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * En una ráfaga la mesa guarda por bloques: al terminarla el historial tiene
+ * todas las rondas y la base de datos el mismo saldo que el jugador
+ */
+class RafagaPartidasTest {
+
+    private static final long APUESTA = 10_00;
+
+    @TempDir
+    Path directorio;
+
+    private boolean logActivo;
+    private DatabaseManager db;
+    private Jugador jugador;
+    private GameService mesa;
+    private Simulador simulador;
+
+    @BeforeEach
+    void crearMesa() {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        db = new DatabaseManager("jdbc:sqlite:" + directorio.resolve("prueba.db"), directorio.resolve("historial"));
+        db.inicializarBaseDatos();
+        jugador = new Jugador("rafaga", 100_000_00);
+        db.guardarJugador(jugador);
+        mesa = new GameService(new Baraja(6, 11L), db);
+        mesa.iniciarJugador(jugador);
+        simulador = new Simulador(mesa, RegistroEstrategias.crear("basica"), APUESTA);
+    }
+
+    @AfterEach
+    void cerrar() {
+        db.cerrarConexion();
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void alTerminarLaRafagaTodoQuedaGuardado() throws Exception {
+        // Más de un bloque de historial, y el último a medias
+        int rondas = 1234;
+        mesa.iniciarRafaga();
+        for (int i = 0; i < rondas; i++) {
+            simulador.jugarRonda();
+        }
+        mesa.terminarRafaga();
+
+        assertEquals(rondas, db.fuenteSaldos(jugador.getId()).contar());
+        assertEquals(jugador.getSaldo(), db.obtenerJugador("rafaga").getSaldo());
+        assertEquals(rondas, db.obtenerEstadisticas(jugador.getId()).getManos());
+    }
+
+    @Test
+    void duranteLaRafagaElFondoSigueDescontado() throws Exception {
+        mesa.iniciarRafaga();
+        for (int i = 0; i < 10; i++) {
+            simulador.jugarRonda();
+        }
+        // Lo no apostado del fondo sigue reservado frente a otras sesiones
+        long guardado = db.obtenerJugador("rafaga").getSaldo();
+        assertTrue(guardado < jugador.getSaldo(), guardado + " frente a " + jugador.getSaldo());
+        assertTrue(jugador.getSaldo() - guardado <= 100 * APUESTA);
+
+        mesa.terminarRafaga();
+        assertEquals(jugador.getSaldo(), db.obtenerJugador("rafaga").getSaldo());
+        // Fuera de la ráfaga se vuelve a guardar ronda a ronda
+        simulador.jugarRonda();
+        assertEquals(jugador.getSaldo(), db.obtenerJugador("rafaga").getSaldo());
+        assertEquals(11, db.fuenteSaldos(jugador.getId()).contar());
+    }
+}
@@ -0,0 +1,127 @@
+package com.blackjack.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.utils.Logger;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Abrir el historial compacto en una ronda a través del índice da las
+ * mismas rondas que decodificarlo desde el principio
+ */
+class IndiceRondasTest {
+
+    // Dos entradas de índice completas y una tercera a medias
+    private static final int RONDAS = 2 * IndiceRondas.INTERVALO + 300;
+
+    @TempDir
+    Path directorio;
+
+    private boolean logActivo;
+    private Path datos;
+    private Path indice;
+    private final List<RondaCodificada> rondas = new ArrayList<>();
+
+    @BeforeEach
+    void escribirHistorial() throws Exception {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        datos = directorio.resolve("rondas.bjr");
+        indice = directorio.resolve("rondas.idx");
+
+        ReglasMesa reglas = new ReglasMesa.Builder().numeroMazos(6).penetracion(0.75).build();
+        GameService mesa = new GameService(new Baraja(6, 23L), null, reglas);
+        mesa.iniciarJugador(new Jugador("historial", 100_000_000L));
+        Simulador simulador = new Simulador(mesa, RegistroEstrategias.crear("basica"), 10_00);
+        CodificadorRondas codificador = new CodificadorRondas(mesa,
+                new BufferedOutputStream(Files.newOutputStream(datos)),
+                new BufferedOutputStream(Files.newOutputStream(indice)), 3);
+        mesa.suscribir(codificador);
+        for (int i = 0; i < RONDAS; i++) {
+            simulador.jugarRonda();
+        }
+        mesa.desuscribir(codificador);
+        codificador.close();
+        assertEquals(RONDAS, codificador.getRondas());
+        assertEquals(Files.size(datos), codificador.getBytes());
+
+        try (DecodificadorRondas decodificador = new DecodificadorRondas(
+                new BufferedInputStream(Files.newInputStream(datos)))) {
+            for (RondaCodificada ronda = decodificador.siguiente(); ronda != null; ronda = decodificador.siguiente()) {
+                rondas.add(ronda);
+            }
+        }
+    }
+
+    @AfterEach
+    void restaurarLog() {
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void elHistorialSecuencialEsCoherente() throws IOException {
+        assertEquals(RONDAS, rondas.size());
+        // Una entrada de índice por cada INTERVALO rondas, empezando por la 0
+        assertEquals(3 * IndiceRondas.TAMANO_ENTRADA, Files.size(indice));
+        for (int i = 0; i < RONDAS; i++) {
+            RondaCodificada ronda = rondas.get(i);
+            assertEquals(i, ronda.ronda());
+            assertEquals(3, ronda.asiento());
+            assertEquals(10_00, ronda.apuestaCentavos());
+            if (i > 0) {
+                RondaCodificada anterior = rondas.get(i - 1);
+                assertEquals(anterior.saldoCentavos() + anterior.gananciaCentavos(), ronda.saldoCentavos(),
+                        "saldo de la ronda " + i);
+            }
+        }
+    }
+
+    @Test
+    void abrirEnCualquierRondaDaLaMismaRonda() throws IOException {
+        int intervalo = IndiceRondas.INTERVALO;
+        long[] destinos = {0, 1, intervalo - 1, intervalo, intervalo + 1, 2 * intervalo - 1,
+                2 * intervalo, RONDAS - 1};
+        for (long destino : destinos) {
+            try (DecodificadorRondas decodificador = DecodificadorRondas.abrirEn(datos, indice, destino)) {
+                for (long r = destino; r < Math.min(destino + 3, RONDAS); r++) {
+                    assertEquals(rondas.get((int) r), decodificador.siguiente(), "ronda " + r + " desde " + destino);
+                }
+            }
+        }
+        try (DecodificadorRondas decodificador = DecodificadorRondas.abrirEn(datos, indice, RONDAS)) {
+            assertNull(decodificador.siguiente());
+        }
+        assertThrows(EOFException.class, () -> DecodificadorRondas.abrirEn(datos, indice, RONDAS + 1).close());
+    }
+
+    @Test
+    void laBusquedaDevuelveLaEntradaAnterior() throws IOException {
+        int intervalo = IndiceRondas.INTERVALO;
+        assertEquals(0, IndiceRondas.buscar(indice, intervalo - 1)[0]);
+        assertEquals(intervalo, IndiceRondas.buscar(indice, intervalo)[0]);
+        assertEquals(2 * intervalo, IndiceRondas.buscar(indice, Long.MAX_VALUE)[0]);
+
+        Path vacio = Files.createFile(directorio.resolve("vacio.idx"));
+        assertEquals(0, IndiceRondas.buscar(vacio, 500)[0]);
+        assertEquals(0, IndiceRondas.buscar(vacio, 500)[1]);
+    }
+}
@@ -0,0 +1,128 @@
+package com.blackjack.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.simulation.Simulador;
+import com.blackjack.strategies.RegistroEstrategias;
+import com.blackjack.utils.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Un diario se vuelve a jugar con las mismas cartas y saldos, también con
+ * varias sesiones seguidas y rondas jugadas en ráfaga, y cualquier cambio
+ * en lo grabado se detecta como divergencia
+ */
+class ReproductorDiarioTest {
+
+    private static final int RONDAS = 400;
+
+    private boolean logActivo;
+
+    @BeforeEach
+    void silenciarLog() {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+    }
+
+    @AfterEach
+    void restaurarLog() {
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void laReproduccionCoincideConLaSesion() throws Exception {
+        ByteArrayOutputStream diario = new ByteArrayOutputStream();
+        long saldo = grabarSesion(diario, 41L, "basica");
+
+        ResultadoReproduccion resultado = reproducir(diario.toByteArray());
+        assertNull(resultado.divergencia());
+        assertTrue(resultado.coincide());
+        assertEquals(1, resultado.sesiones());
+        assertEquals(RONDAS, resultado.rondas());
+        assertEquals(saldo, resultado.saldoFinal());
+    }
+
+    @Test
+    void variasSesionesEnElMismoDiario() throws Exception {
+        ByteArrayOutputStream diario = new ByteArrayOutputStream();
+        grabarSesion(diario, 7L, "basica");
+        long saldo = grabarSesion(diario, 8L, "nunca-pasarse");
+
+        ResultadoReproduccion resultado = reproducir(diario.toByteArray());
+        assertTrue(resultado.coincide(), resultado.divergencia());
+        assertEquals(2, resultado.sesiones());
+        assertEquals(2 * RONDAS, resultado.rondas());
+        assertEquals(saldo, resultado.saldoFinal());
+    }
+
+    @Test
+    void otraSemillaSeDetecta() throws Exception {
+        ByteArrayOutputStream diario = new ByteArrayOutputStream();
+        grabarSesion(diario, 41L, "basica");
+        byte[] bytes = diario.toByteArray();
+        // Etiqueta (1 byte) y número mágico (4): después va la semilla
+        bytes[1 + 4 + 7] ^= 1;
+
+        ResultadoReproduccion resultado = reproducir(bytes);
+        assertFalse(resultado.coincide());
+        assertTrue(resultado.eventoDivergencia() > 0);
+    }
+
+    @Test
+    void unSaldoCambiadoSeDetecta() throws Exception {
+        ByteArrayOutputStream diario = new ByteArrayOutputStream();
+        grabarSesion(diario, 41L, "basica");
+        byte[] bytes = diario.toByteArray();
+        // El último evento es una liquidación: su saldo son los 8 bytes finales
+        bytes[bytes.length - 1] ^= 1;
+
+        ResultadoReproduccion resultado = reproducir(bytes);
+        assertFalse(resultado.coincide());
+        assertTrue(resultado.divergencia().startsWith("Liquidación distinta"), resultado.divergencia());
+        assertEquals(RONDAS, resultado.rondas());
+    }
+
+    /**
+     * Juega una sesión con el diario suscrito; la segunda mitad, en ráfaga
+     *
+     * @return saldo final del jugador
+     */
+    private static long grabarSesion(ByteArrayOutputStream destino, long semilla, String estrategia)
+            throws Exception {
+        ReglasMesa reglas = new ReglasMesa.Builder().numeroMazos(2).penetracion(0.75).build();
+        GameService mesa = new GameService(new Baraja(reglas.getNumeroMazos(), semilla), null, reglas);
+        long saldo;
+        try (DiarioMesa diario = new DiarioMesa(mesa, destino)) {
+            mesa.suscribir(diario);
+            mesa.iniciarJugador(new Jugador("diario", 1_000_000_00L));
+            Simulador simulador = new Simulador(mesa, RegistroEstrategias.crear(estrategia), 10_00);
+            for (int i = 0; i < RONDAS / 2; i++) {
+                simulador.jugarRonda();
+            }
+            mesa.iniciarRafaga();
+            for (int i = 0; i < RONDAS / 2; i++) {
+                simulador.jugarRonda();
+            }
+            mesa.terminarRafaga();
+            mesa.desuscribir(diario);
+            saldo = mesa.getJugador().getSaldo();
+        }
+        return saldo;
+    }
+
+    private static ResultadoReproduccion reproducir(byte[] diario) throws IOException {
+        return new ReproductorDiario().reproducir(new ByteArrayInputStream(diario));
+    }
+}
@@ -0,0 +1,105 @@
+package com.blackjack.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Mano;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Las tablas compiladas responden lo mismo que las reglas de la mesa
+ * evaluadas directamente, para cada total y cada configuración
+ */
+class ReglasCompiladasTest {
+
+    @Test
+    void elDealerPideSegunLaReglaDel17Suave() {
+        for (boolean pideSuave17 : new boolean[] {false, true}) {
+            ReglasCompiladas reglas = new ReglasMesa.Builder().dealerPideSuave17(pideSuave17).build().compilar();
+            for (int total = 0; total <= 40; total++) {
+                assertEquals(total < 17, reglas.dealerPide(total, false), "duro " + total);
+                assertEquals(total < 17 || (total == 17 && pideSuave17), reglas.dealerPide(total, true),
+                        "suave " + total + " H17=" + pideSuave17);
+            }
+        }
+    }
+
+    @Test
+    void elDealerPideConUnaManoReal() {
+        ReglasCompiladas h17 = new ReglasMesa.Builder().dealerPideSuave17(true).build().compilar();
+        ReglasCompiladas s17 = new ReglasMesa.Builder().dealerPideSuave17(false).build().compilar();
+        Mano suave17 = mano(Carta.Valor.AS, Carta.Valor.SEIS);
+        Mano duro17 = mano(Carta.Valor.DIEZ, Carta.Valor.SIETE);
+
+        assertTrue(h17.dealerPide(suave17));
+        assertFalse(s17.dealerPide(suave17));
+        assertFalse(h17.dealerPide(duro17));
+        assertFalse(s17.dealerPide(duro17));
+    }
+
+    @Test
+    void doblarSigueLaReglaDeLaMesa() {
+        for (ReglasMesa.ReglaDoblar regla : ReglasMesa.ReglaDoblar.values()) {
+            ReglasCompiladas reglas = new ReglasMesa.Builder().reglaDoblar(regla).build().compilar();
+            for (Carta.Valor primera : Carta.Valor.values()) {
+                for (Carta.Valor segunda : Carta.Valor.values()) {
+                    Mano mano = mano(primera, segunda);
+                    assertEquals(regla.permite(mano.calcularValor()), reglas.puedeDoblar(mano),
+                            regla + " con " + primera + " y " + segunda);
+                }
+            }
+            // Con tres cartas no se dobla nunca
+            Mano tres = mano(Carta.Valor.DOS, Carta.Valor.TRES, Carta.Valor.CINCO);
+            assertFalse(reglas.puedeDoblar(tres));
+        }
+    }
+
+    @Test
+    void dividirRespetaElMaximoDeManos() {
+        ReglasCompiladas reglas = new ReglasMesa.Builder().maxManos(3).build().compilar();
+        Mano pareja = mano(Carta.Valor.OCHO, Carta.Valor.OCHO);
+
+        assertTrue(reglas.puedeDividir(pareja, 2));
+        assertFalse(reglas.puedeDividir(pareja, 3));
+        assertFalse(reglas.puedeDividir(mano(Carta.Valor.OCHO, Carta.Valor.NUEVE), 1));
+    }
+
+    @Test
+    void elBlackjackPagaSegunLaFraccionRedondeandoAbajo() {
+        ReglasCompiladas tresADos = new ReglasMesa.Builder().pagoBlackjack(3, 2).build().compilar();
+        ReglasCompiladas seisACinco = new ReglasMesa.Builder().pagoBlackjack(6, 5).build().compilar();
+
+        assertEquals(25_00, tresADos.retornoBlackjack(10_00));
+        assertEquals(10_05 + 15_07, tresADos.retornoBlackjack(10_05));
+        assertEquals(10_00 + 12_00, seisACinco.retornoBlackjack(10_00));
+        assertEquals(3 + 3, seisACinco.retornoBlackjack(3));
+    }
+
+    @Test
+    void lasPropiedadesVanYVuelven() {
+        ReglasMesa original = new ReglasMesa.Builder()
+                .numeroMazos(2).dealerPideSuave17(true).pagoBlackjack(6, 5)
+                .reglaDoblar(ReglasMesa.ReglaDoblar.NUEVE_A_ONCE).doblarTrasDividir(false)
+                .maxManos(3).apuestaMinima(5_00).apuestaMaxima(250_50)
+                .penetracion(0.8).barajadoContinuo(true).build();
+        Properties propiedades = original.aPropiedades();
+        ReglasMesa leida = ReglasMesa.desdePropiedades(propiedades);
+
+        assertEquals(propiedades, leida.aPropiedades());
+        ReglasCompiladas compiladas = leida.compilar();
+        assertEquals(5_00, compiladas.getApuestaMinima());
+        assertEquals(250_50, compiladas.getApuestaMaxima());
+        assertTrue(compiladas.dealerPide(17, true));
+    }
+
+    private static Mano mano(Carta.Valor... valores) {
+        Mano mano = new Mano();
+        for (Carta.Valor valor : valores) {
+            mano.agregarCarta(new Carta(Carta.Palo.PICAS, valor));
+        }
+        return mano;
+    }
+}
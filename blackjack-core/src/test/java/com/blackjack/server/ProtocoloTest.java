@@ -0,0 +1,143 @@
+package com.blackjack.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Carta;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.GameService;
+import com.blackjack.utils.Logger;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lo que se escribe con {@link Protocolo} se lee igual, y el servidor
+ * responde con mensajes bien formados aunque el cliente envíe uno corto
+ */
+class ProtocoloTest {
+
+    @Test
+    void lasCartasVanYVuelvenPorSuOrdinal() {
+        for (Carta.Palo palo : Carta.Palo.values()) {
+            for (Carta.Valor valor : Carta.Valor.values()) {
+                byte ordinal = Protocolo.ordinal(new Carta(palo, valor));
+                assertTrue(ordinal >= 0 && ordinal < 52);
+                assertEquals(palo, Protocolo.palo(ordinal));
+                assertEquals(valor, Protocolo.valor(ordinal));
+            }
+        }
+        Carta oculta = new Carta(Carta.Palo.PICAS, Carta.Valor.AS);
+        oculta.setBocaAbajo(true);
+        assertEquals(Protocolo.CARTA_OCULTA, Protocolo.ordinal(oculta));
+    }
+
+    @Test
+    void laLongitudCuentaTipoYCarga() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        Protocolo.escribirMensajeVacio(buffer, Protocolo.PEDIR);
+        Protocolo.escribirMensajeDinero(buffer, Protocolo.APOSTAR, 12_345L);
+        int inicio = Protocolo.empezarMensaje(buffer, Protocolo.ERROR);
+        Protocolo.escribirTexto(buffer, "sin saldo");
+        Protocolo.terminarMensaje(buffer, inicio);
+        buffer.flip();
+
+        assertEquals(1, buffer.getShort());
+        assertEquals(Protocolo.PEDIR, buffer.get());
+        assertEquals(9, buffer.getShort());
+        assertEquals(Protocolo.APOSTAR, buffer.get());
+        assertEquals(12_345L, buffer.getLong());
+        assertEquals(1 + 2 + 9, buffer.getShort());
+        assertEquals(Protocolo.ERROR, buffer.get());
+        assertEquals("sin saldo", Protocolo.leerTexto(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void unTextoLargoSeCortaSinPartirCaracteres() {
+        // "ñ" ocupa dos bytes: con un prefijo de un byte, el corte cae en mitad de una
+        String texto = "a" + "ñ".repeat(Protocolo.MAX_MENSAJE);
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Protocolo.MAX_MENSAJE);
+        Protocolo.escribirTexto(buffer, texto);
+        buffer.flip();
+
+        String leido = Protocolo.leerTexto(buffer);
+        assertTrue(leido.getBytes(StandardCharsets.UTF_8).length <= Protocolo.MAX_MENSAJE - 16);
+        assertTrue(texto.startsWith(leido));
+        assertTrue(leido.length() > 1);
+    }
+
+    @Test
+    void elServidorRespondeAUnMensajeCorto() throws IOException {
+        boolean logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+        try (ServidorMesas servidor = new ServidorMesas(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, new ReglasMesa.Builder().build())) {
+            Thread aceptador = new Thread(servidor::aceptar, "aceptador-prueba");
+            aceptador.setDaemon(true);
+            aceptador.start();
+
+            try (SocketChannel cliente = SocketChannel.open(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), servidor.getPuerto()))) {
+                ByteBuffer salida = ByteBuffer.allocate(64);
+                int inicio = Protocolo.empezarMensaje(salida, Protocolo.HOLA);
+                Protocolo.escribirTexto(salida, "prueba");
+                Protocolo.terminarMensaje(salida, inicio);
+                enviar(cliente, salida);
+
+                ByteBuffer bienvenida = recibir(cliente);
+                assertEquals(Protocolo.BIENVENIDA, bienvenida.get());
+                assertEquals(1000_00L, bienvenida.getLong());
+                ByteBuffer estado = recibir(cliente);
+                assertEquals(Protocolo.ESTADO, estado.get());
+                assertEquals(GameService.EstadoJuego.ESPERANDO_APUESTA.ordinal(), estado.get());
+
+                // APOSTAR sin la cantidad
+                Protocolo.escribirMensajeVacio(salida, Protocolo.APOSTAR);
+                enviar(cliente, salida);
+                ByteBuffer error = recibir(cliente);
+                assertEquals(Protocolo.ERROR, error.get());
+                assertTrue(Protocolo.leerTexto(error).startsWith("Mensaje incompleto"));
+
+                // La conexión sigue viva y la apuesta completa se acepta
+                Protocolo.escribirMensajeDinero(salida, Protocolo.APOSTAR, 10_00L);
+                enviar(cliente, salida);
+                ByteBuffer tras = recibir(cliente);
+                assertEquals(Protocolo.ESTADO, tras.get());
+            }
+        } finally {
+            Logger.setActivo(logActivo);
+        }
+    }
+
+    private static void enviar(SocketChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Lee un mensaje completo y lo devuelve posicionado en el tipo
+     */
+    private static ByteBuffer recibir(SocketChannel canal) throws IOException {
+        ByteBuffer cabecera = ByteBuffer.allocate(Protocolo.CABECERA);
+        leerCompleto(canal, cabecera);
+        ByteBuffer mensaje = ByteBuffer.allocate(cabecera.getShort(0) & 0xFFFF);
+        leerCompleto(canal, mensaje);
+        return mensaje.flip();
+    }
+
+    private static void leerCompleto(SocketChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer) < 0) {
+                throw new IOException("El servidor cerró la conexión");
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.blackjack.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Carta;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Con barajado continuo el zapato siempre conserva todas sus cartas, no
+ * cambia de zapato y las cartas devueltas quedan en posiciones uniformes
+ */
+class BarajadoContinuoTest {
+
+    private static final int CARTAS_MAZO = 52;
+
+    @Test
+    void alEmpezarLaRondaVuelvenTodasLasCartas() {
+        Baraja baraja = continua(2, 5L);
+        int total = 2 * CARTAS_MAZO;
+        for (int ronda = 0; ronda < 500; ronda++) {
+            int repartidas = 4 + ronda % 7;
+            for (int i = 0; i < repartidas; i++) {
+                baraja.sacarCarta();
+            }
+            assertEquals(total - repartidas, baraja.cartasRestantes());
+            baraja.nuevaRonda();
+            assertEquals(total, baraja.cartasRestantes());
+            assertEquals(total, baraja.getRastreador().leer().restantes());
+        }
+
+        // Sigue habiendo exactamente dos copias de cada carta
+        int[] copias = new int[CARTAS_MAZO];
+        for (int i = 0; i < total; i++) {
+            copias[baraja.sacarCarta().getOrdinal()]++;
+        }
+        for (int ordinal = 0; ordinal < CARTAS_MAZO; ordinal++) {
+            assertEquals(2, copias[ordinal], "carta " + ordinal);
+        }
+    }
+
+    @Test
+    void unaCartaOcultaDevueltaNoSeCuenta() {
+        Baraja baraja = continua(1, 9L);
+        baraja.sacarCarta();
+        baraja.sacarCartaOculta();
+        baraja.nuevaRonda();
+        baraja.descubrirOculta();
+        assertEquals(CARTAS_MAZO, baraja.getRastreador().leer().restantes());
+    }
+
+    @Test
+    void lasCartasDevueltasQuedanEnPosicionesUniformes() {
+        // Se reparte siempre la misma carta de arriba y se mira dónde queda
+        // tras devolverla: cada posición debe salir una de cada 52 veces
+        Baraja baraja = continua(1, 13L);
+        int rondas = 52_000;
+        int[] porPosicion = new int[CARTAS_MAZO];
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            Carta marcada = baraja.sacarCarta();
+            baraja.nuevaRonda();
+            List<Carta> zapato = new ArrayList<>(CARTAS_MAZO);
+            for (int i = 0; i < CARTAS_MAZO; i++) {
+                zapato.add(baraja.sacarCarta());
+            }
+            // El orden de salida recorre el zapato de arriba abajo
+            porPosicion[zapato.indexOf(marcada)]++;
+            baraja.nuevaRonda();
+        }
+
+        double esperado = (double) rondas / CARTAS_MAZO;
+        double chiCuadrado = 0;
+        for (int cuenta : porPosicion) {
+            chiCuadrado += (cuenta - esperado) * (cuenta - esperado) / esperado;
+        }
+        // Percentil 99.9 de chi cuadrado con 51 grados de libertad
+        assertTrue(chiCuadrado < 87.97, "chi cuadrado " + chiCuadrado);
+    }
+
+    @Test
+    void elModoNoCambiaLasCartasDelPrimerZapato() {
+        Baraja normal = new Baraja(2, 21L);
+        Baraja continua = continua(2, 21L);
+        for (int i = 0; i < 2 * CARTAS_MAZO; i++) {
+            assertEquals(normal.sacarCarta().getOrdinal(), continua.sacarCarta().getOrdinal());
+        }
+
+        // Y con la misma semilla se repite la secuencia tras devolver cartas
+        Baraja a = continua(2, 33L);
+        Baraja b = continua(2, 33L);
+        for (int ronda = 0; ronda < 200; ronda++) {
+            for (int i = 0; i < 6; i++) {
+                assertEquals(a.sacarCarta().getOrdinal(), b.sacarCarta().getOrdinal());
+            }
+            a.nuevaRonda();
+            b.nuevaRonda();
+        }
+    }
+
+    private static Baraja continua(int mazos, long semilla) {
+        Baraja baraja = new Baraja(mazos, semilla);
+        baraja.setBarajadoContinuo(true);
+        return baraja;
+    }
+}
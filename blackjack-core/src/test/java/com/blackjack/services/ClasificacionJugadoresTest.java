@@ -0,0 +1,115 @@
+package com.blackjack.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * La clasificación ordena igual que ordenar a todos los jugadores por
+ * puntuación, de mayor a menor y por id a igual puntuación, también tras
+ * muchas actualizaciones con empates
+ */
+class ClasificacionJugadoresTest {
+
+    private static final int JUGADORES = 1500;
+
+    @Test
+    void ordenIgualQueOrdenarATodos() {
+        ClasificacionJugadores clasificacion = new ClasificacionJugadores();
+        long[] saldos = new long[JUGADORES];
+        long[] netos = new long[JUGADORES];
+        SplittableRandom random = new SplittableRandom(48);
+
+        // Puntuaciones en un rango pequeño para forzar empates
+        for (int id = 0; id < JUGADORES; id++) {
+            saldos[id] = random.nextInt(200) * 5_00L;
+            netos[id] = random.nextInt(-100, 100) * 5_00L;
+            clasificacion.actualizar(id, "j" + id, saldos[id], netos[id]);
+        }
+        comprobar(clasificacion, saldos, netos);
+
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(JUGADORES);
+            if (random.nextBoolean()) {
+                saldos[id] = random.nextInt(200) * 5_00L;
+            } else {
+                netos[id] = random.nextInt(-100, 100) * 5_00L;
+            }
+            clasificacion.actualizar(id, "j" + id, saldos[id], netos[id]);
+        }
+        comprobar(clasificacion, saldos, netos);
+        assertEquals(JUGADORES, clasificacion.getJugadores());
+    }
+
+    @Test
+    void aIgualPuntuacionVaAntesElIdMenor() {
+        ClasificacionJugadores clasificacion = new ClasificacionJugadores();
+        clasificacion.actualizar(7, "siete", 100_00, 0);
+        clasificacion.actualizar(3, "tres", 100_00, 0);
+        clasificacion.actualizar(5, "cinco", 200_00, 0);
+
+        List<ClasificacionJugadores.Puesto> mejores = clasificacion.mejores(ClasificacionJugadores.Criterio.SALDO, 10);
+        assertEquals(List.of(
+                new ClasificacionJugadores.Puesto(1, 5, "cinco", 200_00),
+                new ClasificacionJugadores.Puesto(2, 3, "tres", 100_00),
+                new ClasificacionJugadores.Puesto(3, 7, "siete", 100_00)), mejores);
+
+        // Bajar al primero lo lleva al final
+        clasificacion.actualizar(5, "cinco", 50_00, 0);
+        assertEquals(3, clasificacion.posicion(ClasificacionJugadores.Criterio.SALDO, 5).orElseThrow().posicion());
+        assertTrue(clasificacion.posicion(ClasificacionJugadores.Criterio.SALDO, 99).isEmpty());
+    }
+
+    @Test
+    void elArbolQuitaExactamenteLaClave() {
+        ArbolPosiciones arbol = new ArbolPosiciones();
+        for (long id = 0; id < 100; id++) {
+            arbol.insertar(id % 10, id);
+        }
+        arbol.quitar(3, 13);
+        // Una clave que no está no cambia nada
+        arbol.quitar(3, 14);
+        assertEquals(99, arbol.tamano());
+
+        List<Long> orden = new ArrayList<>();
+        arbol.primeros(Integer.MAX_VALUE, orden::add);
+        assertEquals(99, orden.size());
+        assertEquals(9L, orden.get(0));
+        assertFalse(orden.contains(13L));
+        // Puntuación 9 (10 ids) y 8 (10 ids) antes que 7, id 7 primero
+        assertEquals(20, arbol.anteriores(7, 7));
+    }
+
+    private static void comprobar(ClasificacionJugadores clasificacion, long[] saldos, long[] netos) {
+        comprobar(clasificacion, ClasificacionJugadores.Criterio.SALDO, saldos);
+        comprobar(clasificacion, ClasificacionJugadores.Criterio.NETO, netos);
+    }
+
+    private static void comprobar(ClasificacionJugadores clasificacion, ClasificacionJugadores.Criterio criterio,
+                                  long[] puntuaciones) {
+        List<Integer> esperado = new ArrayList<>();
+        for (int id = 0; id < puntuaciones.length; id++) {
+            esperado.add(id);
+        }
+        esperado.sort(Comparator.<Integer>comparingLong(id -> -puntuaciones[id]).thenComparing(id -> id));
+
+        List<ClasificacionJugadores.Puesto> mejores = clasificacion.mejores(criterio, 50);
+        assertEquals(50, mejores.size());
+        for (int i = 0; i < mejores.size(); i++) {
+            assertEquals((long) esperado.get(i), mejores.get(i).jugadorId(), criterio + " puesto " + (i + 1));
+            assertEquals(i + 1, mejores.get(i).posicion());
+            assertEquals(puntuaciones[esperado.get(i)], mejores.get(i).puntuacion());
+        }
+        for (int i = 0; i < esperado.size(); i++) {
+            int id = esperado.get(i);
+            assertEquals(i + 1, clasificacion.posicion(criterio, id).orElseThrow().posicion(),
+                    criterio + " jugador " + id);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.blackjack.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Jugador;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.utils.Logger;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * La carta tapada del dealer no debe llegar al conteo hasta que se descubre
+ */
+class RastreadorComposicionTest {
+
+    private static final int RONDAS = 200;
+
+    private boolean logActivo;
+
+    @BeforeEach
+    void silenciarLog() {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+    }
+
+    @AfterEach
+    void restaurarLog() {
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void laCartaTapadaSeCuentaAlDescubrirse() throws Exception {
+        Baraja baraja = new Baraja(1, 7L);
+        // Con la carta de corte al 75 % ninguna ronda agota el zapato
+        GameService mesa = new GameService(baraja, null, new ReglasMesa.Builder().penetracion(0.75).build());
+        mesa.iniciarJugador(new Jugador("conteo", 100_000_000L));
+        RastreadorComposicion rastreador = mesa.getRastreador();
+
+        int rondasConTapada = 0;
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            if (ronda > 0) {
+                mesa.nuevaRonda();
+            }
+            RastreadorComposicion.Lectura antes = rastreador.leer();
+            mesa.realizarApuesta(mesa.getApuestaMinima());
+            RastreadorComposicion.Lectura tras = rastreador.leer();
+
+            List<Carta> dealer = mesa.getDealer().getMano().getCartas();
+            if (mesa.getEstadoActual() != GameService.EstadoJuego.JUGANDO) {
+                // Blackjack inicial: la tapada ya se descubrió y cuenta
+                assertEquals(antes.restantes() - 4, tras.restantes());
+                continue;
+            }
+            rondasConTapada++;
+            assertTrue(dealer.get(1).isBocaAbajo());
+
+            List<Carta> visibles = List.of(mesa.getJugador().getManoActual().getCarta(0),
+                    mesa.getJugador().getManoActual().getCarta(1), dealer.get(0));
+            assertEquals(antes.restantes() - 3, tras.restantes());
+            assertArrayEquals(descontar(antes, visibles).cuentas(), tras.cuentas());
+            assertArrayEquals(descontar(antes, visibles).cuentasCorrientes(), tras.cuentasCorrientes());
+
+            mesa.plantarse();
+            RastreadorComposicion.Lectura fin = rastreador.leer();
+            assertEquals(antes.restantes() - 2 - dealer.size(), fin.restantes());
+        }
+        assertTrue(rondasConTapada > RONDAS / 2);
+    }
+
+    @Test
+    void laCartaTapadaDeUnZapatoAnteriorNoSeCuenta() {
+        Baraja baraja = new Baraja(1, 11L);
+        baraja.setPenetracion(1);
+        baraja.sacarCartaOculta();
+        while (baraja.cartasRestantes() > 0) {
+            baraja.sacarCarta();
+        }
+        // La siguiente carta abre un zapato nuevo
+        baraja.sacarCarta();
+        baraja.descubrirOculta();
+        assertEquals(51, baraja.getRastreador().leer().restantes());
+    }
+
+    private static RastreadorComposicion.Lectura descontar(RastreadorComposicion.Lectura lectura,
+            List<Carta> cartas) {
+        int[] cuentas = lectura.cuentas().clone();
+        int[] corrientes = lectura.cuentasCorrientes().clone();
+        SistemaConteo[] sistemas = SistemaConteo.values();
+        for (Carta carta : cartas) {
+            int rango = RastreadorComposicion.rango(carta);
+            cuentas[rango]--;
+            for (int i = 0; i < sistemas.length; i++) {
+                corrientes[i] += sistemas[i].peso(rango);
+            }
+        }
+        return new RastreadorComposicion.Lectura(lectura.mazos(), cuentas, corrientes,
+                lectura.restantes() - cartas.size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.blackjack.sidebets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.blackjack.models.Carta;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Las tablas de pago dan el premio de cada jugada conocida, no dependen del
+ * orden de las cartas y tienen el número de combinaciones ganadoras que
+ * sale de contarlas a mano
+ */
+class TablasPagoTest {
+
+    private static final int CARTAS = TablasPago.CARTAS;
+
+    @Test
+    void jugadasConocidas() {
+        assertEquals(TablasPago.PAGO_PAREJA_PERFECTA, pareja(c("PICAS", "OCHO"), c("PICAS", "OCHO")));
+        assertEquals(TablasPago.PAGO_PAREJA_COLOR, pareja(c("PICAS", "OCHO"), c("TREBOLES", "OCHO")));
+        assertEquals(TablasPago.PAGO_PAREJA_MIXTA, pareja(c("PICAS", "OCHO"), c("CORAZONES", "OCHO")));
+        // Mismo valor de puntos no es pareja
+        assertEquals(0, pareja(c("PICAS", "DIEZ"), c("PICAS", "REY")));
+
+        assertEquals(TablasPago.PAGO_TRIO_PALO, veintiunoMasTres(c("PICAS", "SIETE"), c("PICAS", "SIETE"), c("PICAS", "SIETE")));
+        assertEquals(TablasPago.PAGO_ESCALERA_COLOR, veintiunoMasTres(c("CORAZONES", "REINA"), c("CORAZONES", "AS"), c("CORAZONES", "REY")));
+        assertEquals(TablasPago.PAGO_TRIO, veintiunoMasTres(c("PICAS", "SIETE"), c("CORAZONES", "SIETE"), c("PICAS", "SIETE")));
+        assertEquals(TablasPago.PAGO_ESCALERA, veintiunoMasTres(c("PICAS", "TRES"), c("CORAZONES", "AS"), c("PICAS", "DOS")));
+        assertEquals(TablasPago.PAGO_COLOR, veintiunoMasTres(c("PICAS", "TRES"), c("PICAS", "NUEVE"), c("PICAS", "REY")));
+        // K-A-2 no es escalera
+        assertEquals(0, veintiunoMasTres(c("PICAS", "REY"), c("CORAZONES", "AS"), c("PICAS", "DOS")));
+
+        int dama = c("CORAZONES", "REINA");
+        assertEquals(TablasPago.PAGO_DAMAS_CON_BLACKJACK, luckyLadies(dama, dama, true));
+        assertEquals(TablasPago.PAGO_DAMAS_CORAZONES, luckyLadies(dama, dama, false));
+        assertEquals(TablasPago.PAGO_VEINTE_IDENTICO, luckyLadies(c("PICAS", "JOTA"), c("PICAS", "JOTA"), true));
+        assertEquals(TablasPago.PAGO_VEINTE_PALO, luckyLadies(c("PICAS", "AS"), c("PICAS", "NUEVE"), false));
+        assertEquals(TablasPago.PAGO_VEINTE, luckyLadies(c("PICAS", "DIEZ"), c("DIAMANTES", "REY"), false));
+        assertEquals(0, luckyLadies(c("PICAS", "DIEZ"), c("DIAMANTES", "NUEVE"), false));
+    }
+
+    @Test
+    void elOrdenDeLasCartasNoCambiaElPago() {
+        for (int a = 0; a < CARTAS; a++) {
+            for (int b = 0; b < CARTAS; b++) {
+                assertEquals(pareja(a, b), pareja(b, a));
+                assertEquals(luckyLadies(a, b, false), luckyLadies(b, a, false));
+                assertEquals(luckyLadies(a, b, true), luckyLadies(b, a, true));
+                for (int d = 0; d < CARTAS; d++) {
+                    int pago = veintiunoMasTres(a, b, d);
+                    assertEquals(pago, veintiunoMasTres(d, a, b));
+                    assertEquals(pago, veintiunoMasTres(b, d, a));
+                    assertEquals(pago, veintiunoMasTres(b, a, d));
+                }
+            }
+        }
+    }
+
+    @Test
+    void combinacionesGanadoras() {
+        // Pares ordenados de ordinales, con repetición como en un zapato de varios mazos
+        Map<Integer, Integer> parejas = contar(ApuestaLateral.PAREJA_PERFECTA, false);
+        assertEquals(52, parejas.get(TablasPago.PAGO_PAREJA_PERFECTA));
+        assertEquals(52, parejas.get(TablasPago.PAGO_PAREJA_COLOR));
+        assertEquals(104, parejas.get(TablasPago.PAGO_PAREJA_MIXTA));
+
+        Map<Integer, Integer> trios = contar(ApuestaLateral.VEINTIUNO_MAS_TRES, false);
+        // 12 escaleras (A-2-3 a Q-K-A) en 6 órdenes
+        assertEquals(13 * 4, trios.get(TablasPago.PAGO_TRIO_PALO));
+        assertEquals(12 * 6 * 4, trios.get(TablasPago.PAGO_ESCALERA_COLOR));
+        assertEquals(13 * (64 - 4), trios.get(TablasPago.PAGO_TRIO));
+        assertEquals(12 * 6 * (64 - 4), trios.get(TablasPago.PAGO_ESCALERA));
+        assertEquals(4 * 13 * 13 * 13 - 13 * 4 - 12 * 6 * 4, trios.get(TablasPago.PAGO_COLOR));
+
+        Map<Integer, Integer> veintes = contar(ApuestaLateral.LUCKY_LADIES, false);
+        // Dos cartas de diez (16 ordinales) o as y nueve en cualquier orden
+        int veinte = 16 * 16 + 2 * 4 * 4;
+        assertEquals(1, veintes.get(TablasPago.PAGO_DAMAS_CORAZONES));
+        assertEquals(16 - 1, veintes.get(TablasPago.PAGO_VEINTE_IDENTICO));
+        assertEquals(4 * (4 * 4 - 4) + 4 * 2, veintes.get(TablasPago.PAGO_VEINTE_PALO));
+        assertEquals(veinte - 1 - 15 - 56, veintes.get(TablasPago.PAGO_VEINTE));
+        assertEquals(veinte, veintes.values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1, contar(ApuestaLateral.LUCKY_LADIES, true).get(TablasPago.PAGO_DAMAS_CON_BLACKJACK));
+    }
+
+    @Test
+    void retornoIncluyeLaApuesta() {
+        assertEquals(10_00 * 26, EvaluadorLaterales.retorno(10_00, TablasPago.PAGO_PAREJA_PERFECTA));
+        assertEquals(0, EvaluadorLaterales.retorno(10_00, 0));
+        assertEquals(-5_00, new ResultadoLateral(ApuestaLateral.LUCKY_LADIES, 5_00, 0).ganancia());
+        assertEquals(5_00 * 4, new ResultadoLateral(ApuestaLateral.LUCKY_LADIES, 5_00, 4).ganancia());
+    }
+
+    private static Map<Integer, Integer> contar(ApuestaLateral apuesta, boolean dealerBlackjack) {
+        Map<Integer, Integer> cuenta = new HashMap<>();
+        int terceras = apuesta == ApuestaLateral.VEINTIUNO_MAS_TRES ? CARTAS : 1;
+        for (int a = 0; a < CARTAS; a++) {
+            for (int b = 0; b < CARTAS; b++) {
+                for (int d = 0; d < terceras; d++) {
+                    int pago = EvaluadorLaterales.pago(apuesta, a, b, d, dealerBlackjack);
+                    if (pago > 0) {
+                        cuenta.merge(pago, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return cuenta;
+    }
+
+    private static int pareja(int a, int b) {
+        return EvaluadorLaterales.pago(ApuestaLateral.PAREJA_PERFECTA, a, b, 0, false);
+    }
+
+    private static int veintiunoMasTres(int a, int b, int d) {
+        return EvaluadorLaterales.pago(ApuestaLateral.VEINTIUNO_MAS_TRES, a, b, d, false);
+    }
+
+    private static int luckyLadies(int a, int b, boolean dealerBlackjack) {
+        return EvaluadorLaterales.pago(ApuestaLateral.LUCKY_LADIES, a, b, 0, dealerBlackjack);
+    }
+
+    private static int c(String palo, String valor) {
+        return new Carta(Carta.Palo.valueOf(palo), Carta.Valor.valueOf(valor)).getOrdinal();
+    }
+}
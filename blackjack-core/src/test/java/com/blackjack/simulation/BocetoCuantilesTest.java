@@ -0,0 +1,68 @@
+package com.blackjack.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Los cuantiles del boceto quedan dentro del intervalo observado y a menos
+ * de alfa, en error relativo, del cuantil exacto
+ */
+class BocetoCuantilesTest {
+
+    @Test
+    void ningunCuantilSuperaElMaximoObservado() {
+        // Como las manos hasta la ruina: muchas sesiones se arruinan justo en el tope
+        BocetoCuantiles boceto = new BocetoCuantiles();
+        for (int i = 0; i < 100; i++) {
+            boceto.agregar(1000);
+        }
+        for (int manos = 1; manos < 1000; manos += 7) {
+            boceto.agregar(manos);
+        }
+
+        for (double q : new double[] {0.5, 0.9, 0.95, 0.99, 1}) {
+            assertTrue(boceto.cuantil(q) <= 1000, "p" + q * 100 + " = " + boceto.cuantil(q));
+        }
+        assertEquals(1000, boceto.cuantil(1));
+        assertEquals(1, boceto.cuantil(0));
+    }
+
+    @Test
+    void combinarConservaElIntervaloYElError() {
+        SplittableRandom random = new SplittableRandom(3);
+        double[] valores = new double[20_000];
+        BocetoCuantiles a = new BocetoCuantiles();
+        BocetoCuantiles b = new BocetoCuantiles();
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = Math.exp(random.nextDouble(0, 12));
+            (i % 2 == 0 ? a : b).agregar(valores[i]);
+        }
+        a.combinar(b);
+        Arrays.sort(valores);
+
+        assertEquals(valores[0], a.getMinimo());
+        assertEquals(valores[valores.length - 1], a.getMaximo());
+        for (double q : new double[] {0.01, 0.5, 0.9, 0.99}) {
+            double exacto = valores[(int) Math.floor(q * (valores.length - 1))];
+            double estimado = a.cuantil(q);
+            assertTrue(Math.abs(estimado - exacto) <= 0.01 * exacto,
+                    "q=" + q + ": " + estimado + " frente a " + exacto);
+        }
+    }
+
+    @Test
+    void losCerosYNegativosCuentanComoCero() {
+        BocetoCuantiles boceto = new BocetoCuantiles();
+        boceto.agregar(-5);
+        boceto.agregar(0);
+        boceto.agregar(10);
+        assertEquals(0, boceto.getMinimo());
+        assertEquals(0, boceto.cuantil(0.5));
+        assertEquals(10, boceto.cuantil(1));
+        assertTrue(Double.isNaN(new BocetoCuantiles().cuantil(0.5)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.blackjack.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sea cual sea el evaluador que elija la calibración, y el vectorial si el
+ * módulo está cargado, dan los mismos totales y banderas que el escalar
+ */
+class EvaluadorLotesTest {
+
+    // No es múltiplo de ningún ancho vectorial: también se prueba la cola
+    private static final int TAMANO = 1003;
+    private static final int MAX_ROBOS = 12;
+
+    @Test
+    void todosLosEvaluadoresCoincidenConElEscalar() {
+        List<EvaluadorLotes> evaluadores = new ArrayList<>();
+        evaluadores.add(EvaluadorLotes.crear());
+        EvaluadorLotes vectorial = EvaluadorLotes.crearVectorial();
+        if (vectorial != null) {
+            evaluadores.add(vectorial);
+        }
+
+        SplittableRandom random = new SplittableRandom(29);
+        int[][] iniciales = new int[TAMANO][];
+        for (int i = 0; i < TAMANO; i++) {
+            int cartas = 2 + random.nextInt(3);
+            iniciales[i] = new int[cartas];
+            for (int c = 0; c < cartas; c++) {
+                iniciales[i][c] = Math.min(random.nextInt(13) + 1, 10);
+            }
+        }
+        int[] robos = new int[MAX_ROBOS * TAMANO];
+        for (int i = 0; i < robos.length; i++) {
+            robos[i] = Math.min(random.nextInt(13) + 1, 10);
+        }
+
+        EvaluadorLotes escalar = new EvaluadorLotesEscalar();
+        for (boolean pideSuave17 : new boolean[] {false, true}) {
+            LoteManos referencia = cargar(iniciales);
+            escalar.evaluar(referencia);
+            LoteManos referenciaDealer = cargar(iniciales);
+            escalar.jugarDealer(referenciaDealer, robos, MAX_ROBOS, pideSuave17);
+
+            for (EvaluadorLotes evaluador : evaluadores) {
+                assertNotNull(evaluador.getNombre());
+                LoteManos lote = cargar(iniciales);
+                evaluador.evaluar(lote);
+                assertArrayEquals(referencia.total, lote.total, evaluador.getNombre());
+                assertArrayEquals(referencia.banderas, lote.banderas, evaluador.getNombre());
+
+                LoteManos dealer = cargar(iniciales);
+                evaluador.jugarDealer(dealer, robos, MAX_ROBOS, pideSuave17);
+                assertArrayEquals(referenciaDealer.total, dealer.total, evaluador.getNombre() + " dealer");
+                assertArrayEquals(referenciaDealer.banderas, dealer.banderas, evaluador.getNombre() + " dealer");
+            }
+        }
+    }
+
+    private static LoteManos cargar(int[][] iniciales) {
+        LoteManos lote = new LoteManos(TAMANO);
+        for (int i = 0; i < TAMANO; i++) {
+            for (int puntos : iniciales[i]) {
+                lote.agregarCarta(i, puntos);
+            }
+        }
+        return lote;
+    }
+}
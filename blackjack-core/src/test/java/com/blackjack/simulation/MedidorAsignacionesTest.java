@@ -0,0 +1,37 @@
+package com.blackjack.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Hace fallar la compilación si algún escenario del bucle de juego asigna
+ * más bytes por ronda que su presupuesto en {@link MedidorAsignaciones#PRESUPUESTOS}
+ */
+class MedidorAsignacionesTest {
+
+    @TestFactory
+    Stream<DynamicTest> cadaEscenarioCumpleSuPresupuesto() throws IOException {
+        Properties presupuestos = MedidorAsignaciones.presupuestosIncluidos();
+        long rondas = Long.parseLong(presupuestos.getProperty("rondas", "200000").trim());
+        long calentamiento = Long.parseLong(presupuestos.getProperty("calentamiento", "100000").trim());
+        MedidorAsignaciones medidor = new MedidorAsignaciones(42);
+
+        return Arrays.stream(MedidorAsignaciones.Escenario.values())
+                .map(escenario -> DynamicTest.dynamicTest(escenario.getCodigo(), () -> {
+                    String presupuesto = presupuestos.getProperty(escenario.getCodigo());
+                    assertNotNull(presupuesto, "Falta el presupuesto del escenario " + escenario.getCodigo());
+
+                    MedidorAsignaciones.Medicion medicion = medidor.medir(escenario, calentamiento, rondas,
+                            Long.parseLong(presupuesto.trim()));
+                    assertTrue(medicion.cumple(), String.format("%s asigna %.1f bytes por ronda, presupuesto %d",
+                            escenario.getCodigo(), medicion.bytesPorRonda(), medicion.presupuesto()));
+                }));
+    }
+}
@@ -0,0 +1,126 @@
+package com.blackjack.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.blackjack.models.Carta;
+import com.blackjack.models.Jugador;
+import com.blackjack.models.Mano;
+import com.blackjack.rules.ReglasMesa;
+import com.blackjack.services.Baraja;
+import com.blackjack.services.GameService;
+import com.blackjack.strategies.Accion;
+import com.blackjack.strategies.Estrategia;
+import com.blackjack.utils.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cuando la estrategia pide una acción que la mesa no permite, el simulador
+ * le vuelve a preguntar sin esa opción en lugar de pedir carta
+ */
+class SimuladorTest {
+
+    private static final long APUESTA = 1000;
+    private static final int RONDAS = 500;
+
+    private boolean logActivo;
+
+    @BeforeEach
+    void silenciarLog() {
+        logActivo = Logger.isActivo();
+        Logger.setActivo(false);
+    }
+
+    @AfterEach
+    void restaurarLog() {
+        Logger.setActivo(logActivo);
+    }
+
+    @Test
+    void unDoblarNoPermitidoSeJuegaComoLaTablaIndica() throws Exception {
+        // Dobla siempre; si no puede, se planta (la casilla Ds de las tablas)
+        EstrategiaInsistente estrategia = new EstrategiaInsistente(Accion.DOBLAR, Accion.PLANTARSE);
+        GameService mesa = mesa(new ReglasMesa.Builder()
+                .reglaDoblar(ReglasMesa.ReglaDoblar.DIEZ_A_ONCE).maxManos(1).penetracion(0.75).build());
+        Simulador simulador = new Simulador(mesa, estrategia, APUESTA);
+
+        int sinDoblar = 0;
+        for (int i = 0; i < RONDAS; i++) {
+            simulador.jugarRonda();
+            Mano mano = mesa.getJugador().getManoActual();
+            if (mano.getApuesta() == APUESTA) {
+                sinDoblar++;
+                assertEquals(2, mano.getCantidadCartas(), "Con el doblar prohibido se pidió carta");
+            } else {
+                assertEquals(3, mano.getCantidadCartas());
+            }
+        }
+        assertTrue(sinDoblar > 0);
+        assertTrue(estrategia.reintentos > 0);
+    }
+
+    @Test
+    void unaParejaQueNoSePuedeDividirSeJuegaPorSuTotal() throws Exception {
+        EstrategiaInsistente estrategia = new EstrategiaInsistente(Accion.DIVIDIR, Accion.PLANTARSE);
+        GameService mesa = mesa(new ReglasMesa.Builder().maxManos(1).penetracion(0.75).build());
+        Simulador simulador = new Simulador(mesa, estrategia, APUESTA);
+
+        for (int i = 0; i < RONDAS; i++) {
+            simulador.jugarRonda();
+            Mano mano = mesa.getJugador().getManoActual();
+            assertEquals(1, mesa.getJugador().getManos().size());
+            assertEquals(2, mano.getCantidadCartas(), "Con la división prohibida se pidió carta");
+        }
+        assertTrue(estrategia.reintentos > 0);
+        // Al volver a preguntar se conserva el permiso de doblar que había
+        assertTrue(estrategia.doblarEnReintento);
+    }
+
+    private static GameService mesa(ReglasMesa reglas) {
+        GameService mesa = new GameService(new Baraja(reglas.getNumeroMazos(), 5L), null, reglas);
+        mesa.iniciarJugador(new Jugador("simulador", 100_000_000L));
+        return mesa;
+    }
+
+    /**
+     * Devuelve la acción ilegal la primera vez, como una estrategia que no
+     * mira los permisos, y juega lo que diga su tabla al volver a preguntarle
+     */
+    private static final class EstrategiaInsistente implements Estrategia {
+
+        private final Accion preferida;
+        private final Accion alternativa;
+        private boolean preguntado;
+        private int reintentos;
+        private boolean doblarEnReintento;
+
+        EstrategiaInsistente(Accion preferida, Accion alternativa) {
+            this.preferida = preferida;
+            this.alternativa = alternativa;
+        }
+
+        @Override
+        public String getNombre() {
+            return "insistente";
+        }
+
+        @Override
+        public Accion decidir(Mano mano, Carta cartaDealer, boolean puedeDoblar, boolean puedeDividir) {
+            boolean permitida = preferida == Accion.DOBLAR ? puedeDoblar : puedeDividir;
+            if (permitida) {
+                preguntado = false;
+                return preferida;
+            }
+            if (!preguntado) {
+                preguntado = true;
+                return preferida;
+            }
+            preguntado = false;
+            reintentos++;
+            doblarEnReintento |= puedeDoblar;
+            return alternativa;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.blackjack.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Los centavos se leen, redondean y muestran sin pasar por double, y las
+ * fracciones de pago se redondean hacia abajo
+ */
+class DineroTest {
+
+    @Test
+    void parsearAceptaHastaDosDecimales() {
+        assertEquals(12_00, Dinero.parsear("12"));
+        assertEquals(12_50, Dinero.parsear("12.5"));
+        assertEquals(12_50, Dinero.parsear(" 12,50 "));
+        assertEquals(5, Dinero.parsear("0.05"));
+        assertEquals(50, Dinero.parsear(".5"));
+        assertEquals(-3_07, Dinero.parsear("-3.07"));
+        assertEquals(1_00, Dinero.parsear("+1"));
+        // 0.1 + 0.2 como double no da 0.30
+        assertEquals(30, Dinero.parsear("0.1") + Dinero.parsear("0.2"));
+
+        for (String invalido : new String[] {"", "-", ".", "1.234", "1.2.3", "12a", "1 000", "1e3"}) {
+            assertThrows(NumberFormatException.class, () -> Dinero.parsear(invalido), invalido);
+        }
+        assertThrows(ArithmeticException.class, () -> Dinero.parsear("92233720368547758.08"));
+    }
+
+    @Test
+    void formatearComoDosDecimalesExactos() {
+        assertEquals("0.00", Dinero.formatear(0));
+        assertEquals("0.05", Dinero.formatear(5));
+        assertEquals("-0.05", Dinero.formatear(-5));
+        assertEquals("-12.30", Dinero.formatear(-12_30));
+        assertEquals("+1.00", Dinero.formatearConSigno(1_00));
+        assertEquals("-1.00", Dinero.formatearConSigno(-1_00));
+        assertEquals("+0.00", Dinero.formatearConSigno(0));
+
+        SplittableRandom random = new SplittableRandom(41);
+        for (int i = 0; i < 10_000; i++) {
+            long centavos = random.nextLong(-1_000_000_00L, 1_000_000_00L);
+            String texto = Dinero.formatear(centavos);
+            assertEquals(BigDecimal.valueOf(centavos, 2).toPlainString(), texto);
+            assertEquals(centavos, Dinero.parsear(texto));
+        }
+        assertEquals(Long.MAX_VALUE, Dinero.parsear(Dinero.formatear(Long.MAX_VALUE)));
+        assertEquals(-Long.MAX_VALUE, Dinero.parsear(Dinero.formatear(-Long.MAX_VALUE)));
+    }
+
+    @Test
+    void lasFraccionesSeRedondeanHaciaAbajo() {
+        // 3:2 sobre 10.05 son 15.075
+        assertEquals(15_07, Dinero.fraccion(10_05, 3, 2));
+        // 6:5 sobre 10.01 son 12.012
+        assertEquals(12_01, Dinero.fraccion(10_01, 6, 5));
+        assertEquals(1, Dinero.fraccion(1, 3, 2));
+        // Hacia abajo también en negativo, no hacia cero
+        assertEquals(-2, Dinero.fraccion(-1, 3, 2));
+        assertEquals(15_00, Dinero.fraccion(10_00, 3, 2));
+        assertThrows(ArithmeticException.class, () -> Dinero.fraccion(Long.MAX_VALUE / 2, 3, 2));
+    }
+
+    @Test
+    void desdeDecimalRedondeaAlCentavoMasCercano() {
+        assertEquals(1_23, Dinero.desdeDecimal(1.234));
+        assertEquals(1_24, Dinero.desdeDecimal(1.235000001));
+        assertEquals(-1_23, Dinero.desdeDecimal(-1.234));
+        assertEquals(30, Dinero.desdeDecimal(0.1 + 0.2));
+        assertEquals(2.5, Dinero.aDecimal(2_50));
+        assertEquals(100_00, Dinero.desdeUnidades(100));
+        assertThrows(ArithmeticException.class, () -> Dinero.desdeUnidades(Long.MAX_VALUE / 10));
+    }
+}